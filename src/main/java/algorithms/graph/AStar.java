@@ -0,0 +1,192 @@
+package algorithms.graph;
+
+import datastructures.graph.WeightedGraph;
+import datastructures.priorityqueue.IndexedMinHeap;
+import datastructures.stack.ArrayStack;
+import datastructures.stack.Stack;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * A* search for a shortest path between two vertices of a graph with non-negative edge weights.
+ *
+ * Like {@link Dijkstra}, vertices wait in an {@link IndexedMinHeap}, but each is ordered by its
+ * distance from the root plus a heuristic estimate of its remaining distance to the target, so
+ * the search heads towards the target and stops as soon as it is settled. A heuristic of zero
+ * gives Dijkstra's algorithm.
+ *
+ * The path found is a shortest path as long as the heuristic never overestimates the remaining
+ * distance. If the heuristic is also consistent, meaning the estimate drops by no more than the
+ * weight of each edge, no vertex is settled more than once; otherwise vertices are searched again
+ * when shorter paths to them are found.
+ */
+public class AStar {
+
+    /**
+     * Marks a vertex without a parent, either the root or a vertex that hasn't been reached.
+     */
+    private static final int NO_PARENT = -1;
+
+
+    /**
+     * Index of the vertex that the search begins from.
+     */
+    private final int rootVertex;
+
+
+    /**
+     * Index of the vertex that the search is looking for.
+     */
+    private final int targetVertex;
+
+
+    /**
+     * Array of back-pointers, recording for each reached vertex the previous vertex on the
+     * shortest path found to it.
+     */
+    private final int[] edgeTo;
+
+
+    /**
+     * Length of the shortest path found from the root vertex to each vertex, or infinity if none has been found.
+     */
+    private final double[] distTo;
+
+
+    /**
+     * Number of times a vertex was taken from the heap and had its edges searched.
+     */
+    private int settledCount = 0;
+
+
+    /**
+     * Find a shortest path between the specified vertices of the graph.
+     *
+     * @param g The graph to search, whose edge weights must not be negative.
+     * @param rootVertex Index of the vertex to find a path from.
+     * @param targetVertex Index of the vertex to find a path to.
+     * @param heuristic Estimate of the distance from each vertex to the target vertex, which must not be negative.
+     * @throws IllegalArgumentException If an edge reached by the search has a negative weight, or the heuristic
+     *                                  gives a negative or NaN estimate.
+     */
+    public AStar(final WeightedGraph g, final int rootVertex, final int targetVertex,
+                 final IntToDoubleFunction heuristic) {
+        this.rootVertex = rootVertex;
+        this.targetVertex = targetVertex;
+
+        edgeTo = new int[g.vertexCount()];
+        distTo = new double[g.vertexCount()];
+        Arrays.fill(edgeTo, NO_PARENT);
+        Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+
+        final IndexedMinHeap heap = new IndexedMinHeap(g.vertexCount());
+        distTo[rootVertex] = 0;
+        heap.insert(rootVertex, estimate(heuristic, rootVertex));
+
+        while (!heap.isEmpty()) {
+
+            final int vertex = heap.removeMin().getAsInt();
+            settledCount++;
+
+            if (vertex == targetVertex) {
+                break;
+            }
+
+            final int degree = g.degree(vertex);
+            for (int i = 0; i < degree; i++) {
+                final int neighbour = g.neighbour(vertex, i);
+                final double weight = g.weight(vertex, i);
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Edge " + vertex + "-" + neighbour
+                            + " has negative weight " + weight);
+                }
+
+                // a shorter path puts the neighbour back in the heap, even if it was settled before
+                final double distance = distTo[vertex] + weight;
+                if (distance < distTo[neighbour]) {
+                    distTo[neighbour] = distance;
+                    edgeTo[neighbour] = vertex;
+                    heap.insertOrDecrease(neighbour, distance + estimate(heuristic, neighbour));
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Ask the heuristic for its estimate of the distance from a vertex to the target.
+     *
+     * @param heuristic The heuristic.
+     * @param vertex The vertex to estimate the distance from.
+     * @return The estimate.
+     * @throws IllegalArgumentException If the estimate is negative or NaN.
+     */
+    private static double estimate(final IntToDoubleFunction heuristic, final int vertex) {
+        final double estimate = heuristic.applyAsDouble(vertex);
+        if (!(estimate >= 0)) {
+            throw new IllegalArgumentException("Heuristic gave estimate " + estimate + " for vertex " + vertex);
+        }
+        return estimate;
+    }
+
+
+    /**
+     * Check if there is a path from the root vertex to the target vertex.
+     *
+     * @return <CODE>true</CODE> if there is a path to the target vertex; <CODE>false</CODE> otherwise.
+     */
+    public boolean hasPath() {
+        return distTo[targetVertex] < Double.POSITIVE_INFINITY;
+    }
+
+
+    /**
+     * Get the length of the path found from the root vertex to the target vertex.
+     *
+     * @return The total weight of the path, or positive infinity if there is no path.
+     */
+    public double distance() {
+        return distTo[targetVertex];
+    }
+
+
+    /**
+     * Provides an iterator over the sequence of indices along the path found from the root
+     * vertex to the target vertex, provided that a path exists.
+     *
+     * @return Optional containing an iterator over the vertices in the path if a path exists.
+     */
+    public Optional<Iterator<Integer>> path() {
+
+        // first check that a path exists to begin with
+        if (!hasPath()) {
+            return Optional.empty();
+        }
+
+        // follow backpointers, pushing each vertex along the route on to the stack to reverse the order
+        final Stack<Integer> path = new ArrayStack<>();
+        int currentVertex = targetVertex;
+        while (currentVertex != rootVertex) {
+            path.push(currentVertex);
+            currentVertex = edgeTo[currentVertex];
+        }
+        path.push(rootVertex);
+
+        return Optional.of(path.iterator());
+    }
+
+
+    /**
+     * Count the vertices the search took from the heap, including the target vertex. A better
+     * heuristic settles fewer vertices before reaching the target.
+     *
+     * @return The number of vertices settled, counting a vertex again each time it was searched again.
+     */
+    public int settledCount() {
+        return settledCount;
+    }
+
+}
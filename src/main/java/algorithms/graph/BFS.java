@@ -1,11 +1,10 @@
 package algorithms.graph;
 
 import datastructures.graph.Graph;
-import datastructures.queue.ArrayQueue;
-import datastructures.queue.Queue;
 import datastructures.stack.ArrayStack;
 import datastructures.stack.Stack;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Optional;
 
@@ -22,16 +21,17 @@ public class BFS {
 
 
     /**
-     * Records which vertices have been visited already.
+     * Holds which vertices have been visited, and the back-pointers recording for each vertex the
+     * vertex from which it was first visited. Allows us to trace a path from any visited vertex
+     * back to the root vertex.
      */
-    private final boolean[] isMarked;
+    private final TraversalWorkspace workspace;
 
 
     /**
-     * Array of back-pointers, recording for each vertex the vertex from which it was first visited from.
-     * Allows us to trace a path from any visited vertex back to the root vertex.
+     * Stamp of this search in the workspace, to detect the workspace being reused by a later search.
      */
-    private final int[] edgeTo;
+    private final int searchStamp;
 
 
     /**
@@ -41,11 +41,24 @@ public class BFS {
      * @param rootVertex Index of the first vertex to search from.
      */
     public BFS(final Graph g, final int rootVertex) {
-        this.rootVertex = rootVertex;
+        this(g, rootVertex, new TraversalWorkspace(g.vertexCount()));
+    }
+
 
-        isMarked = new boolean[g.vertexCount()];
-        edgeTo = new int[g.vertexCount()];
+    /**
+     * Perform breadth-first search on the given graph from the specified vertex in the graph,
+     * keeping the results in the given workspace rather than allocating new arrays. The results
+     * can only be queried until the workspace is used for another search.
+     *
+     * @param g The graph to search.
+     * @param rootVertex Index of the first vertex to search from.
+     * @param workspace Workspace to search with, with room for every vertex of the graph.
+     */
+    public BFS(final Graph g, final int rootVertex, final TraversalWorkspace workspace) {
+        this.rootVertex = rootVertex;
+        this.workspace = workspace;
 
+        searchStamp = workspace.reset(g.vertexCount());
         graphSearch(g, rootVertex);
     }
 
@@ -58,25 +71,32 @@ public class BFS {
      */
     private void graphSearch(final Graph g, final int rootVertex) {
 
-        // hold vertices in a queue so we can visit them easily in breadth-first order
-        final Queue<Integer> nextVertices = new ArrayQueue<>();
-        nextVertices.enqueue(rootVertex); // begin with the root vertex
+        // vertices are marked as they are queued, so each is queued at most once and a plain array will do
+        final int[] nextVertices = workspace.vertices;
+        final int[] edgeTo = workspace.edgeTo;
+        int head = 0;
+        int tail = 0;
+
+        nextVertices[tail++] = rootVertex; // begin with the root vertex
+        workspace.mark(rootVertex);
 
         // continue search until we've examined every vertex in the connected component
-        while (!nextVertices.isEmpty()) {
+        while (head < tail) {
 
             // visit the next vertex in the queue
-            final int currentVertex = nextVertices.dequeue().get();
-            isMarked[currentVertex] = true;
+            final int currentVertex = nextVertices[head++];
 
             // add all unvisited neighbours of the current vertex to the queue
-            g.adj(currentVertex).forEachRemaining(neighbour -> {
-                if (!isMarked[neighbour]) {
+            final int degree = g.degree(currentVertex);
+            for (int i = 0; i < degree; i++) {
+                final int neighbour = g.neighbour(currentVertex, i);
+                if (!workspace.isMarked(neighbour)) {
                     // record that we are going to the next vertex for the first time from the current vertex
+                    workspace.mark(neighbour);
                     edgeTo[neighbour] = currentVertex;
-                    nextVertices.enqueue(neighbour);
+                    nextVertices[tail++] = neighbour;
                 }
-            });
+            }
         }
     }
 
@@ -86,9 +106,11 @@ public class BFS {
      *
      * @param otherVertex Index of the vertex to check if there is a path to.
      * @return <CODE>true</CODE> if there is a path to the vertex from the root vertex; <CODE>false</CODE> otherwise.
+     * @throws IllegalStateException If the workspace has since been used for another search.
      */
     public boolean hasPathTo(final int otherVertex) {
-        return isMarked[otherVertex];
+        workspace.checkCurrent(searchStamp);
+        return workspace.isMarked(otherVertex);
     }
 
 
@@ -99,24 +121,24 @@ public class BFS {
      *
      * @param otherVertex Index of the vertex to find the path to.
      * @return Optional containing an iterator over the vertices in the path if a path exists.
+     * @throws IllegalStateException If the workspace has since been used for another search.
      */
     public Optional<Iterator<Integer>> pathTo(final int otherVertex) {
 
         // first check that a path exists to begin with
-        if (!isMarked[otherVertex]) {
+        if (!hasPathTo(otherVertex)) {
             return Optional.empty();
         }
 
         // the order is in reverse when following the backpointers, so we push the vertices
         // onto a stack which will reverse the order when iterated over
         final Stack<Integer> path = new ArrayStack<>();
-        path.push(otherVertex); // push the destination vertex on to the stack
 
-        // follow backpointers, pushing each vertex along the route on to the stack
-        int previousVertex = edgeTo[otherVertex];
+        // follow backpointers from the destination vertex, pushing each vertex along the route on to the stack
+        int previousVertex = otherVertex;
         while (previousVertex != rootVertex) {
             path.push(previousVertex);
-            previousVertex = edgeTo[previousVertex];
+            previousVertex = workspace.edgeTo[previousVertex];
         }
         path.push(rootVertex); // finally, add the root vertex to complete the path
 
@@ -125,43 +147,57 @@ public class BFS {
 
 
     /**
-     * Find all vertices reachable from the specified vertex.
+     * Find all vertices reachable from the specified vertex, using the calling thread's workspace
+     * so that repeated searches don't allocate arrays the size of the graph.
      *
      * @param g The graph to search.
      * @param rootVertex Index of the first vertex to search from.
      * @return Iterator over all vertices reachable from the specified vertex in breadth-first order.
      */
     public static Iterator<Integer> search(final Graph g, final int rootVertex) {
+        return search(g, rootVertex, TraversalWorkspace.forCurrentThread(g.vertexCount()));
+    }
 
-        // records which vertices have been visited already.
-        final boolean[] isMarked = new boolean[g.vertexCount()];
 
-        // holds all vertices visited in order
-        final Queue<Integer> allVertices = new ArrayQueue<>();
+    /**
+     * Find all vertices reachable from the specified vertex, using the given workspace.
+     *
+     * @param g The graph to search.
+     * @param rootVertex Index of the first vertex to search from.
+     * @param workspace Workspace to search with, with room for every vertex of the graph.
+     * @return Iterator over all vertices reachable from the specified vertex in breadth-first order.
+     */
+    public static Iterator<Integer> search(final Graph g, final int rootVertex, final TraversalWorkspace workspace) {
+        workspace.reset(g.vertexCount());
 
-        // hold vertices in a queue so we can visit them easily in breath-first order
-        final Queue<Integer> nextVertices = new ArrayQueue<>();
-        nextVertices.enqueue(rootVertex); // begin with the root vertex
+        // hold vertices in a queue so we can visit them easily in breath-first order. Vertices are
+        // never removed from the array, so once the search ends it holds all vertices visited in order
+        final int[] allVertices = workspace.vertices;
+        int head = 0;
+        int tail = 0;
+
+        allVertices[tail++] = rootVertex; // begin with the root vertex
+        workspace.mark(rootVertex);
 
         // continue search until we've examined every vertex in the connected component
-        while (!nextVertices.isEmpty()) {
+        while (head < tail) {
 
             // visit the next vertex in the queue
-            final int currentVertex = nextVertices.dequeue().get();
-            isMarked[currentVertex] = true;
-
-            // add vertex to queue of all vertices visited
-            allVertices.enqueue(currentVertex);
+            final int currentVertex = allVertices[head++];
 
             // add all unvisited neighbours of the current vertex to the queue
-            g.adj(currentVertex).forEachRemaining(neighbour -> {
-                if (!isMarked[neighbour]) {
-                    nextVertices.enqueue(neighbour);
+            final int degree = g.degree(currentVertex);
+            for (int i = 0; i < degree; i++) {
+                final int neighbour = g.neighbour(currentVertex, i);
+                if (!workspace.isMarked(neighbour)) {
+                    workspace.mark(neighbour);
+                    allVertices[tail++] = neighbour;
                 }
-            });
+            }
         }
 
-        return allVertices.iterator();
+        // copy out the visited vertices, since the workspace will be reused
+        return Arrays.stream(Arrays.copyOf(allVertices, tail)).iterator();
     }
 
 }
@@ -0,0 +1,266 @@
+package algorithms.graph;
+
+import datastructures.graph.Graph;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Answers shortest path queries between pairs of vertices with breadth-first searches from both
+ * ends at once. Each step expands a whole level of whichever search has the smaller frontier,
+ * and the query stops at the end of the first level in which the two searches meet. On graphs
+ * where the number of vertices grows quickly with distance, the two searches together visit far
+ * fewer vertices than a single search from one end to the other.
+ *
+ * For a directed graph, the search from the target follows arcs backwards, so it needs the graph
+ * with every arc reversed.
+ *
+ * Unlike {@link BFS}, nothing is searched when the object is created. Instead each thread keeps
+ * a {@link TraversalWorkspace} for each end, which is reused from one query to the next, so a
+ * query costs time in proportion to the vertices it visits rather than to the size of the graph.
+ * Queries can be made from several threads at once, as long as the graph isn't modified.
+ */
+public class BidirectionalBFS {
+
+    /**
+     * The graph to search from the source vertex.
+     */
+    private final Graph graph;
+
+
+    /**
+     * The graph to search from the target vertex, holding the arcs of the graph in reverse.
+     */
+    private final Graph reverse;
+
+
+    /**
+     * Workspaces and query state of each thread which has made a query.
+     */
+    private final ThreadLocal<Query> queries;
+
+
+    /**
+     * Prepare to answer path queries on an undirected graph.
+     *
+     * @param g The graph to search, which must hold every edge in both directions.
+     */
+    public BidirectionalBFS(final Graph g) {
+        this(g, g);
+    }
+
+
+    /**
+     * Prepare to answer path queries on a directed graph.
+     *
+     * @param g The graph to search.
+     * @param reverse The graph with every arc reversed, such as from {@link datastructures.graph.CSRGraph#transpose()}.
+     */
+    public BidirectionalBFS(final Graph g, final Graph reverse) {
+        if (reverse.vertexCount() != g.vertexCount()) {
+            throw new IllegalArgumentException("Reverse graph has " + reverse.vertexCount()
+                    + " vertices, not " + g.vertexCount());
+        }
+
+        this.graph = g;
+        this.reverse = reverse;
+        queries = ThreadLocal.withInitial(() -> new Query(g.vertexCount()));
+    }
+
+
+    /**
+     * Find the length of a shortest path between two vertices.
+     *
+     * @param source Index of the vertex the path starts from.
+     * @param target Index of the vertex the path leads to.
+     * @return The number of edges on a shortest path, or -1 if there is no path.
+     */
+    public int distance(final int source, final int target) {
+        final Query query = queries.get();
+        return search(query, source, target) ? query.pathLength : -1;
+    }
+
+
+    /**
+     * Check if there exists a path between two vertices.
+     *
+     * @param source Index of the vertex the path starts from.
+     * @param target Index of the vertex the path leads to.
+     * @return <CODE>true</CODE> if there is a path from the source vertex to the target vertex; <CODE>false</CODE> otherwise.
+     */
+    public boolean hasPath(final int source, final int target) {
+        return search(queries.get(), source, target);
+    }
+
+
+    /**
+     * Provides an iterator over the sequence of indices along a shortest path between two
+     * vertices, provided that a path exists.
+     *
+     * @param source Index of the vertex the path starts from.
+     * @param target Index of the vertex the path leads to.
+     * @return Optional containing an iterator over the vertices in the path if a path exists.
+     */
+    public Optional<Iterator<Integer>> path(final int source, final int target) {
+        final Query query = queries.get();
+
+        if (!search(query, source, target)) {
+            return Optional.empty();
+        }
+
+        // follow the source search's backpointers from where the searches met, filling in the path backwards
+        final int[] path = new int[query.pathLength + 1];
+        final int meetPosition = query.forward.distTo()[query.meetForward];
+        int position = meetPosition;
+        for (int v = query.meetForward; position >= 0; v = query.forward.edgeTo[v]) {
+            path[position--] = v;
+        }
+
+        // then the target search's backpointers already lead towards the target
+        position = meetPosition + 1;
+        for (int v = query.meetBackward; position < path.length; v = query.backward.edgeTo[v]) {
+            path[position++] = v;
+        }
+
+        return Optional.of(Arrays.stream(path).iterator());
+    }
+
+
+    /**
+     * Search from both ends until the searches meet or one runs out of vertices.
+     *
+     * @param query The query state of the calling thread.
+     * @param source Index of the vertex the path starts from.
+     * @param target Index of the vertex the path leads to.
+     * @return <CODE>true</CODE> if a path was found; <CODE>false</CODE> otherwise.
+     */
+    private boolean search(final Query query, final int source, final int target) {
+        final TraversalWorkspace forward = query.forward;
+        final TraversalWorkspace backward = query.backward;
+
+        forward.reset(graph.vertexCount());
+        backward.reset(graph.vertexCount());
+
+        forward.mark(source);
+        forward.distTo()[source] = 0;
+        forward.vertices[0] = source;
+        query.meetForward = source;
+
+        if (source == target) {
+            query.pathLength = 0;
+            return true;
+        }
+
+        backward.mark(target);
+        backward.distTo()[target] = 0;
+        backward.vertices[0] = target;
+
+        // each queue holds the vertices of its search in order, with the current level at the end
+        int forwardLevelStart = 0;
+        int forwardTail = 1;
+        int backwardLevelStart = 0;
+        int backwardTail = 1;
+
+        query.pathLength = Integer.MAX_VALUE;
+
+        while (forwardLevelStart < forwardTail && backwardLevelStart < backwardTail) {
+
+            if (forwardTail - forwardLevelStart <= backwardTail - backwardLevelStart) {
+                final int levelEnd = forwardTail;
+                forwardTail = expandLevel(graph, query, forward, backward, forwardLevelStart, levelEnd);
+                forwardLevelStart = levelEnd;
+            } else {
+                final int levelEnd = backwardTail;
+                backwardTail = expandLevel(reverse, query, backward, forward, backwardLevelStart, levelEnd);
+                backwardLevelStart = levelEnd;
+            }
+
+            // every path not yet found is longer than those through the level just expanded
+            if (query.pathLength != Integer.MAX_VALUE) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Expand one level of the search from one end, recording the shortest path found through
+     * any edge leading to a vertex the other search has visited.
+     *
+     * @param g The graph to follow from this end.
+     * @param query The query state of the calling thread.
+     * @param workspace The workspace of the search being expanded.
+     * @param other The workspace of the search from the other end.
+     * @param levelStart Position in the queue of the first vertex of the level.
+     * @param levelEnd Position in the queue just after the last vertex of the level.
+     * @return Position in the queue just after the last vertex of the next level.
+     */
+    private static int expandLevel(final Graph g, final Query query, final TraversalWorkspace workspace,
+                                   final TraversalWorkspace other, final int levelStart, final int levelEnd) {
+        final boolean forward = workspace == query.forward;
+        final int[] queue = workspace.vertices;
+        final int[] distTo = workspace.distTo();
+        final int[] edgeTo = workspace.edgeTo;
+        final int[] otherDistTo = other.distTo();
+
+        int tail = levelEnd;
+        for (int q = levelStart; q < levelEnd; q++) {
+            final int vertex = queue[q];
+
+            final int degree = g.degree(vertex);
+            for (int i = 0; i < degree; i++) {
+                final int neighbour = g.neighbour(vertex, i);
+
+                if (other.isMarked(neighbour)) {
+                    final int length = distTo[vertex] + 1 + otherDistTo[neighbour];
+                    if (length < query.pathLength) {
+                        query.pathLength = length;
+                        query.meetForward = forward ? vertex : neighbour;
+                        query.meetBackward = forward ? neighbour : vertex;
+                    }
+                }
+
+                if (!workspace.isMarked(neighbour)) {
+                    workspace.mark(neighbour);
+                    distTo[neighbour] = distTo[vertex] + 1;
+                    edgeTo[neighbour] = vertex;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return tail;
+    }
+
+
+    /**
+     * The workspaces of the searches from each end for one thread, and the result of its latest query.
+     */
+    private static class Query {
+
+        final TraversalWorkspace forward;
+
+        final TraversalWorkspace backward;
+
+        /**
+         * Length of the shortest path found by the latest query.
+         */
+        int pathLength;
+
+        /**
+         * The edge where the searches met on the shortest path found, from the source search's
+         * side to the target search's side. Only the first is set if the source is the target.
+         */
+        int meetForward;
+
+        int meetBackward;
+
+        Query(final int vertexCount) {
+            forward = new TraversalWorkspace(vertexCount);
+            backward = new TraversalWorkspace(vertexCount);
+        }
+    }
+
+}
@@ -0,0 +1,224 @@
+package algorithms.graph;
+
+import datastructures.graph.Graph;
+
+import java.util.Arrays;
+
+/**
+ * Breadth-first searches from many source vertices, run together so that each edge is scanned
+ * once for up to 64 sources rather than once per source. Every vertex holds a word with one bit
+ * per source, recording which sources have reached it, and a second word of the sources whose
+ * search frontier it is in. Expanding a vertex pushes its whole frontier word to each neighbour
+ * with a single OR, and a neighbour joins the next level of exactly those searches whose bits it
+ * didn't already have.
+ *
+ * The distance from every source to every vertex is recorded, which suits questions such as
+ * closeness on small-world graphs, where each search reaches most of the graph in a few levels
+ * and so the searches overlap heavily. Sources beyond the first 64 are searched in further
+ * batches of 64. See {@link MultiSourceBFS} for only the distance to the nearest source.
+ */
+public class BitParallelBFS {
+
+    /**
+     * The vertices searched from.
+     */
+    private final int[] sources;
+
+
+    /**
+     * Number of edges from each source to each vertex, or -1 if the source doesn't reach it,
+     * indexed by the source's position among the sources, then by vertex.
+     */
+    private final int[][] distTo;
+
+
+    /**
+     * Perform breadth-first searches on the given graph from each of a set of source vertices.
+     *
+     * @param g The graph to search.
+     * @param sources The vertices to search from, of which there must be at least one.
+     */
+    public BitParallelBFS(final Graph g, final int... sources) {
+        if (sources.length == 0) {
+            throw new IllegalArgumentException("At least one source vertex is needed");
+        }
+
+        final int vertexCount = g.vertexCount();
+        for (final int source : sources) {
+            if (source < 0 || source >= vertexCount) {
+                throw new IllegalArgumentException("Vertex " + source + " is not in a graph of "
+                        + vertexCount + " vertices");
+            }
+        }
+
+        this.sources = Arrays.copyOf(sources, sources.length);
+        distTo = new int[sources.length][vertexCount];
+        for (final int[] distances : distTo) {
+            Arrays.fill(distances, -1);
+        }
+
+        // per-vertex words of the sources which have reached it, and of the current and next frontiers
+        final long[] seen = new long[vertexCount];
+        final long[] frontier = new long[vertexCount];
+        final long[] next = new long[vertexCount];
+        final int[] active = new int[vertexCount];
+        final int[] nextActive = new int[vertexCount];
+
+        for (int first = 0; first < sources.length; first += Long.SIZE) {
+            final int batchSize = Math.min(Long.SIZE, sources.length - first);
+            searchBatch(g, first, batchSize, seen, frontier, next, active, nextActive);
+            Arrays.fill(seen, 0);
+        }
+    }
+
+
+    /**
+     * Search from a batch of up to 64 sources at once.
+     *
+     * @param g The graph to search.
+     * @param first Position of the first source of the batch among all the sources.
+     * @param batchSize Number of sources in the batch.
+     * @param seen The sources which have reached each vertex, all clear.
+     * @param frontier The sources whose frontier each vertex is in, all clear, and left that way.
+     * @param next The sources whose next frontier each vertex is in, all clear, and left that way.
+     * @param activeSpace Space for the vertices in any frontier.
+     * @param nextActiveSpace Space for the vertices in any next frontier.
+     */
+    private void searchBatch(final Graph g, final int first, final int batchSize, final long[] seen,
+                             final long[] frontier, final long[] next, final int[] activeSpace,
+                             final int[] nextActiveSpace) {
+        int[] active = activeSpace;
+        int[] nextActive = nextActiveSpace;
+        int activeCount = 0;
+        for (int bit = 0; bit < batchSize; bit++) {
+            final int source = sources[first + bit];
+            if (frontier[source] == 0) {
+                active[activeCount++] = source;
+            }
+            seen[source] |= 1L << bit;
+            frontier[source] |= 1L << bit;
+            distTo[first + bit][source] = 0;
+        }
+
+        int distance = 0;
+        while (activeCount > 0) {
+            distance++;
+
+            // push each frontier vertex's searches to its neighbours, noting each neighbour the first time it is reached
+            int nextCount = 0;
+            for (int a = 0; a < activeCount; a++) {
+                final int vertex = active[a];
+                final long searches = frontier[vertex];
+                frontier[vertex] = 0;
+
+                final int degree = g.degree(vertex);
+                for (int i = 0; i < degree; i++) {
+                    final int neighbour = g.neighbour(vertex, i);
+                    final long arriving = searches & ~seen[neighbour];
+                    if (arriving != 0) {
+                        if (next[neighbour] == 0) {
+                            nextActive[nextCount++] = neighbour;
+                        }
+                        next[neighbour] |= arriving;
+                    }
+                }
+            }
+
+            // vertices only count as reached after the level, so every search crossing this level is kept
+            for (int a = 0; a < nextCount; a++) {
+                final int vertex = nextActive[a];
+                long arrived = next[vertex];
+                next[vertex] = 0;
+                seen[vertex] |= arrived;
+                frontier[vertex] = arrived;
+
+                while (arrived != 0) {
+                    distTo[first + Long.numberOfTrailingZeros(arrived)][vertex] = distance;
+                    arrived &= arrived - 1;
+                }
+            }
+
+            final int[] swap = active;
+            active = nextActive;
+            nextActive = swap;
+            activeCount = nextCount;
+        }
+    }
+
+
+    /**
+     * Get the number of sources searched from.
+     *
+     * @return The number of sources.
+     */
+    public int sourceCount() {
+        return sources.length;
+    }
+
+
+    /**
+     * Get one of the sources searched from.
+     *
+     * @param sourceIndex Position of the source among the sources given.
+     * @return The source vertex.
+     */
+    public int source(final int sourceIndex) {
+        return sources[sourceIndex];
+    }
+
+
+    /**
+     * Check if a source reaches the specified vertex.
+     *
+     * @param sourceIndex Position of the source among the sources given.
+     * @param otherVertex Index of the vertex to check.
+     * @return <CODE>true</CODE> if there is a path to the vertex from the source; <CODE>false</CODE> otherwise.
+     */
+    public boolean hasPathTo(final int sourceIndex, final int otherVertex) {
+        return distTo[sourceIndex][otherVertex] >= 0;
+    }
+
+
+    /**
+     * Get the length of the shortest path from a source to the specified vertex.
+     *
+     * @param sourceIndex Position of the source among the sources given.
+     * @param otherVertex Index of the vertex to find the distance to.
+     * @return The number of edges on a shortest path, or -1 if there is no path.
+     */
+    public int distanceTo(final int sourceIndex, final int otherVertex) {
+        return distTo[sourceIndex][otherVertex];
+    }
+
+
+    /**
+     * Get the distance from a source to every vertex.
+     *
+     * @param sourceIndex Position of the source among the sources given.
+     * @return A copy of the distance to each vertex, which is -1 for vertices the source doesn't reach.
+     */
+    public int[] distances(final int sourceIndex) {
+        return Arrays.copyOf(distTo[sourceIndex], distTo[sourceIndex].length);
+    }
+
+
+    /**
+     * Get the closeness of a source: the number of other vertices it reaches, divided by the sum of
+     * the distances to them, so that a source close to everything it reaches scores near one.
+     *
+     * @param sourceIndex Position of the source among the sources given.
+     * @return The closeness of the source, or zero if it reaches no other vertex.
+     */
+    public double closeness(final int sourceIndex) {
+        long reached = 0;
+        long totalDistance = 0;
+        for (final int distance : distTo[sourceIndex]) {
+            if (distance > 0) {
+                reached++;
+                totalDistance += distance;
+            }
+        }
+        return totalDistance == 0 ? 0 : (double) reached / totalDistance;
+    }
+
+}
@@ -0,0 +1,235 @@
+package algorithms.graph;
+
+import datastructures.graph.Edge;
+import datastructures.graph.WeightedGraph;
+import datastructures.unionfind.WeightedQuickUnionPC;
+
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Borůvka's algorithm for a minimum spanning forest, finding edges in parallel on a fork-join pool.
+ *
+ * The forest starts with every vertex as a tree of its own. In each round, every tree finds the
+ * lightest edge leading out of it, and all of those edges are added at once, which at least
+ * halves the number of trees, so there are at most log N rounds. Finding the lightest edges
+ * takes nearly all of the work, and is done for many vertices at once: each vertex finds its own
+ * lightest edge out of its tree, then offers it to its tree with compare-and-set. The edges are
+ * then added one tree at a time, checking with a {@link WeightedQuickUnionPC} that each still
+ * joins two different trees.
+ *
+ * Edges of equal weight are ordered by their vertices, so that every tree agrees on which of
+ * them is lightest, as otherwise the trees could pick edges that form a cycle between them.
+ */
+public class BoruvkaMST implements MinimumSpanningTree {
+
+    /**
+     * Number of vertices below which a range is processed directly rather than split.
+     */
+    private static final int GRAIN = 1024;
+
+
+    /**
+     * Marks a tree which hasn't found an edge leading out of it.
+     */
+    private static final long NO_EDGE = -1;
+
+
+    /**
+     * The edges of the forest.
+     */
+    private final SpanningEdges tree;
+
+
+    /**
+     * Find a minimum spanning forest of a graph, using the common pool.
+     *
+     * @param g The undirected graph to span, holding every edge in both directions.
+     */
+    public BoruvkaMST(final WeightedGraph g) {
+        this(g, ForkJoinPool.commonPool());
+    }
+
+
+    /**
+     * Find a minimum spanning forest of a graph, using the given pool.
+     *
+     * @param g The undirected graph to span, holding every edge in both directions.
+     * @param pool Pool to run the search on.
+     */
+    public BoruvkaMST(final WeightedGraph g, final ForkJoinPool pool) {
+        final int vertexCount = g.vertexCount();
+        tree = new SpanningEdges(vertexCount);
+
+        // the tree of each vertex, named by one of its vertices, and the trees still being joined
+        final int[] trees = new int[vertexCount];
+        final int[] roots = new int[vertexCount];
+        int rootCount = vertexCount;
+        for (int v = 0; v < vertexCount; v++) {
+            trees[v] = v;
+            roots[v] = v;
+        }
+
+        // the lightest edge out of each tree, packed as its vertex and the edge's index at that vertex
+        final AtomicLongArray lightest = new AtomicLongArray(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            lightest.set(v, NO_EDGE);
+        }
+
+        final WeightedQuickUnionPC forest = new WeightedQuickUnionPC(vertexCount);
+        final int[] renamed = new int[vertexCount];
+
+        while (rootCount > 1) {
+            ParallelFor.forRange(pool, 0, vertexCount, GRAIN, (start, end) -> {
+                for (int v = start; v < end; v++) {
+                    final int lightestIndex = lightestEdge(g, trees, v);
+                    if (lightestIndex >= 0) {
+                        offer(g, lightest, trees[v], v, lightestIndex);
+                    }
+                }
+            });
+
+            // add the edges found, skipping those which join trees already joined this round
+            boolean joined = false;
+            for (int r = 0; r < rootCount; r++) {
+                final long packed = lightest.get(roots[r]);
+                if (packed == NO_EDGE) {
+                    continue;
+                }
+                lightest.set(roots[r], NO_EDGE);
+
+                final int vertex = (int) (packed >>> 32);
+                final int index = (int) packed;
+                final int neighbour = g.neighbour(vertex, index);
+                if (!forest.connected(vertex, neighbour)) {
+                    forest.union(vertex, neighbour);
+                    tree.add(vertex, neighbour, g.weight(vertex, index));
+                    joined = true;
+                }
+            }
+            if (!joined) {
+                // every remaining tree spans a whole component
+                break;
+            }
+
+            // rename each tree after the root of its new union, and drop the trees which were merged away
+            int newRootCount = 0;
+            for (int r = 0; r < rootCount; r++) {
+                final int root = forest.find(roots[r]);
+                renamed[roots[r]] = root;
+                if (root == roots[r]) {
+                    roots[newRootCount++] = root;
+                }
+            }
+            rootCount = newRootCount;
+
+            ParallelFor.forRange(pool, 0, vertexCount, GRAIN, (start, end) -> {
+                for (int v = start; v < end; v++) {
+                    trees[v] = renamed[trees[v]];
+                }
+            });
+        }
+    }
+
+
+    /**
+     * Find the lightest edge from a vertex to a vertex of another tree.
+     *
+     * @param g The graph.
+     * @param trees The tree of each vertex.
+     * @param vertex The vertex.
+     * @return Index of the lightest edge at the vertex, or -1 if every neighbour is in the same tree.
+     */
+    private static int lightestEdge(final WeightedGraph g, final int[] trees, final int vertex) {
+        final int tree = trees[vertex];
+        int best = -1;
+
+        final int degree = g.degree(vertex);
+        for (int i = 0; i < degree; i++) {
+            if (trees[g.neighbour(vertex, i)] != tree && (best < 0 || lighter(g, vertex, i, vertex, best))) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+
+    /**
+     * Offer an edge as the lightest out of a tree, replacing the tree's current edge if the new one is lighter.
+     *
+     * @param g The graph.
+     * @param lightest The lightest edge found out of each tree.
+     * @param tree The tree.
+     * @param vertex The vertex the edge leads from.
+     * @param index The index of the edge at the vertex.
+     */
+    private static void offer(final WeightedGraph g, final AtomicLongArray lightest, final int tree,
+                              final int vertex, final int index) {
+        final long packed = ((long) vertex << 32) | (index & 0xFFFFFFFFL);
+        long current = lightest.get(tree);
+        while (current == NO_EDGE || lighter(g, vertex, index, (int) (current >>> 32), (int) current)) {
+            if (lightest.compareAndSet(tree, current, packed)) {
+                return;
+            }
+            current = lightest.get(tree);
+        }
+    }
+
+
+    /**
+     * Compare two edges by weight, then by their lower vertex, then by their higher vertex, so
+     * that an edge compares the same whichever end it is seen from.
+     *
+     * @param g The graph.
+     * @param vertex Vertex the first edge leads from.
+     * @param index Index of the first edge at its vertex.
+     * @param otherVertex Vertex the second edge leads from.
+     * @param otherIndex Index of the second edge at its vertex.
+     * @return <CODE>true</CODE> if the first edge is strictly lighter; <CODE>false</CODE> otherwise.
+     */
+    private static boolean lighter(final WeightedGraph g, final int vertex, final int index,
+                                   final int otherVertex, final int otherIndex) {
+        final int compared = Double.compare(g.weight(vertex, index), g.weight(otherVertex, otherIndex));
+        if (compared != 0) {
+            return compared < 0;
+        }
+
+        final int neighbour = g.neighbour(vertex, index);
+        final int otherNeighbour = g.neighbour(otherVertex, otherIndex);
+        final int low = Math.min(vertex, neighbour);
+        final int otherLow = Math.min(otherVertex, otherNeighbour);
+        if (low != otherLow) {
+            return low < otherLow;
+        }
+        return Math.max(vertex, neighbour) < Math.max(otherVertex, otherNeighbour);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<Edge> edges() {
+        return tree.iterator();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int edgeCount() {
+        return tree.count();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double weight() {
+        return tree.totalWeight();
+    }
+
+}
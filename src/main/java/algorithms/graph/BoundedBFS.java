@@ -0,0 +1,306 @@
+package algorithms.graph;
+
+import datastructures.graph.Graph;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Breadth-first search which records the distance to each vertex it reaches, and which can be
+ * told to stop early: either once it has gone a given number of edges from the root, or once it
+ * has reached every one of a set of target vertices. Asking whether a target is within a few hops
+ * of the root then only visits the vertices that near to the root, rather than the root's whole
+ * component as {@link BFS} does.
+ *
+ * Like {@link BFS}, the search works in a {@link TraversalWorkspace}, so with a reused workspace
+ * a search costs time in proportion to the vertices it visits rather than to the size of the
+ * graph, and its results can only be queried until the workspace is used for another search.
+ * Paths can be copied into an array supplied by the caller, to avoid building an iterator.
+ */
+public class BoundedBFS {
+
+    /**
+     * Depth bound of a search which goes as far as the graph allows.
+     */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+
+    /**
+     * Index of the vertex that the search begins from.
+     */
+    private final int rootVertex;
+
+
+    /**
+     * Number of vertices in the graph searched.
+     */
+    private final int vertexCount;
+
+
+    /**
+     * Holds which vertices have been visited, the distance to each and the back-pointers to the
+     * vertex each was first visited from, as well as the visited vertices in the order visited.
+     */
+    private final TraversalWorkspace workspace;
+
+
+    /**
+     * Stamp of this search in the workspace, to detect the workspace being reused by a later search.
+     */
+    private final int searchStamp;
+
+
+    /**
+     * Number of vertices visited, which are held at the start of the workspace's queue.
+     */
+    private final int visitedCount;
+
+
+    /**
+     * Whether the search reached every target vertex.
+     */
+    private final boolean foundAllTargets;
+
+
+    /**
+     * Perform breadth-first search on the given graph from the specified vertex, recording the
+     * distance to every vertex in its component.
+     *
+     * @param g The graph to search.
+     * @param rootVertex Index of the first vertex to search from.
+     */
+    public BoundedBFS(final Graph g, final int rootVertex) {
+        this(g, rootVertex, UNBOUNDED);
+    }
+
+
+    /**
+     * Perform breadth-first search on the given graph from the specified vertex, going no further
+     * than the given depth, and stopping as soon as every target vertex has been reached.
+     *
+     * @param g The graph to search.
+     * @param rootVertex Index of the first vertex to search from.
+     * @param maxDepth The greatest number of edges from the root to search, or {@link #UNBOUNDED}.
+     * @param targets Vertices to stop the search once all have been reached, if any are given.
+     */
+    public BoundedBFS(final Graph g, final int rootVertex, final int maxDepth, final int... targets) {
+        this(g, rootVertex, maxDepth, new TraversalWorkspace(g.vertexCount()), targets);
+    }
+
+
+    /**
+     * Perform breadth-first search on the given graph from the specified vertex, going no further
+     * than the given depth, and stopping as soon as every target vertex has been reached. The
+     * results are kept in the given workspace, and can only be queried until the workspace is
+     * used for another search.
+     *
+     * @param g The graph to search.
+     * @param rootVertex Index of the first vertex to search from.
+     * @param maxDepth The greatest number of edges from the root to search, or {@link #UNBOUNDED}.
+     * @param workspace Workspace to search with, with room for every vertex of the graph.
+     * @param targets Vertices to stop the search once all have been reached, if any are given.
+     */
+    public BoundedBFS(final Graph g, final int rootVertex, final int maxDepth, final TraversalWorkspace workspace,
+                      final int... targets) {
+        vertexCount = g.vertexCount();
+        checkVertex(rootVertex);
+        for (final int target : targets) {
+            checkVertex(target);
+        }
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("Maximum depth must not be negative: " + maxDepth);
+        }
+
+        this.rootVertex = rootVertex;
+        this.workspace = workspace;
+        searchStamp = workspace.reset(vertexCount);
+
+        // sorted and without repeats, so that each visited vertex can be looked up cheaply
+        final int[] sortedTargets = Arrays.stream(targets).sorted().distinct().toArray();
+
+        final int[] queue = workspace.vertices;
+        final int[] edgeTo = workspace.edgeTo;
+        final int[] distTo = workspace.distTo();
+        int head = 0;
+        int tail = 0;
+
+        queue[tail++] = rootVertex;
+        workspace.mark(rootVertex);
+        edgeTo[rootVertex] = rootVertex;
+        distTo[rootVertex] = 0;
+
+        int targetsLeft = sortedTargets.length;
+        if (Arrays.binarySearch(sortedTargets, rootVertex) >= 0) {
+            targetsLeft--;
+        }
+
+        search:
+        while (head < tail && !(sortedTargets.length > 0 && targetsLeft == 0)) {
+            final int currentVertex = queue[head++];
+
+            // vertices come off the queue in order of distance, so the rest are at the bound as well
+            if (distTo[currentVertex] >= maxDepth) {
+                break;
+            }
+
+            final int degree = g.degree(currentVertex);
+            for (int i = 0; i < degree; i++) {
+                final int neighbour = g.neighbour(currentVertex, i);
+                if (!workspace.isMarked(neighbour)) {
+                    workspace.mark(neighbour);
+                    edgeTo[neighbour] = currentVertex;
+                    distTo[neighbour] = distTo[currentVertex] + 1;
+                    queue[tail++] = neighbour;
+
+                    if (sortedTargets.length > 0 && Arrays.binarySearch(sortedTargets, neighbour) >= 0
+                            && --targetsLeft == 0) {
+                        break search;
+                    }
+                }
+            }
+        }
+
+        visitedCount = tail;
+        foundAllTargets = targetsLeft == 0;
+    }
+
+
+    /**
+     * Check that a vertex is in the graph.
+     *
+     * @param vertex The vertex.
+     */
+    private void checkVertex(final int vertex) {
+        if (vertex < 0 || vertex >= vertexCount) {
+            throw new IllegalArgumentException("Vertex " + vertex + " is not in a graph of "
+                    + vertexCount + " vertices");
+        }
+    }
+
+
+    /**
+     * Check if the search reached the specified vertex before stopping.
+     *
+     * @param otherVertex Index of the vertex to check.
+     * @return <CODE>true</CODE> if the search found a path to the vertex; <CODE>false</CODE> otherwise.
+     * @throws IllegalStateException If the workspace has since been used for another search.
+     */
+    public boolean hasPathTo(final int otherVertex) {
+        workspace.checkCurrent(searchStamp);
+        return workspace.isMarked(otherVertex);
+    }
+
+
+    /**
+     * Get the length of the shortest path from the root vertex to the specified vertex.
+     *
+     * @param otherVertex Index of the vertex to find the distance to.
+     * @return The number of edges on a shortest path, or -1 if the search didn't reach the vertex.
+     * @throws IllegalStateException If the workspace has since been used for another search.
+     */
+    public int distanceTo(final int otherVertex) {
+        return hasPathTo(otherVertex) ? workspace.distTo()[otherVertex] : -1;
+    }
+
+
+    /**
+     * Get the distance to every vertex.
+     *
+     * @return The distance to each vertex, which is -1 for vertices the search didn't reach.
+     * @throws IllegalStateException If the workspace has since been used for another search.
+     */
+    public int[] distances() {
+        workspace.checkCurrent(searchStamp);
+
+        final int[] distances = new int[vertexCount];
+        Arrays.fill(distances, -1);
+        final int[] distTo = workspace.distTo();
+        for (int i = 0; i < visitedCount; i++) {
+            final int vertex = workspace.vertices[i];
+            distances[vertex] = distTo[vertex];
+        }
+        return distances;
+    }
+
+
+    /**
+     * Copy the vertices along a shortest path from the root vertex to the specified vertex into
+     * an array, starting with the root vertex.
+     *
+     * @param otherVertex Index of the vertex to find the path to.
+     * @param path Array to copy the path into, from its start, which must have room for the
+     *             distance to the vertex plus one.
+     * @return The number of vertices copied, or -1 if the search didn't reach the vertex.
+     * @throws IllegalStateException If the workspace has since been used for another search.
+     */
+    public int pathTo(final int otherVertex, final int[] path) {
+        final int distance = distanceTo(otherVertex);
+        if (distance < 0) {
+            return -1;
+        }
+        if (path.length <= distance) {
+            throw new IllegalArgumentException("Path of " + (distance + 1) + " vertices doesn't fit in an array of "
+                    + path.length);
+        }
+
+        // follow backpointers from the destination vertex, filling in the path from its end
+        int currentVertex = otherVertex;
+        for (int position = distance; position >= 0; position--) {
+            path[position] = currentVertex;
+            currentVertex = workspace.edgeTo[currentVertex];
+        }
+        return distance + 1;
+    }
+
+
+    /**
+     * Provides an iterator over the sequence of indices from the root vertex to the specified
+     * index, provided that the search reached it.
+     *
+     * @param otherVertex Index of the vertex to find the path to.
+     * @return Optional containing an iterator over the vertices in the path if a path was found.
+     * @throws IllegalStateException If the workspace has since been used for another search.
+     */
+    public Optional<Iterator<Integer>> pathTo(final int otherVertex) {
+        final int distance = distanceTo(otherVertex);
+        if (distance < 0) {
+            return Optional.empty();
+        }
+
+        final int[] path = new int[distance + 1];
+        pathTo(otherVertex, path);
+        return Optional.of(Arrays.stream(path).iterator());
+    }
+
+
+    /**
+     * Get the number of vertices the search visited before stopping, including the root vertex.
+     *
+     * @return The number of vertices visited.
+     */
+    public int visitedCount() {
+        return visitedCount;
+    }
+
+
+    /**
+     * Query if the search reached every target vertex, which is always the case when no targets were given.
+     *
+     * @return <CODE>true</CODE> if every target was reached; <CODE>false</CODE> otherwise.
+     */
+    public boolean foundAllTargets() {
+        return foundAllTargets;
+    }
+
+
+    /**
+     * Get the vertex that the search began from.
+     *
+     * @return The root vertex.
+     */
+    public int rootVertex() {
+        return rootVertex;
+    }
+
+}
@@ -1,9 +1,10 @@
 package algorithms.graph;
 
-import datastructures.graph.UndirectedGraph;
+import datastructures.graph.Graph;
 
 /**
- * Find the connected components in an undirected graph.
+ * Find the connected components in an undirected graph. Components are numbered from zero in
+ * order of their lowest vertex.
  */
 public class ConnectedComponents {
 
@@ -27,25 +28,42 @@ public class ConnectedComponents {
 
 
     /**
-     * Explore the given graph and compute connected components.
+     * Explore the given graph and compute connected components. The graph must be undirected,
+     * or hold every edge in both directions, such as an undirected {@link datastructures.graph.CSRGraph}.
      *
      * @param g The graph to find the connected components within.
      */
-    public ConnectedComponents(final UndirectedGraph g) {
+    public ConnectedComponents(final Graph g) {
         final int vertexCount = g.vertexCount();
         isMarked = new boolean[vertexCount];
         components = new int[vertexCount];
 
+        // shared by every search, as each vertex is pushed at most once across all components
+        final int[] nextVertices = new int[vertexCount];
+
         for (int i = 0; i < vertexCount; i++) {
 
             // run DFS on unprocessed vertices
             if (!isMarked[i]) {
 
                 // DFS will find all vertices within a particular component
-                DFS.search(g, i).forEachRemaining(vertex -> {
-                    isMarked[vertex] = true;
+                int stackSize = 0;
+                nextVertices[stackSize++] = i;
+                isMarked[i] = true;
+
+                while (stackSize > 0) {
+                    final int vertex = nextVertices[--stackSize];
                     components[vertex] = componentID; // all vertices have same component ID
-                });
+
+                    final int degree = g.degree(vertex);
+                    for (int n = 0; n < degree; n++) {
+                        final int neighbour = g.neighbour(vertex, n);
+                        if (!isMarked[neighbour]) {
+                            isMarked[neighbour] = true;
+                            nextVertices[stackSize++] = neighbour;
+                        }
+                    }
+                }
 
                 // increment the component ID so the next component is uniquely identified
                 componentID++;
@@ -1,11 +1,10 @@
 package algorithms.graph;
 
 import datastructures.graph.Graph;
-import datastructures.queue.ArrayQueue;
-import datastructures.queue.Queue;
 import datastructures.stack.ArrayStack;
 import datastructures.stack.Stack;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Optional;
 
@@ -15,6 +14,30 @@ import java.util.Optional;
  */
 public class DFS {
 
+    /**
+     * How the search keeps track of the vertices it is part way through.
+     */
+    public enum Mode {
+
+        /**
+         * Each vertex is searched by a recursive call, so deep graphs can overflow the call stack.
+         */
+        RECURSIVE,
+
+        /**
+         * Vertices are held on an explicit stack, together with the index of the next neighbour to
+         * search, so the depth of the search is only limited by the size of the graph.
+         */
+        ITERATIVE
+    }
+
+
+    /**
+     * Receives no events, for searches without a visitor.
+     */
+    private static final DFSVisitor NO_VISITOR = new DFSVisitor() { };
+
+
     /**
      * Index of the vertex that the search begins from.
      */
@@ -22,31 +45,132 @@ public class DFS {
 
 
     /**
-     * Records which vertices have been visited already.
+     * Holds which vertices have been visited, the backpointers recording for each vertex the
+     * vertex from which it was first visited, and the vertices in the order the search finished
+     * with them. Allows us to trace a path from any visited vertex back to the root vertex.
      */
-    private final boolean[] isMarked;
+    private final TraversalWorkspace workspace;
 
 
     /**
-     * Array of backpointers, recording for each vertex the vertex from which it was first visited from.
-     * Allows us to trace a path from any visited vertex back to the root vertex.
+     * Stamp of this search in the workspace, to detect the workspace being reused by a later search.
      */
-    private final int[] edgeTo;
+    private final int searchStamp;
 
 
     /**
-     * Perform depth-first search on the given graph from the specified vertex in the graph.
+     * Number of vertices the search has finished with.
+     */
+    private int postOrderCount = 0;
+
+
+    /**
+     * Receives events as the search visits vertices.
+     */
+    private final DFSVisitor visitor;
+
+
+    /**
+     * Perform depth-first search on the given graph from the specified vertex in the graph,
+     * using an explicit stack.
      *
      * @param g The graph to search.
      * @param rootVertex Index of the first vertex to search from.
      */
     public DFS(final Graph g, final int rootVertex) {
+        this(g, rootVertex, Mode.ITERATIVE, NO_VISITOR);
+    }
+
+
+    /**
+     * Perform depth-first search on the given graph from the specified vertex in the graph,
+     * using an explicit stack and keeping the results in the given workspace rather than
+     * allocating new arrays. The results can only be queried until the workspace is used for
+     * another search.
+     *
+     * @param g The graph to search.
+     * @param rootVertex Index of the first vertex to search from.
+     * @param workspace Workspace to search with, with room for every vertex of the graph.
+     */
+    public DFS(final Graph g, final int rootVertex, final TraversalWorkspace workspace) {
+        this(g, rootVertex, Mode.ITERATIVE, NO_VISITOR, workspace);
+    }
+
+
+    /**
+     * Perform depth-first search on the given graph from the specified vertex in the graph.
+     *
+     * @param g The graph to search.
+     * @param rootVertex Index of the first vertex to search from.
+     * @param mode Whether to search recursively or with an explicit stack; both give the same results.
+     */
+    public DFS(final Graph g, final int rootVertex, final Mode mode) {
+        this(g, rootVertex, mode, NO_VISITOR);
+    }
+
+
+    /**
+     * Perform depth-first search on the given graph from the specified vertex in the graph,
+     * reporting each vertex to the visitor as it is entered and left.
+     *
+     * @param g The graph to search.
+     * @param rootVertex Index of the first vertex to search from.
+     * @param mode Whether to search recursively or with an explicit stack; both give the same results.
+     * @param visitor Receives events as the search visits vertices.
+     */
+    public DFS(final Graph g, final int rootVertex, final Mode mode, final DFSVisitor visitor) {
+        this(g, rootVertex, mode, visitor, new TraversalWorkspace(g.vertexCount()));
+    }
+
+
+    /**
+     * Perform depth-first search on the given graph from the specified vertex in the graph,
+     * reporting each vertex to the visitor as it is entered and left, and keeping the results in
+     * the given workspace. The results can only be queried until the workspace is used for
+     * another search.
+     *
+     * @param g The graph to search.
+     * @param rootVertex Index of the first vertex to search from.
+     * @param mode Whether to search recursively or with an explicit stack; both give the same results.
+     * @param visitor Receives events as the search visits vertices.
+     * @param workspace Workspace to search with, with room for every vertex of the graph.
+     */
+    public DFS(final Graph g, final int rootVertex, final Mode mode, final DFSVisitor visitor,
+               final TraversalWorkspace workspace) {
         this.rootVertex = rootVertex;
+        this.visitor = visitor;
+        this.workspace = workspace;
+
+        searchStamp = workspace.reset(g.vertexCount());
+
+        if (mode == Mode.RECURSIVE) {
+            graphSearch(g, rootVertex); // begin the recursive search from the starting vertex
+        } else {
+            iterativeGraphSearch(g, rootVertex);
+        }
+    }
+
+
+    /**
+     * Search every vertex of the graph with an explicit stack, starting a new tree from each
+     * vertex in index order which no earlier tree has reached.
+     *
+     * @param g The graph to search.
+     * @param visitor Receives events as the search visits vertices.
+     * @param workspace Workspace to search with, with room for every vertex of the graph.
+     */
+    private DFS(final Graph g, final DFSVisitor visitor, final TraversalWorkspace workspace) {
+        this.rootVertex = -1;
+        this.visitor = visitor;
+        this.workspace = workspace;
 
-        isMarked = new boolean[g.vertexCount()];
-        edgeTo = new int[g.vertexCount()];
+        searchStamp = workspace.reset(g.vertexCount());
 
-        graphSearch(g, rootVertex); // begin the recursive search from the starting vertex
+        for (int root = 0; root < g.vertexCount(); root++) {
+            if (!workspace.isMarked(root)) {
+                iterativeGraphSearch(g, root);
+            }
+        }
     }
 
 
@@ -58,16 +182,88 @@ public class DFS {
      */
     private void graphSearch(final Graph g, final int currentVertex) {
 
-        isMarked[currentVertex] = true; // indicate the vertex as being visited
+        workspace.mark(currentVertex); // indicate the vertex as being visited
+        visitor.preOrder(currentVertex);
 
         // recursively visit all unvisited neighbours of the current vertex
-        g.adj(currentVertex).forEachRemaining(neighbour -> {
-            if (!isMarked[neighbour]) {
+        final int degree = g.degree(currentVertex);
+        for (int i = 0; i < degree; i++) {
+            final int neighbour = g.neighbour(currentVertex, i);
+            if (!workspace.isMarked(neighbour)) {
                 // record that we are going to the next vertex for the first time from the current vertex
-                edgeTo[neighbour] = currentVertex;
+                workspace.edgeTo[neighbour] = currentVertex;
                 graphSearch(g, neighbour); // continue search from the unmarked neighbour
+            } else {
+                visitor.nonTreeEdge(currentVertex, neighbour);
+            }
+        }
+
+        finish(currentVertex);
+    }
+
+
+    /**
+     * Iterative implementation of depth-first search on the graph, visiting vertices in the same
+     * order as the recursive implementation. Each vertex on the stack is paired with the index of
+     * its next neighbour to examine, which is where the recursive version would resume its loop.
+     *
+     * @param g The graph to search.
+     * @param rootVertex Index of the first vertex to search from.
+     */
+    private void iterativeGraphSearch(final Graph g, final int rootVertex) {
+
+        // a vertex is only pushed when first visited, so the stacks never hold more than every vertex
+        final int[] vertexStack = workspace.vertices;
+        final int[] cursorStack = workspace.cursors();
+        int stackSize = 0;
+
+        workspace.mark(rootVertex);
+        visitor.preOrder(rootVertex);
+        vertexStack[stackSize] = rootVertex;
+        cursorStack[stackSize] = 0;
+        stackSize++;
+
+        while (stackSize > 0) {
+
+            final int currentVertex = vertexStack[stackSize - 1];
+            final int degree = g.degree(currentVertex);
+            int cursor = cursorStack[stackSize - 1];
+
+            // skip over neighbours which have already been visited
+            while (cursor < degree && workspace.isMarked(g.neighbour(currentVertex, cursor))) {
+                visitor.nonTreeEdge(currentVertex, g.neighbour(currentVertex, cursor));
+                cursor++;
+            }
+
+            if (cursor < degree) {
+                // descend into the unvisited neighbour, resuming after it once it is finished
+                final int neighbour = g.neighbour(currentVertex, cursor);
+                cursorStack[stackSize - 1] = cursor + 1;
+
+                workspace.mark(neighbour);
+                workspace.edgeTo[neighbour] = currentVertex;
+                visitor.preOrder(neighbour);
+
+                vertexStack[stackSize] = neighbour;
+                cursorStack[stackSize] = 0;
+                stackSize++;
+            } else {
+                // every neighbour has been searched, so the vertex is finished
+                stackSize--;
+                finish(currentVertex);
             }
-        });
+        }
+    }
+
+
+    /**
+     * Record that the search has finished with a vertex.
+     *
+     * @param vertex The finished vertex.
+     */
+    private void finish(final int vertex) {
+        workspace.order()[postOrderCount++] = vertex;
+        visitor.postOrder(vertex);
     }
 
 
@@ -76,9 +272,11 @@ public class DFS {
      *
      * @param otherVertex Index of the vertex to check if there is a path to.
      * @return <CODE>true</CODE> if there is a path to the vertex from the root vertex; <CODE>false</CODE> otherwise.
+     * @throws IllegalStateException If the workspace has since been used for another search.
      */
     public boolean hasPathTo(final int otherVertex) {
-        return isMarked[otherVertex];
+        workspace.checkCurrent(searchStamp);
+        return workspace.isMarked(otherVertex);
     }
 
 
@@ -88,24 +286,24 @@ public class DFS {
      *
      * @param otherVertex Index of the vertex to find the path to.
      * @return Optional containing an iterator over the vertices in the path if a path exists.
+     * @throws IllegalStateException If the workspace has since been used for another search.
      */
     public Optional<Iterator<Integer>> pathTo(final int otherVertex) {
 
         // first check that a path exists to begin with
-        if (!isMarked[otherVertex]) {
+        if (!hasPathTo(otherVertex)) {
             return Optional.empty();
         }
 
         // the order is in reverse when following the backpointers, so we push the vertices
         // onto a stack which will reverse the order when iterated over
         final Stack<Integer> path = new ArrayStack<>();
-        path.push(otherVertex); // push the destination vertex on to the stack
 
-        // follow backpointers, pushing each vertex along the route on to the stack
-        int previousVertex = edgeTo[otherVertex];
+        // follow backpointers from the destination vertex, pushing each vertex along the route on to the stack
+        int previousVertex = otherVertex;
         while (previousVertex != rootVertex) {
             path.push(previousVertex);
-            previousVertex = edgeTo[previousVertex];
+            previousVertex = workspace.edgeTo[previousVertex];
         }
         path.push(rootVertex); // finally, add the root vertex to complete the path
 
@@ -114,50 +312,117 @@ public class DFS {
 
 
     /**
-     * Find all vertices reachable from the specified vertex.
+     * Provides an iterator over the visited vertices in the order the search finished with them.
+     *
+     * @return Iterator over the visited vertices in post-order.
+     * @throws IllegalStateException If the workspace has since been used for another search.
+     */
+    public Iterator<Integer> postOrder() {
+        workspace.checkCurrent(searchStamp);
+        return Arrays.stream(Arrays.copyOf(workspace.order(), postOrderCount)).iterator();
+    }
+
+
+    /**
+     * Provides an iterator over the visited vertices in reverse post-order. In a directed acyclic
+     * graph this is a topological order of the vertices reachable from the root vertex.
+     *
+     * @return Iterator over the visited vertices in reverse post-order.
+     * @throws IllegalStateException If the workspace has since been used for another search.
+     */
+    public Iterator<Integer> reversePostOrder() {
+        workspace.checkCurrent(searchStamp);
+
+        final int[] postOrder = workspace.order();
+        final int[] order = new int[postOrderCount];
+        for (int i = 0; i < postOrderCount; i++) {
+            order[i] = postOrder[postOrderCount - 1 - i];
+        }
+        return Arrays.stream(order).iterator();
+    }
+
+
+    /**
+     * Search the whole graph, reporting every vertex and edge to the visitor, as a series of
+     * searches from each vertex in index order which no earlier search has reached. Uses the
+     * calling thread's workspace, so nothing is kept once the visitor has seen the events.
+     *
+     * @param g The graph to search.
+     * @param visitor Receives events as the search visits vertices.
+     */
+    public static void searchAll(final Graph g, final DFSVisitor visitor) {
+        new DFS(g, visitor, TraversalWorkspace.forCurrentThread(g.vertexCount()));
+    }
+
+
+    /**
+     * Find all vertices reachable from the specified vertex, using the calling thread's workspace
+     * so that repeated searches don't allocate arrays the size of the graph.
      *
      * @param g The graph to search.
      * @param rootVertex Index of the first vertex to search from.
      * @return Iterator over all vertices reachable from the specified vertex in depth-first order.
      */
     public static Iterator<Integer> search(final Graph g, final int rootVertex) {
+        return search(g, rootVertex, TraversalWorkspace.forCurrentThread(g.vertexCount()));
+    }
+
+
+    /**
+     * Find all vertices reachable from the specified vertex, using the given workspace.
+     *
+     * @param g The graph to search.
+     * @param rootVertex Index of the first vertex to search from.
+     * @param workspace Workspace to search with, with room for every vertex of the graph.
+     * @return Iterator over all vertices reachable from the specified vertex in depth-first order.
+     */
+    public static Iterator<Integer> search(final Graph g, final int rootVertex, final TraversalWorkspace workspace) {
 
         // records which vertices have been visited already.
-        final boolean[] isMarked = new boolean[g.vertexCount()];
+        workspace.reset(g.vertexCount());
 
         // holds all vertices visited in order
-        final Queue<Integer> allVertices = new ArrayQueue<>();
+        final int[] allVertices = workspace.vertices;
+        int visitedCount = 0;
 
-        // hold vertices in a stack so we can visit them easily in depth-first order
-        final Stack<Integer> nextVertices = new ArrayStack<>();
-        nextVertices.push(rootVertex); // begin with the root vertex
+        // hold vertices in a stack so we can visit them easily in depth-first order. a vertex is
+        // pushed once for each edge to it found before it is visited, so the stack grows as needed
+        int[] nextVertices = workspace.pending();
+        int stackSize = 0;
+        nextVertices[stackSize++] = rootVertex; // begin with the root vertex
 
         // continue search until we've examined every vertex in the connected component
-        while (!nextVertices.isEmpty()) {
+        while (stackSize > 0) {
 
             // visit the next vertex in the stack
-            final int currentVertex = nextVertices.pop().get();
+            final int currentVertex = nextVertices[--stackSize];
 
             // check that we haven't visited this vertex already
-            if (!isMarked[currentVertex]) {
+            if (!workspace.isMarked(currentVertex)) {
 
-                isMarked[currentVertex] = true;
+                workspace.mark(currentVertex);
 
-                // add vertex to queue of all vertices visited
-                allVertices.enqueue(currentVertex);
+                // add vertex to the list of all vertices visited
+                allVertices[visitedCount++] = currentVertex;
 
                 // add all unvisited neighbours of the current vertex to the stack
-                g.adj(currentVertex).forEachRemaining(neighbour -> {
-                    if (!isMarked[neighbour]) {
-                        nextVertices.push(neighbour);
+                final int degree = g.degree(currentVertex);
+                for (int i = 0; i < degree; i++) {
+                    final int neighbour = g.neighbour(currentVertex, i);
+                    if (!workspace.isMarked(neighbour)) {
+                        if (stackSize == nextVertices.length) {
+                            nextVertices = workspace.growPending();
+                        }
+                        nextVertices[stackSize++] = neighbour;
                     }
-                });
+                }
 
             }
 
         }
 
-        return allVertices.iterator();
+        // copied, since the workspace may be used again before the iterator is finished with
+        return Arrays.stream(Arrays.copyOf(allVertices, visitedCount)).iterator();
     }
 
 }
@@ -0,0 +1,35 @@
+package algorithms.graph;
+
+/**
+ * Receives events from a depth-first search as it visits vertices. All methods do nothing
+ * by default, so only the events of interest need to be handled.
+ */
+public interface DFSVisitor {
+
+    /**
+     * Called when the search first reaches a vertex, before any of its neighbours are searched.
+     *
+     * @param vertex The vertex being entered.
+     */
+    default void preOrder(final int vertex) { }
+
+
+    /**
+     * Called when the search has finished with a vertex, after all of its neighbours have been searched.
+     *
+     * @param vertex The vertex being left.
+     */
+    default void postOrder(final int vertex) { }
+
+
+    /**
+     * Called when the search looks along an edge to a vertex it has already reached, and so
+     * doesn't descend into it. In a directed graph, the edge closes a cycle exactly when the
+     * neighbour has been entered but not yet left.
+     *
+     * @param vertex The vertex the search is at.
+     * @param neighbour The neighbour already reached.
+     */
+    default void nonTreeEdge(final int vertex, final int neighbour) { }
+
+}
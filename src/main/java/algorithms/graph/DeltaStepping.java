@@ -0,0 +1,493 @@
+package algorithms.graph;
+
+import datastructures.graph.WeightedGraph;
+import datastructures.stack.ArrayStack;
+import datastructures.stack.Stack;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Delta-stepping, which finds the shortest paths from a root vertex to every other vertex of a
+ * graph with non-negative edge weights, relaxing many edges in parallel on a fork-join pool.
+ *
+ * Rather than settling one vertex at a time as {@link Dijkstra} does, vertices are grouped into
+ * buckets by distance, each covering a range of width delta, and all the vertices of the lowest
+ * bucket are expanded together. Edges no heavier than delta (light edges) can lead back into the
+ * same bucket, so they are relaxed repeatedly until the bucket stays empty. Heavier edges can only
+ * lead to later buckets, so they are relaxed once per vertex when the bucket is done.
+ *
+ * Distances are lowered with compare-and-set, so workers can relax edges into the same vertex at
+ * once. Only as many buckets as the heaviest edge can span are kept, and reused in a cycle.
+ *
+ * The graph must not be modified while the search runs.
+ */
+public class DeltaStepping {
+
+    /**
+     * Number of vertices below which a range is expanded directly rather than split.
+     */
+    private static final int GRAIN = 256;
+
+
+    /**
+     * Most buckets to keep, which bounds how small delta can be compared to the heaviest edge.
+     */
+    private static final int MAX_BUCKETS = 1 << 24;
+
+
+    /**
+     * Bits of positive infinity, the distance to a vertex which hasn't been reached.
+     */
+    private static final long UNREACHED = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+
+
+    /**
+     * Marks a vertex without a parent, either the root or a vertex that can't be reached.
+     */
+    private static final int NO_PARENT = -1;
+
+
+    /**
+     * The graph that was searched.
+     */
+    private final WeightedGraph graph;
+
+
+    /**
+     * Index of the vertex that the search begins from.
+     */
+    private final int rootVertex;
+
+
+    /**
+     * Width of the range of distances covered by each bucket.
+     */
+    private final double delta;
+
+
+    /**
+     * Bits of the length of the shortest path from the root vertex to each vertex. Non-negative
+     * doubles order the same way as their bits, so distances can be lowered with compare-and-set.
+     */
+    private final AtomicLongArray distTo;
+
+
+    /**
+     * Array of back-pointers along shortest paths, built from the distances the first time a path is asked for.
+     */
+    private int[] edgeTo;
+
+
+    /**
+     * Vertices waiting in each bucket, where bucket i is held in slot i modulo the number of slots.
+     * Entries are left behind when a vertex moves to a lower bucket, and skipped when found.
+     */
+    private final int[][] buckets;
+
+
+    /**
+     * Number of entries in each bucket slot.
+     */
+    private final int[] bucketSizes;
+
+
+    /**
+     * Number of entries in all bucket slots.
+     */
+    private int pendingCount = 0;
+
+
+    /**
+     * Vertices whose distance was lowered in the current step, each listed once.
+     */
+    private final int[] updated;
+
+
+    /**
+     * Number of vertices listed in {@link #updated}.
+     */
+    private final AtomicInteger updatedCount = new AtomicInteger();
+
+
+    /**
+     * Bitmap of the vertices listed in {@link #updated}.
+     */
+    private final AtomicLongArray isUpdated;
+
+
+    /**
+     * Find the shortest paths from the specified vertex to every vertex of the graph, using the
+     * common pool and a delta of the heaviest edge weight divided by the average degree.
+     *
+     * @param g The graph to search, whose edge weights must not be negative.
+     * @param rootVertex Index of the vertex to find paths from.
+     * @throws IllegalArgumentException If an edge has a negative weight.
+     */
+    public DeltaStepping(final WeightedGraph g, final int rootVertex) {
+        this(g, rootVertex, defaultDelta(g), ForkJoinPool.commonPool());
+    }
+
+
+    /**
+     * Find the shortest paths from the specified vertex to every vertex of the graph, using the
+     * given pool and bucket width. A larger delta exposes more parallelism in each step, but more
+     * work is wasted on distances which are later lowered again.
+     *
+     * @param g The graph to search, whose edge weights must not be negative.
+     * @param rootVertex Index of the vertex to find paths from.
+     * @param delta Width of the range of distances covered by each bucket.
+     * @param pool Pool to run the search on.
+     * @throws IllegalArgumentException If an edge has a negative weight, or delta isn't positive
+     *                                  or is too small for the heaviest edge.
+     */
+    public DeltaStepping(final WeightedGraph g, final int rootVertex, final double delta, final ForkJoinPool pool) {
+        if (!(delta > 0) || delta == Double.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException("Delta must be positive and finite: " + delta);
+        }
+
+        final double maxWeight = maxWeight(g);
+        if (maxWeight / delta >= MAX_BUCKETS - 2) {
+            throw new IllegalArgumentException("Delta " + delta + " is too small for edges of weight " + maxWeight);
+        }
+
+        this.graph = g;
+        this.rootVertex = rootVertex;
+        this.delta = delta;
+
+        final int vertexCount = g.vertexCount();
+        distTo = new AtomicLongArray(vertexCount);
+        updated = new int[vertexCount];
+        isUpdated = new AtomicLongArray((vertexCount + Long.SIZE - 1) >>> 6);
+
+        // a relaxed edge never leads further than this many buckets past the one being expanded
+        final int slotCount = (int) (maxWeight / delta) + 2;
+        buckets = new int[slotCount][];
+        bucketSizes = new int[slotCount];
+        Arrays.fill(buckets, new int[0]);
+
+        ParallelFor.forRange(pool, 0, vertexCount, GRAIN * 16, (start, end) -> {
+            for (int v = start; v < end; v++) {
+                distTo.set(v, UNREACHED);
+            }
+        });
+
+        graphSearch(g, pool);
+    }
+
+
+    /**
+     * Expand the buckets in order of distance until none have any vertices left.
+     *
+     * @param g The graph to search.
+     * @param pool Pool to run the search on.
+     */
+    private void graphSearch(final WeightedGraph g, final ForkJoinPool pool) {
+        final int vertexCount = g.vertexCount();
+
+        // vertices expanded in the current step, and every vertex expanded in the current bucket
+        final int[] frontier = new int[vertexCount];
+        final int[] settled = new int[vertexCount];
+
+        // the last step and bucket in which each vertex was added to those lists, to list it once each
+        final int[] frontierStep = new int[vertexCount];
+        final long[] settledBucket = new long[vertexCount];
+        Arrays.fill(settledBucket, -1);
+
+        distTo.set(rootVertex, Double.doubleToRawLongBits(0));
+        addToBucket(rootVertex, 0);
+
+        int step = 0;
+        for (long bucket = 0; pendingCount > 0; bucket++) {
+            final int slot = (int) (bucket % buckets.length);
+            int settledSize = 0;
+
+            // light edges can lead back into this bucket, so keep expanding it until it stays empty
+            while (bucketSizes[slot] > 0) {
+                step++;
+
+                int frontierSize = 0;
+                for (int i = 0; i < bucketSizes[slot]; i++) {
+                    final int vertex = buckets[slot][i];
+
+                    // skip vertices which have since moved to a lower bucket, or are listed twice
+                    if (bucketOf(currentDistance(vertex)) != bucket || frontierStep[vertex] == step) {
+                        continue;
+                    }
+
+                    frontierStep[vertex] = step;
+                    frontier[frontierSize++] = vertex;
+                    if (settledBucket[vertex] != bucket) {
+                        settledBucket[vertex] = bucket;
+                        settled[settledSize++] = vertex;
+                    }
+                }
+                pendingCount -= bucketSizes[slot];
+                bucketSizes[slot] = 0;
+
+                relaxEdges(g, pool, frontier, frontierSize, true);
+            }
+
+            // the distances of the vertices in this bucket are now final, so heavy edges are relaxed once
+            relaxEdges(g, pool, settled, settledSize, false);
+        }
+    }
+
+
+    /**
+     * Relax the light or heavy edges of a list of vertices in parallel, then add every vertex
+     * whose distance was lowered to its new bucket.
+     *
+     * @param g The graph to search.
+     * @param pool Pool to run on.
+     * @param vertices The vertices whose edges to relax.
+     * @param size Number of vertices in the list.
+     * @param light <CODE>true</CODE> to relax edges no heavier than delta; <CODE>false</CODE> for heavier edges.
+     */
+    private void relaxEdges(final WeightedGraph g, final ForkJoinPool pool, final int[] vertices, final int size,
+                            final boolean light) {
+        ParallelFor.forRange(pool, 0, size, GRAIN, (start, end) -> {
+            for (int f = start; f < end; f++) {
+                final int vertex = vertices[f];
+                final double distance = currentDistance(vertex);
+
+                final int degree = g.degree(vertex);
+                for (int i = 0; i < degree; i++) {
+                    final double weight = g.weight(vertex, i);
+                    if ((weight <= delta) == light) {
+                        relax(g.neighbour(vertex, i), distance + weight);
+                    }
+                }
+            }
+        });
+
+        final int count = updatedCount.getAndSet(0);
+        for (int i = 0; i < count; i++) {
+            final int vertex = updated[i];
+            isUpdated.set(vertex >>> 6, 0);
+            addToBucket(vertex, currentDistance(vertex));
+        }
+    }
+
+
+    /**
+     * Read the distance found to a vertex so far. Used during the search in place of
+     * {@link #distanceTo(int)}, which a subclass could override.
+     *
+     * @param vertex The vertex.
+     * @return The length of the shortest path found to the vertex, or positive infinity if none has been.
+     */
+    private double currentDistance(final int vertex) {
+        return Double.longBitsToDouble(distTo.get(vertex));
+    }
+
+
+    /**
+     * Lower the distance to a vertex if the new distance is shorter, listing the vertex as
+     * updated the first time it is lowered in a step.
+     *
+     * @param vertex The vertex to update.
+     * @param distance Length of a path to the vertex.
+     */
+    private void relax(final int vertex, final double distance) {
+        final long bits = Double.doubleToRawLongBits(distance);
+
+        long current = distTo.get(vertex);
+        while (bits < current) {
+            if (distTo.compareAndSet(vertex, current, bits)) {
+                markUpdated(vertex);
+                return;
+            }
+            current = distTo.get(vertex);
+        }
+    }
+
+
+    /**
+     * List a vertex as updated in the current step, unless it is listed already.
+     *
+     * @param vertex The updated vertex.
+     */
+    private void markUpdated(final int vertex) {
+        final int word = vertex >>> 6;
+        final long bit = 1L << vertex;
+
+        long current = isUpdated.get(word);
+        while ((current & bit) == 0) {
+            if (isUpdated.compareAndSet(word, current, current | bit)) {
+                updated[updatedCount.getAndIncrement()] = vertex;
+                return;
+            }
+            current = isUpdated.get(word);
+        }
+    }
+
+
+    /**
+     * Add a vertex to the bucket holding the given distance.
+     *
+     * @param vertex The vertex to add.
+     * @param distance The distance to the vertex.
+     */
+    private void addToBucket(final int vertex, final double distance) {
+        final int slot = (int) (bucketOf(distance) % buckets.length);
+
+        if (bucketSizes[slot] == buckets[slot].length) {
+            buckets[slot] = Arrays.copyOf(buckets[slot], Math.max(4, buckets[slot].length * 2));
+        }
+        buckets[slot][bucketSizes[slot]++] = vertex;
+        pendingCount++;
+    }
+
+
+    /**
+     * Find the bucket holding the given distance.
+     *
+     * @param distance The distance.
+     * @return Index of the bucket, counting from zero without wrapping around the slots.
+     */
+    private long bucketOf(final double distance) {
+        return (long) (distance / delta);
+    }
+
+
+    /**
+     * Find the heaviest finite edge weight in the graph, checking that no weight is negative.
+     * Edges of infinite weight never shorten a path, so are ignored.
+     *
+     * @param g The graph.
+     * @return The heaviest finite weight, or zero if there are no such edges.
+     * @throws IllegalArgumentException If an edge has a negative weight.
+     */
+    private static double maxWeight(final WeightedGraph g) {
+        double maxWeight = 0;
+        for (int v = 0; v < g.vertexCount(); v++) {
+            final int degree = g.degree(v);
+            for (int i = 0; i < degree; i++) {
+                final double weight = g.weight(v, i);
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Edge " + v + "-" + g.neighbour(v, i)
+                            + " has negative weight " + weight);
+                }
+                if (weight < Double.POSITIVE_INFINITY) {
+                    maxWeight = Math.max(maxWeight, weight);
+                }
+            }
+        }
+        return maxWeight;
+    }
+
+
+    /**
+     * Pick a bucket width of the heaviest edge weight divided by the average degree, so that
+     * a vertex has about one light edge for each bucket its heavy edges might reach.
+     *
+     * @param g The graph.
+     * @return The bucket width.
+     */
+    private static double defaultDelta(final WeightedGraph g) {
+        long edgeCount = 0;
+        for (int v = 0; v < g.vertexCount(); v++) {
+            edgeCount += g.degree(v);
+        }
+
+        final double averageDegree = Math.max(1.0, (double) edgeCount / Math.max(1, g.vertexCount()));
+        final double maxWeight = maxWeight(g);
+        return maxWeight > 0 ? maxWeight / averageDegree : 1.0;
+    }
+
+
+    /**
+     * Check if there exists a path between the root vertex and the specified vertex.
+     *
+     * @param otherVertex Index of the vertex to check if there is a path to.
+     * @return <CODE>true</CODE> if there is a path to the vertex from the root vertex; <CODE>false</CODE> otherwise.
+     */
+    public boolean hasPathTo(final int otherVertex) {
+        return distTo.get(otherVertex) != UNREACHED;
+    }
+
+
+    /**
+     * Get the length of the shortest path from the root vertex to the specified vertex.
+     *
+     * @param otherVertex Index of the vertex to find the distance to.
+     * @return The total weight of a shortest path, or positive infinity if there is no path.
+     */
+    public double distanceTo(final int otherVertex) {
+        return currentDistance(otherVertex);
+    }
+
+
+    /**
+     * Provides an iterator over the sequence of indices along a shortest path from the root
+     * vertex to the specified index, provided that a path exists.
+     *
+     * @param otherVertex Index of the vertex to find the path to.
+     * @return Optional containing an iterator over the vertices in the path if a path exists.
+     */
+    public Optional<Iterator<Integer>> pathTo(final int otherVertex) {
+
+        // first check that a path exists to begin with
+        if (!hasPathTo(otherVertex)) {
+            return Optional.empty();
+        }
+
+        if (edgeTo == null) {
+            edgeTo = shortestPathTree();
+        }
+
+        // follow backpointers, pushing each vertex along the route on to the stack to reverse the order
+        final Stack<Integer> path = new ArrayStack<>();
+        int currentVertex = otherVertex;
+        while (currentVertex != rootVertex) {
+            path.push(currentVertex);
+            currentVertex = edgeTo[currentVertex];
+        }
+        path.push(rootVertex);
+
+        return Optional.of(path.iterator());
+    }
+
+
+    /**
+     * Build a tree of shortest paths from the final distances, by searching out from the root
+     * vertex along the edges whose weight exactly makes up the difference in distance. Searching
+     * from the root, rather than picking any such edge into each vertex, avoids loops through
+     * edges of zero weight.
+     *
+     * @return The parent of each vertex in the tree.
+     */
+    private int[] shortestPathTree() {
+        final int[] parents = new int[graph.vertexCount()];
+        Arrays.fill(parents, NO_PARENT);
+
+        final boolean[] isMarked = new boolean[graph.vertexCount()];
+        final int[] queue = new int[graph.vertexCount()];
+        int head = 0;
+        int tail = 0;
+
+        isMarked[rootVertex] = true;
+        queue[tail++] = rootVertex;
+        while (head < tail) {
+            final int vertex = queue[head++];
+            final double distance = distanceTo(vertex);
+
+            final int degree = graph.degree(vertex);
+            for (int i = 0; i < degree; i++) {
+                final int neighbour = graph.neighbour(vertex, i);
+                if (!isMarked[neighbour] && distance + graph.weight(vertex, i) == distanceTo(neighbour)) {
+                    isMarked[neighbour] = true;
+                    parents[neighbour] = vertex;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return parents;
+    }
+
+}
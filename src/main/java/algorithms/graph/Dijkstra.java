@@ -0,0 +1,139 @@
+package algorithms.graph;
+
+import datastructures.graph.WeightedGraph;
+import datastructures.priorityqueue.IndexedMinHeap;
+import datastructures.stack.ArrayStack;
+import datastructures.stack.Stack;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Dijkstra's algorithm for the shortest paths from a root vertex to every other vertex of a graph
+ * with non-negative edge weights, caching the results of the search for fast queries later.
+ *
+ * Vertices waiting to be settled are held in an {@link IndexedMinHeap}, keyed by vertex, so
+ * finding a shorter path to a waiting vertex lowers its distance in place and the heap never
+ * holds more than one entry per vertex.
+ */
+public class Dijkstra {
+
+    /**
+     * Marks a vertex without a parent, either the root or a vertex that can't be reached.
+     */
+    private static final int NO_PARENT = -1;
+
+
+    /**
+     * Index of the vertex that the search begins from.
+     */
+    private final int rootVertex;
+
+
+    /**
+     * Array of back-pointers, recording for each vertex the previous vertex on a shortest path to it.
+     * Allows us to trace a path from any reached vertex back to the root vertex.
+     */
+    private final int[] edgeTo;
+
+
+    /**
+     * Length of the shortest path from the root vertex to each vertex, or infinity if there is none.
+     */
+    private final double[] distTo;
+
+
+    /**
+     * Find the shortest paths from the specified vertex to every vertex of the graph.
+     *
+     * @param g The graph to search, whose edge weights must not be negative.
+     * @param rootVertex Index of the vertex to find paths from.
+     * @throws IllegalArgumentException If an edge reached by the search has a negative weight.
+     */
+    public Dijkstra(final WeightedGraph g, final int rootVertex) {
+        this.rootVertex = rootVertex;
+
+        edgeTo = new int[g.vertexCount()];
+        distTo = new double[g.vertexCount()];
+        Arrays.fill(edgeTo, NO_PARENT);
+        Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+
+        final IndexedMinHeap heap = new IndexedMinHeap(g.vertexCount());
+        distTo[rootVertex] = 0;
+        heap.insert(rootVertex, 0);
+
+        while (!heap.isEmpty()) {
+
+            // the closest waiting vertex can't be reached any more cheaply, so is settled
+            final int vertex = heap.removeMin().getAsInt();
+
+            final int degree = g.degree(vertex);
+            for (int i = 0; i < degree; i++) {
+                final int neighbour = g.neighbour(vertex, i);
+                final double weight = g.weight(vertex, i);
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Edge " + vertex + "-" + neighbour
+                            + " has negative weight " + weight);
+                }
+
+                final double distance = distTo[vertex] + weight;
+                if (distance < distTo[neighbour]) {
+                    distTo[neighbour] = distance;
+                    edgeTo[neighbour] = vertex;
+                    heap.insertOrDecrease(neighbour, distance);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Check if there exists a path between the root vertex and the specified vertex.
+     *
+     * @param otherVertex Index of the vertex to check if there is a path to.
+     * @return <CODE>true</CODE> if there is a path to the vertex from the root vertex; <CODE>false</CODE> otherwise.
+     */
+    public boolean hasPathTo(final int otherVertex) {
+        return distTo[otherVertex] < Double.POSITIVE_INFINITY;
+    }
+
+
+    /**
+     * Get the length of the shortest path from the root vertex to the specified vertex.
+     *
+     * @param otherVertex Index of the vertex to find the distance to.
+     * @return The total weight of a shortest path, or positive infinity if there is no path.
+     */
+    public double distanceTo(final int otherVertex) {
+        return distTo[otherVertex];
+    }
+
+
+    /**
+     * Provides an iterator over the sequence of indices along a shortest path from the root
+     * vertex to the specified index, provided that a path exists.
+     *
+     * @param otherVertex Index of the vertex to find the path to.
+     * @return Optional containing an iterator over the vertices in the path if a path exists.
+     */
+    public Optional<Iterator<Integer>> pathTo(final int otherVertex) {
+
+        // first check that a path exists to begin with
+        if (!hasPathTo(otherVertex)) {
+            return Optional.empty();
+        }
+
+        // follow backpointers, pushing each vertex along the route on to the stack to reverse the order
+        final Stack<Integer> path = new ArrayStack<>();
+        int currentVertex = otherVertex;
+        while (currentVertex != rootVertex) {
+            path.push(currentVertex);
+            currentVertex = edgeTo[currentVertex];
+        }
+        path.push(rootVertex);
+
+        return Optional.of(path.iterator());
+    }
+
+}
@@ -0,0 +1,318 @@
+package algorithms.graph;
+
+import datastructures.graph.Graph;
+import datastructures.stack.ArrayStack;
+import datastructures.stack.Stack;
+
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Breadth-first search which explores the graph one level at a time, choosing for each level
+ * between two ways of finding the next level.
+ *
+ * A top-down step looks at every edge leaving the current frontier, as in {@link BFS}. When the
+ * frontier is large, most of those edges lead to vertices already visited. A bottom-up step
+ * instead looks at each unvisited vertex, checking its incoming edges for a parent in the
+ * frontier, and stops as soon as one is found. On graphs with a small diameter, such as social
+ * networks, the middle levels hold most of the vertices, and searching them bottom-up inspects
+ * far fewer edges.
+ *
+ * The frontier is held as a list of vertices, so a top-down step costs time in proportion to the
+ * frontier, however many levels the graph has. A bottom-up step copies the frontier into a bitmap
+ * first, so it can check whether a vertex is in the frontier with a single bit test.
+ */
+public class DirectionOptimizingBFS {
+
+    /**
+     * Switch to bottom-up steps once the edges leaving the frontier exceed 1/ALPHA of the edges
+     * leaving unvisited vertices.
+     */
+    private static final int ALPHA = 14;
+
+
+    /**
+     * Switch back to top-down steps once the frontier shrinks below 1/BETA of the vertices.
+     */
+    private static final int BETA = 24;
+
+
+    /**
+     * Index of the vertex that the search begins from.
+     */
+    private final int rootVertex;
+
+
+    /**
+     * Bitmap of the vertices which have been visited already.
+     */
+    private final long[] isMarked;
+
+
+    /**
+     * Array of back-pointers, recording for each vertex the vertex from which it was first visited from.
+     * Allows us to trace a path from any visited vertex back to the root vertex.
+     */
+    private final int[] edgeTo;
+
+
+    /**
+     * Number of edges between each visited vertex and the root vertex.
+     */
+    private final int[] distTo;
+
+
+    /**
+     * Number of edges looked at during the search.
+     */
+    private long edgeInspections = 0;
+
+
+    /**
+     * Perform breadth-first search on the given undirected graph from the specified vertex in the graph.
+     *
+     * @param g The graph to search, which must hold every edge in both directions.
+     * @param rootVertex Index of the first vertex to search from.
+     */
+    public DirectionOptimizingBFS(final Graph g, final int rootVertex) {
+        this(g, g, rootVertex);
+    }
+
+
+    /**
+     * Perform breadth-first search on the given directed graph from the specified vertex in the graph.
+     *
+     * @param g The graph to search.
+     * @param reverse The graph with every edge reversed, used to find the parents of vertices
+     *                in bottom-up steps, such as from {@link datastructures.graph.CSRGraph#transpose()}.
+     * @param rootVertex Index of the first vertex to search from.
+     */
+    public DirectionOptimizingBFS(final Graph g, final Graph reverse, final int rootVertex) {
+        if (reverse.vertexCount() != g.vertexCount()) {
+            throw new IllegalArgumentException("Reverse graph has " + reverse.vertexCount()
+                    + " vertices, not " + g.vertexCount());
+        }
+
+        this.rootVertex = rootVertex;
+
+        isMarked = new long[words(g.vertexCount())];
+        edgeTo = new int[g.vertexCount()];
+        distTo = new int[g.vertexCount()];
+
+        graphSearch(g, reverse, rootVertex);
+    }
+
+
+    /**
+     * Level-synchronous search, choosing the direction of each step from the size of the frontier.
+     *
+     * @param g The graph to search.
+     * @param reverse The graph with every edge reversed.
+     * @param rootVertex Index of the first vertex to search from.
+     */
+    private void graphSearch(final Graph g, final Graph reverse, final int rootVertex) {
+        final int vertexCount = g.vertexCount();
+
+        // the frontier is kept as a list, which top-down steps work through, and copied into a
+        // bitmap only for bottom-up steps, so a level costs time in proportion to its frontier
+        // unless it is searched bottom-up
+        int[] frontier = new int[vertexCount];
+        int[] nextFrontier = new int[vertexCount];
+        final long[] frontierBitmap = new long[isMarked.length];
+
+        // edges leaving vertices not yet visited, which a bottom-up step may have to inspect
+        long unexploredEdges = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            unexploredEdges += g.degree(v);
+        }
+
+        frontier[0] = rootVertex;
+        set(isMarked, rootVertex);
+        int frontierVertices = 1;
+        long frontierEdges = g.degree(rootVertex);
+        unexploredEdges -= frontierEdges;
+
+        boolean bottomUp = false;
+        int previousFrontierVertices = 0;
+        int distance = 0;
+
+        while (frontierVertices > 0) {
+            distance++;
+
+            // switch to bottom-up when the frontier is expensive to expand,
+            // and back to top-down once the frontier is small and shrinking
+            if (!bottomUp) {
+                bottomUp = frontierEdges > unexploredEdges / ALPHA;
+            } else if (frontierVertices < previousFrontierVertices) {
+                bottomUp = frontierVertices >= vertexCount / BETA;
+            }
+
+            final int currentVertices = frontierVertices;
+            previousFrontierVertices = frontierVertices;
+            frontierVertices = 0;
+            frontierEdges = 0;
+
+            if (bottomUp) {
+                for (int f = 0; f < currentVertices; f++) {
+                    set(frontierBitmap, frontier[f]);
+                }
+
+                // each unvisited vertex looks for any parent in the frontier. vertices found are
+                // marked straight away, as parents are only looked for in the frontier's bitmap
+                for (int word = 0; word < isMarked.length; word++) {
+                    long unvisited = ~isMarked[word];
+
+                    while (unvisited != 0) {
+                        final int vertex = (word << 6) + Long.numberOfTrailingZeros(unvisited);
+                        unvisited &= unvisited - 1;
+
+                        if (vertex >= vertexCount) {
+                            break;
+                        }
+
+                        final int degree = reverse.degree(vertex);
+                        for (int i = 0; i < degree; i++) {
+                            final int parent = reverse.neighbour(vertex, i);
+                            edgeInspections++;
+
+                            if (isSet(frontierBitmap, parent)) {
+                                set(isMarked, vertex);
+                                edgeTo[vertex] = parent;
+                                distTo[vertex] = distance;
+                                nextFrontier[frontierVertices++] = vertex;
+                                frontierEdges += g.degree(vertex);
+                                break;
+                            }
+                        }
+                    }
+                }
+
+                // clear only the words the frontier set
+                for (int f = 0; f < currentVertices; f++) {
+                    frontierBitmap[frontier[f] >>> 6] = 0;
+                }
+            } else {
+                // each vertex in the frontier claims its unvisited neighbours
+                for (int f = 0; f < currentVertices; f++) {
+                    final int vertex = frontier[f];
+
+                    final int degree = g.degree(vertex);
+                    for (int i = 0; i < degree; i++) {
+                        final int neighbour = g.neighbour(vertex, i);
+                        edgeInspections++;
+
+                        if (!isSet(isMarked, neighbour)) {
+                            set(isMarked, neighbour);
+                            edgeTo[neighbour] = vertex;
+                            distTo[neighbour] = distance;
+                            nextFrontier[frontierVertices++] = neighbour;
+                            frontierEdges += g.degree(neighbour);
+                        }
+                    }
+                }
+            }
+
+            unexploredEdges -= frontierEdges;
+
+            // the next frontier becomes the current one
+            final int[] swap = frontier;
+            frontier = nextFrontier;
+            nextFrontier = swap;
+        }
+    }
+
+
+    /**
+     * Check if there exists a path between the root vertex and the specified vertex (i.e. check if they are connected).
+     *
+     * @param otherVertex Index of the vertex to check if there is a path to.
+     * @return <CODE>true</CODE> if there is a path to the vertex from the root vertex; <CODE>false</CODE> otherwise.
+     */
+    public boolean hasPathTo(final int otherVertex) {
+        return isSet(isMarked, otherVertex);
+    }
+
+
+    /**
+     * Get the length of the shortest path from the root vertex to the specified vertex.
+     *
+     * @param otherVertex Index of the vertex to find the distance to.
+     * @return The number of edges on a shortest path, or -1 if there is no path.
+     */
+    public int distanceTo(final int otherVertex) {
+        return hasPathTo(otherVertex) ? distTo[otherVertex] : -1;
+    }
+
+
+    /**
+     * Provides an iterator over the sequence of indices from the root vertex to the specified
+     * index, provided that a path exists. This is a shortest path, though when there are several
+     * shortest paths it may not be the one found by {@link BFS}.
+     *
+     * @param otherVertex Index of the vertex to find the path to.
+     * @return Optional containing an iterator over the vertices in the path if a path exists.
+     */
+    public Optional<Iterator<Integer>> pathTo(final int otherVertex) {
+
+        // first check that a path exists to begin with
+        if (!hasPathTo(otherVertex)) {
+            return Optional.empty();
+        }
+
+        // follow backpointers, pushing each vertex along the route on to the stack to reverse the order
+        final Stack<Integer> path = new ArrayStack<>();
+        int currentVertex = otherVertex;
+        while (currentVertex != rootVertex) {
+            path.push(currentVertex);
+            currentVertex = edgeTo[currentVertex];
+        }
+        path.push(rootVertex);
+
+        return Optional.of(path.iterator());
+    }
+
+
+    /**
+     * Get the number of edges looked at during the search, in either direction.
+     *
+     * @return The number of edge inspections.
+     */
+    public long edgeInspections() {
+        return edgeInspections;
+    }
+
+
+    /**
+     * Count the words needed for a bitmap of vertices.
+     *
+     * @param vertexCount The number of vertices.
+     * @return The number of 64-bit words.
+     */
+    private static int words(final int vertexCount) {
+        return (vertexCount + Long.SIZE - 1) >>> 6;
+    }
+
+
+    /**
+     * Add a vertex to a bitmap.
+     *
+     * @param bitmap The bitmap of vertices.
+     * @param vertex The vertex to add.
+     */
+    private static void set(final long[] bitmap, final int vertex) {
+        bitmap[vertex >>> 6] |= 1L << vertex;
+    }
+
+
+    /**
+     * Check if a vertex is in a bitmap.
+     *
+     * @param bitmap The bitmap of vertices.
+     * @param vertex The vertex to check.
+     * @return <CODE>true</CODE> if the vertex is in the bitmap; <CODE>false</CODE> otherwise.
+     */
+    private static boolean isSet(final long[] bitmap, final int vertex) {
+        return (bitmap[vertex >>> 6] & (1L << vertex)) != 0;
+    }
+
+}
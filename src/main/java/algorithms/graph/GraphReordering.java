@@ -0,0 +1,394 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.Graph;
+import datastructures.graph.WeightedCSRGraph;
+import datastructures.graph.WeightedGraph;
+
+import java.util.Arrays;
+
+/**
+ * Renumbers the vertices of a graph so that vertices near each other in the graph get indices
+ * near each other, and a search touches fewer distinct parts of its per-vertex arrays, such as
+ * the marks and back-pointers of {@link BFS}. When vertices are numbered arbitrarily, each step of
+ * a search on a large graph is likely to miss the cache; after renumbering, neighbours are mostly
+ * found in memory that was fetched for a vertex visited just before.
+ *
+ * The new numbering is found when the object is created, and {@link #relabel(Graph)} then builds
+ * a copy of the graph using it. Results found on the copy can be mapped back with
+ * {@link #originalId(int)}, and queries turned into the new numbering with {@link #newId(int)}.
+ */
+public class GraphReordering {
+
+    /**
+     * Ways of numbering the vertices.
+     */
+    public enum Order {
+
+        /**
+         * Vertices in order of falling degree, so the most used vertices are packed together at the start.
+         */
+        DEGREE,
+
+        /**
+         * Vertices in the order of a breadth-first search from the lowest vertex of each component,
+         * so that each vertex's neighbours are numbered close to each other.
+         */
+        BFS,
+
+        /**
+         * The reverse Cuthill-McKee order, a breadth-first search from a vertex at the edge of
+         * each component, taking neighbours in order of rising degree, then reversed. It keeps
+         * the neighbours of every vertex close to the vertex itself, and suits graphs such as meshes
+         * and road networks. The graph should hold every edge in both directions.
+         */
+        REVERSE_CUTHILL_MCKEE
+    }
+
+
+    /**
+     * The new index of each vertex, indexed by its original index.
+     */
+    private final int[] newIds;
+
+
+    /**
+     * The original index of each vertex, indexed by its new index.
+     */
+    private final int[] originalIds;
+
+
+    /**
+     * Find a new numbering for the vertices of a graph.
+     *
+     * @param g The graph to renumber.
+     * @param order The way to number the vertices.
+     */
+    public GraphReordering(final Graph g, final Order order) {
+        switch (order) {
+            case DEGREE:
+                originalIds = degreeOrder(g);
+                break;
+            case BFS:
+                originalIds = breadthFirstOrder(g);
+                break;
+            default:
+                originalIds = reverseCuthillMcKeeOrder(g);
+                break;
+        }
+
+        newIds = new int[originalIds.length];
+        for (int i = 0; i < originalIds.length; i++) {
+            newIds[originalIds[i]] = i;
+        }
+    }
+
+
+    /**
+     * Order vertices by falling degree, with a counting sort so that vertices of the same degree keep their order.
+     *
+     * @param g The graph.
+     * @return The vertices in order.
+     */
+    private static int[] degreeOrder(final Graph g) {
+        final int vertexCount = g.vertexCount();
+        int maxDegree = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            maxDegree = Math.max(maxDegree, g.degree(v));
+        }
+
+        // count the vertices with each degree, counting down from the highest
+        final int[] starts = new int[maxDegree + 2];
+        for (int v = 0; v < vertexCount; v++) {
+            starts[maxDegree - g.degree(v) + 1]++;
+        }
+        for (int d = 0; d <= maxDegree; d++) {
+            starts[d + 1] += starts[d];
+        }
+
+        final int[] order = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            order[starts[maxDegree - g.degree(v)]++] = v;
+        }
+        return order;
+    }
+
+
+    /**
+     * Order vertices by breadth-first searches, each starting from the lowest vertex not yet reached.
+     *
+     * @param g The graph.
+     * @return The vertices in order.
+     */
+    private static int[] breadthFirstOrder(final Graph g) {
+        final int vertexCount = g.vertexCount();
+        final boolean[] isMarked = new boolean[vertexCount];
+
+        // the order doubles as the queue of every search
+        final int[] order = new int[vertexCount];
+        int tail = 0;
+
+        for (int root = 0; root < vertexCount; root++) {
+            if (isMarked[root]) {
+                continue;
+            }
+
+            isMarked[root] = true;
+            int head = tail;
+            order[tail++] = root;
+
+            while (head < tail) {
+                final int vertex = order[head++];
+                final int degree = g.degree(vertex);
+                for (int i = 0; i < degree; i++) {
+                    final int neighbour = g.neighbour(vertex, i);
+                    if (!isMarked[neighbour]) {
+                        isMarked[neighbour] = true;
+                        order[tail++] = neighbour;
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+
+    /**
+     * Find the reverse Cuthill-McKee order of the vertices.
+     *
+     * @param g The graph.
+     * @return The vertices in order.
+     */
+    private static int[] reverseCuthillMcKeeOrder(final Graph g) {
+        final int vertexCount = g.vertexCount();
+        final boolean[] isMarked = new boolean[vertexCount];
+        final int[] order = new int[vertexCount];
+        int tail = 0;
+
+        // components are started from their vertex of lowest degree, as a first guess at a vertex on their edge
+        final int[] byDegree = degreeOrder(g);
+        int maxDegree = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            maxDegree = Math.max(maxDegree, g.degree(v));
+        }
+
+        // scratch space for the level searches, and for sorting each vertex's new neighbours by degree
+        final int[] levels = new int[vertexCount];
+        Arrays.fill(levels, -1);
+        final int[] queue = new int[vertexCount];
+        final long[] neighbours = new long[maxDegree];
+
+        for (int i = vertexCount - 1; i >= 0; i--) {
+            final int start = byDegree[i];
+            if (isMarked[start]) {
+                continue;
+            }
+
+            final int root = peripheralVertex(g, start, isMarked, levels, queue);
+
+            isMarked[root] = true;
+            int head = tail;
+            order[tail++] = root;
+
+            while (head < tail) {
+                final int vertex = order[head++];
+
+                // queue the unreached neighbours in order of rising degree, packed with the degree
+                // in the high half so that sorting the longs sorts by degree, then by vertex
+                int count = 0;
+                final int degree = g.degree(vertex);
+                for (int n = 0; n < degree; n++) {
+                    final int neighbour = g.neighbour(vertex, n);
+                    if (!isMarked[neighbour]) {
+                        isMarked[neighbour] = true;
+                        neighbours[count++] = ((long) g.degree(neighbour) << 32) | neighbour;
+                    }
+                }
+                Arrays.sort(neighbours, 0, count);
+                for (int n = 0; n < count; n++) {
+                    order[tail++] = (int) neighbours[n];
+                }
+            }
+        }
+
+        // reversing the Cuthill-McKee order gives the same bandwidth, but less fill-in when factorising
+        for (int i = 0, j = vertexCount - 1; i < j; i++, j--) {
+            final int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+
+
+    /**
+     * Find a vertex far from the rest of its component, with the heuristic of George and Liu:
+     * search from the start, move to a vertex of lowest degree in the last level of the search,
+     * and repeat for as long as the number of levels grows.
+     *
+     * @param g The graph.
+     * @param start The vertex to start from.
+     * @param isMarked Whether each vertex has already been ordered, in which case it is skipped.
+     * @param levels Scratch space for the level of each vertex, holding -1 for every vertex of the
+     *               component, and left that way.
+     * @param queue Scratch space for the search queue.
+     * @return A vertex of the component at, or close to, the greatest distance from some other vertex.
+     */
+    private static int peripheralVertex(final Graph g, final int start, final boolean[] isMarked,
+                                        final int[] levels, final int[] queue) {
+        int root = start;
+        int eccentricity = -1;
+
+        while (true) {
+            // search the component level by level from the current root
+            levels[root] = 0;
+            queue[0] = root;
+            int tail = 1;
+            for (int head = 0; head < tail; head++) {
+                final int vertex = queue[head];
+                final int degree = g.degree(vertex);
+                for (int i = 0; i < degree; i++) {
+                    final int neighbour = g.neighbour(vertex, i);
+                    if (levels[neighbour] < 0 && !isMarked[neighbour]) {
+                        levels[neighbour] = levels[vertex] + 1;
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+
+            // the last vertex queued is in the last level, as is every vertex at the same level
+            final int lastLevel = levels[queue[tail - 1]];
+            int candidate = queue[tail - 1];
+            for (int q = tail - 1; q >= 0 && levels[queue[q]] == lastLevel; q--) {
+                if (g.degree(queue[q]) < g.degree(candidate)) {
+                    candidate = queue[q];
+                }
+            }
+
+            // clear the levels so the next search, or the next component, starts afresh
+            for (int q = 0; q < tail; q++) {
+                levels[queue[q]] = -1;
+            }
+
+            if (lastLevel <= eccentricity) {
+                return root;
+            }
+            eccentricity = lastLevel;
+            root = candidate;
+        }
+    }
+
+
+    /**
+     * Build a copy of a graph with its vertices renumbered, keeping the order of each vertex's neighbours.
+     *
+     * @param g The graph to renumber, which must have as many vertices as the graph the numbering was found for.
+     * @return The renumbered graph, holding each of the graph's arcs with both ends renumbered.
+     */
+    public CSRGraph relabel(final Graph g) {
+        checkVertexCount(g);
+
+        final CSRGraph.Builder builder = new CSRGraph.Builder(g.vertexCount(), true, edgeCount(g));
+        for (int newVertex = 0; newVertex < originalIds.length; newVertex++) {
+            final int vertex = originalIds[newVertex];
+            final int degree = g.degree(vertex);
+            for (int i = 0; i < degree; i++) {
+                builder.addEdge(newVertex, newIds[g.neighbour(vertex, i)]);
+            }
+        }
+        return builder.build();
+    }
+
+
+    /**
+     * Build a copy of a weighted graph with its vertices renumbered, keeping the order and weights
+     * of each vertex's edges.
+     *
+     * @param g The graph to renumber, which must have as many vertices as the graph the numbering was found for.
+     * @return The renumbered graph, holding each of the graph's arcs with both ends renumbered.
+     */
+    public WeightedCSRGraph relabel(final WeightedGraph g) {
+        checkVertexCount(g);
+
+        final WeightedCSRGraph.Builder builder = new WeightedCSRGraph.Builder(g.vertexCount(), true, edgeCount(g));
+        for (int newVertex = 0; newVertex < originalIds.length; newVertex++) {
+            final int vertex = originalIds[newVertex];
+            final int degree = g.degree(vertex);
+            for (int i = 0; i < degree; i++) {
+                builder.addEdge(newVertex, newIds[g.neighbour(vertex, i)], g.weight(vertex, i));
+            }
+        }
+        return builder.build();
+    }
+
+
+    /**
+     * Check that a graph has as many vertices as the numbering.
+     *
+     * @param g The graph.
+     */
+    private void checkVertexCount(final Graph g) {
+        if (g.vertexCount() != originalIds.length) {
+            throw new IllegalArgumentException("Graph has " + g.vertexCount() + " vertices, not "
+                    + originalIds.length);
+        }
+    }
+
+
+    /**
+     * Count the arcs stored by a graph, to size the builder of its copy.
+     *
+     * @param g The graph.
+     * @return The number of arcs, capped at the largest size of an array.
+     */
+    private static int edgeCount(final Graph g) {
+        long count = 0;
+        for (int v = 0; v < g.vertexCount(); v++) {
+            count += g.degree(v);
+        }
+        return (int) Math.min(count, Integer.MAX_VALUE - 8);
+    }
+
+
+    /**
+     * Get the new index of a vertex.
+     *
+     * @param vertex The original index of the vertex.
+     * @return The index of the vertex in the renumbered graph.
+     */
+    public int newId(final int vertex) {
+        return newIds[vertex];
+    }
+
+
+    /**
+     * Get the original index of a vertex.
+     *
+     * @param newVertex The index of the vertex in the renumbered graph.
+     * @return The original index of the vertex.
+     */
+    public int originalId(final int newVertex) {
+        return originalIds[newVertex];
+    }
+
+
+    /**
+     * Get the table of new indices, for mapping many vertices at once.
+     *
+     * @return A copy of the new index of each vertex, indexed by its original index.
+     */
+    public int[] newIds() {
+        return Arrays.copyOf(newIds, newIds.length);
+    }
+
+
+    /**
+     * Get the table of original indices, for mapping many results back at once.
+     *
+     * @return A copy of the original index of each vertex, indexed by its new index.
+     */
+    public int[] originalIds() {
+        return Arrays.copyOf(originalIds, originalIds.length);
+    }
+
+}
@@ -0,0 +1,151 @@
+package algorithms.graph;
+
+import datastructures.graph.Graph;
+import datastructures.unionfind.WeightedQuickUnionPC;
+
+/**
+ * Keeps track of the connected components of an undirected graph as edges are added to it.
+ * Rather than searching the whole graph again after each change, as {@link ConnectedComponents}
+ * would need to, the components are held in a {@link WeightedQuickUnionPC}, so adding an edge
+ * and answering a query each take near-constant amortised time.
+ *
+ * Edges must be added through this class, which adds them to the graph as well, so the
+ * components never fall behind the graph. Edges can't be removed, as union-find can't split
+ * a component apart again.
+ *
+ * Unlike {@link ConnectedComponents}, component IDs aren't numbered from zero: the ID of a
+ * component is one of its vertices, and it may change to another vertex when the component is
+ * joined to another. Two vertices have the same ID exactly when they are connected.
+ */
+public class IncrementalConnectedComponents {
+
+    /**
+     * The graph whose components are tracked.
+     */
+    private final Graph graph;
+
+
+    /**
+     * The components of the graph.
+     */
+    private final WeightedQuickUnionPC components;
+
+
+    /**
+     * Find the connected components of a graph, and keep them up to date as edges are added.
+     * The graph must be undirected, or hold every edge in both directions.
+     *
+     * @param g The graph to track the components of.
+     */
+    public IncrementalConnectedComponents(final Graph g) {
+        this.graph = g;
+        this.components = new WeightedQuickUnionPC(g.vertexCount());
+
+        // join the components of the edges already in the graph
+        final int vertexCount = g.vertexCount();
+        for (int v = 0; v < vertexCount; v++) {
+            final int degree = g.degree(v);
+            for (int i = 0; i < degree; i++) {
+                components.union(v, g.neighbour(v, i));
+            }
+        }
+    }
+
+
+    /**
+     * Add an edge to the graph, joining the components of its vertices.
+     *
+     * @param vertex First vertex in the pair to add an edge between.
+     * @param otherVertex Second vertex in the pair to add an edge between.
+     */
+    public void addEdge(final int vertex, final int otherVertex) {
+        checkVertex(vertex);
+        checkVertex(otherVertex);
+
+        graph.addEdge(vertex, otherVertex);
+        components.union(vertex, otherVertex);
+    }
+
+
+    /**
+     * Add a batch of edges to the graph, joining the components of their vertices. The edge at
+     * each index runs between the vertices at that index of the two arrays. Every vertex is checked
+     * before any edge is added, so a batch with an invalid vertex leaves the graph unchanged.
+     *
+     * @param vertices First vertex of each edge.
+     * @param otherVertices Second vertex of each edge.
+     */
+    public void addEdges(final int[] vertices, final int[] otherVertices) {
+        if (vertices.length != otherVertices.length) {
+            throw new IllegalArgumentException("Vertex arrays differ in length: " + vertices.length
+                    + " and " + otherVertices.length);
+        }
+        for (int e = 0; e < vertices.length; e++) {
+            checkVertex(vertices[e]);
+            checkVertex(otherVertices[e]);
+        }
+
+        for (int e = 0; e < vertices.length; e++) {
+            graph.addEdge(vertices[e], otherVertices[e]);
+            components.union(vertices[e], otherVertices[e]);
+        }
+    }
+
+
+    /**
+     * Check that a vertex is in the graph.
+     *
+     * @param vertex The vertex to check.
+     */
+    private void checkVertex(final int vertex) {
+        if (vertex < 0 || vertex >= graph.vertexCount()) {
+            throw new IllegalArgumentException("Vertex " + vertex + " is not in a graph of "
+                    + graph.vertexCount() + " vertices");
+        }
+    }
+
+
+    /**
+     * Query if the given vertices are connected in the graph (i.e. in the same connected component).
+     *
+     * @param vertex First vertex to check.
+     * @param otherVertex Second vertex to check.
+     * @return <CODE>true</CODE> if the vertices are connected; <CODE>false</CODE> otherwise.
+     */
+    public boolean connected(final int vertex, final int otherVertex) {
+        return components.connected(vertex, otherVertex);
+    }
+
+
+    /**
+     * Get the number of connected components in the graph.
+     *
+     * @return The number of connected components.
+     */
+    public int count() {
+        return components.count();
+    }
+
+
+    /**
+     * Get the ID of the connected component that the given vertex belongs to, which is only
+     * valid until the next edge is added.
+     *
+     * @param vertex Vertex to find the connected component of.
+     * @return ID of the connected component corresponding to the vertex.
+     */
+    public int id(final int vertex) {
+        return components.find(vertex);
+    }
+
+
+    /**
+     * Get the graph whose components are tracked.
+     *
+     * @return The graph.
+     */
+    public Graph graph() {
+        return graph;
+    }
+
+}
@@ -0,0 +1,126 @@
+package algorithms.graph;
+
+import datastructures.graph.Graph;
+
+import java.util.Arrays;
+
+/**
+ * Finds the core number of every vertex of an undirected graph. The k-core of a graph is the
+ * largest subgraph in which every vertex has at least k neighbours, and a vertex's core number is
+ * the largest k for which it is in the k-core. Vertices of high core number sit in densely linked
+ * groups, whereas a vertex of high degree whose neighbours barely know each other does not.
+ *
+ * Uses the peeling algorithm of Batagelj and Zaversnik: vertices are kept in buckets by their
+ * degree among the vertices not yet removed, and the vertex of lowest degree is removed over and
+ * over, each removal moving its neighbours down one bucket. Buckets are ranges of a single array
+ * of vertices sorted by degree, so moving a vertex down is a swap, and the whole peeling takes
+ * O(V + E). See {@link ParallelKCoreDecomposition} for peeling many vertices at once.
+ */
+public class KCoreDecomposition {
+
+    /**
+     * Core number of each vertex.
+     */
+    private final int[] cores;
+
+
+    /**
+     * The largest core number of any vertex.
+     */
+    private final int degeneracy;
+
+
+    /**
+     * Find the core numbers of the vertices of a graph.
+     *
+     * @param g The undirected graph, holding each edge once in each direction, without self-loops.
+     */
+    public KCoreDecomposition(final Graph g) {
+        final int vertexCount = g.vertexCount();
+
+        // the degree of each vertex among those not yet removed, which becomes its core number on removal
+        cores = new int[vertexCount];
+        int maxDegree = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            cores[v] = g.degree(v);
+            maxDegree = Math.max(maxDegree, cores[v]);
+        }
+
+        // sort the vertices by degree, recording where each bucket starts and where each vertex is
+        final int[] bucketStarts = new int[maxDegree + 2];
+        for (int v = 0; v < vertexCount; v++) {
+            bucketStarts[cores[v] + 1]++;
+        }
+        for (int d = 0; d <= maxDegree; d++) {
+            bucketStarts[d + 1] += bucketStarts[d];
+        }
+
+        final int[] vertices = new int[vertexCount];
+        final int[] positions = new int[vertexCount];
+        final int[] fill = Arrays.copyOf(bucketStarts, maxDegree + 1);
+        for (int v = 0; v < vertexCount; v++) {
+            positions[v] = fill[cores[v]]++;
+            vertices[positions[v]] = v;
+        }
+
+        int largest = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            final int vertex = vertices[i];
+            largest = Math.max(largest, cores[vertex]);
+
+            final int degree = g.degree(vertex);
+            for (int n = 0; n < degree; n++) {
+                final int neighbour = g.neighbour(vertex, n);
+                if (cores[neighbour] <= cores[vertex]) {
+                    continue;
+                }
+
+                // move the neighbour to the front of its bucket, then shrink the bucket past it
+                final int bucket = cores[neighbour];
+                final int front = bucketStarts[bucket];
+                final int frontVertex = vertices[front];
+                if (frontVertex != neighbour) {
+                    vertices[positions[neighbour]] = frontVertex;
+                    positions[frontVertex] = positions[neighbour];
+                    vertices[front] = neighbour;
+                    positions[neighbour] = front;
+                }
+                bucketStarts[bucket]++;
+                cores[neighbour]--;
+            }
+        }
+        degeneracy = largest;
+    }
+
+
+    /**
+     * Get the core number of a vertex.
+     *
+     * @param vertex The vertex.
+     * @return The largest k for which the vertex is in the k-core.
+     */
+    public int coreNumber(final int vertex) {
+        return cores[vertex];
+    }
+
+
+    /**
+     * Get the core number of every vertex.
+     *
+     * @return A copy of the core number of each vertex.
+     */
+    public int[] coreNumbers() {
+        return Arrays.copyOf(cores, cores.length);
+    }
+
+
+    /**
+     * Get the degeneracy of the graph, the largest k for which the k-core isn't empty.
+     *
+     * @return The largest core number of any vertex.
+     */
+    public int degeneracy() {
+        return degeneracy;
+    }
+
+}
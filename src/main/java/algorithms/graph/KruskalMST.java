@@ -0,0 +1,156 @@
+package algorithms.graph;
+
+import datastructures.graph.Edge;
+import datastructures.graph.WeightedGraph;
+import datastructures.unionfind.WeightedQuickUnionPC;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Kruskal's algorithm for a minimum spanning forest: take the edges in order of weight, keeping
+ * each one which joins two trees of the forest built so far, as tracked by a {@link WeightedQuickUnionPC}.
+ *
+ * Sorting the edges takes most of the time, so it is done in parallel with
+ * {@link Arrays#parallelSort(long[])} on the common pool. To sort primitives rather than edge
+ * objects, each edge is packed into a long holding its weight rounded to a float in the high half
+ * and the edge's index in the low half. Rounding keeps the order of weights, but can give equal
+ * keys to slightly different weights, so each run of equal keys is then put in exact order.
+ */
+public class KruskalMST implements MinimumSpanningTree {
+
+    /**
+     * The edges of the forest.
+     */
+    private final SpanningEdges tree;
+
+
+    /**
+     * Find a minimum spanning forest of a graph.
+     *
+     * @param g The undirected graph to span, holding every edge in both directions.
+     */
+    public KruskalMST(final WeightedGraph g) {
+        final int vertexCount = g.vertexCount();
+        tree = new SpanningEdges(vertexCount);
+
+        // take each edge once, from its lower vertex, skipping loops
+        long edgeCount = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            final int degree = g.degree(v);
+            for (int i = 0; i < degree; i++) {
+                if (v < g.neighbour(v, i)) {
+                    edgeCount++;
+                }
+            }
+        }
+        if (edgeCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many edges to sort: " + edgeCount);
+        }
+
+        final int[] sources = new int[(int) edgeCount];
+        final int[] targets = new int[(int) edgeCount];
+        final double[] weights = new double[(int) edgeCount];
+        final long[] keys = new long[(int) edgeCount];
+        int e = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            final int degree = g.degree(v);
+            for (int i = 0; i < degree; i++) {
+                final int neighbour = g.neighbour(v, i);
+                if (v < neighbour) {
+                    sources[e] = v;
+                    targets[e] = neighbour;
+                    weights[e] = g.weight(v, i);
+                    keys[e] = ((long) sortableBits((float) weights[e]) << 32) | e;
+                    e++;
+                }
+            }
+        }
+
+        Arrays.parallelSort(keys);
+        sortRuns(keys, weights);
+
+        final WeightedQuickUnionPC forest = new WeightedQuickUnionPC(vertexCount);
+        for (int k = 0; k < keys.length && !tree.isFull(); k++) {
+            final int edge = (int) keys[k];
+            if (!forest.connected(sources[edge], targets[edge])) {
+                forest.union(sources[edge], targets[edge]);
+                tree.add(sources[edge], targets[edge], weights[edge]);
+            }
+        }
+    }
+
+
+    /**
+     * Convert a float to an int which compares as a signed int in the same order as the float.
+     *
+     * @param value The float, which must not be NaN.
+     * @return The sortable bits of the float.
+     */
+    private static int sortableBits(final float value) {
+        // negative floats sort backwards by their bits, so flip all but the sign bit
+        final int bits = Float.floatToIntBits(value + 0.0f);
+        return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+    }
+
+
+    /**
+     * Put each run of keys with equal rounded weights into exact order of weight.
+     *
+     * @param keys The sorted keys, holding edge indices in their low halves.
+     * @param weights The exact weight of each edge.
+     */
+    private static void sortRuns(final long[] keys, final double[] weights) {
+        int runStart = 0;
+        while (runStart < keys.length) {
+            final long rounded = keys[runStart] >>> 32;
+            int runEnd = runStart + 1;
+            boolean sorted = true;
+            while (runEnd < keys.length && keys[runEnd] >>> 32 == rounded) {
+                sorted &= weights[(int) keys[runEnd - 1]] <= weights[(int) keys[runEnd]];
+                runEnd++;
+            }
+
+            // most runs hold equal weights, so are already in order
+            if (!sorted) {
+                final Long[] run = new Long[runEnd - runStart];
+                for (int k = runStart; k < runEnd; k++) {
+                    run[k - runStart] = keys[k];
+                }
+                Arrays.sort(run, (a, b) -> Double.compare(weights[(int) (long) a], weights[(int) (long) b]));
+                for (int k = runStart; k < runEnd; k++) {
+                    keys[k] = run[k - runStart];
+                }
+            }
+            runStart = runEnd;
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<Edge> edges() {
+        return tree.iterator();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int edgeCount() {
+        return tree.count();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double weight() {
+        return tree.totalWeight();
+    }
+
+}
@@ -0,0 +1,245 @@
+package algorithms.graph;
+
+import datastructures.graph.Graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Communities of an undirected graph found by label propagation, in parallel on a fork-join pool.
+ * Every vertex starts with a label of its own, and in each iteration takes the label held by most
+ * of its neighbours and itself, so that labels spread through densely linked groups of vertices
+ * and stop at the sparse links between them.
+ *
+ * Iterations are synchronous and pull-based: every vertex reads the labels of the last iteration
+ * and writes only its own new label, so the result doesn't depend on the number of threads. Ties
+ * are settled in favour of the vertex's current label if a neighbour shares it, then the smallest
+ * label, which stops most of the back and forth that synchronous updates can otherwise cause.
+ * Iteration stops once no label changes, or after the maximum number of iterations.
+ *
+ * Vertices in different components never share a community, as labels only spread along edges.
+ */
+public class LabelPropagation {
+
+    /**
+     * Default most iterations to run.
+     */
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+
+
+    /**
+     * Number of vertices below which a range is processed directly rather than split.
+     */
+    private static final int GRAIN = 1024;
+
+
+    /**
+     * Community of each vertex, numbered from zero in order of their lowest vertex.
+     */
+    private final int[] ids;
+
+
+    /**
+     * Number of communities.
+     */
+    private final int count;
+
+
+    /**
+     * Number of iterations run.
+     */
+    private final int iterations;
+
+
+    /**
+     * Whether iteration stopped because no label changed.
+     */
+    private final boolean converged;
+
+
+    /**
+     * Find the communities of a graph, using the common pool.
+     *
+     * @param g The undirected graph, holding every edge in both directions.
+     */
+    public LabelPropagation(final Graph g) {
+        this(g, DEFAULT_MAX_ITERATIONS, ForkJoinPool.commonPool());
+    }
+
+
+    /**
+     * Find the communities of a graph, using the given pool.
+     *
+     * @param g The undirected graph, holding every edge in both directions.
+     * @param maxIterations The most iterations to run, which must be positive.
+     * @param pool Pool to run the iterations on.
+     */
+    public LabelPropagation(final Graph g, final int maxIterations, final ForkJoinPool pool) {
+        if (maxIterations <= 0) {
+            throw new IllegalArgumentException("Maximum iterations must be positive: " + maxIterations);
+        }
+
+        final int vertexCount = g.vertexCount();
+        int maxDegree = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            maxDegree = Math.max(maxDegree, g.degree(v));
+        }
+        final int scratchSize = maxDegree + 1;
+
+        int[] current = new int[vertexCount];
+        int[] next = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            current[v] = v;
+        }
+
+        // whether any label changed in each block of vertices
+        final int blockCount = (vertexCount + GRAIN - 1) / GRAIN;
+        final boolean[] changed = new boolean[blockCount];
+
+        int iteration = 0;
+        boolean done = vertexCount == 0;
+        while (!done && iteration < maxIterations) {
+            final int[] labels = current;
+            final int[] newLabels = next;
+
+            ParallelFor.forRange(pool, 0, blockCount, 1, (start, end) -> {
+                final int[] scratch = new int[scratchSize];
+                for (int b = start; b < end; b++) {
+                    boolean blockChanged = false;
+                    for (int v = b * GRAIN; v < Math.min(vertexCount, (b + 1) * GRAIN); v++) {
+                        newLabels[v] = commonestLabel(g, labels, v, scratch);
+                        blockChanged |= newLabels[v] != labels[v];
+                    }
+                    changed[b] = blockChanged;
+                }
+            });
+
+            iteration++;
+            done = true;
+            for (final boolean blockChanged : changed) {
+                done &= !blockChanged;
+            }
+            next = current;
+            current = newLabels;
+        }
+
+        // renumber the labels densely, in order of the lowest vertex holding each
+        ids = new int[vertexCount];
+        final int[] idOfLabel = new int[vertexCount];
+        Arrays.fill(idOfLabel, -1);
+        int communities = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            if (idOfLabel[current[v]] < 0) {
+                idOfLabel[current[v]] = communities++;
+            }
+            ids[v] = idOfLabel[current[v]];
+        }
+
+        count = communities;
+        iterations = iteration;
+        converged = done;
+    }
+
+
+    /**
+     * Find the label held by most of a vertex's neighbours and the vertex itself.
+     *
+     * @param g The graph.
+     * @param labels The label of each vertex.
+     * @param vertex The vertex.
+     * @param scratch Space for the labels around the vertex, with room for its degree plus one.
+     * @return The commonest label, preferring the vertex's own label if a neighbour shares it,
+     *         then the smallest, on a tie.
+     */
+    private static int commonestLabel(final Graph g, final int[] labels, final int vertex, final int[] scratch) {
+        final int own = labels[vertex];
+        final int degree = g.degree(vertex);
+        if (degree == 0) {
+            return own;
+        }
+
+        scratch[0] = own;
+        for (int i = 0; i < degree; i++) {
+            scratch[i + 1] = labels[g.neighbour(vertex, i)];
+        }
+        Arrays.sort(scratch, 0, degree + 1);
+
+        // walk the runs of equal labels, keeping the first of the longest
+        int best = own;
+        int bestRun = 0;
+        int ownRun = 0;
+        for (int i = 0; i <= degree; ) {
+            final int label = scratch[i];
+            int j = i;
+            while (j <= degree && scratch[j] == label) {
+                j++;
+            }
+            final int run = j - i;
+            if (run > bestRun) {
+                best = label;
+                bestRun = run;
+            }
+            if (label == own) {
+                ownRun = run;
+            }
+            i = j;
+        }
+
+        // a label shared with no neighbour is given up on a tie, or no label would ever spread
+        return ownRun == bestRun && ownRun > 1 ? own : best;
+    }
+
+
+    /**
+     * Query if two vertices are in the same community.
+     *
+     * @param v One vertex.
+     * @param w The other vertex.
+     * @return <CODE>true</CODE> if the vertices share a community; <CODE>false</CODE> otherwise.
+     */
+    public boolean connected(final int v, final int w) {
+        return ids[v] == ids[w];
+    }
+
+
+    /**
+     * Get the community of a vertex.
+     *
+     * @param vertex The vertex.
+     * @return The community, between zero and one less than the number of communities.
+     */
+    public int id(final int vertex) {
+        return ids[vertex];
+    }
+
+
+    /**
+     * Get the number of communities.
+     *
+     * @return The number of communities.
+     */
+    public int count() {
+        return count;
+    }
+
+
+    /**
+     * Get the number of iterations run.
+     *
+     * @return The number of iterations.
+     */
+    public int iterations() {
+        return iterations;
+    }
+
+
+    /**
+     * Query if the labels settled before the maximum number of iterations.
+     *
+     * @return <CODE>true</CODE> if no label changed in the last iteration; <CODE>false</CODE> otherwise.
+     */
+    public boolean converged() {
+        return converged;
+    }
+
+}
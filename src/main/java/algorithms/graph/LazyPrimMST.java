@@ -0,0 +1,129 @@
+package algorithms.graph;
+
+import datastructures.graph.Edge;
+import datastructures.graph.WeightedGraph;
+import datastructures.priorityqueue.IndexedMinHeap;
+
+import java.util.Iterator;
+
+/**
+ * The lazy version of Prim's algorithm for a minimum spanning forest. Each tree is grown from a
+ * root vertex by repeatedly taking the lightest edge seen so far leading out of it.
+ *
+ * When a vertex joins the tree, all of its edges to vertices outside the tree go into a heap, and
+ * edges whose far end has joined the tree since are only discarded as they come off the heap.
+ * This does less work per edge than {@link PrimMST}, but the heap can hold every edge at once
+ * rather than one entry per vertex.
+ *
+ * The heap is an {@link IndexedMinHeap} keyed by each edge's position among all the stored edges,
+ * so the edges are never turned into objects.
+ */
+public class LazyPrimMST implements MinimumSpanningTree {
+
+    /**
+     * The edges of the forest.
+     */
+    private final SpanningEdges tree;
+
+
+    /**
+     * Find a minimum spanning forest of a graph.
+     *
+     * @param g The undirected graph to span, holding every edge in both directions.
+     */
+    public LazyPrimMST(final WeightedGraph g) {
+        final int vertexCount = g.vertexCount();
+        tree = new SpanningEdges(vertexCount);
+
+        // number each stored edge by its position among all the vertices' edges
+        final int[] offsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            final long end = (long) offsets[v] + g.degree(v);
+            if (end > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Too many edges for the heap: " + end);
+            }
+            offsets[v + 1] = (int) end;
+        }
+
+        // the vertex each edge leads from, recorded as the edge goes into the heap
+        final int[] sources = new int[offsets[vertexCount]];
+        final boolean[] inTree = new boolean[vertexCount];
+        final IndexedMinHeap heap = new IndexedMinHeap(offsets[vertexCount]);
+
+        for (int root = 0; root < vertexCount && !tree.isFull(); root++) {
+            if (inTree[root]) {
+                continue;
+            }
+
+            inTree[root] = true;
+            scan(g, root, offsets, sources, inTree, heap);
+
+            while (!heap.isEmpty() && !tree.isFull()) {
+                final int edge = heap.removeMin().getAsInt();
+                final int source = sources[edge];
+                final int neighbour = g.neighbour(source, edge - offsets[source]);
+
+                // the edge is stale if both its ends have joined the tree since it was added
+                if (inTree[neighbour]) {
+                    continue;
+                }
+
+                inTree[neighbour] = true;
+                tree.add(source, neighbour, g.weight(source, edge - offsets[source]));
+                scan(g, neighbour, offsets, sources, inTree, heap);
+            }
+            heap.clear();
+        }
+    }
+
+
+    /**
+     * Add the edges of a vertex which has just joined the tree to the heap, except those leading back into the tree.
+     *
+     * @param g The graph.
+     * @param vertex The vertex which has joined the tree.
+     * @param offsets Position of each vertex's first edge among all the stored edges.
+     * @param sources The vertex each edge in the heap leads from.
+     * @param inTree Whether each vertex is in the tree.
+     * @param heap Edges leading out of the tree, by weight.
+     */
+    private static void scan(final WeightedGraph g, final int vertex, final int[] offsets, final int[] sources,
+                             final boolean[] inTree, final IndexedMinHeap heap) {
+        final int degree = g.degree(vertex);
+        for (int i = 0; i < degree; i++) {
+            if (!inTree[g.neighbour(vertex, i)]) {
+                final int edge = offsets[vertex] + i;
+                sources[edge] = vertex;
+                heap.insert(edge, g.weight(vertex, i));
+            }
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<Edge> edges() {
+        return tree.iterator();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int edgeCount() {
+        return tree.count();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double weight() {
+        return tree.totalWeight();
+    }
+
+}
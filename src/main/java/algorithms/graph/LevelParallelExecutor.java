@@ -0,0 +1,155 @@
+package algorithms.graph;
+
+import datastructures.graph.Graph;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs a task for each vertex of a directed acyclic graph, such as a graph of build steps with an
+ * arc from each step to the steps which depend on it, so that no task starts before the tasks of
+ * all its predecessors have finished.
+ *
+ * Vertices are grouped by their {@link TopologicalSort#level(int) level}. The tasks of a level
+ * have no arcs between them, so they are all started at once on the given executor, and the next
+ * level starts when they have all finished. A level waits for its slowest task, even if some of
+ * the next level's tasks only depend on faster ones, but in return there is no per-arc bookkeeping
+ * while the tasks run.
+ *
+ * Tasks which mostly wait on I/O can be run with {@link #executeOnVirtualThreads(IntConsumer)},
+ * which gives each task a virtual thread, so a wide level doesn't need as many platform threads.
+ */
+public class LevelParallelExecutor {
+
+    /**
+     * Vertices grouped by level, with each level's vertices in topological order.
+     */
+    private final int[] levelVertices;
+
+
+    /**
+     * Position in {@link #levelVertices} of the first vertex of each level, followed by the number of vertices.
+     */
+    private final int[] levelStarts;
+
+
+    /**
+     * Prepare to run tasks over the vertices of a graph.
+     *
+     * @param g The directed acyclic graph of dependencies between tasks.
+     * @throws IllegalArgumentException If the graph has a cycle.
+     */
+    public LevelParallelExecutor(final Graph g) {
+        final TopologicalSort sort = new TopologicalSort(g);
+        if (!sort.hasOrder()) {
+            final StringBuilder cycle = new StringBuilder();
+            sort.cycle().get().forEachRemaining(v -> cycle.append(v).append(" -> "));
+            throw new IllegalArgumentException("Graph has a cycle: " + cycle + sort.cycle().get().next());
+        }
+
+        // group the vertices by level with a counting sort, keeping the topological order within each level
+        final int vertexCount = g.vertexCount();
+        final int levelCount = sort.levelCount();
+        levelStarts = new int[levelCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            levelStarts[sort.level(v) + 1]++;
+        }
+        for (int l = 0; l < levelCount; l++) {
+            levelStarts[l + 1] += levelStarts[l];
+        }
+
+        levelVertices = new int[vertexCount];
+        final int[] fill = Arrays.copyOf(levelStarts, levelCount);
+        final Iterator<Integer> order = sort.order().get();
+        while (order.hasNext()) {
+            final int vertex = order.next();
+            levelVertices[fill[sort.level(vertex)]++] = vertex;
+        }
+    }
+
+
+    /**
+     * Run a task for each vertex on the common fork-join pool.
+     *
+     * @param task The task, given the index of its vertex.
+     */
+    public void execute(final IntConsumer task) {
+        execute(task, ForkJoinPool.commonPool());
+    }
+
+
+    /**
+     * Run a task for each vertex, giving each task a new virtual thread.
+     *
+     * @param task The task, given the index of its vertex.
+     */
+    public void executeOnVirtualThreads(final IntConsumer task) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            execute(task, executor);
+        }
+    }
+
+
+    /**
+     * Run a task for each vertex on the given executor, one level at a time. If any task throws
+     * an exception, the rest of its level is allowed to finish, no later levels are started, and
+     * the exception is thrown on to the caller.
+     *
+     * @param task The task, given the index of its vertex.
+     * @param executor Executor to run the tasks on.
+     */
+    public void execute(final IntConsumer task, final Executor executor) {
+        for (int level = 0; level < levelCount(); level++) {
+            final int start = levelStarts[level];
+            final int end = levelStarts[level + 1];
+
+            final CompletableFuture<?>[] running = new CompletableFuture<?>[end - start];
+            for (int i = start; i < end; i++) {
+                final int vertex = levelVertices[i];
+                running[i - start] = CompletableFuture.runAsync(() -> task.accept(vertex), executor);
+            }
+
+            try {
+                CompletableFuture.allOf(running).join();
+            } catch (final CompletionException e) {
+                // the task's own exception is more use to the caller than the wrapper
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+
+
+    /**
+     * Count the levels, each of which is run after the one before it has finished.
+     *
+     * @return The number of levels.
+     */
+    public int levelCount() {
+        return levelStarts.length - 1;
+    }
+
+
+    /**
+     * Count the vertices in a level, which is the most tasks that level runs at once.
+     *
+     * @param level The level.
+     * @return The number of vertices in the level.
+     */
+    public int levelSize(final int level) {
+        return levelStarts[level + 1] - levelStarts[level];
+    }
+
+}
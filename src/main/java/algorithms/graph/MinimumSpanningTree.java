@@ -0,0 +1,42 @@
+package algorithms.graph;
+
+import datastructures.graph.Edge;
+
+import java.util.Iterator;
+
+/**
+ * A minimum spanning forest of an undirected weighted graph: a set of edges joining every pair
+ * of vertices which are connected in the graph, with no cycles, and with the least total weight
+ * of any such set. For a connected graph this is a minimum spanning tree, with one fewer edge
+ * than the graph has vertices.
+ *
+ * The graphs searched must hold each edge in both directions with the same weight, as an
+ * undirected {@link datastructures.graph.WeightedCSRGraph} does. Loops from a vertex to itself are
+ * never part of the forest.
+ */
+public interface MinimumSpanningTree {
+
+    /**
+     * Provides an iterator over the edges of the forest.
+     *
+     * @return Iterator over the edges of the forest.
+     */
+    Iterator<Edge> edges();
+
+
+    /**
+     * Count the edges of the forest, which is the number of vertices less the number of connected components.
+     *
+     * @return The number of edges in the forest.
+     */
+    int edgeCount();
+
+
+    /**
+     * Get the total weight of the forest.
+     *
+     * @return The sum of the weights of the edges in the forest.
+     */
+    double weight();
+
+}
@@ -0,0 +1,162 @@
+package algorithms.graph;
+
+import datastructures.graph.Graph;
+import datastructures.stack.ArrayStack;
+import datastructures.stack.Stack;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Breadth-first search from a set of source vertices at once, finding the distance from each
+ * vertex to its nearest source. Every source starts in the queue at distance zero, so a single
+ * search answers what would otherwise take one {@link BFS} per source followed by taking the
+ * smallest distance at every vertex.
+ *
+ * Each vertex also records which source reached it, so the graph is split into regions around
+ * the sources. When several sources are equally near, the vertex belongs to whichever source's
+ * region reached it first, which favours sources given earlier.
+ *
+ * See {@link BitParallelBFS} for the distance to each source separately.
+ */
+public class MultiSourceBFS {
+
+    /**
+     * Number of edges between each vertex and its nearest source, or -1 if no source reaches it.
+     */
+    private final int[] distTo;
+
+
+    /**
+     * Array of back-pointers, recording for each vertex the vertex from which it was first visited.
+     * Sources point to themselves.
+     */
+    private final int[] edgeTo;
+
+
+    /**
+     * The source whose region each vertex is in.
+     */
+    private final int[] sourceOf;
+
+
+    /**
+     * Perform breadth-first search on the given graph from a set of source vertices.
+     *
+     * @param g The graph to search.
+     * @param sources The vertices to search from, of which there must be at least one.
+     */
+    public MultiSourceBFS(final Graph g, final int... sources) {
+        if (sources.length == 0) {
+            throw new IllegalArgumentException("At least one source vertex is needed");
+        }
+
+        final int vertexCount = g.vertexCount();
+        distTo = new int[vertexCount];
+        edgeTo = new int[vertexCount];
+        sourceOf = new int[vertexCount];
+        Arrays.fill(distTo, -1);
+
+        // the queue starts with every source, ignoring repeats
+        final int[] queue = new int[vertexCount];
+        int head = 0;
+        int tail = 0;
+        for (final int source : sources) {
+            if (source < 0 || source >= vertexCount) {
+                throw new IllegalArgumentException("Vertex " + source + " is not in a graph of "
+                        + vertexCount + " vertices");
+            }
+            if (distTo[source] < 0) {
+                distTo[source] = 0;
+                edgeTo[source] = source;
+                sourceOf[source] = source;
+                queue[tail++] = source;
+            }
+        }
+
+        while (head < tail) {
+            final int currentVertex = queue[head++];
+
+            final int degree = g.degree(currentVertex);
+            for (int i = 0; i < degree; i++) {
+                final int neighbour = g.neighbour(currentVertex, i);
+                if (distTo[neighbour] < 0) {
+                    distTo[neighbour] = distTo[currentVertex] + 1;
+                    edgeTo[neighbour] = currentVertex;
+                    sourceOf[neighbour] = sourceOf[currentVertex];
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Check if any source reaches the specified vertex.
+     *
+     * @param otherVertex Index of the vertex to check.
+     * @return <CODE>true</CODE> if there is a path to the vertex from a source; <CODE>false</CODE> otherwise.
+     */
+    public boolean hasPathTo(final int otherVertex) {
+        return distTo[otherVertex] >= 0;
+    }
+
+
+    /**
+     * Get the length of the shortest path from any source to the specified vertex.
+     *
+     * @param otherVertex Index of the vertex to find the distance to.
+     * @return The number of edges on a shortest path from the nearest source, or -1 if there is no path.
+     */
+    public int distanceTo(final int otherVertex) {
+        return distTo[otherVertex];
+    }
+
+
+    /**
+     * Get the nearest source to the specified vertex.
+     *
+     * @param otherVertex Index of the vertex.
+     * @return The source whose region the vertex is in, or -1 if no source reaches it.
+     */
+    public int sourceOf(final int otherVertex) {
+        return hasPathTo(otherVertex) ? sourceOf[otherVertex] : -1;
+    }
+
+
+    /**
+     * Get the distance from the nearest source to every vertex.
+     *
+     * @return A copy of the distance to each vertex, which is -1 for vertices no source reaches.
+     */
+    public int[] distances() {
+        return Arrays.copyOf(distTo, distTo.length);
+    }
+
+
+    /**
+     * Provides an iterator over the sequence of indices from the nearest source to the specified
+     * index, provided that a path exists.
+     *
+     * @param otherVertex Index of the vertex to find the path to.
+     * @return Optional containing an iterator over the vertices in the path if a path exists.
+     */
+    public Optional<Iterator<Integer>> pathTo(final int otherVertex) {
+        if (!hasPathTo(otherVertex)) {
+            return Optional.empty();
+        }
+
+        // follow backpointers, pushing each vertex along the route on to the stack to reverse the order
+        final Stack<Integer> path = new ArrayStack<>();
+        int currentVertex = otherVertex;
+        while (edgeTo[currentVertex] != currentVertex) {
+            path.push(currentVertex);
+            currentVertex = edgeTo[currentVertex];
+        }
+        path.push(currentVertex);
+
+        return Optional.of(path.iterator());
+    }
+
+}
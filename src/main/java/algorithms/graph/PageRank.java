@@ -0,0 +1,377 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.Graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * PageRank scores of the vertices of a directed graph, found by power iteration in parallel on a
+ * fork-join pool. A vertex's score is the chance of finding a random walker there, where the
+ * walker follows a random arc out of its vertex, or with a set chance jumps to a random vertex
+ * instead. Scores add up to one.
+ *
+ * Each iteration is pull-based: every vertex sums the shares sent along the arcs into it, read
+ * from the graph with its arcs reversed, so each vertex only writes its own score and no
+ * synchronisation is needed within an iteration. Iteration stops once the scores change by less
+ * than the tolerance in total between two iterations, or after the maximum number of iterations.
+ *
+ * For personalised PageRank, the walker only ever jumps to a chosen set of source vertices, so
+ * scores measure closeness to those sources rather than importance in the whole graph. Walkers
+ * at a vertex with no arcs out jump in the same way.
+ *
+ * Sums over all vertices are split into fixed blocks, which are added up in order, so the
+ * scores are the same whatever the number of threads.
+ */
+public class PageRank {
+
+    /**
+     * Default chance of the walker following an arc rather than jumping.
+     */
+    public static final double DEFAULT_DAMPING = 0.85;
+
+
+    /**
+     * Default total change in scores below which iteration stops.
+     */
+    public static final double DEFAULT_TOLERANCE = 1e-9;
+
+
+    /**
+     * Default most iterations to run.
+     */
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+
+
+    /**
+     * Number of vertices in each block of work.
+     */
+    private static final int GRAIN = 1024;
+
+
+    /**
+     * Score of each vertex.
+     */
+    private final double[] ranks;
+
+
+    /**
+     * Number of iterations run.
+     */
+    private final int iterations;
+
+
+    /**
+     * Whether iteration stopped because the scores stopped changing.
+     */
+    private final boolean converged;
+
+
+    /**
+     * Find the PageRank scores of a graph with the default settings, using the common pool.
+     *
+     * @param g The directed graph to score.
+     * @param reverse The graph with every arc reversed, such as from {@link CSRGraph#transpose()}.
+     */
+    public PageRank(final Graph g, final Graph reverse) {
+        this(new Builder(g, reverse));
+    }
+
+
+    /**
+     * Find the PageRank scores set up by a builder.
+     *
+     * @param builder The settings of the search.
+     */
+    private PageRank(final Builder builder) {
+        final Graph g = builder.graph;
+        final Graph reverse = builder.reverse;
+        final ForkJoinPool pool = builder.pool;
+        final double damping = builder.damping;
+        final int vertexCount = g.vertexCount();
+        final int blockCount = (vertexCount + GRAIN - 1) / GRAIN;
+
+        // the chance of jumping to each vertex
+        final double[] jumps = new double[vertexCount];
+        if (builder.sources == null) {
+            Arrays.fill(jumps, 1.0 / vertexCount);
+        } else {
+            for (final int source : builder.sources) {
+                jumps[source] += 1.0 / builder.sources.length;
+            }
+        }
+
+        double[] current = Arrays.copyOf(jumps, vertexCount);
+        double[] next = new double[vertexCount];
+
+        // the share of each vertex's score sent along each of its arcs
+        final double[] shares = new double[vertexCount];
+        final double[] blockSums = new double[blockCount];
+
+        int iteration = 0;
+        boolean done = vertexCount == 0;
+        while (!done && iteration < builder.maxIterations) {
+            final double[] ranksNow = current;
+
+            // walkers at vertices without arcs out have to jump
+            ParallelFor.forRange(pool, 0, blockCount, 1, (start, end) -> {
+                for (int b = start; b < end; b++) {
+                    double stranded = 0;
+                    for (int v = b * GRAIN; v < Math.min(vertexCount, (b + 1) * GRAIN); v++) {
+                        final int degree = g.degree(v);
+                        if (degree == 0) {
+                            stranded += ranksNow[v];
+                            shares[v] = 0;
+                        } else {
+                            shares[v] = ranksNow[v] / degree;
+                        }
+                    }
+                    blockSums[b] = stranded;
+                }
+            });
+            final double jumping = (1 - damping) + damping * sum(blockSums);
+
+            // each vertex pulls the shares of the vertices with arcs to it
+            final double[] ranksNext = next;
+            ParallelFor.forRange(pool, 0, blockCount, 1, (start, end) -> {
+                for (int b = start; b < end; b++) {
+                    double change = 0;
+                    for (int v = b * GRAIN; v < Math.min(vertexCount, (b + 1) * GRAIN); v++) {
+                        double pulled = 0;
+                        final int degree = reverse.degree(v);
+                        for (int i = 0; i < degree; i++) {
+                            pulled += shares[reverse.neighbour(v, i)];
+                        }
+                        ranksNext[v] = damping * pulled + jumping * jumps[v];
+                        change += Math.abs(ranksNext[v] - ranksNow[v]);
+                    }
+                    blockSums[b] = change;
+                }
+            });
+
+            iteration++;
+            done = sum(blockSums) < builder.tolerance;
+            next = current;
+            current = ranksNext;
+        }
+
+        ranks = current;
+        iterations = iteration;
+        converged = done;
+    }
+
+
+    /**
+     * Add up the sums of each block in order.
+     *
+     * @param blockSums The sum of each block.
+     * @return The total.
+     */
+    private static double sum(final double[] blockSums) {
+        double total = 0;
+        for (final double blockSum : blockSums) {
+            total += blockSum;
+        }
+        return total;
+    }
+
+
+    /**
+     * Get the score of a vertex.
+     *
+     * @param vertex The vertex.
+     * @return The PageRank score of the vertex.
+     */
+    public double rank(final int vertex) {
+        return ranks[vertex];
+    }
+
+
+    /**
+     * Get the scores of every vertex.
+     *
+     * @return A copy of the score of each vertex.
+     */
+    public double[] ranks() {
+        return Arrays.copyOf(ranks, ranks.length);
+    }
+
+
+    /**
+     * Get the number of iterations run.
+     *
+     * @return The number of iterations.
+     */
+    public int iterations() {
+        return iterations;
+    }
+
+
+    /**
+     * Query if the scores settled within the tolerance before the maximum number of iterations.
+     *
+     * @return <CODE>true</CODE> if the scores converged; <CODE>false</CODE> otherwise.
+     */
+    public boolean converged() {
+        return converged;
+    }
+
+
+    /**
+     * Builder for PageRank searches with settings other than the defaults.
+     */
+    public static class Builder {
+
+        /**
+         * The graph to score.
+         */
+        private final Graph graph;
+
+
+        /**
+         * The graph with every arc reversed.
+         */
+        private final Graph reverse;
+
+
+        /**
+         * Chance of the walker following an arc rather than jumping.
+         */
+        private double damping = DEFAULT_DAMPING;
+
+
+        /**
+         * Total change in scores below which iteration stops.
+         */
+        private double tolerance = DEFAULT_TOLERANCE;
+
+
+        /**
+         * Most iterations to run.
+         */
+        private int maxIterations = DEFAULT_MAX_ITERATIONS;
+
+
+        /**
+         * The vertices jumped to, or null to jump to any vertex.
+         */
+        private int[] sources;
+
+
+        /**
+         * Pool to run the iterations on.
+         */
+        private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+
+        /**
+         * Create a builder for scoring a graph.
+         *
+         * @param g The directed graph to score.
+         * @param reverse The graph with every arc reversed, such as from {@link CSRGraph#transpose()}.
+         */
+        public Builder(final Graph g, final Graph reverse) {
+            if (reverse.vertexCount() != g.vertexCount()) {
+                throw new IllegalArgumentException("Reverse graph has " + reverse.vertexCount()
+                        + " vertices, not " + g.vertexCount());
+            }
+
+            this.graph = g;
+            this.reverse = reverse;
+        }
+
+
+        /**
+         * Set the chance of the walker following an arc rather than jumping.
+         *
+         * @param damping The chance, at least zero and below one.
+         * @return This builder.
+         */
+        public Builder damping(final double damping) {
+            if (!(damping >= 0 && damping < 1)) {
+                throw new IllegalArgumentException("Damping must be at least 0 and below 1: " + damping);
+            }
+
+            this.damping = damping;
+            return this;
+        }
+
+
+        /**
+         * Set the total change in scores between iterations below which iteration stops.
+         *
+         * @param tolerance The tolerance, which must be positive.
+         * @return This builder.
+         */
+        public Builder tolerance(final double tolerance) {
+            if (!(tolerance > 0)) {
+                throw new IllegalArgumentException("Tolerance must be positive: " + tolerance);
+            }
+
+            this.tolerance = tolerance;
+            return this;
+        }
+
+
+        /**
+         * Set the most iterations to run.
+         *
+         * @param maxIterations The most iterations, which must be positive.
+         * @return This builder.
+         */
+        public Builder maxIterations(final int maxIterations) {
+            if (maxIterations <= 0) {
+                throw new IllegalArgumentException("Maximum iterations must be positive: " + maxIterations);
+            }
+
+            this.maxIterations = maxIterations;
+            return this;
+        }
+
+
+        /**
+         * Personalise the scores to a set of source vertices, which are the only vertices jumped to.
+         *
+         * @param sources The source vertices, where a vertex given more than once is jumped to more often.
+         * @return This builder.
+         */
+        public Builder personalise(final int... sources) {
+            if (sources.length == 0) {
+                throw new IllegalArgumentException("At least one source vertex is needed");
+            }
+            for (final int source : sources) {
+                if (source < 0 || source >= graph.vertexCount()) {
+                    throw new IllegalArgumentException("Vertex " + source + " is not in a graph of "
+                            + graph.vertexCount() + " vertices");
+                }
+            }
+
+            this.sources = Arrays.copyOf(sources, sources.length);
+            return this;
+        }
+
+
+        /**
+         * Set the pool to run the iterations on.
+         *
+         * @param pool The pool.
+         * @return This builder.
+         */
+        public Builder pool(final ForkJoinPool pool) {
+            this.pool = pool;
+            return this;
+        }
+
+
+        /**
+         * Find the scores with the settings given.
+         *
+         * @return The scores.
+         */
+        public PageRank compute() {
+            return new PageRank(this);
+        }
+    }
+
+}
@@ -0,0 +1,273 @@
+package algorithms.graph;
+
+import datastructures.graph.Graph;
+import datastructures.stack.ArrayStack;
+import datastructures.stack.Stack;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Breadth-first search which expands each level of the search in parallel on a fork-join pool.
+ *
+ * The vertices of the frontier are shared out between the workers, which claim the unvisited
+ * neighbours they find by setting their bits in a shared bitmap with compare-and-set. Each range
+ * of the frontier lists the vertices it claimed, and appends them to the next frontier in one
+ * go, so a level costs time in proportion to the vertices and edges it touches rather than to
+ * the size of the graph. When several
+ * frontier vertices lead to the same new vertex, the one with the lowest index is recorded as its
+ * parent, so the search tree and the paths found are the same from one run to the next, however
+ * the work happened to be scheduled.
+ *
+ * The graph must not be modified while the search runs.
+ */
+public class ParallelBFS {
+
+    /**
+     * Number of frontier vertices below which a range is expanded directly rather than split.
+     */
+    private static final int GRAIN = 256;
+
+
+    /**
+     * Marks a vertex without a parent yet.
+     */
+    private static final int NO_PARENT = Integer.MAX_VALUE;
+
+
+    /**
+     * Index of the vertex that the search begins from.
+     */
+    private final int rootVertex;
+
+
+    /**
+     * Bitmap of the vertices which have been visited already.
+     */
+    private final long[] isMarked;
+
+
+    /**
+     * Array of back-pointers, recording for each vertex the lowest-numbered vertex in the previous
+     * level of the search which leads to it. Allows us to trace a path from any visited vertex back
+     * to the root vertex.
+     */
+    private final int[] edgeTo;
+
+
+    /**
+     * Number of edges between each visited vertex and the root vertex.
+     */
+    private final int[] distTo;
+
+
+    /**
+     * Perform breadth-first search on the given graph from the specified vertex, using the common pool.
+     *
+     * @param g The graph to search.
+     * @param rootVertex Index of the first vertex to search from.
+     */
+    public ParallelBFS(final Graph g, final int rootVertex) {
+        this(g, rootVertex, ForkJoinPool.commonPool());
+    }
+
+
+    /**
+     * Perform breadth-first search on the given graph from the specified vertex, using the given pool.
+     *
+     * @param g The graph to search.
+     * @param rootVertex Index of the first vertex to search from.
+     * @param pool Pool to run the search on.
+     */
+    public ParallelBFS(final Graph g, final int rootVertex, final ForkJoinPool pool) {
+        this.rootVertex = rootVertex;
+
+        isMarked = new long[(g.vertexCount() + Long.SIZE - 1) >>> 6];
+        edgeTo = new int[g.vertexCount()];
+        distTo = new int[g.vertexCount()];
+
+        graphSearch(g, rootVertex, pool);
+    }
+
+
+    /**
+     * Level-synchronous search, expanding the vertices of each level in parallel.
+     *
+     * @param g The graph to search.
+     * @param rootVertex Index of the first vertex to search from.
+     * @param pool Pool to run the search on.
+     */
+    private void graphSearch(final Graph g, final int rootVertex, final ForkJoinPool pool) {
+        final int vertexCount = g.vertexCount();
+
+        // vertices claimed in the current level, which are only added to the visited bitmap between levels
+        final AtomicLongArray claimed = new AtomicLongArray(isMarked.length);
+
+        final AtomicIntegerArray parents = new AtomicIntegerArray(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            parents.set(v, NO_PARENT);
+        }
+
+        // vertices of the current and next levels
+        int[] frontier = new int[vertexCount];
+        int[] nextFrontier = new int[vertexCount];
+        final AtomicInteger nextSize = new AtomicInteger();
+        frontier[0] = rootVertex;
+        int frontierSize = 1;
+
+        isMarked[rootVertex >>> 6] |= 1L << rootVertex;
+
+        int distance = 0;
+        while (frontierSize > 0) {
+            distance++;
+
+            final int[] current = frontier;
+            final int[] next = nextFrontier;
+            nextSize.set(0);
+
+            ParallelFor.forRange(pool, 0, frontierSize, GRAIN, (start, end) -> {
+                // vertices claimed by this range, appended to the next frontier together at the end
+                int[] found = new int[end - start];
+                int foundCount = 0;
+
+                for (int f = start; f < end; f++) {
+                    final int vertex = current[f];
+
+                    final int degree = g.degree(vertex);
+                    for (int i = 0; i < degree; i++) {
+                        final int neighbour = g.neighbour(vertex, i);
+
+                        // the visited bitmap isn't written during a level, so can be read without synchronisation
+                        if ((isMarked[neighbour >>> 6] & (1L << neighbour)) == 0) {
+                            if (claim(claimed, neighbour)) {
+                                if (foundCount == found.length) {
+                                    found = Arrays.copyOf(found, found.length * 2);
+                                }
+                                found[foundCount++] = neighbour;
+                            }
+                            lowerParent(parents, neighbour, vertex);
+                        }
+                    }
+                }
+
+                System.arraycopy(found, 0, next, nextSize.getAndAdd(foundCount), foundCount);
+            });
+            frontierSize = nextSize.get();
+
+            // mark the claimed vertices as visited, clearing only the words this level claimed in
+            for (int f = 0; f < frontierSize; f++) {
+                final int word = next[f] >>> 6;
+                final long members = claimed.get(word);
+                if (members != 0) {
+                    isMarked[word] |= members;
+                    claimed.set(word, 0);
+                }
+            }
+
+            final int level = distance;
+            ParallelFor.forRange(pool, 0, frontierSize, GRAIN, (start, end) -> {
+                for (int f = start; f < end; f++) {
+                    final int vertex = next[f];
+                    edgeTo[vertex] = parents.get(vertex);
+                    distTo[vertex] = level;
+                }
+            });
+
+            frontier = next;
+            nextFrontier = current;
+        }
+    }
+
+
+    /**
+     * Set the bit of a vertex in a shared bitmap, unless it is already set.
+     *
+     * @param bitmap The shared bitmap of vertices.
+     * @param vertex The vertex to claim.
+     * @return <CODE>true</CODE> if this call set the bit; <CODE>false</CODE> if it was already set.
+     */
+    private static boolean claim(final AtomicLongArray bitmap, final int vertex) {
+        final int word = vertex >>> 6;
+        final long bit = 1L << vertex;
+
+        long current = bitmap.get(word);
+        while ((current & bit) == 0) {
+            if (bitmap.compareAndSet(word, current, current | bit)) {
+                return true;
+            }
+            current = bitmap.get(word);
+        }
+        return false;
+    }
+
+
+    /**
+     * Record a candidate parent of a vertex, keeping whichever candidate has the lowest index.
+     *
+     * @param parents The shared array of parents.
+     * @param vertex The vertex to record a parent of.
+     * @param parent The candidate parent.
+     */
+    private static void lowerParent(final AtomicIntegerArray parents, final int vertex, final int parent) {
+        int current = parents.get(vertex);
+        while (parent < current && !parents.compareAndSet(vertex, current, parent)) {
+            current = parents.get(vertex);
+        }
+    }
+
+
+    /**
+     * Check if there exists a path between the root vertex and the specified vertex (i.e. check if they are connected).
+     *
+     * @param otherVertex Index of the vertex to check if there is a path to.
+     * @return <CODE>true</CODE> if there is a path to the vertex from the root vertex; <CODE>false</CODE> otherwise.
+     */
+    public boolean hasPathTo(final int otherVertex) {
+        return (isMarked[otherVertex >>> 6] & (1L << otherVertex)) != 0;
+    }
+
+
+    /**
+     * Get the length of the shortest path from the root vertex to the specified vertex.
+     *
+     * @param otherVertex Index of the vertex to find the distance to.
+     * @return The number of edges on a shortest path, or -1 if there is no path.
+     */
+    public int distanceTo(final int otherVertex) {
+        return hasPathTo(otherVertex) ? distTo[otherVertex] : -1;
+    }
+
+
+    /**
+     * Provides an iterator over the sequence of indices from the root vertex to the specified
+     * index, provided that a path exists. This is a shortest path, and at each step it goes
+     * through the lowest-numbered vertex which leads to the next.
+     *
+     * @param otherVertex Index of the vertex to find the path to.
+     * @return Optional containing an iterator over the vertices in the path if a path exists.
+     */
+    public Optional<Iterator<Integer>> pathTo(final int otherVertex) {
+
+        // first check that a path exists to begin with
+        if (!hasPathTo(otherVertex)) {
+            return Optional.empty();
+        }
+
+        // follow backpointers, pushing each vertex along the route on to the stack to reverse the order
+        final Stack<Integer> path = new ArrayStack<>();
+        int currentVertex = otherVertex;
+        while (currentVertex != rootVertex) {
+            path.push(currentVertex);
+            currentVertex = edgeTo[currentVertex];
+        }
+        path.push(rootVertex);
+
+        return Optional.of(path.iterator());
+    }
+
+}
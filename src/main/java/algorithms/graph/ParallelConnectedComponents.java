@@ -0,0 +1,242 @@
+package algorithms.graph;
+
+import datastructures.graph.Graph;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Find the connected components of a graph in parallel on a fork-join pool, using the Afforest
+ * algorithm.
+ *
+ * Every vertex starts as its own tree, and the trees are joined across the edges of the graph by
+ * hooking the root with the higher index under the one with the lower index, with compare-and-set,
+ * so that many edges can be processed at once. Each tree ends up rooted at the lowest vertex of
+ * its component.
+ *
+ * Only the first couple of edges of each vertex are processed at first, which is usually enough
+ * to gather most vertices into one large component. For an undirected graph, the remaining edges
+ * of the vertices in that component can then be skipped, since any edge leaving the component is
+ * also found from its other end.
+ *
+ * Components are numbered from zero in order of their lowest vertex, as in {@link ConnectedComponents}.
+ */
+public class ParallelConnectedComponents {
+
+    /**
+     * Number of edges of each vertex processed before looking for the largest component.
+     */
+    private static final int NEIGHBOUR_ROUNDS = 2;
+
+
+    /**
+     * Number of vertices sampled to find the largest component.
+     */
+    private static final int SAMPLE_SIZE = 1024;
+
+
+    /**
+     * Number of vertices below which a range is processed directly rather than split.
+     */
+    private static final int GRAIN = 1024;
+
+
+    /**
+     * Records which vertex belongs to which component.
+     */
+    private final int[] components;
+
+
+    /**
+     * Number of connected components found.
+     */
+    private int count = 0;
+
+
+    /**
+     * Explore the given undirected graph and compute connected components, using the common pool.
+     *
+     * @param g The graph to find the connected components within, which must hold every edge in both directions.
+     */
+    public ParallelConnectedComponents(final Graph g) {
+        this(g, false, ForkJoinPool.commonPool());
+    }
+
+
+    /**
+     * Explore the given graph and compute connected components, using the given pool.
+     *
+     * @param g The graph to find the connected components within.
+     * @param directed <CODE>true</CODE> if the graph may hold edges in only one direction, in which case
+     *                 its weakly connected components are found; <CODE>false</CODE> if the graph holds
+     *                 every edge in both directions.
+     * @param pool Pool to run the search on.
+     */
+    public ParallelConnectedComponents(final Graph g, final boolean directed, final ForkJoinPool pool) {
+        final int vertexCount = g.vertexCount();
+        final AtomicIntegerArray parents = new AtomicIntegerArray(vertexCount);
+
+        ParallelFor.forRange(pool, 0, vertexCount, GRAIN, (start, end) -> {
+            for (int v = start; v < end; v++) {
+                parents.set(v, v);
+            }
+        });
+
+        // join each vertex with its first few neighbours
+        for (int round = 0; round < NEIGHBOUR_ROUNDS; round++) {
+            final int neighbourIndex = round;
+            ParallelFor.forRange(pool, 0, vertexCount, GRAIN, (start, end) -> {
+                for (int v = start; v < end; v++) {
+                    if (neighbourIndex < g.degree(v)) {
+                        link(parents, v, g.neighbour(v, neighbourIndex));
+                    }
+                }
+            });
+            compress(parents, pool);
+        }
+
+        // the remaining edges leaving the largest component are found from their other ends,
+        // unless edges are only held in one direction
+        final int largestComponent = directed ? -1 : sampleLargestComponent(parents);
+
+        ParallelFor.forRange(pool, 0, vertexCount, GRAIN, (start, end) -> {
+            for (int v = start; v < end; v++) {
+                if (parents.get(v) == largestComponent) {
+                    continue;
+                }
+
+                final int degree = g.degree(v);
+                for (int i = NEIGHBOUR_ROUNDS; i < degree; i++) {
+                    link(parents, v, g.neighbour(v, i));
+                }
+            }
+        });
+        compress(parents, pool);
+
+        // every vertex now points at the lowest vertex of its component, which is met before the rest
+        components = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            final int root = parents.get(v);
+            components[v] = root == v ? count++ : components[root];
+        }
+    }
+
+
+    /**
+     * Join the trees holding two vertices, hooking the higher root under the lower one.
+     *
+     * @param parents The parent of each vertex, where each root is its own parent.
+     * @param vertex First vertex of the edge.
+     * @param otherVertex Second vertex of the edge.
+     */
+    private static void link(final AtomicIntegerArray parents, final int vertex, final int otherVertex) {
+        int root = parents.get(vertex);
+        int otherRoot = parents.get(otherVertex);
+
+        while (root != otherRoot) {
+            final int high = Math.max(root, otherRoot);
+            final int low = Math.min(root, otherRoot);
+            final int highParent = parents.get(high);
+
+            // done if already joined, or if high is still a root and can be hooked under low
+            if (highParent == low || (highParent == high && parents.compareAndSet(high, high, low))) {
+                break;
+            }
+
+            // another thread moved high, so climb both trees and try again
+            root = parents.get(parents.get(high));
+            otherRoot = parents.get(low);
+        }
+    }
+
+
+    /**
+     * Point every vertex directly at the root of its tree.
+     *
+     * @param parents The parent of each vertex, where each root is its own parent.
+     * @param pool Pool to run on.
+     */
+    private static void compress(final AtomicIntegerArray parents, final ForkJoinPool pool) {
+        ParallelFor.forRange(pool, 0, parents.length(), GRAIN, (start, end) -> {
+            for (int v = start; v < end; v++) {
+                int parent = parents.get(v);
+                while (parent != parents.get(parent)) {
+                    parent = parents.get(parent);
+                }
+                parents.set(v, parent);
+            }
+        });
+    }
+
+
+    /**
+     * Estimate which component holds the most vertices, from a random sample of vertices.
+     *
+     * @param parents The root of each vertex's tree.
+     * @return The root of the most frequent component in the sample, or -1 if the graph is empty.
+     */
+    private static int sampleLargestComponent(final AtomicIntegerArray parents) {
+        if (parents.length() == 0) {
+            return -1;
+        }
+
+        // a fixed seed keeps the work done the same from one run to the next
+        final Random random = new Random(parents.length());
+        final int[] sample = new int[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            sample[i] = parents.get(random.nextInt(parents.length()));
+        }
+        Arrays.sort(sample);
+
+        // find the longest run of equal roots
+        int largest = sample[0];
+        int largestCount = 0;
+        int runStart = 0;
+        for (int i = 1; i <= SAMPLE_SIZE; i++) {
+            if (i == SAMPLE_SIZE || sample[i] != sample[runStart]) {
+                if (i - runStart > largestCount) {
+                    largest = sample[runStart];
+                    largestCount = i - runStart;
+                }
+                runStart = i;
+            }
+        }
+        return largest;
+    }
+
+
+    /**
+     * Query if the given vertices are connected in the graph (i.e. in the same connected component).
+     *
+     * @param vertex First vertex to check.
+     * @param otherVertex Second vertex to check.
+     * @return <CODE>true</CODE> if the vertices are connected; <CODE>false</CODE> otherwise.
+     */
+    public boolean connected(final int vertex, final int otherVertex) {
+        return components[vertex] == components[otherVertex];
+    }
+
+
+    /**
+     * Get the number of connected components in the graph.
+     *
+     * @return The number of connected components.
+     */
+    public int count() {
+        return count;
+    }
+
+
+    /**
+     * Get the ID of the connected component that the given vertex belongs to.
+     *
+     * @param vertex Vertex to find the connected component of.
+     * @return ID of the connected component corresponding to the vertex.
+     */
+    public int id(final int vertex) {
+        return components[vertex];
+    }
+
+}
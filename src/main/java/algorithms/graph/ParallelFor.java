@@ -0,0 +1,88 @@
+package algorithms.graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs the iterations of a loop over a range of indices in parallel on a fork-join pool.
+ * The range is split in half recursively until the pieces are small enough to run directly,
+ * and idle workers steal pieces from busy ones, which balances uneven work such as vertices
+ * with very different degrees.
+ */
+class ParallelFor {
+
+    /**
+     * Body of a loop, run over a range of indices.
+     */
+    @FunctionalInterface
+    interface RangeBody {
+
+        /**
+         * Run the loop body for each index in the range.
+         *
+         * @param start First index of the range.
+         * @param end Index just past the end of the range.
+         */
+        void run(int start, int end);
+    }
+
+
+    private ParallelFor() { }
+
+
+    /**
+     * Run a loop body over a range of indices, waiting for every index to be done.
+     *
+     * @param pool Pool to run the loop on.
+     * @param start First index of the range.
+     * @param end Index just past the end of the range.
+     * @param grain Largest range to run directly rather than split.
+     * @param body Loop body to run.
+     */
+    static void forRange(final ForkJoinPool pool, final int start, final int end, final int grain,
+                         final RangeBody body) {
+        if (end - start <= grain) {
+            // not worth handing over to the pool
+            body.run(start, end);
+        } else {
+            pool.invoke(new RangeTask(start, end, Math.max(1, grain), body));
+        }
+    }
+
+
+    /**
+     * Task running a loop body over a range, splitting the range while it is large. Tasks only run
+     * in a pool and are never serialized, so the serial warnings about the loop body are suppressed.
+     */
+    @SuppressWarnings("serial")
+    private static class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        final int start;
+
+        final int end;
+
+        final int grain;
+
+        final RangeBody body;
+
+        RangeTask(final int start, final int end, final int grain, final RangeBody body) {
+            this.start = start;
+            this.end = end;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= grain) {
+                body.run(start, end);
+            } else {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new RangeTask(start, middle, grain, body), new RangeTask(middle, end, grain, body));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,178 @@
+package algorithms.graph;
+
+import datastructures.graph.Graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Finds the core number of every vertex of an undirected graph, peeling many vertices at once on
+ * a fork-join pool. The results are the same as from {@link KCoreDecomposition}.
+ *
+ * Vertices are peeled one core number k at a time, lowest first. The bucket for k is every vertex
+ * left whose degree among the vertices not yet removed has fallen to k. All the vertices in the
+ * bucket are removed in parallel, each lowering the degrees of its neighbours with atomic
+ * decrements. A neighbour whose degree falls to k joins the bucket for another round at the same
+ * k, added by the one thread whose decrement took it there. A decrement that would take a degree
+ * below k is undone, as that neighbour already has core number k.
+ *
+ * Finding the next bucket scans the vertices left, so this suits graphs with few distinct core
+ * numbers compared to their size, such as most social and web graphs.
+ */
+public class ParallelKCoreDecomposition {
+
+    /**
+     * Number of vertices below which a range is processed directly rather than split.
+     */
+    private static final int GRAIN = 256;
+
+
+    /**
+     * Core number of each vertex.
+     */
+    private final int[] cores;
+
+
+    /**
+     * The largest core number of any vertex.
+     */
+    private final int degeneracy;
+
+
+    /**
+     * Find the core numbers of the vertices of a graph, using the common pool.
+     *
+     * @param g The undirected graph, holding each edge once in each direction, without self-loops.
+     */
+    public ParallelKCoreDecomposition(final Graph g) {
+        this(g, ForkJoinPool.commonPool());
+    }
+
+
+    /**
+     * Find the core numbers of the vertices of a graph, using the given pool.
+     *
+     * @param g The undirected graph, holding each edge once in each direction, without self-loops.
+     * @param pool Pool to run the peeling on.
+     */
+    public ParallelKCoreDecomposition(final Graph g, final ForkJoinPool pool) {
+        final int vertexCount = g.vertexCount();
+        final AtomicIntegerArray degrees = new AtomicIntegerArray(vertexCount);
+        ParallelFor.forRange(pool, 0, vertexCount, GRAIN, (start, end) -> {
+            for (int v = start; v < end; v++) {
+                degrees.set(v, g.degree(v));
+            }
+        });
+
+        // the vertices not yet removed, and the bucket being removed with the vertices joining it
+        final int[] remaining = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            remaining[v] = v;
+        }
+        int remainingCount = vertexCount;
+        int[] bucket = new int[vertexCount];
+        int[] joining = new int[vertexCount];
+        final AtomicInteger joiningCount = new AtomicInteger();
+
+        int k = -1;
+        while (true) {
+            // drop the vertices peeled at the last level, and find the lowest degree among the rest
+            int kept = 0;
+            int lowest = Integer.MAX_VALUE;
+            for (int i = 0; i < remainingCount; i++) {
+                final int vertex = remaining[i];
+                final int degree = degrees.get(vertex);
+                if (degree > k) {
+                    remaining[kept++] = vertex;
+                    lowest = Math.min(lowest, degree);
+                }
+            }
+            remainingCount = kept;
+            if (remainingCount == 0) {
+                break;
+            }
+            k = lowest;
+
+            int bucketSize = 0;
+            for (int i = 0; i < remainingCount; i++) {
+                if (degrees.get(remaining[i]) == k) {
+                    bucket[bucketSize++] = remaining[i];
+                }
+            }
+
+            while (bucketSize > 0) {
+                final int level = k;
+                final int[] peeled = bucket;
+                final int[] joined = joining;
+                joiningCount.set(0);
+
+                ParallelFor.forRange(pool, 0, bucketSize, GRAIN, (start, end) -> {
+                    for (int b = start; b < end; b++) {
+                        final int vertex = peeled[b];
+                        final int degree = g.degree(vertex);
+                        for (int n = 0; n < degree; n++) {
+                            final int neighbour = g.neighbour(vertex, n);
+                            if (degrees.get(neighbour) <= level) {
+                                continue;
+                            }
+
+                            final int before = degrees.getAndDecrement(neighbour);
+                            if (before == level + 1) {
+                                joined[joiningCount.getAndIncrement()] = neighbour;
+                            } else if (before <= level) {
+                                degrees.getAndIncrement(neighbour);
+                            }
+                        }
+                    }
+                });
+
+                bucketSize = joiningCount.get();
+                bucket = joined;
+                joining = peeled;
+            }
+        }
+
+        // every vertex ends with its degree at the level it was removed
+        cores = new int[vertexCount];
+        int largest = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            cores[v] = degrees.get(v);
+            largest = Math.max(largest, cores[v]);
+        }
+        degeneracy = largest;
+    }
+
+
+    /**
+     * Get the core number of a vertex.
+     *
+     * @param vertex The vertex.
+     * @return The largest k for which the vertex is in the k-core.
+     */
+    public int coreNumber(final int vertex) {
+        return cores[vertex];
+    }
+
+
+    /**
+     * Get the core number of every vertex.
+     *
+     * @return A copy of the core number of each vertex.
+     */
+    public int[] coreNumbers() {
+        return Arrays.copyOf(cores, cores.length);
+    }
+
+
+    /**
+     * Get the degeneracy of the graph, the largest k for which the k-core isn't empty.
+     *
+     * @return The largest core number of any vertex.
+     */
+    public int degeneracy() {
+        return degeneracy;
+    }
+
+}
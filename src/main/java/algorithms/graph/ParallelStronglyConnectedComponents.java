@@ -0,0 +1,377 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.Graph;
+import datastructures.stack.ArrayStack;
+import datastructures.stack.Stack;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Find the strongly connected components of a directed graph in parallel, using the
+ * forward-backward algorithm with trimming.
+ *
+ * Vertices with no incoming or no outgoing arcs can't be on a cycle, so are first trimmed away
+ * as components of their own, which repeatedly removes whole chains and trees. The remaining
+ * vertices are split into partitions: the vertices reachable both forwards and backwards from a
+ * pivot vertex form its component, and the vertices reached only forwards, only backwards, or not
+ * at all form three partitions which share no components. The partitions are independent, so
+ * large ones are searched in parallel on a fork-join pool.
+ *
+ * Each partition is identified by a colour, and every vertex holds the colour of the partition
+ * it is in, so a partition's search only follows arcs between vertices of its colour. Once a
+ * vertex's component is found, its colour is the label of that component.
+ *
+ * Components are numbered from zero in order of their lowest vertex, so unlike
+ * {@link StronglyConnectedComponents} the IDs don't follow a topological order.
+ */
+public class ParallelStronglyConnectedComponents {
+
+    /**
+     * Partitions with at least this many vertices are searched as separate tasks.
+     */
+    private static final int FORK_THRESHOLD = 4096;
+
+
+    /**
+     * Records which vertex belongs to which component.
+     */
+    private final int[] components;
+
+
+    /**
+     * Number of strongly connected components found.
+     */
+    private int count = 0;
+
+
+    /**
+     * The graph the components were found in.
+     */
+    private final Graph graph;
+
+
+    /**
+     * Explore the given graph and compute strongly connected components, using the common pool.
+     *
+     * @param g The directed graph to find the strongly connected components within.
+     * @param reverse The graph with every arc reversed, such as from {@link CSRGraph#transpose()}.
+     */
+    public ParallelStronglyConnectedComponents(final Graph g, final Graph reverse) {
+        this(g, reverse, ForkJoinPool.commonPool());
+    }
+
+
+    /**
+     * Explore the given graph and compute strongly connected components, using the given pool.
+     *
+     * @param g The directed graph to find the strongly connected components within.
+     * @param reverse The graph with every arc reversed, such as from {@link CSRGraph#transpose()}.
+     * @param pool Pool to run the search on.
+     */
+    public ParallelStronglyConnectedComponents(final Graph g, final Graph reverse, final ForkJoinPool pool) {
+        if (reverse.vertexCount() != g.vertexCount()) {
+            throw new IllegalArgumentException("Reverse graph has " + reverse.vertexCount()
+                    + " vertices, not " + g.vertexCount());
+        }
+
+        graph = g;
+
+        final int vertexCount = g.vertexCount();
+        final int[] colours = new int[vertexCount]; // every vertex starts in partition 0
+        final AtomicInteger nextColour = new AtomicInteger(1);
+
+        final int[] remaining = trim(g, reverse, colours, nextColour);
+
+        if (remaining.length > 0) {
+            pool.invoke(new PartitionTask(g, reverse, colours, nextColour, new Partition(remaining, 0)));
+        }
+
+        // turn the colours into dense IDs, numbered in order of each component's lowest vertex
+        final int[] ids = new int[nextColour.get()];
+        Arrays.fill(ids, -1);
+        components = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            if (ids[colours[v]] < 0) {
+                ids[colours[v]] = count++;
+            }
+            components[v] = ids[colours[v]];
+        }
+    }
+
+
+    /**
+     * Repeatedly remove vertices with no arcs to or from other remaining vertices, giving each
+     * its own colour as a component of its own.
+     *
+     * @param g The graph.
+     * @param reverse The graph with every arc reversed.
+     * @param colours Colour of each vertex.
+     * @param nextColour Source of new colours.
+     * @return The vertices which weren't removed, in ascending order.
+     */
+    private static int[] trim(final Graph g, final Graph reverse, final int[] colours, final AtomicInteger nextColour) {
+        final int vertexCount = g.vertexCount();
+
+        // arcs into and out of each vertex from vertices which haven't been removed
+        final int[] inDegrees = new int[vertexCount];
+        final int[] outDegrees = new int[vertexCount];
+        final boolean[] removed = new boolean[vertexCount];
+        final int[] queue = new int[vertexCount];
+        int head = 0;
+        int tail = 0;
+
+        for (int v = 0; v < vertexCount; v++) {
+            inDegrees[v] = reverse.degree(v);
+            outDegrees[v] = g.degree(v);
+            if (inDegrees[v] == 0 || outDegrees[v] == 0) {
+                removed[v] = true;
+                queue[tail++] = v;
+            }
+        }
+
+        while (head < tail) {
+            final int vertex = queue[head++];
+            colours[vertex] = nextColour.getAndIncrement();
+
+            // removing the vertex may leave its neighbours without arcs in or out
+            for (int i = 0; i < g.degree(vertex); i++) {
+                final int neighbour = g.neighbour(vertex, i);
+                if (!removed[neighbour] && --inDegrees[neighbour] == 0) {
+                    removed[neighbour] = true;
+                    queue[tail++] = neighbour;
+                }
+            }
+            for (int i = 0; i < reverse.degree(vertex); i++) {
+                final int neighbour = reverse.neighbour(vertex, i);
+                if (!removed[neighbour] && --outDegrees[neighbour] == 0) {
+                    removed[neighbour] = true;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+
+        final int[] remaining = new int[vertexCount - tail];
+        int size = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            if (!removed[v]) {
+                remaining[size++] = v;
+            }
+        }
+        return remaining;
+    }
+
+
+    /**
+     * Query if the given vertices are strongly connected in the graph (i.e. each can be reached from the other).
+     *
+     * @param vertex First vertex to check.
+     * @param otherVertex Second vertex to check.
+     * @return <CODE>true</CODE> if the vertices are strongly connected; <CODE>false</CODE> otherwise.
+     */
+    public boolean stronglyConnected(final int vertex, final int otherVertex) {
+        return components[vertex] == components[otherVertex];
+    }
+
+
+    /**
+     * Get the number of strongly connected components in the graph.
+     *
+     * @return The number of strongly connected components.
+     */
+    public int count() {
+        return count;
+    }
+
+
+    /**
+     * Get the ID of the strongly connected component that the given vertex belongs to.
+     *
+     * @param vertex Vertex to find the strongly connected component of.
+     * @return ID of the strongly connected component corresponding to the vertex.
+     */
+    public int id(final int vertex) {
+        return components[vertex];
+    }
+
+
+    /**
+     * Build the condensation of the graph, which has a vertex for each component and an arc
+     * between two components whenever the graph has an arc between their vertices. The
+     * condensation is always acyclic.
+     *
+     * @return The condensation, with each vertex numbered by its component's ID.
+     */
+    public CSRGraph condensation() {
+        return StronglyConnectedComponents.condensation(graph, components, count);
+    }
+
+
+    /**
+     * A set of vertices sharing a colour, which may contain several whole components.
+     */
+    private static class Partition {
+
+        final int[] vertices;
+
+        final int colour;
+
+        Partition(final int[] vertices, final int colour) {
+            this.vertices = vertices;
+            this.colour = colour;
+        }
+    }
+
+
+    /**
+     * Task splitting a partition until all of its components are found. Small partitions produced
+     * along the way are split within the task, and large ones are handed to new tasks.
+     *
+     * Tasks only ever change the colours of vertices in their own partitions, and only ever give
+     * them new colours, so a task never sees a vertex take on the colour of its partition from
+     * another task.
+     *
+     * Tasks only run in a pool and are never serialized, so the serial warnings about their graph
+     * and partition fields are suppressed.
+     */
+    @SuppressWarnings("serial")
+    private static class PartitionTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        final Graph g;
+
+        final Graph reverse;
+
+        final int[] colours;
+
+        final AtomicInteger nextColour;
+
+        final Partition partition;
+
+        PartitionTask(final Graph g, final Graph reverse, final int[] colours, final AtomicInteger nextColour,
+                      final Partition partition) {
+            this.g = g;
+            this.reverse = reverse;
+            this.colours = colours;
+            this.nextColour = nextColour;
+            this.partition = partition;
+        }
+
+        @Override
+        protected void compute() {
+            final Stack<Partition> work = new ArrayStack<>();
+            final Stack<PartitionTask> forked = new ArrayStack<>();
+            work.push(partition);
+
+            while (!work.isEmpty()) {
+                for (final Partition part : split(work.pop().get())) {
+                    if (part.vertices.length >= FORK_THRESHOLD) {
+                        final PartitionTask task = new PartitionTask(g, reverse, colours, nextColour, part);
+                        task.fork();
+                        forked.push(task);
+                    } else if (part.vertices.length > 0) {
+                        work.push(part);
+                    }
+                }
+            }
+
+            while (!forked.isEmpty()) {
+                forked.pop().get().join();
+            }
+        }
+
+        /**
+         * Find the component of the partition's first vertex, and split the rest of the partition
+         * into the vertices reached only forwards, only backwards, or not at all.
+         *
+         * @param part The partition to split.
+         * @return The three remaining partitions, some of which may be empty.
+         */
+        private Partition[] split(final Partition part) {
+            final int[] vertices = part.vertices;
+            final int colour = part.colour;
+
+            // a single vertex is a component by itself, labelled by its partition's colour
+            if (vertices.length == 1) {
+                return new Partition[0];
+            }
+
+            final int forwardColour = nextColour.getAndIncrement();
+            final int backwardColour = nextColour.getAndIncrement();
+            final int componentColour = nextColour.getAndIncrement();
+            final int pivot = vertices[0];
+            final int[] queue = new int[vertices.length];
+
+            // everything reachable from the pivot within the partition
+            int head = 0;
+            int tail = 0;
+            colours[pivot] = forwardColour;
+            queue[tail++] = pivot;
+            while (head < tail) {
+                final int vertex = queue[head++];
+                for (int i = 0; i < g.degree(vertex); i++) {
+                    final int neighbour = g.neighbour(vertex, i);
+                    if (colours[neighbour] == colour) {
+                        colours[neighbour] = forwardColour;
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+
+            // everything which reaches the pivot, where vertices also reached forwards are in its component
+            head = 0;
+            tail = 0;
+            colours[pivot] = componentColour;
+            queue[tail++] = pivot;
+            while (head < tail) {
+                final int vertex = queue[head++];
+                for (int i = 0; i < reverse.degree(vertex); i++) {
+                    final int neighbour = reverse.neighbour(vertex, i);
+                    if (colours[neighbour] == forwardColour) {
+                        colours[neighbour] = componentColour;
+                        queue[tail++] = neighbour;
+                    } else if (colours[neighbour] == colour) {
+                        colours[neighbour] = backwardColour;
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+
+            return new Partition[]{
+                    gather(vertices, forwardColour),
+                    gather(vertices, backwardColour),
+                    gather(vertices, colour)
+            };
+        }
+
+        /**
+         * Collect the vertices of a partition which now have the given colour.
+         *
+         * @param vertices Vertices of the partition.
+         * @param colour Colour to collect.
+         * @return The partition of vertices with the colour.
+         */
+        private Partition gather(final int[] vertices, final int colour) {
+            int size = 0;
+            for (final int vertex : vertices) {
+                if (colours[vertex] == colour) {
+                    size++;
+                }
+            }
+
+            final int[] gathered = new int[size];
+            size = 0;
+            for (final int vertex : vertices) {
+                if (colours[vertex] == colour) {
+                    gathered[size++] = vertex;
+                }
+            }
+            return new Partition(gathered, colour);
+        }
+    }
+
+}
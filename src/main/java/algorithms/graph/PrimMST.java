@@ -0,0 +1,124 @@
+package algorithms.graph;
+
+import datastructures.graph.Edge;
+import datastructures.graph.WeightedGraph;
+import datastructures.priorityqueue.IndexedMinHeap;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * The eager version of Prim's algorithm for a minimum spanning forest. Each tree is grown from
+ * a root vertex by repeatedly adding the lightest edge leading out of it.
+ *
+ * Vertices outside the tree are held in an {@link IndexedMinHeap}, keyed by vertex, with the
+ * weight of the lightest edge joining each to the tree as its priority. When a vertex joins the
+ * tree, the priorities of its neighbours are lowered in place, so the heap never holds more than
+ * one entry per vertex; see {@link LazyPrimMST} for the version which keeps edges in the heap instead.
+ */
+public class PrimMST implements MinimumSpanningTree {
+
+    /**
+     * Marks a vertex which hasn't been reached by an edge from the tree.
+     */
+    private static final int NO_EDGE = -1;
+
+
+    /**
+     * The edges of the forest.
+     */
+    private final SpanningEdges tree;
+
+
+    /**
+     * Find a minimum spanning forest of a graph.
+     *
+     * @param g The undirected graph to span, holding every edge in both directions.
+     */
+    public PrimMST(final WeightedGraph g) {
+        final int vertexCount = g.vertexCount();
+        tree = new SpanningEdges(vertexCount);
+
+        // for each vertex outside the tree, the lightest edge joining it to the tree
+        final int[] edgeTo = new int[vertexCount];
+        final double[] weightTo = new double[vertexCount];
+        final boolean[] inTree = new boolean[vertexCount];
+        Arrays.fill(edgeTo, NO_EDGE);
+
+        final IndexedMinHeap heap = new IndexedMinHeap(vertexCount);
+
+        for (int root = 0; root < vertexCount && !tree.isFull(); root++) {
+            if (inTree[root]) {
+                continue;
+            }
+
+            // grow a new tree from the lowest vertex not yet spanned
+            inTree[root] = true;
+            scan(g, root, inTree, edgeTo, weightTo, heap);
+
+            while (!heap.isEmpty()) {
+                final int vertex = heap.removeMin().getAsInt();
+                inTree[vertex] = true;
+                tree.add(edgeTo[vertex], vertex, weightTo[vertex]);
+                scan(g, vertex, inTree, edgeTo, weightTo, heap);
+            }
+        }
+    }
+
+
+    /**
+     * Offer the edges of a vertex which has just joined the tree to its neighbours outside the tree.
+     *
+     * @param g The graph.
+     * @param vertex The vertex which has joined the tree.
+     * @param inTree Whether each vertex is in the tree.
+     * @param edgeTo The tree vertex at the other end of each vertex's lightest edge to the tree.
+     * @param weightTo The weight of each vertex's lightest edge to the tree.
+     * @param heap Vertices outside the tree with an edge to it, by the weight of their lightest edge.
+     */
+    private static void scan(final WeightedGraph g, final int vertex, final boolean[] inTree, final int[] edgeTo,
+                             final double[] weightTo, final IndexedMinHeap heap) {
+        final int degree = g.degree(vertex);
+        for (int i = 0; i < degree; i++) {
+            final int neighbour = g.neighbour(vertex, i);
+            if (inTree[neighbour]) {
+                continue;
+            }
+
+            final double weight = g.weight(vertex, i);
+            if (edgeTo[neighbour] == NO_EDGE || weight < weightTo[neighbour]) {
+                edgeTo[neighbour] = vertex;
+                weightTo[neighbour] = weight;
+                heap.insertOrDecrease(neighbour, weight);
+            }
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<Edge> edges() {
+        return tree.iterator();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int edgeCount() {
+        return tree.count();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double weight() {
+        return tree.totalWeight();
+    }
+
+}
@@ -0,0 +1,133 @@
+package algorithms.graph;
+
+import datastructures.graph.Edge;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The edges of a spanning forest as it is built, held in parallel arrays of primitives so that
+ * no objects are created per edge until the edges are iterated over.
+ */
+class SpanningEdges {
+
+    /**
+     * One vertex of each edge.
+     */
+    private final int[] vertices;
+
+
+    /**
+     * The other vertex of each edge.
+     */
+    private final int[] otherVertices;
+
+
+    /**
+     * The weight of each edge.
+     */
+    private final double[] weights;
+
+
+    /**
+     * The number of edges added.
+     */
+    private int count = 0;
+
+
+    /**
+     * The total weight of the edges added.
+     */
+    private double totalWeight = 0;
+
+
+    /**
+     * Create an empty list with room for a spanning forest of a graph.
+     *
+     * @param vertexCount The number of vertices in the graph, one more than the most edges a forest can have.
+     */
+    SpanningEdges(final int vertexCount) {
+        final int capacity = Math.max(0, vertexCount - 1);
+        vertices = new int[capacity];
+        otherVertices = new int[capacity];
+        weights = new double[capacity];
+    }
+
+
+    /**
+     * Add an edge to the forest.
+     *
+     * @param vertex One vertex of the edge.
+     * @param otherVertex The other vertex of the edge.
+     * @param weight The weight of the edge.
+     */
+    void add(final int vertex, final int otherVertex, final double weight) {
+        vertices[count] = vertex;
+        otherVertices[count] = otherVertex;
+        weights[count] = weight;
+        count++;
+        totalWeight += weight;
+    }
+
+
+    /**
+     * Check if the forest has as many edges as a forest of the graph can hold, which means it
+     * is a spanning tree and no more edges need to be looked for.
+     *
+     * @return <CODE>true</CODE> if the forest is a spanning tree; <CODE>false</CODE> otherwise.
+     */
+    boolean isFull() {
+        return count == vertices.length;
+    }
+
+
+    /**
+     * Count the edges added.
+     *
+     * @return The number of edges.
+     */
+    int count() {
+        return count;
+    }
+
+
+    /**
+     * Get the total weight of the edges added.
+     *
+     * @return The sum of the weights.
+     */
+    double totalWeight() {
+        return totalWeight;
+    }
+
+
+    /**
+     * Provides an iterator over the edges added, in the order they were added.
+     *
+     * @return Iterator over the edges.
+     */
+    Iterator<Edge> iterator() {
+        final int end = count;
+
+        return new Iterator<>() {
+
+            private int current = 0;
+
+            @Override
+            public boolean hasNext() {
+                return current < end;
+            }
+
+            @Override
+            public Edge next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final Edge edge = new Edge(vertices[current], otherVertices[current], weights[current]);
+                current++;
+                return edge;
+            }
+        };
+    }
+
+}
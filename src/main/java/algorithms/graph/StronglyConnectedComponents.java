@@ -0,0 +1,225 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.Graph;
+
+import java.util.Arrays;
+
+/**
+ * Find the strongly connected components of a directed graph using Tarjan's algorithm. Two
+ * vertices are strongly connected if each can be reached from the other, so a component with more
+ * than one vertex (or a vertex with an arc to itself) contains a cycle.
+ *
+ * The search keeps its own stack of vertices and neighbour cursors rather than recursing, so
+ * it handles graphs of any depth, and all of its state is held in arrays of ints.
+ *
+ * Components are numbered in topological order of the condensation: every arc between two
+ * different components goes from a lower ID to a higher one.
+ */
+public class StronglyConnectedComponents {
+
+    /**
+     * Marks a vertex which the search hasn't reached yet.
+     */
+    private static final int UNVISITED = -1;
+
+
+    /**
+     * Records which vertex belongs to which component.
+     */
+    private final int[] components;
+
+
+    /**
+     * Number of strongly connected components found.
+     */
+    private int count = 0;
+
+
+    /**
+     * The graph the components were found in.
+     */
+    private final Graph graph;
+
+
+    /**
+     * Explore the given graph and compute strongly connected components.
+     *
+     * @param g The directed graph to find the strongly connected components within.
+     */
+    public StronglyConnectedComponents(final Graph g) {
+        graph = g;
+
+        final int vertexCount = g.vertexCount();
+        components = new int[vertexCount];
+        Arrays.fill(components, UNVISITED);
+
+        // order in which the search reached each vertex, and the lowest such order reachable from it
+        final int[] index = new int[vertexCount];
+        final int[] lowLink = new int[vertexCount];
+        Arrays.fill(index, UNVISITED);
+
+        // the vertices being searched, each with the index of its next neighbour to examine
+        final int[] callVertices = new int[vertexCount];
+        final int[] callCursors = new int[vertexCount];
+
+        // vertices visited but not yet assigned to a component
+        final int[] componentStack = new int[vertexCount];
+        int componentStackSize = 0;
+
+        int nextIndex = 0;
+
+        for (int root = 0; root < vertexCount; root++) {
+
+            if (index[root] != UNVISITED) {
+                continue;
+            }
+
+            index[root] = lowLink[root] = nextIndex++;
+            componentStack[componentStackSize++] = root;
+            callVertices[0] = root;
+            callCursors[0] = 0;
+            int callDepth = 1;
+
+            while (callDepth > 0) {
+
+                final int vertex = callVertices[callDepth - 1];
+                final int cursor = callCursors[callDepth - 1];
+
+                if (cursor < g.degree(vertex)) {
+                    final int neighbour = g.neighbour(vertex, cursor);
+                    callCursors[callDepth - 1] = cursor + 1;
+
+                    if (index[neighbour] == UNVISITED) {
+                        // descend into the neighbour, as the recursive algorithm would
+                        index[neighbour] = lowLink[neighbour] = nextIndex++;
+                        componentStack[componentStackSize++] = neighbour;
+                        callVertices[callDepth] = neighbour;
+                        callCursors[callDepth] = 0;
+                        callDepth++;
+                    } else if (components[neighbour] == UNVISITED) {
+                        // the neighbour is still on the component stack, so is in the current search path's component
+                        lowLink[vertex] = Math.min(lowLink[vertex], index[neighbour]);
+                    }
+                } else {
+                    callDepth--;
+
+                    // a vertex that can't reach anything earlier is the root of a component,
+                    // made up of the vertices above it on the component stack
+                    if (lowLink[vertex] == index[vertex]) {
+                        int member;
+                        do {
+                            member = componentStack[--componentStackSize];
+                            components[member] = count;
+                        } while (member != vertex);
+                        count++;
+                    }
+
+                    if (callDepth > 0) {
+                        final int parent = callVertices[callDepth - 1];
+                        lowLink[parent] = Math.min(lowLink[parent], lowLink[vertex]);
+                    }
+                }
+            }
+        }
+
+        // Tarjan's algorithm finds components in reverse topological order
+        for (int v = 0; v < vertexCount; v++) {
+            components[v] = count - 1 - components[v];
+        }
+    }
+
+
+    /**
+     * Query if the given vertices are strongly connected in the graph (i.e. each can be reached from the other).
+     *
+     * @param vertex First vertex to check.
+     * @param otherVertex Second vertex to check.
+     * @return <CODE>true</CODE> if the vertices are strongly connected; <CODE>false</CODE> otherwise.
+     */
+    public boolean stronglyConnected(final int vertex, final int otherVertex) {
+        return components[vertex] == components[otherVertex];
+    }
+
+
+    /**
+     * Get the number of strongly connected components in the graph.
+     *
+     * @return The number of strongly connected components.
+     */
+    public int count() {
+        return count;
+    }
+
+
+    /**
+     * Get the ID of the strongly connected component that the given vertex belongs to.
+     *
+     * @param vertex Vertex to find the strongly connected component of.
+     * @return ID of the strongly connected component corresponding to the vertex.
+     */
+    public int id(final int vertex) {
+        return components[vertex];
+    }
+
+
+    /**
+     * Build the condensation of the graph, which has a vertex for each component and an arc
+     * between two components whenever the graph has an arc between their vertices. The
+     * condensation is always acyclic.
+     *
+     * @return The condensation, with each vertex numbered by its component's ID.
+     */
+    public CSRGraph condensation() {
+        return condensation(graph, components, count);
+    }
+
+
+    /**
+     * Build the condensation of a graph from its strongly connected components, without repeated arcs.
+     *
+     * @param g The graph.
+     * @param components ID of the component of each vertex.
+     * @param count Number of components.
+     * @return The condensation, with each vertex numbered by its component's ID.
+     */
+    static CSRGraph condensation(final Graph g, final int[] components, final int count) {
+
+        // group vertices by component with a counting sort, so each component's arcs are seen together
+        final int[] starts = new int[count + 1];
+        for (final int component : components) {
+            starts[component + 1]++;
+        }
+        for (int c = 0; c < count; c++) {
+            starts[c + 1] += starts[c];
+        }
+        final int[] members = new int[components.length];
+        final int[] fill = Arrays.copyOf(starts, count);
+        for (int v = 0; v < components.length; v++) {
+            members[fill[components[v]]++] = v;
+        }
+
+        // the last component to have added an arc to each component, to skip repeats
+        final int[] lastSource = new int[count];
+        Arrays.fill(lastSource, UNVISITED);
+
+        final CSRGraph.Builder builder = new CSRGraph.Builder(count, true);
+        for (int c = 0; c < count; c++) {
+            for (int m = starts[c]; m < starts[c + 1]; m++) {
+                final int vertex = members[m];
+
+                final int degree = g.degree(vertex);
+                for (int i = 0; i < degree; i++) {
+                    final int target = components[g.neighbour(vertex, i)];
+                    if (target != c && lastSource[target] != c) {
+                        lastSource[target] = c;
+                        builder.addEdge(c, target);
+                    }
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
+}
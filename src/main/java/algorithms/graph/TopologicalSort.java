@@ -0,0 +1,357 @@
+package algorithms.graph;
+
+import datastructures.graph.Graph;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Find a topological order of a directed graph: an order of its vertices in which every arc
+ * leads from an earlier vertex to a later one. Only acyclic graphs have such an order, so a graph
+ * with a cycle is reported as having none, and one of its cycles can be fetched instead.
+ *
+ * Two methods are offered. Kahn's algorithm repeatedly takes vertices with no arcs left leading
+ * into them, keeping a count of remaining in-arcs per vertex; it visits each vertex and arc once
+ * in a plain loop, and takes vertices in the order of a breadth-first sweep. The depth-first
+ * method orders vertices by the reverse post-order of {@link DFS#searchAll}, which keeps an
+ * explicit stack rather than recursing so that long chains of dependencies can't overflow the
+ * call stack, and watches for an arc back to a vertex on the search's current path.
+ *
+ * Either way, each vertex is also given a level: vertices with no arcs into them are at level
+ * zero, and every other vertex is one level above its highest predecessor. No arc joins two
+ * vertices of the same level, so the vertices of a level can be processed in any order, or at
+ * the same time, once the levels below are done; see {@link LevelParallelExecutor}.
+ */
+public class TopologicalSort {
+
+    /**
+     * Algorithms for finding the order.
+     */
+    public enum Method {
+
+        /**
+         * Kahn's algorithm, removing vertices with no remaining in-arcs.
+         */
+        KAHN,
+
+        /**
+         * Reverse post-order of a depth-first search.
+         */
+        DEPTH_FIRST
+    }
+
+
+    /**
+     * The vertices in topological order, or null if the graph has a cycle.
+     */
+    private final int[] order;
+
+
+    /**
+     * Position of each vertex in the order, or null if the graph has a cycle.
+     */
+    private final int[] ranks;
+
+
+    /**
+     * Level of each vertex, or null if the graph has a cycle.
+     */
+    private final int[] levels;
+
+
+    /**
+     * The number of levels.
+     */
+    private final int levelCount;
+
+
+    /**
+     * The vertices of a cycle, each with an arc to the next and the last with an arc to the first,
+     * or null if the graph is acyclic.
+     */
+    private final int[] cycle;
+
+
+    /**
+     * Find a topological order of a graph using Kahn's algorithm.
+     *
+     * @param g The directed graph to order.
+     */
+    public TopologicalSort(final Graph g) {
+        this(g, Method.KAHN);
+    }
+
+
+    /**
+     * Find a topological order of a graph.
+     *
+     * @param g The directed graph to order.
+     * @param method The algorithm to use.
+     */
+    public TopologicalSort(final Graph g, final Method method) {
+        final int vertexCount = g.vertexCount();
+
+        final int[] found;
+        final int[] cycleFound;
+        if (method == Method.KAHN) {
+            found = kahn(g);
+
+            // Kahn's algorithm only shows that a cycle exists, so search for one to report
+            cycleFound = found == null ? depthFirst(g, new int[vertexCount]) : null;
+        } else {
+            found = new int[vertexCount];
+            cycleFound = depthFirst(g, found);
+        }
+
+        if (cycleFound != null) {
+            order = null;
+            ranks = null;
+            levels = null;
+            levelCount = 0;
+            cycle = cycleFound;
+            return;
+        }
+
+        order = found;
+        cycle = null;
+
+        ranks = new int[vertexCount];
+        levels = new int[vertexCount];
+        int highestLevel = -1;
+
+        // each vertex's level is final by the time the order reaches it, as all its predecessors come first
+        for (int i = 0; i < vertexCount; i++) {
+            final int vertex = order[i];
+            ranks[vertex] = i;
+            highestLevel = Math.max(highestLevel, levels[vertex]);
+
+            final int degree = g.degree(vertex);
+            for (int n = 0; n < degree; n++) {
+                final int neighbour = g.neighbour(vertex, n);
+                levels[neighbour] = Math.max(levels[neighbour], levels[vertex] + 1);
+            }
+        }
+        levelCount = highestLevel + 1;
+    }
+
+
+    /**
+     * Order a graph with Kahn's algorithm.
+     *
+     * @param g The graph.
+     * @return The vertices in topological order, or null if the graph has a cycle.
+     */
+    private static int[] kahn(final Graph g) {
+        final int vertexCount = g.vertexCount();
+        final int[] inDegrees = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            final int degree = g.degree(v);
+            for (int n = 0; n < degree; n++) {
+                inDegrees[g.neighbour(v, n)]++;
+            }
+        }
+
+        // the order doubles as the queue: vertices are appended once their in-arcs are used up
+        final int[] order = new int[vertexCount];
+        int tail = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            if (inDegrees[v] == 0) {
+                order[tail++] = v;
+            }
+        }
+
+        for (int head = 0; head < tail; head++) {
+            final int vertex = order[head];
+            final int degree = g.degree(vertex);
+            for (int n = 0; n < degree; n++) {
+                final int neighbour = g.neighbour(vertex, n);
+                if (--inDegrees[neighbour] == 0) {
+                    order[tail++] = neighbour;
+                }
+            }
+        }
+
+        // vertices on or after a cycle never lose all their in-arcs
+        return tail == vertexCount ? order : null;
+    }
+
+
+    /**
+     * Order a graph by the reverse post-order of a depth-first search, watching for an arc which
+     * leads back to a vertex on the current path, as that arc closes a cycle.
+     *
+     * @param g The graph.
+     * @param order Receives the vertices in topological order if the graph is acyclic.
+     * @return The vertices of a cycle in the order its arcs are followed, or null if the graph is acyclic.
+     */
+    private static int[] depthFirst(final Graph g, final int[] order) {
+        final CycleFinder finder = new CycleFinder(g.vertexCount(), order);
+        DFS.searchAll(g, finder);
+        return finder.cycle;
+    }
+
+
+    /**
+     * Follows a depth-first search, writing out its reverse post-order and keeping the current
+     * path so that the first cycle found can be copied from it.
+     */
+    private static final class CycleFinder implements DFSVisitor {
+
+        /**
+         * Receives the vertices as they finish, from the back, giving reverse post-order directly.
+         */
+        private final int[] order;
+
+
+        /**
+         * Number of vertices not yet finished, which is where the next finished vertex goes.
+         */
+        private int position;
+
+
+        /**
+         * The vertices entered but not yet left, from the root of the current tree.
+         */
+        private final int[] path;
+
+
+        /**
+         * Number of vertices on the path.
+         */
+        private int depth = 0;
+
+
+        /**
+         * Whether each vertex is on the path.
+         */
+        private final boolean[] onPath;
+
+
+        /**
+         * The first cycle found, or null if none has been.
+         */
+        private int[] cycle;
+
+
+        /**
+         * Create a visitor for a graph's search.
+         *
+         * @param vertexCount The number of vertices in the graph.
+         * @param order Receives the vertices in reverse post-order.
+         */
+        CycleFinder(final int vertexCount, final int[] order) {
+            this.order = order;
+            position = vertexCount;
+            path = new int[vertexCount];
+            onPath = new boolean[vertexCount];
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void preOrder(final int vertex) {
+            path[depth++] = vertex;
+            onPath[vertex] = true;
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void postOrder(final int vertex) {
+            depth--;
+            onPath[vertex] = false;
+            order[--position] = vertex;
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void nonTreeEdge(final int vertex, final int neighbour) {
+            if (cycle == null && onPath[neighbour]) {
+                // the cycle is the part of the path from the neighbour to the current vertex
+                int start = depth - 1;
+                while (path[start] != neighbour) {
+                    start--;
+                }
+                cycle = Arrays.copyOfRange(path, start, depth);
+            }
+        }
+    }
+
+
+    /**
+     * Query if the graph has a topological order, which it does exactly when it has no cycles.
+     *
+     * @return <CODE>true</CODE> if the graph is acyclic; <CODE>false</CODE> otherwise.
+     */
+    public boolean hasOrder() {
+        return order != null;
+    }
+
+
+    /**
+     * Provides an iterator over the vertices in topological order, provided that the graph is acyclic.
+     *
+     * @return Optional containing an iterator over the vertices in order if the graph is acyclic.
+     */
+    public Optional<Iterator<Integer>> order() {
+        if (order == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Arrays.stream(order).iterator());
+    }
+
+
+    /**
+     * Get the position of a vertex in the topological order.
+     *
+     * @param vertex The vertex.
+     * @return The position of the vertex from zero, or -1 if the graph has a cycle.
+     */
+    public int rank(final int vertex) {
+        return ranks == null ? -1 : ranks[vertex];
+    }
+
+
+    /**
+     * Get the level of a vertex, which is the number of arcs on the longest path leading to it.
+     *
+     * @param vertex The vertex.
+     * @return The level of the vertex, or -1 if the graph has a cycle.
+     */
+    public int level(final int vertex) {
+        return levels == null ? -1 : levels[vertex];
+    }
+
+
+    /**
+     * Count the levels of the graph, which is one more than the number of arcs on its longest path.
+     *
+     * @return The number of levels, which is zero if the graph has no vertices or has a cycle.
+     */
+    public int levelCount() {
+        return levelCount;
+    }
+
+
+    /**
+     * Provides an iterator over the vertices of a cycle, provided that the graph has one. Each
+     * vertex has an arc to the next, and the last vertex has an arc back to the first.
+     *
+     * @return Optional containing an iterator over the vertices of a cycle if the graph has one.
+     */
+    public Optional<Iterator<Integer>> cycle() {
+        if (cycle == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Arrays.stream(cycle).iterator());
+    }
+
+}
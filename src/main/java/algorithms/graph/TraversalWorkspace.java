@@ -0,0 +1,262 @@
+package algorithms.graph;
+
+import java.util.Arrays;
+
+/**
+ * Arrays for graph searches which can be reused from one search to the next, so that a search
+ * costs time in proportion to the vertices it visits, rather than to the size of the graph.
+ *
+ * Instead of a boolean per vertex, each vertex holds the stamp of the last search to visit it,
+ * and a vertex only counts as visited if its stamp matches the current search's. Starting a new
+ * search moves on to a new stamp, which unmarks every vertex at once without touching the array.
+ * Only when the stamps run out and wrap around is the array cleared.
+ *
+ * A search that keeps its results for later queries, such as {@link BFS}, reads them from the
+ * workspace, so its results only last until the workspace is used for another search; asking
+ * for them after that throws an {@link IllegalStateException}.
+ *
+ * A workspace must only be used by one thread at a time. {@link #forCurrentThread(int)} gives
+ * each thread a workspace of its own, which is kept for the thread's later searches. The thread
+ * holds on to it, three ints per vertex of the largest graph it has searched, until the thread
+ * ends or calls {@link #releaseCurrentThread()}, so a long-lived thread, such as one in a pool,
+ * which is done searching a large graph should release its workspace.
+ */
+public class TraversalWorkspace {
+
+    /**
+     * The workspace kept by each thread, replaced by a larger one when a search needs more room.
+     */
+    private static final ThreadLocal<TraversalWorkspace> POOL = new ThreadLocal<>();
+
+
+    /**
+     * The number of vertices the workspace has room for.
+     */
+    private final int capacity;
+
+
+    /**
+     * Stamp of the last search to visit each vertex.
+     */
+    private final int[] stamps;
+
+
+    /**
+     * Stamp of the current search, which is never zero so that a new workspace starts with nothing visited.
+     */
+    private int stamp = 1;
+
+
+    /**
+     * For each visited vertex, the vertex from which it was first visited.
+     */
+    final int[] edgeTo;
+
+
+    /**
+     * Queue or stack of vertices for the search to work through.
+     */
+    final int[] vertices;
+
+
+    /**
+     * For each visited vertex, the number of edges between it and the root, allocated when first needed.
+     */
+    private int[] distTo;
+
+
+    /**
+     * Index of the next neighbour to search from each vertex on a depth-first stack, allocated when first needed.
+     */
+    private int[] cursors;
+
+
+    /**
+     * Vertices in the order a search finished with them, allocated when first needed.
+     */
+    private int[] order;
+
+
+    /**
+     * Stack of vertices waiting to be searched, which may hold a vertex once for each edge to it,
+     * so is grown as a search needs rather than sized for the graph. Allocated when first needed.
+     */
+    private int[] pending;
+
+
+    /**
+     * Create a workspace for searches of graphs with up to the given number of vertices.
+     *
+     * @param capacity The number of vertices to make room for.
+     */
+    public TraversalWorkspace(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+
+        this.capacity = capacity;
+        stamps = new int[capacity];
+        edgeTo = new int[capacity];
+        vertices = new int[capacity];
+    }
+
+
+    /**
+     * Get the workspace of the calling thread, creating one if the thread has none yet or if
+     * its workspace is too small. The workspace stays with the thread, so anything read from it
+     * is lost once the thread makes another search with it.
+     *
+     * @param capacity The number of vertices the search needs room for.
+     * @return A workspace with room for at least the given number of vertices.
+     */
+    public static TraversalWorkspace forCurrentThread(final int capacity) {
+        TraversalWorkspace workspace = POOL.get();
+        if (workspace == null || workspace.capacity < capacity) {
+            workspace = new TraversalWorkspace(capacity);
+            POOL.set(workspace);
+        }
+        return workspace;
+    }
+
+
+    /**
+     * Drop the calling thread's workspace, so its arrays can be collected once nothing else
+     * refers to them. The thread's next call to {@link #forCurrentThread(int)} creates a new one.
+     */
+    public static void releaseCurrentThread() {
+        POOL.remove();
+    }
+
+
+    /**
+     * Start a new search, unmarking every vertex and ending any earlier search's use of the workspace.
+     *
+     * @param vertexCount The number of vertices in the graph to be searched.
+     * @return The stamp of the new search, for checking later that the workspace hasn't been reused.
+     * @throws IllegalArgumentException If the workspace is too small for the graph.
+     */
+    public int reset(final int vertexCount) {
+        if (vertexCount > capacity) {
+            throw new IllegalArgumentException("Workspace for " + capacity + " vertices is too small for "
+                    + vertexCount + " vertices");
+        }
+
+        stamp++;
+
+        // once the stamps wrap around, old stamps could match again, so clear them all
+        if (stamp == 0) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+        return stamp;
+    }
+
+
+    /**
+     * Get the number of vertices the workspace has room for.
+     *
+     * @return The capacity of the workspace.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+
+    /**
+     * Query if the current search has visited a vertex.
+     *
+     * @param vertex The vertex to check.
+     * @return <CODE>true</CODE> if the vertex has been visited; <CODE>false</CODE> otherwise.
+     */
+    public boolean isMarked(final int vertex) {
+        return stamps[vertex] == stamp;
+    }
+
+
+    /**
+     * Record that the current search has visited a vertex.
+     *
+     * @param vertex The visited vertex.
+     */
+    void mark(final int vertex) {
+        stamps[vertex] = stamp;
+    }
+
+
+    /**
+     * Check that the workspace hasn't been used for another search since the given one started.
+     *
+     * @param searchStamp Stamp returned by {@link #reset(int)} when the search started.
+     * @throws IllegalStateException If the workspace has since been used for another search.
+     */
+    void checkCurrent(final int searchStamp) {
+        if (searchStamp != stamp) {
+            throw new IllegalStateException("Workspace has been reused by a later search");
+        }
+    }
+
+
+    /**
+     * Get the array of distances, allocating it the first time.
+     *
+     * @return Array with room for the distance to every vertex.
+     */
+    int[] distTo() {
+        if (distTo == null) {
+            distTo = new int[capacity];
+        }
+        return distTo;
+    }
+
+
+    /**
+     * Get the array of neighbour cursors, allocating it the first time.
+     *
+     * @return Array with room for a cursor for every vertex.
+     */
+    int[] cursors() {
+        if (cursors == null) {
+            cursors = new int[capacity];
+        }
+        return cursors;
+    }
+
+
+    /**
+     * Get the array for the order of finished vertices, allocating it the first time.
+     *
+     * @return Array with room for every vertex.
+     */
+    int[] order() {
+        if (order == null) {
+            order = new int[capacity];
+        }
+        return order;
+    }
+
+
+    /**
+     * Get the stack of pending vertices, allocating it the first time.
+     *
+     * @return Array with room for at least one vertex, or for every vertex if it has never been grown.
+     */
+    int[] pending() {
+        if (pending == null) {
+            pending = new int[Math.max(capacity, 1)];
+        }
+        return pending;
+    }
+
+
+    /**
+     * Double the room in the stack of pending vertices, keeping its contents.
+     *
+     * @return The larger stack, which is kept for later searches.
+     */
+    int[] growPending() {
+        final int[] current = pending();
+        pending = Arrays.copyOf(current, (int) Math.min(Integer.MAX_VALUE - 8L, 2L * current.length));
+        return pending;
+    }
+
+}
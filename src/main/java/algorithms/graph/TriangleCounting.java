@@ -0,0 +1,286 @@
+package algorithms.graph;
+
+import datastructures.graph.Graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts the triangles of an undirected graph, in total and through each vertex, in parallel on a
+ * fork-join pool.
+ *
+ * The vertices are ranked by degree, and each edge is kept only at its end of lower rank, so every
+ * triangle is found exactly once: from its lowest vertex, by intersecting that vertex's kept
+ * neighbours with those of its next lowest vertex. Ranking by degree keeps every list short, as a
+ * vertex of high degree keeps only those neighbours of even higher degree, so the work is bounded
+ * by O(E<sup>1.5</sup>) however skewed the degrees are.
+ *
+ * The kept neighbours are renumbered by rank and sorted, so each intersection is a merge of two
+ * sorted int arrays, which moves each side on by the result of a comparison rather than
+ * branching on which side is smaller, so the merge runs at a steady rate whatever the data.
+ * Each vertex's lists are intersected by whichever thread takes it, and the triangles found are
+ * added to one count per vertex shared by all threads. The merge writes every vertex it reaches to
+ * a buffer but only moves the buffer's end on at a match, so it collects the third vertex of each
+ * triangle without branching, and those are then counted with an atomic add each. The triangles
+ * at a vertex's two lower vertices are summed over each list and each edge first, so they take
+ * one atomic add for the vertex and one for each of its edges.
+ *
+ * Self-loops are ignored, and an edge stored more than once is counted once.
+ */
+public class TriangleCounting {
+
+    /**
+     * Number of vertices below which a range is processed directly rather than split.
+     */
+    private static final int GRAIN = 256;
+
+
+    /**
+     * Number of triangles.
+     */
+    private final long count;
+
+
+    /**
+     * Number of triangles through each vertex.
+     */
+    private final long[] triangles;
+
+
+    /**
+     * Number of distinct neighbours of each vertex, other than itself.
+     */
+    private final int[] degrees;
+
+
+    /**
+     * Count the triangles of a graph, using the common pool.
+     *
+     * @param g The undirected graph, holding every edge in both directions.
+     */
+    public TriangleCounting(final Graph g) {
+        this(g, ForkJoinPool.commonPool());
+    }
+
+
+    /**
+     * Count the triangles of a graph, using the given pool.
+     *
+     * @param g The undirected graph, holding every edge in both directions.
+     * @param pool Pool to run the count on.
+     */
+    public TriangleCounting(final Graph g, final ForkJoinPool pool) {
+        final int vertexCount = g.vertexCount();
+
+        // rank vertices by degree, breaking ties by index
+        final int[] byRank = byDegree(g);
+        final int[] rank = new int[vertexCount];
+        for (int r = 0; r < vertexCount; r++) {
+            rank[byRank[r]] = r;
+        }
+
+        // make room for each vertex's neighbours of higher rank, counting repeats for now
+        final int[] offsets = new int[vertexCount + 1];
+        ParallelFor.forRange(pool, 0, vertexCount, GRAIN, (start, end) -> {
+            for (int r = start; r < end; r++) {
+                final int vertex = byRank[r];
+                int higher = 0;
+                final int degree = g.degree(vertex);
+                for (int i = 0; i < degree; i++) {
+                    if (rank[g.neighbour(vertex, i)] > r) {
+                        higher++;
+                    }
+                }
+                offsets[r + 1] = higher;
+            }
+        });
+        for (int r = 0; r < vertexCount; r++) {
+            final long end = (long) offsets[r] + offsets[r + 1];
+            if (end > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Too many edges to count triangles of: " + end);
+            }
+            offsets[r + 1] = (int) end;
+        }
+
+        // fill in each list by rank, sorted and without repeats, recording how much of its room it uses
+        final int[] targets = new int[offsets[vertexCount]];
+        final int[] lengths = new int[vertexCount];
+        ParallelFor.forRange(pool, 0, vertexCount, GRAIN, (start, end) -> {
+            for (int r = start; r < end; r++) {
+                final int vertex = byRank[r];
+                int position = offsets[r];
+                final int degree = g.degree(vertex);
+                for (int i = 0; i < degree; i++) {
+                    final int neighbourRank = rank[g.neighbour(vertex, i)];
+                    if (neighbourRank > r) {
+                        targets[position++] = neighbourRank;
+                    }
+                }
+                Arrays.sort(targets, offsets[r], position);
+
+                int length = 0;
+                for (int i = offsets[r]; i < position; i++) {
+                    if (length == 0 || targets[offsets[r] + length - 1] != targets[i]) {
+                        targets[offsets[r] + length++] = targets[i];
+                    }
+                }
+                lengths[r] = length;
+            }
+        });
+
+        // each kept edge is a distinct neighbour of both of its ends
+        final int[] rankDegrees = new int[vertexCount];
+        for (int r = 0; r < vertexCount; r++) {
+            rankDegrees[r] += lengths[r];
+            for (int i = offsets[r]; i < offsets[r] + lengths[r]; i++) {
+                rankDegrees[targets[i]]++;
+            }
+        }
+
+        // the triangles through each vertex by rank
+        final AtomicLongArray rankTriangles = new AtomicLongArray(vertexCount);
+        ParallelFor.forRange(pool, 0, vertexCount, GRAIN, (start, end) -> {
+            // a list's vertices in common with another can't outnumber the list
+            int longest = 0;
+            for (int r = start; r < end; r++) {
+                longest = Math.max(longest, lengths[r]);
+            }
+            final int[] common = new int[longest];
+
+            for (int r = start; r < end; r++) {
+                final int listEnd = offsets[r] + lengths[r];
+                long foundAtVertex = 0;
+                for (int i = offsets[r]; i < listEnd; i++) {
+                    final int s = targets[i];
+
+                    // the third vertex outranks both others, so only the rest of this list can hold it
+                    final int foundAtEdge = intersect(targets, i + 1, listEnd, offsets[s], offsets[s] + lengths[s],
+                            common);
+                    for (int k = 0; k < foundAtEdge; k++) {
+                        rankTriangles.getAndIncrement(common[k]);
+                    }
+                    if (foundAtEdge > 0) {
+                        rankTriangles.getAndAdd(s, foundAtEdge);
+                        foundAtVertex += foundAtEdge;
+                    }
+                }
+                if (foundAtVertex > 0) {
+                    rankTriangles.getAndAdd(r, foundAtVertex);
+                }
+            }
+        });
+
+        // map the counts back from ranks to vertices
+        triangles = new long[vertexCount];
+        degrees = new int[vertexCount];
+        ParallelFor.forRange(pool, 0, vertexCount, GRAIN, (start, end) -> {
+            for (int v = start; v < end; v++) {
+                triangles[v] = rankTriangles.get(rank[v]);
+                degrees[v] = rankDegrees[rank[v]];
+            }
+        });
+
+        // every triangle is counted at each of its three vertices
+        long total = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            total += triangles[v];
+        }
+        count = total / 3;
+    }
+
+
+    /**
+     * Order the vertices by rising degree, with a counting sort so that vertices of the same degree keep their order.
+     *
+     * @param g The graph.
+     * @return The vertices in order.
+     */
+    private static int[] byDegree(final Graph g) {
+        final int vertexCount = g.vertexCount();
+        int maxDegree = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            maxDegree = Math.max(maxDegree, g.degree(v));
+        }
+
+        final int[] starts = new int[maxDegree + 2];
+        for (int v = 0; v < vertexCount; v++) {
+            starts[g.degree(v) + 1]++;
+        }
+        for (int d = 0; d <= maxDegree; d++) {
+            starts[d + 1] += starts[d];
+        }
+
+        final int[] order = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            order[starts[g.degree(v)]++] = v;
+        }
+        return order;
+    }
+
+
+    /**
+     * Merge two sorted ranges of neighbours, collecting the vertices in both, each of which closes a
+     * triangle. The comparisons only decide how far the result and each side move on, rather than
+     * which branch is taken, so the merge doesn't suffer from mispredicting which side is smaller or
+     * whether the two sides match.
+     *
+     * @param targets The neighbour lists, by rank.
+     * @param i Start of the first range.
+     * @param iEnd End of the first range.
+     * @param j Start of the second range.
+     * @param jEnd End of the second range.
+     * @param common Receives the vertices in both ranges, with room for as many as the first range holds.
+     * @return The number of vertices in both ranges.
+     */
+    private static int intersect(final int[] targets, final int i, final int iEnd, final int j, final int jEnd,
+                                 final int[] common) {
+        int found = 0;
+        int a = i;
+        int b = j;
+        while (a < iEnd && b < jEnd) {
+            final int x = targets[a];
+            final int y = targets[b];
+            common[found] = x;
+            found += x == y ? 1 : 0;
+            a += x <= y ? 1 : 0;
+            b += y <= x ? 1 : 0;
+        }
+        return found;
+    }
+
+
+    /**
+     * Get the number of triangles in the graph.
+     *
+     * @return The number of triangles.
+     */
+    public long count() {
+        return count;
+    }
+
+
+    /**
+     * Get the number of triangles a vertex is in.
+     *
+     * @param vertex The vertex.
+     * @return The number of triangles through the vertex.
+     */
+    public long triangles(final int vertex) {
+        return triangles[vertex];
+    }
+
+
+    /**
+     * Get the local clustering coefficient of a vertex: the fraction of pairs of its neighbours
+     * which are neighbours of each other.
+     *
+     * @param vertex The vertex.
+     * @return The clustering coefficient, or zero if the vertex has fewer than two neighbours.
+     */
+    public double clusteringCoefficient(final int vertex) {
+        final long degree = degrees[vertex];
+        return degree < 2 ? 0 : (2.0 * triangles[vertex]) / (degree * (degree - 1));
+    }
+
+}
@@ -0,0 +1,380 @@
+package datastructures.graph;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * Immutable graph in compressed sparse row (CSR) form. The neighbours of all vertices are held
+ * back to back in a single array of targets, with the neighbours of vertex v found between
+ * offsets[v] and offsets[v + 1]. This takes one int per edge, with no objects per edge or vertex,
+ * and visiting the neighbours of a vertex reads a contiguous range of memory.
+ *
+ * The graph is created using a {@link Builder}, and edges can't be added once it is built.
+ */
+public class CSRGraph implements Graph {
+
+    /**
+     * The number of vertices in the graph.
+     */
+    private final int vertexCount;
+
+
+    /**
+     * Index in the targets array of the first neighbour of each vertex, followed by the total
+     * number of targets, so the neighbours of vertex v end just before offsets[v + 1]. Read
+     * directly by {@link WeightedCSRGraph} to find the weights parallel to the targets.
+     */
+    final int[] offsets;
+
+
+    /**
+     * Neighbours of every vertex, grouped by vertex.
+     */
+    final int[] targets;
+
+
+    /**
+     * Create a graph from arrays already in compressed sparse row form.
+     *
+     * @param offsets Index of the first neighbour of each vertex, followed by the number of targets.
+     * @param targets Neighbours of every vertex, grouped by vertex.
+     */
+    CSRGraph(final int[] offsets, final int[] targets) {
+        this.vertexCount = offsets.length - 1;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+
+    /**
+     * Edges can't be added to a compressed graph; use a {@link Builder} instead.
+     *
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public void addEdge(final int vertex, final int otherVertex) {
+        throw new UnsupportedOperationException("CSRGraph is immutable, use CSRGraph.Builder to add edges");
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PrimitiveIterator.OfInt adj(final int vertex) {
+        return new NeighbourIterator(targets, offsets[vertex], offsets[vertex + 1]);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int degree(final int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int neighbour(final int vertex, final int index) {
+        return targets[offsets[vertex] + index];
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+
+    /**
+     * Create the transpose of the graph, in which every edge is reversed, so the neighbours of
+     * a vertex are the vertices which had it as a neighbour. The neighbours of each vertex are in
+     * ascending order. The transpose of an undirected graph holds the same edges.
+     *
+     * @return The transposed graph.
+     */
+    public CSRGraph transpose() {
+        final int[] transposedTargets = new int[targets.length];
+        return new CSRGraph(transpose(null, transposedTargets, null), transposedTargets);
+    }
+
+
+    /**
+     * Reverse every edge of the graph with a counting sort, carrying a payload per edge along
+     * with it if one is given.
+     *
+     * @param weights Payload of the edge to each target, or <CODE>null</CODE> if there is none.
+     * @param transposedTargets Array with room for every target, to fill with the transposed targets.
+     * @param transposedWeights Array with room for every target, to fill with the payload of each
+     *                          transposed edge, or <CODE>null</CODE> if there is no payload.
+     * @return The offsets of the transposed graph.
+     */
+    int[] transpose(final double[] weights, final int[] transposedTargets, final double[] transposedWeights) {
+        final int[] transposedOffsets = new int[vertexCount + 1];
+        for (final int target : targets) {
+            transposedOffsets[target + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            transposedOffsets[v + 1] += transposedOffsets[v];
+        }
+
+        // visiting sources in ascending order leaves each list of new neighbours sorted
+        final int[] fill = Arrays.copyOf(transposedOffsets, vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                final int position = fill[targets[i]]++;
+                transposedTargets[position] = v;
+                if (weights != null) {
+                    transposedWeights[position] = weights[i];
+                }
+            }
+        }
+
+        return transposedOffsets;
+    }
+
+
+    /**
+     * Group a list of edges by vertex with a counting sort, carrying a payload per edge along with
+     * it if one is given. The neighbours of each vertex keep the order their edges are listed in.
+     *
+     * @param vertexCount The number of vertices in the graph.
+     * @param directed <CODE>true</CODE> if edges are arcs from their first vertex to their second;
+     *                 <CODE>false</CODE> if each edge is placed at both of its vertices.
+     * @param edgeCount The number of edges listed.
+     * @param sources First vertex of each edge.
+     * @param destinations Second vertex of each edge.
+     * @param edgeWeights Payload of each edge, or <CODE>null</CODE> if there is none.
+     * @param targets Array with room for every target, to fill with the grouped targets.
+     * @param weights Array with room for every target, to fill with the payload of the edge to each
+     *                target, or <CODE>null</CODE> if there is no payload.
+     * @return The offsets of the grouped graph.
+     */
+    static int[] groupByVertex(final int vertexCount, final boolean directed, final int edgeCount, final int[] sources,
+                               final int[] destinations, final double[] edgeWeights, final int[] targets,
+                               final double[] weights) {
+
+        // count the neighbours of each vertex, offset by one so the prefix sum gives start positions
+        final int[] offsets = new int[vertexCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[sources[e] + 1]++;
+            if (!directed) {
+                offsets[destinations[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        // place each edge after the neighbours already placed for its vertex, keeping insertion order
+        final int[] fill = Arrays.copyOf(offsets, vertexCount);
+        for (int e = 0; e < edgeCount; e++) {
+            final int position = fill[sources[e]]++;
+            targets[position] = destinations[e];
+            if (edgeWeights != null) {
+                weights[position] = edgeWeights[e];
+            }
+
+            if (!directed) {
+                final int otherPosition = fill[destinations[e]]++;
+                targets[otherPosition] = sources[e];
+                if (edgeWeights != null) {
+                    weights[otherPosition] = edgeWeights[e];
+                }
+            }
+        }
+
+        return offsets;
+    }
+
+
+    /**
+     * Find the number of targets needed to hold a list of edges.
+     *
+     * @param edgeCount The number of edges listed.
+     * @param directed <CODE>true</CODE> if each edge is stored once; <CODE>false</CODE> if twice.
+     * @return The number of targets.
+     * @throws IllegalStateException If there are too many targets to fit in an array.
+     */
+    static int targetCount(final int edgeCount, final boolean directed) {
+        final long targetCount = directed ? edgeCount : 2L * edgeCount;
+        if (targetCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many edges for a compressed graph: " + targetCount);
+        }
+        return (int) targetCount;
+    }
+
+
+    /**
+     * Count the entries in the adjacency arrays. For an undirected graph each edge is stored
+     * once in each direction, so is counted twice.
+     *
+     * @return The number of stored edges.
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+
+    /**
+     * Collects the edges of a {@link CSRGraph}. Edges are held in flat arrays until the graph
+     * is built, when they are grouped by vertex with a counting sort. The neighbours of each
+     * vertex keep the order their edges were added in, as in {@link DirectedGraph} and
+     * {@link UndirectedGraph}.
+     */
+    public static class Builder {
+
+        /**
+         * Default capacity of the edge arrays if no initial size is specified.
+         */
+        private static final int DEFAULT_CAPACITY = 16;
+
+
+        /**
+         * Growth multiplier to calculate new array size when the arrays are full and need to be grown.
+         */
+        private static final float GROWTH_RATE = 2.0f;
+
+
+        /**
+         * The number of vertices in the graph.
+         */
+        private final int vertexCount;
+
+
+        /**
+         * Whether edges are directed, or connect both vertices to each other.
+         */
+        private final boolean directed;
+
+
+        /**
+         * First vertex of each edge added.
+         */
+        private int[] sources;
+
+
+        /**
+         * Second vertex of each edge added.
+         */
+        private int[] destinations;
+
+
+        /**
+         * Number of edges added.
+         */
+        private int edgeCount = 0;
+
+
+        /**
+         * Create a builder for a graph with a set number of vertices.
+         *
+         * @param vertexCount The number of vertices contained in the graph.
+         * @param directed <CODE>true</CODE> if edges are arcs from their first vertex to their second;
+         *                 <CODE>false</CODE> if edges connect both vertices to each other.
+         */
+        public Builder(final int vertexCount, final boolean directed) {
+            this(vertexCount, directed, DEFAULT_CAPACITY);
+        }
+
+
+        /**
+         * Create a builder for a graph with a set number of vertices, with room for a number of edges.
+         *
+         * @param vertexCount The number of vertices contained in the graph.
+         * @param directed <CODE>true</CODE> if edges are arcs from their first vertex to their second;
+         *                 <CODE>false</CODE> if edges connect both vertices to each other.
+         * @param initialEdgeCapacity The number of edges to allocate room for.
+         */
+        public Builder(final int vertexCount, final boolean directed, final int initialEdgeCapacity) {
+            if (vertexCount < 0) {
+                throw new IllegalArgumentException("Vertex count must not be negative: " + vertexCount);
+            }
+
+            this.vertexCount = vertexCount;
+            this.directed = directed;
+            sources = new int[Math.max(1, initialEdgeCapacity)];
+            destinations = new int[Math.max(1, initialEdgeCapacity)];
+        }
+
+
+        /**
+         * Add an edge between the specified vertices.
+         *
+         * @param vertex First vertex in the pair to add an edge between.
+         * @param otherVertex Second vertex in the pair to add an edge between.
+         * @return This builder.
+         * @throws IllegalArgumentException If either vertex isn't in the graph.
+         */
+        public Builder addEdge(final int vertex, final int otherVertex) {
+            checkVertex(vertex);
+            checkVertex(otherVertex);
+
+            if (edgeCount == sources.length) {
+                final int newLength = (int) Math.min(Integer.MAX_VALUE - 8L, (long) (edgeCount * GROWTH_RATE));
+                sources = Arrays.copyOf(sources, newLength);
+                destinations = Arrays.copyOf(destinations, newLength);
+            }
+
+            sources[edgeCount] = vertex;
+            destinations[edgeCount] = otherVertex;
+            edgeCount++;
+            return this;
+        }
+
+
+        /**
+         * Add a list of edges, where the i-th edge joins vertices[i] and otherVertices[i].
+         *
+         * @param vertices First vertex of each edge.
+         * @param otherVertices Second vertex of each edge.
+         * @return This builder.
+         * @throws IllegalArgumentException If the arrays differ in length, or a vertex isn't in the graph.
+         */
+        public Builder addEdges(final int[] vertices, final int[] otherVertices) {
+            if (vertices.length != otherVertices.length) {
+                throw new IllegalArgumentException("Edge lists differ in length: "
+                        + vertices.length + " and " + otherVertices.length);
+            }
+
+            for (int i = 0; i < vertices.length; i++) {
+                addEdge(vertices[i], otherVertices[i]);
+            }
+            return this;
+        }
+
+
+        /**
+         * Build the graph from the edges added so far.
+         *
+         * @return The compressed graph.
+         */
+        public CSRGraph build() {
+            final int[] targets = new int[targetCount(edgeCount, directed)];
+            final int[] offsets = groupByVertex(vertexCount, directed, edgeCount, sources, destinations, null,
+                    targets, null);
+            return new CSRGraph(offsets, targets);
+        }
+
+
+        /**
+         * Check that a vertex is in the graph.
+         *
+         * @param vertex The vertex to check.
+         * @throws IllegalArgumentException If the vertex isn't in the graph.
+         */
+        private void checkVertex(final int vertex) {
+            if (vertex < 0 || vertex >= vertexCount) {
+                throw new IllegalArgumentException("Vertex " + vertex + " is not in a graph of " + vertexCount + " vertices");
+            }
+        }
+    }
+
+}
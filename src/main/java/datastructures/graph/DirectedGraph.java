@@ -1,13 +1,25 @@
 package datastructures.graph;
 
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
 
 /**
  * Directed graphs using adjacency lists.
  */
 public class DirectedGraph implements Graph {
 
+    /**
+     * Default capacity of each adjacency list when its first neighbour is added.
+     */
+    private static final int DEFAULT_CAPACITY = 4;
+
+
+    /**
+     * Growth multiplier to calculate new array size when an adjacency list is full and needs to be grown.
+     */
+    private static final float GROWTH_RATE = 2.0f;
+
+
     /**
      * The number of vertices in the graph.
      */
@@ -16,9 +28,16 @@ public class DirectedGraph implements Graph {
 
     /**
      * Array of lists, with each index corresponding to a unique vertex.
-     * At each index, vertices reachable from the corresponding vertex are held in the list.
+     * At each index, vertices reachable from the corresponding vertex are held in the list,
+     * which is an array only filled up to the out-degree of the vertex.
+     */
+    private final int[][] outNeighbours;
+
+
+    /**
+     * Number of out-neighbours of each vertex.
      */
-    private final LinkedList<Integer>[] outNeighbours;
+    private final int[] outDegrees;
 
 
     /**
@@ -26,15 +45,12 @@ public class DirectedGraph implements Graph {
      *
      * @param vertexCount The number of vertices contained in the graph.
      */
-    @SuppressWarnings("unchecked")
     public DirectedGraph(final int vertexCount) {
         this.vertexCount = vertexCount;
 
-        // create and initialise lists
-        outNeighbours = new LinkedList[vertexCount];
-        for (int i = 0; i < vertexCount; i++) {
-            outNeighbours[i] = new LinkedList<>();
-        }
+        // lists are created when their vertex gets its first neighbour
+        outNeighbours = new int[vertexCount][];
+        outDegrees = new int[vertexCount];
     }
 
 
@@ -47,7 +63,28 @@ public class DirectedGraph implements Graph {
     @Override
     public void addEdge(final int vertex, final int otherVertex) {
         // otherVertex can now be reached from vertex using the new arc
-        outNeighbours[vertex].add(otherVertex);
+        outNeighbours[vertex] = append(outNeighbours[vertex], outDegrees[vertex], otherVertex);
+        outDegrees[vertex]++;
+    }
+
+
+    /**
+     * Add a vertex to the end of an adjacency list, growing the list if it is full.
+     *
+     * @param list The adjacency list, or null if it hasn't been created yet.
+     * @param size Number of vertices in the list.
+     * @param vertex Vertex to add to the list.
+     * @return The list holding the added vertex, which may be a new array.
+     */
+    static int[] append(int[] list, final int size, final int vertex) {
+        if (list == null) {
+            list = new int[DEFAULT_CAPACITY];
+        } else if (size == list.length) {
+            list = Arrays.copyOf(list, (int) (size * GROWTH_RATE));
+        }
+
+        list[size] = vertex;
+        return list;
     }
 
 
@@ -58,8 +95,29 @@ public class DirectedGraph implements Graph {
      * @return An iterator over out-neighbours of the specified vertex.
      */
     @Override
-    public Iterator<Integer> adj(final int vertex) {
-        return outNeighbours[vertex].iterator();
+    public PrimitiveIterator.OfInt adj(final int vertex) {
+        return new NeighbourIterator(outNeighbours[vertex], 0, outDegrees[vertex]);
+    }
+
+
+    /**
+     * Count the out-neighbours of the specified vertex.
+     *
+     * @param vertex Vertex to count the out-neighbours of.
+     * @return The out-degree of the vertex.
+     */
+    @Override
+    public int degree(final int vertex) {
+        return outDegrees[vertex];
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int neighbour(final int vertex, final int index) {
+        return outNeighbours[vertex][index];
     }
 
 
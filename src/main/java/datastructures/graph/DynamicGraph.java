@@ -0,0 +1,475 @@
+package datastructures.graph;
+
+import datastructures.hash.LinearProbing;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * Graph whose edges can be removed as well as added, holding each edge at most once.
+ *
+ * As in {@link DirectedGraph}, each vertex's neighbours are held in a primitive array, so they
+ * can be iterated over or fetched by index without boxing. Most vertices have few neighbours, and
+ * for those, checking or removing an edge scans the array, which is faster than hashing while the
+ * array is short. Once a vertex's degree passes {@link #INDEX_THRESHOLD}, it also gets a hash
+ * index from each neighbour to its position in the array, so edges are checked, added and removed
+ * in constant expected time whatever the degree. The index is dropped again once the degree falls
+ * well below the threshold.
+ *
+ * An edge is removed by moving the last neighbour of the vertex into its place, so removing an
+ * edge changes the order of the remaining neighbours.
+ */
+public class DynamicGraph implements Graph {
+
+    /**
+     * Default capacity of each adjacency list when its first neighbour is added.
+     */
+    private static final int DEFAULT_CAPACITY = 4;
+
+
+    /**
+     * Degree above which a vertex's neighbours are indexed by a hash table.
+     */
+    static final int INDEX_THRESHOLD = 32;
+
+
+    /**
+     * The number of vertices in the graph.
+     */
+    private final int vertexCount;
+
+
+    /**
+     * Whether edges lead from their first vertex to their second only, or in both directions.
+     */
+    private final boolean directed;
+
+
+    /**
+     * Array of lists, with each index corresponding to a unique vertex.
+     * At each index, neighbours of the corresponding vertex are held in the list,
+     * which is an array only filled up to the degree of the vertex.
+     */
+    private final int[][] neighbours;
+
+
+    /**
+     * Number of neighbours of each vertex.
+     */
+    private final int[] degrees;
+
+
+    /**
+     * Position of each neighbour in the list of a vertex with a high degree, or null for vertices with few neighbours.
+     */
+    private final PositionIndex[] indexes;
+
+
+    /**
+     * The number of entries in all the adjacency lists.
+     */
+    private int edgeCount = 0;
+
+
+    /**
+     * Create a graph with a set number of vertices and no edges.
+     *
+     * @param vertexCount The number of vertices contained in the graph.
+     * @param directed <CODE>true</CODE> if edges lead from their first vertex to their second only;
+     *                 <CODE>false</CODE> if edges connect both vertices to each other.
+     */
+    public DynamicGraph(final int vertexCount, final boolean directed) {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException("Vertex count must not be negative: " + vertexCount);
+        }
+
+        this.vertexCount = vertexCount;
+        this.directed = directed;
+
+        // lists are created when their vertex gets its first neighbour
+        neighbours = new int[vertexCount][];
+        degrees = new int[vertexCount];
+        indexes = new PositionIndex[vertexCount];
+    }
+
+
+    /**
+     * Add an edge between the specified vertices, unless the graph already holds it.
+     *
+     * @param vertex First vertex in the pair to add an edge between.
+     * @param otherVertex Second vertex in the pair to add an edge between.
+     */
+    @Override
+    public void addEdge(final int vertex, final int otherVertex) {
+        checkEdge(vertex, otherVertex);
+        if (find(vertex, otherVertex) >= 0) {
+            return;
+        }
+
+        append(vertex, otherVertex);
+        if (!directed && vertex != otherVertex) {
+            append(otherVertex, vertex);
+        }
+    }
+
+
+    /**
+     * Remove the edge between the specified vertices.
+     *
+     * @param vertex First vertex in the pair to remove the edge between.
+     * @param otherVertex Second vertex in the pair to remove the edge between.
+     * @return <CODE>true</CODE> if the graph held the edge; <CODE>false</CODE> otherwise.
+     */
+    public boolean removeEdge(final int vertex, final int otherVertex) {
+        checkEdge(vertex, otherVertex);
+        final int position = find(vertex, otherVertex);
+        if (position < 0) {
+            return false;
+        }
+
+        removeAt(vertex, position);
+        if (!directed && vertex != otherVertex) {
+            removeAt(otherVertex, find(otherVertex, vertex));
+        }
+        return true;
+    }
+
+
+    /**
+     * Check if the graph holds an edge between the specified vertices.
+     *
+     * @param vertex First vertex of the edge.
+     * @param otherVertex Second vertex of the edge.
+     * @return <CODE>true</CODE> if the graph holds the edge; <CODE>false</CODE> otherwise.
+     */
+    public boolean hasEdge(final int vertex, final int otherVertex) {
+        checkEdge(vertex, otherVertex);
+        return find(vertex, otherVertex) >= 0;
+    }
+
+
+    /**
+     * Check that both vertices of an edge are in the graph.
+     *
+     * @param vertex First vertex of the edge.
+     * @param otherVertex Second vertex of the edge.
+     */
+    private void checkEdge(final int vertex, final int otherVertex) {
+        if (vertex < 0 || vertex >= vertexCount || otherVertex < 0 || otherVertex >= vertexCount) {
+            throw new IllegalArgumentException("Edge " + vertex + "-" + otherVertex + " is not in a graph of "
+                    + vertexCount + " vertices");
+        }
+    }
+
+
+    /**
+     * Find the position of a neighbour in a vertex's list.
+     *
+     * @param vertex The vertex whose list to search.
+     * @param neighbour The neighbour to find.
+     * @return The position of the neighbour, or -1 if it isn't in the list.
+     */
+    private int find(final int vertex, final int neighbour) {
+        final PositionIndex index = indexes[vertex];
+        if (index != null) {
+            return index.get(neighbour);
+        }
+
+        final int[] list = neighbours[vertex];
+        final int degree = degrees[vertex];
+        for (int i = 0; i < degree; i++) {
+            if (list[i] == neighbour) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+
+    /**
+     * Add a neighbour to the end of a vertex's list, indexing the list if it has grown past the threshold.
+     *
+     * @param vertex The vertex whose list to add to.
+     * @param neighbour The neighbour to add.
+     */
+    private void append(final int vertex, final int neighbour) {
+        final int degree = degrees[vertex];
+        neighbours[vertex] = DirectedGraph.append(neighbours[vertex], degree, neighbour);
+        degrees[vertex]++;
+        edgeCount++;
+
+        if (indexes[vertex] != null) {
+            indexes[vertex].put(neighbour, degree);
+        } else if (degree + 1 > INDEX_THRESHOLD) {
+            final PositionIndex index = new PositionIndex(degree + 1);
+            for (int i = 0; i <= degree; i++) {
+                index.put(neighbours[vertex][i], i);
+            }
+            indexes[vertex] = index;
+        }
+    }
+
+
+    /**
+     * Remove the neighbour at a position in a vertex's list, moving the last neighbour into its place.
+     *
+     * @param vertex The vertex whose list to remove from.
+     * @param position The position of the neighbour to remove.
+     */
+    private void removeAt(final int vertex, final int position) {
+        final int[] list = neighbours[vertex];
+        final int last = degrees[vertex] - 1;
+        final int removed = list[position];
+        list[position] = list[last];
+        degrees[vertex] = last;
+        edgeCount--;
+
+        final PositionIndex index = indexes[vertex];
+        if (index != null) {
+            index.remove(removed);
+            if (position != last) {
+                index.put(list[position], position);
+            }
+
+            // drop the index once the list is short enough to scan, leaving a gap so that
+            // a vertex whose degree moves back and forth across the threshold isn't reindexed each time
+            if (last < INDEX_THRESHOLD / 2) {
+                indexes[vertex] = null;
+            }
+        }
+
+        // shrink lists which have lost most of their neighbours
+        if (list.length > DEFAULT_CAPACITY && last < list.length / 4) {
+            neighbours[vertex] = Arrays.copyOf(list, Math.max(DEFAULT_CAPACITY, list.length / 2));
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PrimitiveIterator.OfInt adj(final int vertex) {
+        return new NeighbourIterator(neighbours[vertex], 0, degrees[vertex]);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int degree(final int vertex) {
+        return degrees[vertex];
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int neighbour(final int vertex, final int index) {
+        if (index >= degrees[vertex]) {
+            throw new IndexOutOfBoundsException("Vertex " + vertex + " has only " + degrees[vertex] + " neighbours");
+        }
+        return neighbours[vertex][index];
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+
+    /**
+     * Count the entries in the adjacency lists. For an undirected graph each edge is stored
+     * once in each direction, so is counted twice, except for loops from a vertex to itself.
+     *
+     * @return The number of stored edges.
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+
+    /**
+     * Query if the graph's edges lead one way only.
+     *
+     * @return <CODE>true</CODE> if the graph is directed; <CODE>false</CODE> otherwise.
+     */
+    public boolean isDirected() {
+        return directed;
+    }
+
+
+    /**
+     * Hash table from the neighbours of a vertex to their positions in its list, using linear
+     * probing over primitive arrays so that nothing is boxed.
+     */
+    static class PositionIndex implements LinearProbing.Table {
+
+        /**
+         * Marks an unused slot, as vertices are never negative.
+         */
+        private static final int EMPTY = -1;
+
+        /**
+         * The neighbour in each slot, or {@link #EMPTY}.
+         */
+        private int[] keys;
+
+        /**
+         * The position of the neighbour in each slot.
+         */
+        private int[] positions;
+
+        /**
+         * The number of neighbours in the table.
+         */
+        private int size = 0;
+
+        /**
+         * Create a table with room for the given number of neighbours.
+         *
+         * @param expected The number of neighbours to make room for.
+         */
+        PositionIndex(final int expected) {
+            allocate(Integer.highestOneBit(Math.max(4, expected) * 4 - 1));
+        }
+
+        /**
+         * Replace the arrays with empty ones of the given capacity.
+         *
+         * @param capacity The number of slots, a power of two.
+         */
+        private void allocate(final int capacity) {
+            keys = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            positions = new int[capacity];
+        }
+
+        /**
+         * Find the slot a neighbour hashes to.
+         *
+         * @param key The neighbour.
+         * @return Its home slot.
+         */
+        private int slot(final int key) {
+            final int mixed = key * 0x9E3779B9;
+            return (mixed ^ (mixed >>> 16)) & (keys.length - 1);
+        }
+
+        /**
+         * Look up the position of a neighbour.
+         *
+         * @param key The neighbour.
+         * @return Its position, or -1 if it isn't in the table.
+         */
+        int get(final int key) {
+            final int mask = keys.length - 1;
+            for (int slot = slot(key); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return positions[slot];
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Set the position of a neighbour, adding it if it isn't in the table.
+         *
+         * @param key The neighbour.
+         * @param position Its position.
+         */
+        void put(final int key, final int position) {
+            // keep the table at most half full so that probes stay short
+            if (2 * (size + 1) > keys.length) {
+                final int[] oldKeys = keys;
+                final int[] oldPositions = positions;
+                allocate(keys.length * 2);
+                size = 0;
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldKeys[i] != EMPTY) {
+                        put(oldKeys[i], oldPositions[i]);
+                    }
+                }
+            }
+
+            final int mask = keys.length - 1;
+            int slot = slot(key);
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    positions[slot] = position;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            keys[slot] = key;
+            positions[slot] = position;
+            size++;
+        }
+
+        /**
+         * Remove a neighbour from the table.
+         *
+         * @param key The neighbour.
+         */
+        void remove(final int key) {
+            final int mask = keys.length - 1;
+            int gap = slot(key);
+            while (keys[gap] != key) {
+                if (keys[gap] == EMPTY) {
+                    return;
+                }
+                gap = (gap + 1) & mask;
+            }
+
+            keys[gap] = EMPTY;
+            size--;
+
+            // as in HashMap, shift back any following entry whose home slot isn't between the gap and
+            // the entry, so that lookups never stop early at the gap
+            LinearProbing.closeGap(this, gap, keys.length);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isFree(final int slot) {
+            return keys[slot] == EMPTY;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int home(final int slot) {
+            return slot(keys[slot]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void move(final int from, final int to) {
+            keys[to] = keys[from];
+            positions[to] = positions[from];
+            keys[from] = EMPTY;
+        }
+
+        /**
+         * Count the neighbours in the table.
+         *
+         * @return The number of neighbours.
+         */
+        int size() {
+            return size;
+        }
+    }
+
+}
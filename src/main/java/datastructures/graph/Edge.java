@@ -0,0 +1,98 @@
+package datastructures.graph;
+
+/**
+ * An undirected edge between two vertices, carrying a weight. Edges are ordered by weight.
+ */
+public class Edge implements Comparable<Edge> {
+
+    /**
+     * One vertex of the edge.
+     */
+    private final int vertex;
+
+
+    /**
+     * The other vertex of the edge.
+     */
+    private final int otherVertex;
+
+
+    /**
+     * The weight of the edge.
+     */
+    private final double weight;
+
+
+    /**
+     * Create an edge between two vertices.
+     *
+     * @param vertex One vertex of the edge.
+     * @param otherVertex The other vertex of the edge.
+     * @param weight The weight of the edge.
+     */
+    public Edge(final int vertex, final int otherVertex, final double weight) {
+        if (Double.isNaN(weight)) {
+            throw new IllegalArgumentException("Weight of edge " + vertex + "-" + otherVertex + " is NaN");
+        }
+
+        this.vertex = vertex;
+        this.otherVertex = otherVertex;
+        this.weight = weight;
+    }
+
+
+    /**
+     * Get either vertex of the edge.
+     *
+     * @return One of the edge's vertices.
+     */
+    public int either() {
+        return vertex;
+    }
+
+
+    /**
+     * Get the vertex at the other end of the edge from the given vertex.
+     *
+     * @param endpoint One vertex of the edge.
+     * @return The other vertex of the edge.
+     * @throws IllegalArgumentException If the given vertex isn't on the edge.
+     */
+    public int other(final int endpoint) {
+        if (endpoint == vertex) {
+            return otherVertex;
+        } else if (endpoint == otherVertex) {
+            return vertex;
+        }
+        throw new IllegalArgumentException("Vertex " + endpoint + " is not on edge " + this);
+    }
+
+
+    /**
+     * Get the weight of the edge.
+     *
+     * @return The weight.
+     */
+    public double weight() {
+        return weight;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int compareTo(final Edge other) {
+        return Double.compare(weight, other.weight);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return vertex + "-" + otherVertex + " " + weight;
+    }
+
+}
@@ -0,0 +1,518 @@
+package datastructures.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Loads graphs from text files listing one edge per line, parsing separate chunks of the file in
+ * parallel. Each chunk is memory-mapped and parsed byte by byte into arrays of ints, so no strings
+ * or boxed values are created per edge, and the edges go straight into a {@link CSRGraph} without
+ * passing through a builder.
+ *
+ * The neighbours of each vertex are kept in the order their edges appear in the file.
+ */
+public final class EdgeListLoader {
+
+    /**
+     * Layouts of edge list files.
+     */
+    public enum Format {
+
+        /**
+         * The layout of the Stanford Network Analysis Project datasets: each line holds a pair of
+         * vertex indices counting from zero, separated by whitespace, and lines starting with '#'
+         * are comments. The graph has one more vertex than the highest index found.
+         */
+        SNAP,
+
+        /**
+         * The coordinate layout of Matrix Market files: lines starting with '%' are comments, the
+         * first other line gives the number of rows, columns and entries, and each line after that
+         * holds a row and column counting from one. The graph has as many vertices as the larger
+         * of the number of rows and columns.
+         */
+        MATRIX_MARKET
+    }
+
+
+    /**
+     * Bytes of the file aimed for in each chunk, before moving the end of the chunk to the end of a line.
+     */
+    private static final int CHUNK_BYTES = 1 << 24;
+
+
+    private EdgeListLoader() { }
+
+
+    /**
+     * Load a graph from an edge list file, parsing on the common pool.
+     *
+     * @param file The file to load.
+     * @param format The layout of the file.
+     * @param directed <CODE>true</CODE> if each edge is an arc from its first vertex to its second;
+     *                 <CODE>false</CODE> if edges connect both vertices to each other.
+     * @return The graph.
+     * @throws IOException If the file can't be read or isn't in the given format.
+     */
+    public static CSRGraph load(final Path file, final Format format, final boolean directed) throws IOException {
+        return load(file, format, directed, ForkJoinPool.commonPool());
+    }
+
+
+    /**
+     * Load a graph from an edge list file, parsing on the given pool.
+     *
+     * @param file The file to load.
+     * @param format The layout of the file.
+     * @param directed <CODE>true</CODE> if each edge is an arc from its first vertex to its second;
+     *                 <CODE>false</CODE> if edges connect both vertices to each other.
+     * @param pool Pool to parse the file on.
+     * @return The graph.
+     * @throws IOException If the file can't be read or isn't in the given format.
+     */
+    public static CSRGraph load(final Path file, final Format format, final boolean directed,
+                                final ForkJoinPool pool) throws IOException {
+        return load(file, format, directed, pool, CHUNK_BYTES);
+    }
+
+
+    /**
+     * Load a graph from an edge list file, splitting it into chunks of the given size.
+     *
+     * @param file The file to load.
+     * @param format The layout of the file.
+     * @param directed Whether each edge is an arc, or connects both vertices to each other.
+     * @param pool Pool to parse the file on.
+     * @param chunkBytes Bytes of the file aimed for in each chunk.
+     * @return The graph.
+     * @throws IOException If the file can't be read or isn't in the given format.
+     */
+    static CSRGraph load(final Path file, final Format format, final boolean directed,
+                         final ForkJoinPool pool, final int chunkBytes) throws IOException {
+        if (chunkBytes <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkBytes);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+
+            // a Matrix Market file gives its size on the first line which isn't a comment
+            long dataStart = 0;
+            int declaredVertexCount = -1;
+            if (format == Format.MATRIX_MARKET) {
+                final long[] sizeLine = new long[3];
+                dataStart = readSizeLine(channel, sizeLine);
+                if (sizeLine[0] > Integer.MAX_VALUE || sizeLine[1] > Integer.MAX_VALUE) {
+                    throw new IOException("Matrix of " + sizeLine[0] + " by " + sizeLine[1] + " is too large");
+                }
+                declaredVertexCount = (int) Math.max(sizeLine[0], sizeLine[1]);
+            }
+
+            // split the rest of the file into chunks which each end at the end of a line
+            final long[] boundaries = chunkBoundaries(channel, dataStart, size, chunkBytes);
+            final int base = format == Format.MATRIX_MARKET ? 1 : 0;
+            final byte comment = format == Format.MATRIX_MARKET ? (byte) '%' : (byte) '#';
+
+            final Chunk[] chunks = new Chunk[boundaries.length - 1];
+            final Future<?>[] parsing = new Future<?>[chunks.length];
+            for (int c = 0; c < chunks.length; c++) {
+                final MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY,
+                        boundaries[c], boundaries[c + 1] - boundaries[c]);
+                chunks[c] = new Chunk(bytes, boundaries[c], base, comment);
+                parsing[c] = pool.submit(chunks[c]::parse);
+            }
+
+            for (final Future<?> task : parsing) {
+                await(task);
+            }
+
+            int maxVertex = -1;
+            long edgeCount = 0;
+            for (final Chunk chunk : chunks) {
+                if (chunk.error != null) {
+                    throw new IOException(chunk.error + " in " + file);
+                }
+                maxVertex = Math.max(maxVertex, chunk.maxVertex);
+                edgeCount += chunk.edgeCount;
+            }
+
+            final int vertexCount = declaredVertexCount >= 0 ? declaredVertexCount : maxVertex + 1;
+            if (maxVertex >= vertexCount) {
+                throw new IOException("Vertex " + (maxVertex + base) + " is outside the matrix in " + file);
+            }
+
+            return build(chunks, vertexCount, edgeCount, directed);
+        }
+    }
+
+
+    /**
+     * Wait for a parsing task to finish.
+     *
+     * @param task The task.
+     * @throws IOException If the task failed.
+     */
+    private static void await(final Future<?> task) throws IOException {
+        try {
+            task.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading graph", e);
+        } catch (final ExecutionException e) {
+            throw new IOException("Failed to parse graph", e.getCause());
+        }
+    }
+
+
+    /**
+     * Group the parsed edges by vertex into a compressed graph, taking the chunks in file order
+     * so each vertex's neighbours keep the order of the file.
+     *
+     * @param chunks The parsed chunks.
+     * @param vertexCount The number of vertices in the graph.
+     * @param edgeCount The number of edges in all the chunks.
+     * @param directed Whether to store each edge in one direction or both.
+     * @return The graph.
+     * @throws IOException If there are too many edges for a compressed graph.
+     */
+    private static CSRGraph build(final Chunk[] chunks, final int vertexCount, final long edgeCount,
+                                  final boolean directed) throws IOException {
+        final long targetCount = directed ? edgeCount : 2 * edgeCount;
+        if (targetCount > Integer.MAX_VALUE - 8) {
+            throw new IOException("Too many edges for a compressed graph: " + targetCount);
+        }
+
+        // count the neighbours of each vertex, offset by one so the prefix sum gives start positions
+        final int[] offsets = new int[vertexCount + 1];
+        for (final Chunk chunk : chunks) {
+            for (int e = 0; e < chunk.edgeCount; e++) {
+                offsets[chunk.sources[e] + 1]++;
+                if (!directed) {
+                    offsets[chunk.destinations[e] + 1]++;
+                }
+            }
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        final int[] targets = new int[(int) targetCount];
+        final int[] fill = Arrays.copyOf(offsets, vertexCount);
+        for (final Chunk chunk : chunks) {
+            for (int e = 0; e < chunk.edgeCount; e++) {
+                targets[fill[chunk.sources[e]]++] = chunk.destinations[e];
+                if (!directed) {
+                    targets[fill[chunk.destinations[e]]++] = chunk.sources[e];
+                }
+            }
+        }
+
+        return new CSRGraph(offsets, targets);
+    }
+
+
+    /**
+     * Read the size line of a Matrix Market file, skipping the comments before it.
+     *
+     * @param channel The file.
+     * @param sizeLine Receives the number of rows, columns and entries.
+     * @return Position in the file just after the size line.
+     * @throws IOException If the file can't be read or has no size line.
+     */
+    private static long readSizeLine(final FileChannel channel, final long[] sizeLine) throws IOException {
+        long position = 0;
+        while (true) {
+            final long lineEnd = lineEnd(channel, position);
+            final ByteBuffer line = ByteBuffer.allocate((int) Math.min(Integer.MAX_VALUE - 8, lineEnd - position));
+            channel.read(line, position);
+            line.flip();
+
+            final String text = new String(line.array(), 0, line.limit(), StandardCharsets.US_ASCII).trim();
+            if (!text.isEmpty() && text.charAt(0) != '%') {
+                final String[] fields = text.split("\\s+");
+                if (fields.length < 3) {
+                    throw new IOException("Expected rows, columns and entries but found: " + text);
+                }
+                try {
+                    for (int i = 0; i < 3; i++) {
+                        sizeLine[i] = Long.parseLong(fields[i]);
+                    }
+                } catch (final NumberFormatException e) {
+                    throw new IOException("Expected rows, columns and entries but found: " + text, e);
+                }
+                return Math.min(channel.size(), lineEnd + 1);
+            }
+
+            if (lineEnd >= channel.size()) {
+                throw new IOException("Matrix Market file has no size line");
+            }
+            position = lineEnd + 1;
+        }
+    }
+
+
+    /**
+     * Split a range of a file into chunks of about the given size, each ending just after a newline.
+     *
+     * @param channel The file.
+     * @param start Position of the start of the range.
+     * @param end Position of the end of the range.
+     * @param chunkBytes Bytes aimed for in each chunk.
+     * @return Positions of the start of each chunk, followed by the end of the range.
+     * @throws IOException If the file can't be read.
+     */
+    private static long[] chunkBoundaries(final FileChannel channel, final long start, final long end,
+                                          final int chunkBytes) throws IOException {
+        long[] boundaries = new long[16];
+        int count = 0;
+        boundaries[count++] = start;
+
+        long position = start;
+        while (end - position > chunkBytes) {
+            position = Math.min(end, lineEnd(channel, position + chunkBytes) + 1);
+            if (count == boundaries.length) {
+                boundaries = Arrays.copyOf(boundaries, count * 2);
+            }
+            boundaries[count++] = position;
+        }
+
+        if (position < end) {
+            if (count == boundaries.length) {
+                boundaries = Arrays.copyOf(boundaries, count + 1);
+            }
+            boundaries[count++] = end;
+        }
+        return Arrays.copyOf(boundaries, count);
+    }
+
+
+    /**
+     * Find the next newline in a file.
+     *
+     * @param channel The file.
+     * @param position Position to start looking from.
+     * @return Position of the next newline, or the size of the file if there is none.
+     * @throws IOException If the file can't be read.
+     */
+    private static long lineEnd(final FileChannel channel, final long position) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long current = position;
+
+        while (current < channel.size()) {
+            buffer.clear();
+            final int read = channel.read(buffer, current);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return current + i;
+                }
+            }
+            current += read;
+        }
+        return channel.size();
+    }
+
+
+    /**
+     * A range of whole lines of the file, and the edges parsed from it.
+     */
+    private static class Chunk {
+
+        /**
+         * Default capacity of the edge arrays.
+         */
+        private static final int DEFAULT_CAPACITY = 1024;
+
+        /**
+         * The mapped bytes of the chunk.
+         */
+        final MappedByteBuffer bytes;
+
+        /**
+         * Position of the chunk in the file, for error messages.
+         */
+        final long fileOffset;
+
+        /**
+         * Index of the first vertex in the file, subtracted from each index read.
+         */
+        final int base;
+
+        /**
+         * Character starting a comment line.
+         */
+        final byte comment;
+
+        /**
+         * The first vertex of each edge parsed, and the second.
+         */
+        int[] sources = new int[DEFAULT_CAPACITY];
+
+        int[] destinations = new int[DEFAULT_CAPACITY];
+
+        /**
+         * The number of edges parsed.
+         */
+        int edgeCount = 0;
+
+        /**
+         * The highest vertex index parsed, or -1 if there are no edges.
+         */
+        int maxVertex = -1;
+
+        /**
+         * Description of the first malformed line, or null if there were none.
+         */
+        String error;
+
+        Chunk(final MappedByteBuffer bytes, final long fileOffset, final int base, final byte comment) {
+            this.bytes = bytes;
+            this.fileOffset = fileOffset;
+            this.base = base;
+            this.comment = comment;
+        }
+
+        /**
+         * Parse every line of the chunk, stopping at the first malformed line.
+         */
+        void parse() {
+            final int limit = bytes.limit();
+            int position = 0;
+
+            while (position < limit) {
+                position = skipSpaces(position, limit);
+                if (position >= limit) {
+                    break;
+                }
+
+                final byte first = bytes.get(position);
+                if (first == '\n' || first == '\r') {
+                    position++;
+                    continue;
+                }
+                if (first == comment) {
+                    position = skipLine(position, limit);
+                    continue;
+                }
+
+                // read the two vertex indices, ignoring anything after them such as a weight
+                final long source = readIndex(position, limit);
+                if (source < 0) {
+                    error = "Expected a vertex index at byte " + (fileOffset + position);
+                    return;
+                }
+                position = skipSpaces(skipDigits(position, limit), limit);
+
+                final long destination = readIndex(position, limit);
+                if (destination < 0) {
+                    error = "Expected a second vertex index at byte " + (fileOffset + position);
+                    return;
+                }
+                position = skipLine(position, limit);
+
+                if (source - base < 0 || destination - base < 0
+                        || source - base >= Integer.MAX_VALUE || destination - base >= Integer.MAX_VALUE) {
+                    error = "Vertex index out of range at byte " + (fileOffset + position);
+                    return;
+                }
+                add((int) (source - base), (int) (destination - base));
+            }
+        }
+
+        /**
+         * Add an edge to the chunk's arrays.
+         *
+         * @param source First vertex of the edge.
+         * @param destination Second vertex of the edge.
+         */
+        private void add(final int source, final int destination) {
+            if (edgeCount == sources.length) {
+                sources = Arrays.copyOf(sources, edgeCount * 2);
+                destinations = Arrays.copyOf(destinations, edgeCount * 2);
+            }
+
+            sources[edgeCount] = source;
+            destinations[edgeCount] = destination;
+            edgeCount++;
+            maxVertex = Math.max(maxVertex, Math.max(source, destination));
+        }
+
+        /**
+         * Read a non-negative decimal number.
+         *
+         * @param position Position of the first digit.
+         * @param limit End of the chunk.
+         * @return The number, or -1 if there is no number at the position or it is too large.
+         */
+        private long readIndex(int position, final int limit) {
+            long value = 0;
+            int digits = 0;
+            while (position < limit) {
+                final int digit = bytes.get(position) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                value = value * 10 + digit;
+                if (++digits > 12) {
+                    return -1;
+                }
+                position++;
+            }
+            return digits > 0 ? value : -1;
+        }
+
+        /**
+         * Move past a run of digits.
+         *
+         * @param position Position to start from.
+         * @param limit End of the chunk.
+         * @return Position of the first byte which isn't a digit.
+         */
+        private int skipDigits(int position, final int limit) {
+            while (position < limit && bytes.get(position) >= '0' && bytes.get(position) <= '9') {
+                position++;
+            }
+            return position;
+        }
+
+        /**
+         * Move past spaces and tabs.
+         *
+         * @param position Position to start from.
+         * @param limit End of the chunk.
+         * @return Position of the first byte which isn't a space or tab.
+         */
+        private int skipSpaces(int position, final int limit) {
+            while (position < limit && (bytes.get(position) == ' ' || bytes.get(position) == '\t')) {
+                position++;
+            }
+            return position;
+        }
+
+        /**
+         * Move to the start of the next line.
+         *
+         * @param position Position to start from.
+         * @param limit End of the chunk.
+         * @return Position just after the next newline, or past the end of the chunk.
+         */
+        private int skipLine(int position, final int limit) {
+            while (position < limit && bytes.get(position) != '\n') {
+                position++;
+            }
+            return position + 1;
+        }
+    }
+
+}
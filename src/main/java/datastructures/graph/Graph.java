@@ -1,6 +1,7 @@
 package datastructures.graph;
 
 import java.util.Iterator;
+import java.util.function.IntConsumer;
 
 /**
  * A graph, consisting vertices and edges which connect them.
@@ -26,6 +27,40 @@ public interface Graph {
     Iterator<Integer> adj(int vertex);
 
 
+    /**
+     * Count the vertices adjacent to the specified vertex.
+     *
+     * @param vertex Vertex to count the neighbours of.
+     * @return The number of neighbours of the vertex.
+     */
+    int degree(int vertex);
+
+
+    /**
+     * Get a vertex adjacent to the specified vertex, without creating an iterator or boxing
+     * the index. Neighbours are numbered in the same order as they are given by {@link #adj(int)}.
+     *
+     * @param vertex Vertex to get a neighbour of.
+     * @param index Index of the neighbour, from zero to the degree of the vertex.
+     * @return The neighbour at the given index.
+     */
+    int neighbour(int vertex, int index);
+
+
+    /**
+     * Perform an action for each vertex adjacent to the specified vertex, in the same order as {@link #adj(int)}.
+     *
+     * @param vertex Vertex to visit the neighbours of.
+     * @param action Action to perform on each neighbour.
+     */
+    default void forEachNeighbour(final int vertex, final IntConsumer action) {
+        final int degree = degree(vertex);
+        for (int i = 0; i < degree; i++) {
+            action.accept(neighbour(vertex, i));
+        }
+    }
+
+
     /**
      * Count the number of vertices in the graph.
      *
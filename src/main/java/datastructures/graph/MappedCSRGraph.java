@@ -0,0 +1,340 @@
+package datastructures.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Immutable graph in compressed sparse row form, read directly from a memory-mapped file. Nothing
+ * is parsed or copied when the file is loaded, so a graph of any size is ready to search at once,
+ * and its pages are read in from disk as the search touches them. Several processes loading the
+ * same file share one copy of it in the page cache.
+ *
+ * Files are written with {@link #save(Graph, Path)}, and hold a 32 byte header, then the offset
+ * of each vertex's first neighbour as a long, then the neighbours themselves as ints. Offsets are
+ * longs, so a file can hold more edges than a {@link CSRGraph}. A mapping can't cover more than
+ * 2GB, so each section is mapped in segments of up to 1GB.
+ */
+public class MappedCSRGraph implements Graph {
+
+    /**
+     * Identifies graph files, spelling "CSRG".
+     */
+    private static final int MAGIC = 0x43535247;
+
+
+    /**
+     * Version of the file layout.
+     */
+    private static final int VERSION = 1;
+
+
+    /**
+     * Bytes in the file header.
+     */
+    private static final int HEADER_BYTES = 32;
+
+
+    /**
+     * Each segment maps 2 to the power of this many bytes.
+     */
+    private static final int SEGMENT_SHIFT = 30;
+
+
+    /**
+     * Size of the buffer used to write files.
+     */
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+
+    /**
+     * The number of vertices in the graph.
+     */
+    private final int vertexCount;
+
+
+    /**
+     * The number of neighbours stored for all vertices.
+     */
+    private final long edgeCount;
+
+
+    /**
+     * Segments of the offset of each vertex's first neighbour, followed by the number of neighbours stored.
+     */
+    private final LongBuffer[] offsets;
+
+
+    /**
+     * Segments of the neighbours of every vertex, grouped by vertex.
+     */
+    private final IntBuffer[] targets;
+
+
+    /**
+     * Create a graph over mapped segments of a file.
+     *
+     * @param vertexCount The number of vertices in the graph.
+     * @param edgeCount The number of neighbours stored for all vertices.
+     * @param offsets Segments of the offsets.
+     * @param targets Segments of the neighbours.
+     */
+    private MappedCSRGraph(final int vertexCount, final long edgeCount, final LongBuffer[] offsets,
+                           final IntBuffer[] targets) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+
+    /**
+     * Write a graph to a file in the layout read by {@link #load(Path)}, keeping the order of each
+     * vertex's neighbours.
+     *
+     * @param g The graph to write.
+     * @param file The file to write to, which is replaced if it exists.
+     * @throws IOException If the file can't be written.
+     */
+    public static void save(final Graph g, final Path file) throws IOException {
+        final int vertexCount = g.vertexCount();
+
+        long edgeCount = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            edgeCount += g.degree(v);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(vertexCount).putInt(0).putLong(edgeCount).putLong(0);
+
+            long offset = 0;
+            for (int v = 0; v <= vertexCount; v++) {
+                if (buffer.remaining() < Long.BYTES) {
+                    flush(channel, buffer);
+                }
+                buffer.putLong(offset);
+                if (v < vertexCount) {
+                    offset += g.degree(v);
+                }
+            }
+
+            for (int v = 0; v < vertexCount; v++) {
+                final int degree = g.degree(v);
+                for (int i = 0; i < degree; i++) {
+                    if (buffer.remaining() < Integer.BYTES) {
+                        flush(channel, buffer);
+                    }
+                    buffer.putInt(g.neighbour(v, i));
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+
+    /**
+     * Write out the contents of a buffer and empty it.
+     *
+     * @param channel The channel to write to.
+     * @param buffer The buffer to write, which is left empty.
+     * @throws IOException If the buffer can't be written.
+     */
+    private static void flush(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+
+    /**
+     * Map a graph file written by {@link #save(Graph, Path)}. Only the header and file size are
+     * checked, so loading takes the same time whatever the size of the graph.
+     *
+     * @param file The file to map.
+     * @return The graph held in the file.
+     * @throws IOException If the file can't be read, or isn't a graph file.
+     */
+    public static MappedCSRGraph load(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a graph file: " + file);
+            }
+
+            final MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a graph file: " + file);
+            }
+            if (header.getInt() != VERSION) {
+                throw new IOException("Unsupported graph file version: " + file);
+            }
+
+            final int vertexCount = header.getInt();
+            header.getInt(); // flags, unused
+            final long edgeCount = header.getLong();
+
+            final long offsetBytes = (vertexCount + 1L) * Long.BYTES;
+            if (vertexCount < 0 || edgeCount < 0
+                    || channel.size() != HEADER_BYTES + offsetBytes + edgeCount * Integer.BYTES) {
+                throw new IOException("Truncated graph file: " + file);
+            }
+
+            // the mappings remain valid after the channel is closed
+            final LongBuffer[] offsets = new LongBuffer[segmentCount(offsetBytes)];
+            for (int s = 0; s < offsets.length; s++) {
+                offsets[s] = mapSegment(channel, HEADER_BYTES, offsetBytes, s).asLongBuffer();
+            }
+            final IntBuffer[] targets = new IntBuffer[segmentCount(edgeCount * Integer.BYTES)];
+            for (int s = 0; s < targets.length; s++) {
+                targets[s] = mapSegment(channel, HEADER_BYTES + offsetBytes, edgeCount * Integer.BYTES, s).asIntBuffer();
+            }
+
+            final MappedCSRGraph graph = new MappedCSRGraph(vertexCount, edgeCount, offsets, targets);
+            if (graph.offset(0) != 0 || graph.offset(vertexCount) != edgeCount) {
+                throw new IOException("Corrupt graph file: " + file);
+            }
+            return graph;
+        }
+    }
+
+
+    /**
+     * Count the segments needed to map a section of a file.
+     *
+     * @param bytes The length of the section.
+     * @return The number of segments, at least one so that lookups never need to check for none.
+     */
+    private static int segmentCount(final long bytes) {
+        return (int) Math.max(1, (bytes + (1L << SEGMENT_SHIFT) - 1) >>> SEGMENT_SHIFT);
+    }
+
+
+    /**
+     * Map one segment of a section of a file.
+     *
+     * @param channel The file.
+     * @param start Position of the section in the file.
+     * @param length Length of the section.
+     * @param segment Index of the segment within the section.
+     * @return The mapped segment.
+     * @throws IOException If the segment can't be mapped.
+     */
+    private static MappedByteBuffer mapSegment(final FileChannel channel, final long start, final long length,
+                                              final int segment) throws IOException {
+        final long segmentStart = (long) segment << SEGMENT_SHIFT;
+        final long segmentLength = Math.min(1L << SEGMENT_SHIFT, length - segmentStart);
+        return channel.map(FileChannel.MapMode.READ_ONLY, start + segmentStart, segmentLength);
+    }
+
+
+    /**
+     * Get the position of a vertex's first neighbour among the targets.
+     *
+     * @param vertex The vertex, or the vertex count for the total number of targets.
+     * @return The offset of the vertex's neighbours.
+     */
+    private long offset(final int vertex) {
+        final long position = vertex;
+        return offsets[(int) (position >>> (SEGMENT_SHIFT - 3))].get((int) (position & ((1 << (SEGMENT_SHIFT - 3)) - 1)));
+    }
+
+
+    /**
+     * Get the target at a position.
+     *
+     * @param position Position among all the targets.
+     * @return The target.
+     */
+    private int target(final long position) {
+        return targets[(int) (position >>> (SEGMENT_SHIFT - 2))].get((int) (position & ((1 << (SEGMENT_SHIFT - 2)) - 1)));
+    }
+
+
+    /**
+     * Edges can't be added to a mapped graph; build a graph and {@link #save(Graph, Path)} it instead.
+     *
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public void addEdge(final int vertex, final int otherVertex) {
+        throw new UnsupportedOperationException("MappedCSRGraph is read-only");
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PrimitiveIterator.OfInt adj(final int vertex) {
+        final long start = offset(vertex);
+        final long end = offset(vertex + 1);
+
+        return new PrimitiveIterator.OfInt() {
+
+            private long current = start;
+
+            @Override
+            public boolean hasNext() {
+                return current < end;
+            }
+
+            @Override
+            public int nextInt() {
+                if (current >= end) {
+                    throw new NoSuchElementException();
+                }
+                return target(current++);
+            }
+        };
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int degree(final int vertex) {
+        return (int) (offset(vertex + 1) - offset(vertex));
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int neighbour(final int vertex, final int index) {
+        return target(offset(vertex) + index);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+
+    /**
+     * Count the entries in the adjacency lists. For an undirected graph each edge is stored
+     * once in each direction, so is counted twice.
+     *
+     * @return The number of stored edges.
+     */
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+}
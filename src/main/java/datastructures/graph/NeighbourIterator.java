@@ -0,0 +1,59 @@
+package datastructures.graph;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * An iterator over a range of an array of neighbours, used by the graphs which store their
+ * adjacency lists in primitive arrays.
+ */
+class NeighbourIterator implements PrimitiveIterator.OfInt {
+
+    /**
+     * Array holding the neighbours.
+     */
+    private final int[] neighbours;
+
+
+    /**
+     * Index of the next neighbour to return.
+     */
+    private int current;
+
+
+    /**
+     * Index just past the last neighbour.
+     */
+    private final int end;
+
+
+    /**
+     * Create an iterator over part of an array.
+     *
+     * @param neighbours Array holding the neighbours.
+     * @param start Index of the first neighbour.
+     * @param end Index just past the last neighbour.
+     */
+    NeighbourIterator(final int[] neighbours, final int start, final int end) {
+        this.neighbours = neighbours;
+        this.current = start;
+        this.end = end;
+    }
+
+
+    @Override
+    public boolean hasNext() {
+        return current < end;
+    }
+
+
+    @Override
+    public int nextInt() {
+        if (current >= end) {
+            throw new NoSuchElementException();
+        }
+
+        return neighbours[current++];
+    }
+
+}
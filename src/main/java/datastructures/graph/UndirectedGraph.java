@@ -1,7 +1,6 @@
 package datastructures.graph;
 
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.PrimitiveIterator;
 
 /**
  * Undirected graphs using adjacency lists.
@@ -16,9 +15,16 @@ public class UndirectedGraph implements Graph {
 
     /**
      * Array of lists, with each index corresponding to a unique vertex.
-     * At each index, neighbours of the corresponding vertex are held in the list.
+     * At each index, neighbours of the corresponding vertex are held in the list,
+     * which is an array only filled up to the degree of the vertex.
      */
-    private final LinkedList<Integer>[] neighbours;
+    private final int[][] neighbours;
+
+
+    /**
+     * Number of neighbours of each vertex.
+     */
+    private final int[] degrees;
 
 
     /**
@@ -26,15 +32,12 @@ public class UndirectedGraph implements Graph {
      *
      * @param vertexCount The number of vertices contained in the graph.
      */
-    @SuppressWarnings("unchecked")
     public UndirectedGraph(final int vertexCount) {
         this.vertexCount = vertexCount;
 
-        // create and initialise lists
-        neighbours = new LinkedList[vertexCount];
-        for (int i = 0; i < vertexCount; i++) {
-            neighbours[i] = new LinkedList<>();
-        }
+        // lists are created when their vertex gets its first neighbour
+        neighbours = new int[vertexCount][];
+        degrees = new int[vertexCount];
     }
 
 
@@ -44,8 +47,28 @@ public class UndirectedGraph implements Graph {
     @Override
     public void addEdge(final int vertex, final int otherVertex) {
         // add the new neighbour to the adjacency list of each vertex
-        neighbours[vertex].add(otherVertex);
-        neighbours[otherVertex].add(vertex);
+        neighbours[vertex] = DirectedGraph.append(neighbours[vertex], degrees[vertex], otherVertex);
+        degrees[vertex]++;
+        neighbours[otherVertex] = DirectedGraph.append(neighbours[otherVertex], degrees[otherVertex], vertex);
+        degrees[otherVertex]++;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PrimitiveIterator.OfInt adj(final int vertex) {
+        return new NeighbourIterator(neighbours[vertex], 0, degrees[vertex]);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int degree(final int vertex) {
+        return degrees[vertex];
     }
 
 
@@ -53,8 +76,8 @@ public class UndirectedGraph implements Graph {
      * {@inheritDoc}
      */
     @Override
-    public Iterator<Integer> adj(final int vertex) {
-        return neighbours[vertex].iterator();
+    public int neighbour(final int vertex, final int index) {
+        return neighbours[vertex][index];
     }
 
 
@@ -0,0 +1,238 @@
+package datastructures.graph;
+
+import java.util.Arrays;
+
+/**
+ * Immutable weighted graph in compressed sparse row (CSR) form. The weights are held in an array
+ * parallel to the targets of the {@link CSRGraph} it extends, so the weight of the edge to
+ * targets[i] is weights[i], and the edges of each vertex are read from two contiguous ranges of
+ * memory.
+ *
+ * The graph is created using a {@link Builder}, and edges can't be added once it is built.
+ */
+public class WeightedCSRGraph extends CSRGraph implements WeightedGraph {
+
+    /**
+     * Weight of the edge to each target.
+     */
+    private final double[] weights;
+
+
+    /**
+     * Create a graph from arrays already in compressed sparse row form.
+     *
+     * @param offsets Index of the first neighbour of each vertex, followed by the number of targets.
+     * @param targets Neighbours of every vertex, grouped by vertex.
+     * @param weights Weight of the edge to each target.
+     */
+    WeightedCSRGraph(final int[] offsets, final int[] targets, final double[] weights) {
+        super(offsets, targets);
+        this.weights = weights;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double weight(final int vertex, final int index) {
+        return weights[offsets[vertex] + index];
+    }
+
+
+    /**
+     * Create the transpose of the graph, in which every edge is reversed and keeps its weight.
+     * The neighbours of each vertex are in ascending order.
+     *
+     * @return The transposed graph.
+     */
+    @Override
+    public WeightedCSRGraph transpose() {
+        final int[] transposedTargets = new int[targets.length];
+        final double[] transposedWeights = new double[weights.length];
+        final int[] transposedOffsets = transpose(weights, transposedTargets, transposedWeights);
+        return new WeightedCSRGraph(transposedOffsets, transposedTargets, transposedWeights);
+    }
+
+
+    /**
+     * Find the largest weight of any edge in the graph.
+     *
+     * @return The largest edge weight, or zero if the graph has no edges.
+     */
+    public double maxWeight() {
+        double max = 0;
+        for (final double weight : weights) {
+            max = Math.max(max, weight);
+        }
+        return max;
+    }
+
+
+    /**
+     * Find the smallest weight of any edge in the graph.
+     *
+     * @return The smallest edge weight, or zero if the graph has no edges.
+     */
+    public double minWeight() {
+        if (weights.length == 0) {
+            return 0;
+        }
+
+        double min = weights[0];
+        for (final double weight : weights) {
+            min = Math.min(min, weight);
+        }
+        return min;
+    }
+
+
+    /**
+     * Collects the weighted edges of a {@link WeightedCSRGraph}. Edges are held in flat arrays
+     * until the graph is built, when they are grouped by vertex with the same counting sort as
+     * {@link CSRGraph.Builder}, carrying the weights along. The neighbours of each vertex keep the
+     * order their edges were added in.
+     */
+    public static class Builder {
+
+        /**
+         * Default capacity of the edge arrays if no initial size is specified.
+         */
+        private static final int DEFAULT_CAPACITY = 16;
+
+
+        /**
+         * Growth multiplier to calculate new array size when the arrays are full and need to be grown.
+         */
+        private static final float GROWTH_RATE = 2.0f;
+
+
+        /**
+         * The number of vertices in the graph.
+         */
+        private final int vertexCount;
+
+
+        /**
+         * Whether edges are directed, or connect both vertices to each other.
+         */
+        private final boolean directed;
+
+
+        /**
+         * First vertex of each edge added.
+         */
+        private int[] sources;
+
+
+        /**
+         * Second vertex of each edge added.
+         */
+        private int[] destinations;
+
+
+        /**
+         * Weight of each edge added.
+         */
+        private double[] edgeWeights;
+
+
+        /**
+         * Number of edges added.
+         */
+        private int edgeCount = 0;
+
+
+        /**
+         * Create a builder for a graph with a set number of vertices.
+         *
+         * @param vertexCount The number of vertices contained in the graph.
+         * @param directed <CODE>true</CODE> if edges are arcs from their first vertex to their second;
+         *                 <CODE>false</CODE> if edges connect both vertices to each other.
+         */
+        public Builder(final int vertexCount, final boolean directed) {
+            this(vertexCount, directed, DEFAULT_CAPACITY);
+        }
+
+
+        /**
+         * Create a builder for a graph with a set number of vertices, with room for a number of edges.
+         *
+         * @param vertexCount The number of vertices contained in the graph.
+         * @param directed <CODE>true</CODE> if edges are arcs from their first vertex to their second;
+         *                 <CODE>false</CODE> if edges connect both vertices to each other.
+         * @param initialEdgeCapacity The number of edges to allocate room for.
+         */
+        public Builder(final int vertexCount, final boolean directed, final int initialEdgeCapacity) {
+            if (vertexCount < 0) {
+                throw new IllegalArgumentException("Vertex count must not be negative: " + vertexCount);
+            }
+
+            this.vertexCount = vertexCount;
+            this.directed = directed;
+            sources = new int[Math.max(1, initialEdgeCapacity)];
+            destinations = new int[Math.max(1, initialEdgeCapacity)];
+            edgeWeights = new double[Math.max(1, initialEdgeCapacity)];
+        }
+
+
+        /**
+         * Add a weighted edge between the specified vertices.
+         *
+         * @param vertex First vertex in the pair to add an edge between.
+         * @param otherVertex Second vertex in the pair to add an edge between.
+         * @param weight Weight of the edge.
+         * @return This builder.
+         * @throws IllegalArgumentException If either vertex isn't in the graph, or the weight is NaN.
+         */
+        public Builder addEdge(final int vertex, final int otherVertex, final double weight) {
+            checkVertex(vertex);
+            checkVertex(otherVertex);
+            if (Double.isNaN(weight)) {
+                throw new IllegalArgumentException("Weight of edge " + vertex + "-" + otherVertex + " is NaN");
+            }
+
+            if (edgeCount == sources.length) {
+                final int newLength = (int) Math.min(Integer.MAX_VALUE - 8L, (long) (edgeCount * GROWTH_RATE));
+                sources = Arrays.copyOf(sources, newLength);
+                destinations = Arrays.copyOf(destinations, newLength);
+                edgeWeights = Arrays.copyOf(edgeWeights, newLength);
+            }
+
+            sources[edgeCount] = vertex;
+            destinations[edgeCount] = otherVertex;
+            edgeWeights[edgeCount] = weight;
+            edgeCount++;
+            return this;
+        }
+
+
+        /**
+         * Build the graph from the edges added so far.
+         *
+         * @return The compressed graph.
+         */
+        public WeightedCSRGraph build() {
+            final int targetCount = targetCount(edgeCount, directed);
+            final int[] targets = new int[targetCount];
+            final double[] weights = new double[targetCount];
+            final int[] offsets = groupByVertex(vertexCount, directed, edgeCount, sources, destinations, edgeWeights,
+                    targets, weights);
+            return new WeightedCSRGraph(offsets, targets, weights);
+        }
+
+
+        /**
+         * Check that a vertex is in the graph.
+         *
+         * @param vertex The vertex to check.
+         * @throws IllegalArgumentException If the vertex isn't in the graph.
+         */
+        private void checkVertex(final int vertex) {
+            if (vertex < 0 || vertex >= vertexCount) {
+                throw new IllegalArgumentException("Vertex " + vertex + " is not in a graph of " + vertexCount + " vertices");
+            }
+        }
+    }
+
+}
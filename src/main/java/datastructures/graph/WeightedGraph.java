@@ -0,0 +1,19 @@
+package datastructures.graph;
+
+/**
+ * A graph whose edges each carry a weight, such as a length or a cost.
+ * The weight of an edge is found by the same index as its neighbour.
+ */
+public interface WeightedGraph extends Graph {
+
+    /**
+     * Get the weight of an edge from the specified vertex, without creating an iterator or
+     * boxing the weight. Edges are numbered in the same order as {@link #neighbour(int, int)}.
+     *
+     * @param vertex Vertex to get an edge weight of.
+     * @param index Index of the edge, from zero to the degree of the vertex.
+     * @return The weight of the edge to the neighbour at the given index.
+     */
+    double weight(int vertex, int index);
+
+}
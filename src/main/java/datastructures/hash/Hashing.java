@@ -0,0 +1,71 @@
+package datastructures.hash;
+
+/**
+ * 64-bit hash functions shared by the sketches and hash-based maps, which need well-mixed 64-bit
+ * hashes, whereas {@link Object#hashCode()} only provides 32 bits which are often poorly distributed.
+ * Hashes of strings and boxed primitives depend only on their contents, so they are the same from
+ * one run to the next.
+ */
+public final class Hashing {
+
+    private Hashing() { }
+
+
+    /**
+     * Generate a 64-bit hash for the given key. Character sequences are hashed over their
+     * characters, and boxed primitives over their whole bit pattern, so that all 64 bits carry
+     * information and distinct keys only collide by chance. Other keys are derived from their hash
+     * code, so they carry at most 32 bits, and keys with equal hash codes always collide.
+     *
+     * @param key The key to hash.
+     * @return Well-mixed 64-bit hash of the key.
+     */
+    public static long hash64(final Object key) {
+        if (key instanceof CharSequence) {
+            final CharSequence chars = (CharSequence) key;
+
+            // 64-bit FNV-1a over the characters, finalised by the mixer below
+            long hash = 0xCBF29CE484222325L;
+            for (int i = 0; i < chars.length(); i++) {
+                hash ^= chars.charAt(i);
+                hash *= 0x100000001B3L;
+            }
+            return mix64(hash);
+        }
+        if (key instanceof Long) {
+            return mix64((Long) key);
+        }
+        if (key instanceof Integer || key instanceof Short || key instanceof Byte) {
+            return mix64(((Number) key).longValue());
+        }
+        if (key instanceof Double) {
+            // the same bits that Double.equals compares
+            return mix64(Double.doubleToLongBits((Double) key));
+        }
+        if (key instanceof Float) {
+            return mix64(Float.floatToIntBits((Float) key));
+        }
+        if (key instanceof Character) {
+            return mix64((Character) key);
+        }
+
+        return mix64(key.hashCode());
+    }
+
+
+    /**
+     * Finalisation step of MurmurHash3, which spreads every input bit across all output bits.
+     *
+     * @param value The value to mix.
+     * @return The mixed value.
+     */
+    public static long mix64(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+}
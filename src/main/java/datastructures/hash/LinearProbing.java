@@ -0,0 +1,206 @@
+package datastructures.hash;
+
+/**
+ * Probing and deletion for hash tables with linear probing, shared by the tables built on the
+ * layout of {@link datastructures.map.HashMap}: an array of slots, each either free or holding one
+ * entry, where an entry is placed in the first free slot at or after its home slot, wrapping
+ * around the end of the array.
+ *
+ * Tables keyed by objects keep their keys in an array with null marking a free slot, and their
+ * other fields in arrays parallel to it, so they can use the methods taking a key array directly.
+ * Tables with some other layout describe it with a {@link Table} to share the deletion.
+ */
+public final class LinearProbing {
+
+    private LinearProbing() { }
+
+
+    /**
+     * Moves an entry's fields from one slot to another.
+     */
+    public interface Mover {
+
+        /**
+         * Move the entry in one slot into another, leaving the first slot free.
+         *
+         * @param from Slot holding the entry.
+         * @param to Free slot to move the entry into.
+         */
+        void move(int from, int to);
+    }
+
+
+    /**
+     * Describes the slots of a table with its own layout, for {@link #closeGap(Table, int, int)}.
+     */
+    public interface Table extends Mover {
+
+        /**
+         * Query if a slot is free.
+         *
+         * @param slot The slot.
+         * @return <CODE>true</CODE> if the slot holds no entry; <CODE>false</CODE> otherwise.
+         */
+        boolean isFree(int slot);
+
+
+        /**
+         * Get the home slot of the entry in a slot, where probing for it starts.
+         *
+         * @param slot A slot holding an entry.
+         * @return The entry's home slot.
+         */
+        int home(int slot);
+    }
+
+
+    /**
+     * Find the home slot of a key, from its hash code.
+     *
+     * @param key The key.
+     * @param capacity Number of slots in the table.
+     * @return The slot where probing for the key starts.
+     */
+    public static int home(final Object key, final int capacity) {
+        // use a bit mask to change signed bit to 0, resulting in a positive integer.
+        return (key.hashCode() & 0x7FFFFFFF) % capacity;
+    }
+
+
+    /**
+     * Get the slot after the given one, wrapping around the end of the table.
+     *
+     * @param slot The slot.
+     * @param capacity Number of slots in the table.
+     * @return The next slot to probe.
+     */
+    public static int next(final int slot, final int capacity) {
+        return slot + 1 == capacity ? 0 : slot + 1;
+    }
+
+
+    /**
+     * Count the probes taken to get from a home slot to another slot.
+     *
+     * @param home The slot probing started from.
+     * @param slot The slot probing ended at.
+     * @param capacity Number of slots in the table.
+     * @return The number of slots stepped over.
+     */
+    public static int probeLength(final int home, final int slot, final int capacity) {
+        return slot >= home ? slot - home : slot + capacity - home;
+    }
+
+
+    /**
+     * Find the slot holding a key in a table whose free slots are null. The table must have at
+     * least one free slot.
+     *
+     * @param keys Key in each slot.
+     * @param key Key to find.
+     * @param <K> Type of the keys.
+     * @return Slot of the key if found; otherwise the bitwise complement of the free slot where
+     * the key would be inserted.
+     */
+    public static <K> int find(final K[] keys, final K key) {
+        int slot = home(key, keys.length);
+
+        // follow slots until the key or a free slot is found. the table is never full, so this terminates
+        while (keys[slot] != null) {
+            if (keys[slot].equals(key)) {
+                return slot;
+            }
+            slot = next(slot, keys.length);
+        }
+
+        return ~slot;
+    }
+
+
+    /**
+     * Find the slot to place a key which isn't in the table yet, such as when moving keys into a
+     * larger table. Keys aren't compared, as the key is known not to be present.
+     *
+     * @param keys Key in each slot, with null marking a free slot.
+     * @param key Key to place.
+     * @return The first free slot at or after the key's home slot.
+     */
+    public static int freeSlot(final Object[] keys, final Object key) {
+        int slot = home(key, keys.length);
+        while (keys[slot] != null) {
+            slot = next(slot, keys.length);
+        }
+        return slot;
+    }
+
+
+    /**
+     * Fill the gap left by deleting an entry from a table whose free slots are null. The key in
+     * the gap must already be cleared, and its other fields may be left for the mover to overwrite.
+     *
+     * @param keys Key in each slot.
+     * @param gap The slot that was emptied.
+     * @param fields Moves the fields other than the key from one slot to another.
+     */
+    public static void closeGap(final Object[] keys, final int gap, final Mover fields) {
+        closeGap(new Table() {
+            @Override
+            public boolean isFree(final int slot) {
+                return keys[slot] == null;
+            }
+
+            @Override
+            public int home(final int slot) {
+                return LinearProbing.home(keys[slot], keys.length);
+            }
+
+            @Override
+            public void move(final int from, final int to) {
+                keys[to] = keys[from];
+                keys[from] = null;
+                fields.move(from, to);
+            }
+        }, gap, keys.length);
+    }
+
+
+    /**
+     * Fill the gap left by deleting an entry. With linear probing, all consecutive entries after
+     * the gap need to be checked. Any entry placed after its home slot, with the home slot not
+     * between the gap and the entry, is shifted back into the gap, leaving a new gap in its place.
+     * e.g. a key hashed to index 9 but placed at index 10 can be moved back to a gap at index 9.
+     * This keeps every entry reachable from its home slot without leaving markers for deleted
+     * entries.
+     *
+     * @param table The slots of the table.
+     * @param gap The slot that was emptied.
+     * @param capacity Number of slots in the table.
+     */
+    public static void closeGap(final Table table, final int gap, final int capacity) {
+        int gapPosition = gap;
+        for (int current = next(gap, capacity); !table.isFree(current); current = next(current, capacity)) {
+            if (!isCyclicallyBetween(table.home(current), gapPosition, current)) {
+                table.move(current, gapPosition);
+                gapPosition = current;
+            }
+        }
+    }
+
+
+    /**
+     * Check if an index lies after the low index and no further than the high index,
+     * wrapping around the end of the array.
+     *
+     * @param index Index to check.
+     * @param low Exclusive start of the range.
+     * @param high Inclusive end of the range.
+     * @return <CODE>true</CODE> if the index is within the range; <CODE>false</CODE> otherwise.
+     */
+    public static boolean isCyclicallyBetween(final int index, final int low, final int high) {
+        if (low < high) {
+            return low < index && index <= high;
+        }
+        return low < index || index <= high;
+    }
+
+}
@@ -43,6 +43,13 @@ public class BSTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
     private int size = 0;
 
 
+    /**
+     * Holds the statistics about the tree while they are enabled.
+     */
+    private final TreeStatisticsRecorder<Node<Key, Value>> recorder =
+            new TreeStatisticsRecorder<>(node -> node.left, node -> node.right);
+
+
     public BSTreeMap() { }
 
 
@@ -380,4 +387,33 @@ public class BSTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
         return currentNode;
     }
 
+
+    /**
+     * Start collecting statistics about the tree. Until this is called, no statistics are collected.
+     *
+     * @return The statistics, which are updated as the map is used.
+     */
+    public TreeMapStatistics enableStatistics() {
+        return recorder.enable();
+    }
+
+
+    /**
+     * Stop collecting statistics about the tree.
+     */
+    public void disableStatistics() {
+        recorder.disable();
+    }
+
+
+    /**
+     * Get the statistics collected about the tree, measuring the current shape of the tree.
+     * Takes O(N) time for N nodes, as every node is visited to measure the shape.
+     *
+     * @return Optional containing the statistics if they have been enabled.
+     */
+    public Optional<TreeMapStatistics> statistics() {
+        return recorder.measure(root);
+    }
+
 }
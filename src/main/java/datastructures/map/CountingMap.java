@@ -0,0 +1,253 @@
+package datastructures.map;
+
+import datastructures.hash.LinearProbing;
+
+import java.util.Arrays;
+
+/**
+ * Map from keys to counts, implemented as a hash table with linear probing like {@link HashMap}.
+ * Counts are held in a primitive array parallel to the keys, so they are updated in place without
+ * boxing, and incrementing a count takes a single probe sequence rather than a get followed by a put.
+ *
+ * @param <Key> Type of the keys stored in the map which provide a hash code.
+ */
+public class CountingMap<Key> {
+
+    /**
+     * Default capacity of the arrays if no initial size is specified.
+     */
+    private static final int DEFAULT_CAPACITY = 20;
+
+
+    /**
+     * Indicates how full the hash table is allowed to get before it gets resized.
+     */
+    private static final float MAX_LOAD_FACTOR = 0.8f;
+
+
+    /**
+     * Growth multiplier to calculate new array size when the array is full and needs to be grown.
+     */
+    private static final float GROWTH_RATE = 2.0f;
+
+
+    /**
+     * Array of keys accessed using a linear probing strategy. The key at index i will be associated
+     * with the count at index i in the counts array.
+     */
+    private Key[] keys;
+
+
+    /**
+     * Array of counts parallel to the keys array.
+     */
+    private long[] counts;
+
+
+    /**
+     * Current size of the underlying arrays for keys and counts.
+     */
+    private int capacity;
+
+
+    /**
+     * Current number of keys in the hash table.
+     */
+    private int size = 0;
+
+
+    /**
+     * The maximum load allowed for the hash table before having to resize.
+     * Based on the current size of the hash table and the max load factor.
+     */
+    private int currentMaxLoad;
+
+
+    public CountingMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    public CountingMap(final int initialCapacity) {
+        keys = (Key[]) new Object[initialCapacity];
+        counts = new long[initialCapacity];
+        currentMaxLoad = (int) (initialCapacity * MAX_LOAD_FACTOR);
+        capacity = initialCapacity;
+    }
+
+
+    /**
+     * Add one to the count of the given key.
+     *
+     * @param key Key to count.
+     * @return The new count of the key.
+     */
+    public long increment(final Key key) {
+        return increment(key, 1);
+    }
+
+
+    /**
+     * Add the given amount to the count of the key, adding the key to the map if it isn't present.
+     *
+     * @param key Key to count.
+     * @param delta Amount to add to the count, which may be negative.
+     * @return The new count of the key.
+     */
+    public long increment(final Key key, final long delta) {
+
+        // grow the map if we will exceed the maximum acceptable load
+        if (size == currentMaxLoad) {
+            grow();
+        }
+
+        // follow items from the key's home slot until either the key or a free space is found
+        final int slot = LinearProbing.find(keys, key);
+
+        // update the count in place if the key is already in the map
+        if (slot >= 0) {
+            counts[slot] += delta;
+            return counts[slot];
+        }
+
+        // the key is new, so its count starts from zero
+        keys[~slot] = key;
+        counts[~slot] = delta;
+
+        size++;
+        return delta;
+    }
+
+
+    /**
+     * Set the count of the given key.
+     *
+     * @param key Key to set the count of.
+     * @param count The new count of the key.
+     */
+    public void put(final Key key, final long count) {
+        final int index = find(key);
+
+        if (index >= 0) {
+            counts[index] = count;
+        } else {
+            increment(key, count);
+        }
+    }
+
+
+    /**
+     * Grows the map, allowing more keys to be stored.
+     */
+    @SuppressWarnings("unchecked")
+    private void grow() {
+        final int newCapacity = (int) (capacity * GROWTH_RATE);
+
+        final Key[] newKeys = (Key[]) new Object[newCapacity];
+        final long[] newCounts = new long[newCapacity];
+
+        // go through old arrays and reinsert items into the new larger arrays
+        for (int i = 0; i < capacity; i++) {
+
+            final Key currentKey = keys[i];
+
+            if (currentKey == null) {
+                continue;
+            }
+
+            // follow items from the key's home slot until there is a free space to insert
+            final int insertionPoint = LinearProbing.freeSlot(newKeys, currentKey);
+
+            newKeys[insertionPoint] = currentKey;
+            newCounts[insertionPoint] = counts[i];
+        }
+
+        keys = newKeys;
+        counts = newCounts;
+
+        capacity = newCapacity;
+        currentMaxLoad = (int) (newCapacity * MAX_LOAD_FACTOR);
+    }
+
+
+    /**
+     * Get the count of the given key.
+     *
+     * @param key Key to find in the map.
+     * @return The count of the key, or zero if the key isn't in the map.
+     */
+    public long count(final Key key) {
+        final int index = find(key);
+        return index >= 0 ? counts[index] : 0;
+    }
+
+
+    /**
+     * Remove the key and its count from the map.
+     *
+     * @param key Key to find in the map.
+     */
+    public void delete(final Key key) {
+
+        final int keyIndex = find(key);
+
+        // if key is not in the map there is nothing to delete
+        if (keyIndex < 0) {
+            return;
+        }
+
+        keys[keyIndex] = null;
+        counts[keyIndex] = 0;
+        size--;
+
+        // shift back any entries that probed past the deleted key, as in HashMap
+        LinearProbing.closeGap(keys, keyIndex, (from, to) -> {
+            counts[to] = counts[from];
+            counts[from] = 0;
+        });
+    }
+
+
+    /**
+     * Check if the given key is contained in the map.
+     *
+     * @param key Key to find in the map.
+     * @return <CODE>true</CODE> if the key is present; <CODE>false</CODE> otherwise.
+     */
+    public boolean contains(final Key key) {
+        return find(key) >= 0;
+    }
+
+
+    /**
+     * Counts the number of keys stored in the map.
+     *
+     * @return The number of keys in the map.
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Remove all keys and counts from the map, keeping the current capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(counts, 0);
+        size = 0;
+    }
+
+
+    /**
+     * Find the index of the key in the map's underlying array.
+     *
+     * @param key Key to find in the map.
+     * @return The index of the key, or -1 if the key isn't in the map.
+     */
+    private int find(final Key key) {
+        // the table is never full, so a free slot will always end the search
+        return Math.max(LinearProbing.find(keys, key), -1);
+    }
+
+}
@@ -1,5 +1,7 @@
 package datastructures.map;
 
+import datastructures.hash.LinearProbing;
+
 import java.util.Optional;
 
 /**
@@ -60,6 +62,12 @@ public class HashMap<Key, Value> implements Map<Key, Value> {
     private int currentMaxLoad;
 
 
+    /**
+     * Statistics about the hash table, or null if statistics haven't been enabled.
+     */
+    private HashMapStatistics statistics;
+
+
     public HashMap() {
         this(DEFAULT_CAPACITY);
     }
@@ -84,38 +92,66 @@ public class HashMap<Key, Value> implements Map<Key, Value> {
             grow();
         }
 
-        int insertionPoint = hash(key) % capacity;
-        Key currentKey = keys[insertionPoint];
-
-        // follow items from insertion point until either:
+        // follow items from the key's home slot until either:
         // 1. there is a free space to insert (i.e. we are adding a completely new key and value)
         // 2. the key is found (i.e. we just want to change the associated value)
-        while (currentKey != null) {
+        final int slot = LinearProbing.find(keys, key);
 
-            // terminate early if we've just updating a value in the map
-            if (currentKey.equals(key)) {
-                values[insertionPoint] = value;
-                return;
-            }
+        if (statistics != null) {
+            statistics.recordProbe(LinearProbing.probeLength(LinearProbing.home(key, capacity),
+                    slot >= 0 ? slot : ~slot, capacity));
+        }
 
-            insertionPoint = (insertionPoint + 1) % capacity;
-            currentKey = keys[insertionPoint];
+        // terminate early if we're just updating a value in the map
+        if (slot >= 0) {
+            values[slot] = value;
+            return;
         }
 
         // add the new key-value pair to the map
-        keys[insertionPoint] = key;
-        values[insertionPoint] = value;
+        keys[~slot] = key;
+        values[~slot] = value;
 
         size++;
+
+        if (statistics != null) {
+            statistics.size = size;
+        }
     }
 
     /**
      * Grows the map, allowing more key-value pairs to be stored, or can be used to
      * reduce the load (leading to faster insertions and lookups).
      */
-    @SuppressWarnings("unchecked")
     private void grow() {
-        final int newCapacity = (int) (capacity * GROWTH_RATE);
+        if (statistics == null) {
+            resize((int) (capacity * GROWTH_RATE));
+            return;
+        }
+
+        // time the grow, also reporting it to the flight recorder if enabled
+        final HashMapStatistics.GrowEvent event = new HashMapStatistics.GrowEvent();
+        event.oldCapacity = capacity;
+        event.size = size;
+        event.begin();
+
+        final long start = System.nanoTime();
+        resize((int) (capacity * GROWTH_RATE));
+        statistics.growNanos += System.nanoTime() - start;
+        statistics.growCount++;
+        statistics.capacity = capacity;
+
+        event.newCapacity = capacity;
+        event.commit();
+    }
+
+    /**
+     * Move all key-value pairs into arrays of the given size.
+     *
+     * @param newCapacity New size of the underlying arrays.
+     */
+    @SuppressWarnings("unchecked")
+    private void resize(final int newCapacity) {
 
         final Key[] newKeys = (Key[]) new Object[newCapacity];
         final Value[] newValues = (Value[]) new Object[newCapacity];
@@ -129,12 +165,8 @@ public class HashMap<Key, Value> implements Map<Key, Value> {
                 continue;
             }
 
-            int insertionPoint = hash(currentKey) % newCapacity;
-
-            // follow items from insertion point until there is a free space to insert
-            while (newKeys[insertionPoint] != null) {
-                insertionPoint = (insertionPoint + 1) % newCapacity;
-            }
+            // follow items from the key's home slot until there is a free space to insert
+            final int insertionPoint = LinearProbing.freeSlot(newKeys, currentKey);
 
             // insert the key-value pair into their new position in the larger arrays
             newKeys[insertionPoint] = currentKey;
@@ -186,30 +218,15 @@ public class HashMap<Key, Value> implements Map<Key, Value> {
         values[keyIndex] = null;
         size--;
 
-        // with linear probing, all consecutive non-null entries after the deleted key and value
-        // need to be shifted back one position their arrays, as long as they have been placed
-        // after their initial hashed index e.g. a key hashed to index 9 but placed at index 10 can be moved back
-
-        int lastPosition = keyIndex;
-        int currentPosition = (lastPosition + 1) % capacity;
-        Key currentKey = keys[currentPosition];
-
-        while (currentKey != null
-                && currentPosition != keyIndex
-                && (hash(currentKey) % capacity) < currentPosition) {
-
-            // shift back one position
-            keys[lastPosition] = currentKey;
-            keys[currentPosition] = null;
-
-            values[lastPosition] = values[currentPosition];
-            values[currentPosition] = null;
-
-
-            lastPosition = currentPosition;
-            currentPosition = (currentPosition + 1) % capacity;
-            currentKey = keys[currentPosition];
+        if (statistics != null) {
+            statistics.size = size;
         }
+
+        // shift back any entries that probed past the deleted key, so none is cut off from its home slot
+        LinearProbing.closeGap(keys, keyIndex, (from, to) -> {
+            values[to] = values[from];
+            values[from] = null;
+        });
     }
 
 
@@ -232,46 +249,54 @@ public class HashMap<Key, Value> implements Map<Key, Value> {
 
 
     /**
-     * Find the index of the key in the map's underlying array.
+     * Start collecting statistics about the hash table. Until this is called, no statistics are collected.
      *
-     * @param key Key to find in the map.
-     * @return Optional containing the index of the key if it is contained in the map.
+     * @return The statistics, which are updated as the map is used.
      */
-    private Optional<Integer> find(final Key key) {
-
-        final int hashPoint = hash(key) % capacity;
-
-        int insertionPoint = hashPoint;
-        Key currentKey = keys[insertionPoint];
-
-        // search through the array until either:
-        // 1. we find a null value. (i.e. we would've have seen the key by now if it was present)
-        // 2. we reach the initial position again (i.e. we've checked the whole array)
-        do {
+    public HashMapStatistics enableStatistics() {
+        if (statistics == null) {
+            statistics = new HashMapStatistics(size, capacity);
+        }
+        return statistics;
+    }
 
-            if (key.equals(currentKey)) {
-                return Optional.of(insertionPoint);
-            }
 
-            insertionPoint = (insertionPoint + 1) % capacity;
-            currentKey = keys[insertionPoint];
+    /**
+     * Stop collecting statistics about the hash table.
+     */
+    public void disableStatistics() {
+        statistics = null;
+    }
 
-        } while (currentKey != null && insertionPoint != hashPoint);
 
-        return Optional.empty();
+    /**
+     * Get the statistics collected about the hash table.
+     *
+     * @return Optional containing the statistics if they have been enabled.
+     */
+    public Optional<HashMapStatistics> statistics() {
+        return Optional.ofNullable(statistics);
     }
 
 
     /**
-     * Generate a positive number from a key's hash code.
+     * Find the index of the key in the map's underlying array.
      *
-     * @param key The key to compute the hash code from.
-     * @param <T> Type of the key.
-     * @return Positive number generated from the key's hash code.
+     * @param key Key to find in the map.
+     * @return Optional containing the index of the key if it is contained in the map.
      */
-    private static <T> int hash(final T key) {
-        // use a bit mask to change signed bit to 0, resulting in a positive integer.
-        return key.hashCode() & 0x7FFFFFFF;
+    private Optional<Integer> find(final Key key) {
+
+        // search through the array until we find the key or a null value, since we would've seen
+        // the key by now if it was present. the table is never full, so there is always a null value
+        final int slot = LinearProbing.find(keys, key);
+
+        if (statistics != null) {
+            statistics.recordProbe(LinearProbing.probeLength(LinearProbing.home(key, capacity),
+                    slot >= 0 ? slot : ~slot, capacity));
+        }
+
+        return slot >= 0 ? Optional.of(slot) : Optional.empty();
     }
 
 }
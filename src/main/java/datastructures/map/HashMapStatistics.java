@@ -0,0 +1,234 @@
+package datastructures.map;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import java.util.Arrays;
+
+/**
+ * Statistics for a {@link HashMap}: how far lookups and insertions probe past the hashed index,
+ * how full the table is, and how often and for how long the table has been grown.
+ */
+public class HashMapStatistics implements MapStatistics {
+
+    /**
+     * Probe lengths of this many slots or more are counted in the last bucket of the histogram.
+     */
+    public static final int MAX_PROBE_LENGTH = 32;
+
+
+    /**
+     * Histogram of probe lengths, where index i counts operations that examined i slots
+     * after the hashed index before finding the key or a free slot.
+     */
+    final long[] probeLengths = new long[MAX_PROBE_LENGTH + 1];
+
+
+    /**
+     * Number of times the table has been grown.
+     */
+    long growCount;
+
+
+    /**
+     * Total time spent growing the table, in nanoseconds.
+     */
+    long growNanos;
+
+
+    /**
+     * Number of key-value pairs in the map when last updated.
+     */
+    int size;
+
+
+    /**
+     * Size of the underlying arrays when last updated.
+     */
+    int capacity;
+
+
+    HashMapStatistics(final int size, final int capacity) {
+        this.size = size;
+        this.capacity = capacity;
+    }
+
+
+    /**
+     * Record the length of a single probe sequence.
+     *
+     * @param length Number of slots examined after the hashed index.
+     */
+    void recordProbe(final int length) {
+        probeLengths[Math.min(length, MAX_PROBE_LENGTH)]++;
+    }
+
+
+    /**
+     * Get the number of operations which examined the given number of slots after the hashed index.
+     *
+     * @param length Probe length, where the last length also includes all longer probes.
+     * @return The number of operations with the given probe length.
+     */
+    public long probeLengthCount(final int length) {
+        return probeLengths[length];
+    }
+
+
+    /**
+     * Get a copy of the probe length histogram.
+     *
+     * @return Array where index i counts the operations with probe length i.
+     */
+    public long[] probeLengthHistogram() {
+        return Arrays.copyOf(probeLengths, probeLengths.length);
+    }
+
+
+    /**
+     * Get the mean probe length across all recorded operations.
+     *
+     * @return The mean probe length, or zero if no operations were recorded.
+     */
+    public double meanProbeLength() {
+        long operations = 0;
+        long totalLength = 0;
+        for (int i = 0; i < probeLengths.length; i++) {
+            operations += probeLengths[i];
+            totalLength += i * probeLengths[i];
+        }
+        return operations == 0 ? 0 : (double) totalLength / operations;
+    }
+
+
+    /**
+     * Get the proportion of slots in the table which are occupied.
+     *
+     * @return The current load factor.
+     */
+    public float loadFactor() {
+        return (float) size / capacity;
+    }
+
+
+    /**
+     * Get the number of times the table has been grown.
+     *
+     * @return The number of grow operations.
+     */
+    public long growCount() {
+        return growCount;
+    }
+
+
+    /**
+     * Get the total time spent growing the table.
+     *
+     * @return Time spent growing, in nanoseconds.
+     */
+    public long growNanos() {
+        return growNanos;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        Arrays.fill(probeLengths, 0);
+        growCount = 0;
+        growNanos = 0;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void commit() {
+        final SnapshotEvent event = new SnapshotEvent();
+        if (event.shouldCommit()) {
+            event.size = size;
+            event.capacity = capacity;
+            event.loadFactor = loadFactor();
+            event.meanProbeLength = meanProbeLength();
+            event.maxProbeLength = maxProbeLength();
+            event.growCount = growCount;
+            event.growNanos = growNanos;
+            event.commit();
+        }
+    }
+
+
+    /**
+     * Find the longest probe length recorded so far.
+     *
+     * @return The longest probe length, capped at {@link #MAX_PROBE_LENGTH}.
+     */
+    private int maxProbeLength() {
+        for (int i = MAX_PROBE_LENGTH; i > 0; i--) {
+            if (probeLengths[i] != 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+
+    /**
+     * Flight recorder event emitted each time the table is grown, with the duration of the grow.
+     */
+    @Name("datastructures.map.HashMapGrow")
+    @Label("Hash Map Grow")
+    @Category({"Data Structures", "Map"})
+    @Description("Resize of a hash map's underlying arrays")
+    static class GrowEvent extends Event {
+
+        @Label("Old Capacity")
+        int oldCapacity;
+
+        @Label("New Capacity")
+        int newCapacity;
+
+        @Label("Size")
+        int size;
+    }
+
+
+    /**
+     * Flight recorder event holding a snapshot of the statistics.
+     */
+    @Name("datastructures.map.HashMapStatistics")
+    @Label("Hash Map Statistics")
+    @Category({"Data Structures", "Map"})
+    static class SnapshotEvent extends Event {
+
+        @Label("Size")
+        int size;
+
+        @Label("Capacity")
+        int capacity;
+
+        @Label("Load Factor")
+        float loadFactor;
+
+        @Label("Mean Probe Length")
+        double meanProbeLength;
+
+        @Label("Max Probe Length")
+        int maxProbeLength;
+
+        @Label("Grow Count")
+        long growCount;
+
+        @Label("Grow Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long growNanos;
+    }
+
+}
@@ -0,0 +1,21 @@
+package datastructures.map;
+
+/**
+ * Statistics collected by a map about its internal structure, to help diagnose slow operations.
+ * Collection is opt-in: maps only pay for updating the counters once statistics have been enabled.
+ */
+public interface MapStatistics {
+
+    /**
+     * Clear all counters collected so far.
+     */
+    void reset();
+
+
+    /**
+     * Record a snapshot of the current counters as a Java Flight Recorder event.
+     * Does nothing if the event is not enabled in a running recording.
+     */
+    void commit();
+
+}
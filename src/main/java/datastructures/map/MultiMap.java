@@ -0,0 +1,369 @@
+package datastructures.map;
+
+import datastructures.hash.LinearProbing;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Map associating each key with any number of values, implemented as a hash table with linear
+ * probing like {@link HashMap}. Instead of holding a separate collection object per key, the values
+ * of all keys are packed into shared arrays of entries. The entries of each key form a chain
+ * through these arrays, so adding a value needs no allocation once the arrays are large enough.
+ *
+ * @param <Key> Type of the keys stored in the map which provide a hash code.
+ * @param <Value> Type of the values stored in the map.
+ */
+public class MultiMap<Key, Value> {
+
+    /**
+     * Default capacity of the arrays if no initial size is specified.
+     */
+    private static final int DEFAULT_CAPACITY = 20;
+
+
+    /**
+     * Indicates how full the hash table is allowed to get before it gets resized.
+     */
+    private static final float MAX_LOAD_FACTOR = 0.8f;
+
+
+    /**
+     * Growth multiplier to calculate new array size when the array is full and needs to be grown.
+     */
+    private static final float GROWTH_RATE = 2.0f;
+
+
+    /**
+     * Marks the end of a chain of entries.
+     */
+    private static final int NONE = -1;
+
+
+    /**
+     * Array of keys accessed using a linear probing strategy. The key at index i has its chain
+     * of values described at index i of the heads, tails and valueCounts arrays.
+     */
+    private Key[] keys;
+
+
+    /**
+     * Index of the first entry holding a value of each key.
+     */
+    private int[] heads;
+
+
+    /**
+     * Index of the last entry holding a value of each key, so values can be appended in order.
+     */
+    private int[] tails;
+
+
+    /**
+     * Number of values associated with each key.
+     */
+    private int[] valueCounts;
+
+
+    /**
+     * Values of all keys. Each entry holds one value.
+     */
+    private Value[] entryValues;
+
+
+    /**
+     * Index of the next entry in the same chain as each entry, or {@link #NONE} at the end of a chain.
+     * Unused entries are also chained together, to be reused before new entries are taken.
+     */
+    private int[] nextEntries;
+
+
+    /**
+     * Number of entries that have ever been used, free or not.
+     */
+    private int entryCount = 0;
+
+
+    /**
+     * Index of the first unused entry freed by a deletion, or {@link #NONE} if there are none.
+     */
+    private int freeEntry = NONE;
+
+
+    /**
+     * Current size of the underlying arrays for keys.
+     */
+    private int capacity;
+
+
+    /**
+     * Current number of keys in the hash table.
+     */
+    private int size = 0;
+
+
+    /**
+     * Current number of values across all keys.
+     */
+    private int valueCount = 0;
+
+
+    /**
+     * The maximum load allowed for the hash table before having to resize.
+     * Based on the current size of the hash table and the max load factor.
+     */
+    private int currentMaxLoad;
+
+
+    public MultiMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    public MultiMap(final int initialCapacity) {
+        keys = (Key[]) new Object[initialCapacity];
+        heads = new int[initialCapacity];
+        tails = new int[initialCapacity];
+        valueCounts = new int[initialCapacity];
+        entryValues = (Value[]) new Object[initialCapacity];
+        nextEntries = new int[initialCapacity];
+        currentMaxLoad = (int) (initialCapacity * MAX_LOAD_FACTOR);
+        capacity = initialCapacity;
+    }
+
+
+    /**
+     * Associate the given value with the key, in addition to any values already associated with it.
+     *
+     * @param key Key to associate the value with.
+     * @param value Value to add to the key's values.
+     */
+    public void put(final Key key, final Value value) {
+
+        // grow the map if we will exceed the maximum acceptable load
+        if (size == currentMaxLoad) {
+            grow();
+        }
+
+        // follow items from the key's home slot until either the key or a free space is found
+        final int slot = LinearProbing.find(keys, key);
+        final int insertionPoint = slot >= 0 ? slot : ~slot;
+
+        final int entry = allocateEntry(value);
+
+        if (slot < 0) {
+            // a new key, starting a new chain
+            keys[insertionPoint] = key;
+            heads[insertionPoint] = entry;
+            valueCounts[insertionPoint] = 0;
+            size++;
+        } else {
+            // append to the end of the key's chain
+            nextEntries[tails[insertionPoint]] = entry;
+        }
+
+        tails[insertionPoint] = entry;
+        valueCounts[insertionPoint]++;
+        valueCount++;
+    }
+
+
+    /**
+     * Take an unused entry to hold the given value, reusing freed entries first.
+     *
+     * @param value Value to store in the entry.
+     * @return Index of the entry.
+     */
+    private int allocateEntry(final Value value) {
+        final int entry;
+
+        if (freeEntry != NONE) {
+            entry = freeEntry;
+            freeEntry = nextEntries[entry];
+        } else {
+            if (entryCount == entryValues.length) {
+                final int newLength = (int) (entryValues.length * GROWTH_RATE) + 1;
+                entryValues = Arrays.copyOf(entryValues, newLength);
+                nextEntries = Arrays.copyOf(nextEntries, newLength);
+            }
+            entry = entryCount++;
+        }
+
+        entryValues[entry] = value;
+        nextEntries[entry] = NONE;
+        return entry;
+    }
+
+
+    /**
+     * Grows the map, allowing more keys to be stored. Entries don't move, so only the keys and
+     * the descriptions of their chains are copied.
+     */
+    @SuppressWarnings("unchecked")
+    private void grow() {
+        final int newCapacity = (int) (capacity * GROWTH_RATE);
+
+        final Key[] newKeys = (Key[]) new Object[newCapacity];
+        final int[] newHeads = new int[newCapacity];
+        final int[] newTails = new int[newCapacity];
+        final int[] newValueCounts = new int[newCapacity];
+
+        // go through old arrays and reinsert items into the new larger arrays
+        for (int i = 0; i < capacity; i++) {
+
+            final Key currentKey = keys[i];
+
+            if (currentKey == null) {
+                continue;
+            }
+
+            // follow items from the key's home slot until there is a free space to insert
+            final int insertionPoint = LinearProbing.freeSlot(newKeys, currentKey);
+
+            newKeys[insertionPoint] = currentKey;
+            newHeads[insertionPoint] = heads[i];
+            newTails[insertionPoint] = tails[i];
+            newValueCounts[insertionPoint] = valueCounts[i];
+        }
+
+        keys = newKeys;
+        heads = newHeads;
+        tails = newTails;
+        valueCounts = newValueCounts;
+
+        capacity = newCapacity;
+        currentMaxLoad = (int) (newCapacity * MAX_LOAD_FACTOR);
+    }
+
+
+    /**
+     * Get the values associated with the given key, in the order they were added.
+     *
+     * @param key Key to find in the map.
+     * @return Iterator over the values of the key, which is empty if the key isn't in the map.
+     */
+    public Iterator<Value> get(final Key key) {
+        final int index = find(key);
+        return new ChainIterator(index >= 0 ? heads[index] : NONE);
+    }
+
+
+    /**
+     * Count the number of values associated with the given key.
+     *
+     * @param key Key to find in the map.
+     * @return The number of values of the key, or zero if the key isn't in the map.
+     */
+    public int count(final Key key) {
+        final int index = find(key);
+        return index >= 0 ? valueCounts[index] : 0;
+    }
+
+
+    /**
+     * Remove the key and all of its associated values from the map.
+     *
+     * @param key Key to find in the map.
+     */
+    public void delete(final Key key) {
+
+        final int keyIndex = find(key);
+
+        // if key is not in the map there is nothing to delete
+        if (keyIndex < 0) {
+            return;
+        }
+
+        // release the key's entries by joining its whole chain on to the front of the free chain
+        for (int entry = heads[keyIndex]; entry != NONE; entry = nextEntries[entry]) {
+            entryValues[entry] = null;
+        }
+        nextEntries[tails[keyIndex]] = freeEntry;
+        freeEntry = heads[keyIndex];
+
+        valueCount -= valueCounts[keyIndex];
+        keys[keyIndex] = null;
+        size--;
+
+        // shift back any entries that probed past the deleted key, as in HashMap
+        LinearProbing.closeGap(keys, keyIndex, (from, to) -> {
+            heads[to] = heads[from];
+            tails[to] = tails[from];
+            valueCounts[to] = valueCounts[from];
+        });
+    }
+
+
+    /**
+     * Check if the given key is contained in the map (i.e. it has at least one associated value).
+     *
+     * @param key Key to find in the map.
+     * @return <CODE>true</CODE> if the key is present; <CODE>false</CODE> otherwise.
+     */
+    public boolean contains(final Key key) {
+        return find(key) >= 0;
+    }
+
+
+    /**
+     * Counts the number of keys stored in the map.
+     *
+     * @return The number of keys in the map.
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Counts the number of values stored in the map, across all keys.
+     *
+     * @return The number of values in the map.
+     */
+    public int valueCount() {
+        return valueCount;
+    }
+
+
+    /**
+     * Find the index of the key in the map's underlying array.
+     *
+     * @param key Key to find in the map.
+     * @return The index of the key, or -1 if the key isn't in the map.
+     */
+    private int find(final Key key) {
+        // the table is never full, so a free slot will always end the search
+        return Math.max(LinearProbing.find(keys, key), -1);
+    }
+
+
+    /**
+     * An iterator that follows a chain of entries.
+     */
+    private class ChainIterator implements Iterator<Value> {
+
+        int currentEntry;
+
+        ChainIterator(final int firstEntry) {
+            currentEntry = firstEntry;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return currentEntry != NONE;
+        }
+
+        @Override
+        public Value next() {
+            if (currentEntry == NONE) {
+                throw new NoSuchElementException();
+            }
+
+            final Value value = entryValues[currentEntry];
+            currentEntry = nextEntries[currentEntry];
+            return value;
+        }
+    }
+
+}
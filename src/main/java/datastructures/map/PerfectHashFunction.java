@@ -0,0 +1,535 @@
+package datastructures.map;
+
+import datastructures.hash.Hashing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Minimal perfect hash function, mapping each of a fixed set of N key hashes to a distinct index
+ * from 0 to N - 1 with no collisions, so a table lookup needs exactly one probe.
+ *
+ * Keys are first split into small buckets by their hash. Each bucket is then assigned a number
+ * (its pilot) chosen so that the keys of the bucket, rehashed together with the pilot, land on
+ * slots not taken by any earlier bucket. Buckets are placed from largest to smallest, as large
+ * buckets are the hardest to place, and most keys are deliberately hashed into a minority of the
+ * buckets so that those buckets are placed while the table is still mostly empty.
+ *
+ * The table has slightly more slots than keys, so that even the last buckets find free slots
+ * quickly. Keys placed in the slots beyond N are then moved to the slots below N left free,
+ * which is recorded in a small remapping table.
+ *
+ * Only the pilots and the remapping table are stored. Almost all pilots are small, so each is held
+ * in a single byte, and the few larger pilots are kept in a separate sorted table. In total this
+ * takes a little over three bits per key.
+ *
+ * The pilots can be saved to a file, and loaded by memory-mapping the file so that a large
+ * function is usable immediately without being rebuilt.
+ */
+public class PerfectHashFunction {
+
+    /**
+     * Identifies a file holding a perfect hash function.
+     */
+    private static final int MAGIC = 0x4D504846;
+
+
+    /**
+     * Version of the file format.
+     */
+    private static final int VERSION = 1;
+
+
+    /**
+     * Size of the file header: magic, version, seed, key count, table size, bucket count and large pilot count.
+     */
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4 + 4 + 4;
+
+
+    /**
+     * Average number of keys per bucket. Larger buckets need fewer pilots, but more of those pilots are large.
+     */
+    private static final double AVERAGE_BUCKET_SIZE = 3.5;
+
+
+    /**
+     * Proportion of the keys hashed into the dense buckets.
+     */
+    private static final double DENSE_KEYS = 0.6;
+
+
+    /**
+     * Proportion of the buckets which are dense.
+     */
+    private static final double DENSE_BUCKETS = 0.3;
+
+
+    /**
+     * Number of keys per slot of the table the buckets are placed in.
+     */
+    private static final double LOAD_FACTOR = 0.99;
+
+
+    /**
+     * Byte stored in place of a pilot too large to fit in a byte, which is instead found in the table of large pilots.
+     */
+    private static final int LARGE_PILOT = 0xFF;
+
+
+    /**
+     * Number of seeds to try before giving up on building a function.
+     */
+    private static final int MAX_SEEDS = 32;
+
+
+    /**
+     * Seed mixed into every hash, chosen during construction.
+     */
+    private final long seed;
+
+
+    /**
+     * Number of keys the function was built for, which is also the number of distinct indices.
+     */
+    private final int keyCount;
+
+
+    /**
+     * Number of slots in the table the buckets are placed in, which is at least the number of keys.
+     */
+    private final int tableSize;
+
+
+    /**
+     * Number of buckets the keys are split into.
+     */
+    private final int bucketCount;
+
+
+    /**
+     * The pilot of each bucket, or {@link #LARGE_PILOT} if the pilot is held in the table of large pilots.
+     * Like the other buffers, either held on the heap, or memory-mapped from a file.
+     */
+    private final ByteBuffer pilots;
+
+
+    /**
+     * Indices of the buckets with large pilots, in ascending order.
+     */
+    private final IntBuffer largePilotBuckets;
+
+
+    /**
+     * The large pilots, parallel to the bucket indices.
+     */
+    private final IntBuffer largePilots;
+
+
+    /**
+     * Index below N to use for each slot from N onwards.
+     */
+    private final IntBuffer remap;
+
+
+    private PerfectHashFunction(final long seed, final int keyCount, final int tableSize, final int bucketCount,
+                                final ByteBuffer pilots, final IntBuffer largePilotBuckets, final IntBuffer largePilots,
+                                final IntBuffer remap) {
+        this.seed = seed;
+        this.keyCount = keyCount;
+        this.tableSize = tableSize;
+        this.bucketCount = bucketCount;
+        this.pilots = pilots;
+        this.largePilotBuckets = largePilotBuckets;
+        this.largePilots = largePilots;
+        this.remap = remap;
+    }
+
+
+    /**
+     * Build a minimal perfect hash function for the given key hashes.
+     *
+     * @param keyHashes Distinct 64-bit hashes of the keys.
+     * @return A function mapping each of the hashes to a distinct index.
+     * @throws IllegalArgumentException If the hashes are not distinct.
+     */
+    public static PerfectHashFunction build(final long[] keyHashes) {
+        final long[] sorted = keyHashes.clone();
+        Arrays.sort(sorted);
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                throw new IllegalArgumentException("Key hashes must be distinct: " + sorted[i]);
+            }
+        }
+
+        // placing the last buckets can occasionally fail, in which case a different seed is tried
+        for (int attempt = 0; attempt < MAX_SEEDS; attempt++) {
+            final long seed = Hashing.mix64(0x9E3779B97F4A7C15L * (attempt + 1));
+            final PerfectHashFunction function = build(keyHashes, seed);
+            if (function != null) {
+                return function;
+            }
+        }
+
+        throw new IllegalStateException("Failed to build a perfect hash function for " + keyHashes.length + " keys");
+    }
+
+
+    /**
+     * Try to build a minimal perfect hash function using the given seed.
+     *
+     * @param keyHashes Distinct 64-bit hashes of the keys.
+     * @param seed Seed to mix into every hash.
+     * @return The function, or null if some bucket couldn't be placed.
+     */
+    private static PerfectHashFunction build(final long[] keyHashes, final long seed) {
+        final int keyCount = keyHashes.length;
+        final int tableSize = Math.max(keyCount, (int) Math.ceil(keyCount / LOAD_FACTOR));
+        final int bucketCount = Math.max(2, (int) Math.ceil(keyCount / AVERAGE_BUCKET_SIZE));
+
+        // group the keys by bucket using a counting sort
+        final int[] bucketStarts = new int[bucketCount + 1];
+        for (final long hash : keyHashes) {
+            bucketStarts[bucket(hash, seed, bucketCount) + 1]++;
+        }
+
+        int maxBucketSize = 0;
+        for (int b = 0; b < bucketCount; b++) {
+            maxBucketSize = Math.max(maxBucketSize, bucketStarts[b + 1]);
+            bucketStarts[b + 1] += bucketStarts[b];
+        }
+
+        final long[] bucketedHashes = new long[keyCount];
+        final int[] fill = Arrays.copyOf(bucketStarts, bucketCount);
+        for (final long hash : keyHashes) {
+            bucketedHashes[fill[bucket(hash, seed, bucketCount)]++] = hash;
+        }
+
+        // order buckets from largest to smallest, again using a counting sort
+        final int[] sizeStarts = new int[maxBucketSize + 2];
+        for (int b = 0; b < bucketCount; b++) {
+            sizeStarts[maxBucketSize - bucketSize(bucketStarts, b) + 1]++;
+        }
+        for (int s = 1; s < sizeStarts.length; s++) {
+            sizeStarts[s] += sizeStarts[s - 1];
+        }
+        final int[] bucketOrder = new int[bucketCount];
+        for (int b = 0; b < bucketCount; b++) {
+            bucketOrder[sizeStarts[maxBucketSize - bucketSize(bucketStarts, b)]++] = b;
+        }
+
+        // the final buckets have few free indices left, so may need many pilots to be tried
+        final long maxPilot = Math.min(Integer.MAX_VALUE, Math.max(1L << 20, 64L * keyCount));
+
+        final boolean[] taken = new boolean[tableSize];
+        final int[] positions = new int[maxBucketSize];
+        final int[] pilots = new int[bucketCount];
+
+        for (final int b : bucketOrder) {
+            final int start = bucketStarts[b];
+            final int size = bucketSize(bucketStarts, b);
+
+            if (size == 0) {
+                break; // the remaining buckets are empty too
+            }
+
+            boolean placed = false;
+            for (int pilot = 0; pilot < maxPilot && !placed; pilot++) {
+                final long pilotHash = Hashing.mix64(pilot ^ seed);
+
+                // try to take an index for every key, undoing the attempt if any index is taken
+                int i = 0;
+                while (i < size) {
+                    final int position = position(bucketedHashes[start + i], pilotHash, tableSize);
+                    if (taken[position]) {
+                        break;
+                    }
+                    taken[position] = true;
+                    positions[i] = position;
+                    i++;
+                }
+
+                if (i == size) {
+                    pilots[b] = pilot;
+                    placed = true;
+                } else {
+                    for (int j = 0; j < i; j++) {
+                        taken[positions[j]] = false;
+                    }
+                }
+            }
+
+            if (!placed) {
+                return null;
+            }
+        }
+
+        // move the keys in slots from N onwards down to the free slots below N, in order
+        final int[] remap = new int[tableSize - keyCount];
+        int freeSlot = 0;
+        for (int slot = keyCount; slot < tableSize; slot++) {
+            if (taken[slot]) {
+                while (taken[freeSlot]) {
+                    freeSlot++;
+                }
+                remap[slot - keyCount] = freeSlot++;
+            }
+        }
+
+        return encode(seed, keyCount, tableSize, pilots, remap);
+    }
+
+
+    /**
+     * Pack the pilots into bytes, moving any pilots too large for a byte into a separate table.
+     *
+     * @param seed Seed of the function.
+     * @param keyCount Number of keys the function was built for.
+     * @param tableSize Number of slots in the table.
+     * @param pilots The pilot of each bucket.
+     * @param remap Index below N to use for each slot from N onwards.
+     * @return The function using the packed pilots.
+     */
+    private static PerfectHashFunction encode(final long seed, final int keyCount, final int tableSize,
+                                              final int[] pilots, final int[] remap) {
+        final byte[] packedPilots = new byte[pilots.length];
+        int largePilotCount = 0;
+        for (final int pilot : pilots) {
+            if (pilot >= LARGE_PILOT) {
+                largePilotCount++;
+            }
+        }
+
+        final int[] largePilotBuckets = new int[largePilotCount];
+        final int[] largePilots = new int[largePilotCount];
+        int large = 0;
+        for (int b = 0; b < pilots.length; b++) {
+            if (pilots[b] >= LARGE_PILOT) {
+                packedPilots[b] = (byte) LARGE_PILOT;
+                largePilotBuckets[large] = b;
+                largePilots[large] = pilots[b];
+                large++;
+            } else {
+                packedPilots[b] = (byte) pilots[b];
+            }
+        }
+
+        return new PerfectHashFunction(seed, keyCount, tableSize, pilots.length, ByteBuffer.wrap(packedPilots),
+                IntBuffer.wrap(largePilotBuckets), IntBuffer.wrap(largePilots), IntBuffer.wrap(remap));
+    }
+
+
+    /**
+     * Get the index of the key with the given hash. Hashes of keys the function wasn't
+     * built for are still mapped to some index, so the key at the index must be checked.
+     *
+     * @param keyHash 64-bit hash of the key.
+     * @return Index from 0 to N - 1.
+     */
+    public int index(final long keyHash) {
+        final int bucket = bucket(keyHash, seed, bucketCount);
+        int pilot = pilots.get(bucket) & 0xFF;
+        if (pilot == LARGE_PILOT) {
+            pilot = largePilot(bucket);
+        }
+        final int slot = position(keyHash, Hashing.mix64(pilot ^ seed), tableSize);
+        return slot < keyCount ? slot : remap.get(slot - keyCount);
+    }
+
+
+    /**
+     * Find the pilot of a bucket in the table of large pilots.
+     *
+     * @param bucket Index of a bucket with a large pilot.
+     * @return The pilot of the bucket.
+     */
+    private int largePilot(final int bucket) {
+        int low = 0;
+        int high = largePilotBuckets.limit() - 1;
+
+        // the bucket is always in the table, so the search ends when it is found
+        while (true) {
+            final int middle = (low + high) >>> 1;
+            final int middleBucket = largePilotBuckets.get(middle);
+
+            if (middleBucket < bucket) {
+                low = middle + 1;
+            } else if (middleBucket > bucket) {
+                high = middle - 1;
+            } else {
+                return largePilots.get(middle);
+            }
+        }
+    }
+
+
+    /**
+     * Get the number of keys the function was built for.
+     *
+     * @return The number of keys, which is also the number of distinct indices.
+     */
+    public int size() {
+        return keyCount;
+    }
+
+
+    /**
+     * Get the space taken by the function per key.
+     *
+     * @return The number of bits stored for each key.
+     */
+    public double bitsPerKey() {
+        final long bits = (long) Byte.SIZE * bucketCount + 2L * Integer.SIZE * largePilots.limit()
+                + (long) Integer.SIZE * remap.limit();
+        return keyCount == 0 ? 0 : (double) bits / keyCount;
+    }
+
+
+    /**
+     * Write the function to a file, so it can later be loaded without being rebuilt.
+     *
+     * @param file Path of the file to write, which is replaced if it exists.
+     * @throws IOException If the file can't be written.
+     */
+    public void save(final Path file) throws IOException {
+        final int largePilotCount = largePilots.limit();
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + paddedLength(bucketCount)
+                + Integer.BYTES * (2 * largePilotCount + tableSize - keyCount));
+
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(seed)
+                .putInt(keyCount).putInt(tableSize).putInt(bucketCount).putInt(largePilotCount);
+        for (int b = 0; b < bucketCount; b++) {
+            buffer.put(pilots.get(b));
+        }
+
+        // pad the pilots so the tables of large pilots are aligned
+        buffer.position(HEADER_BYTES + paddedLength(bucketCount));
+        for (int i = 0; i < largePilotCount; i++) {
+            buffer.putInt(largePilotBuckets.get(i));
+        }
+        for (int i = 0; i < largePilotCount; i++) {
+            buffer.putInt(largePilots.get(i));
+        }
+        for (int i = 0; i < tableSize - keyCount; i++) {
+            buffer.putInt(remap.get(i));
+        }
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+
+    /**
+     * Load a function from a file written by {@link #save(Path)}. The file is memory-mapped rather
+     * than read, so the pilots are paged in by the operating system as lookups need them.
+     *
+     * @param file Path of the file to load.
+     * @return The function held in the file.
+     * @throws IOException If the file can't be read, or doesn't hold a perfect hash function.
+     */
+    public static PerfectHashFunction load(final Path file) throws IOException {
+        final MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping remains valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a perfect hash function file: " + file);
+        }
+        if (buffer.getInt() != VERSION) {
+            throw new IOException("Unsupported perfect hash function version: " + file);
+        }
+
+        final long seed = buffer.getLong();
+        final int keyCount = buffer.getInt();
+        final int tableSize = buffer.getInt();
+        final int bucketCount = buffer.getInt();
+        final int largePilotCount = buffer.getInt();
+        final int remapCount = tableSize - keyCount;
+
+        if (remapCount < 0 || bucketCount < 0 || largePilotCount < 0 || buffer.remaining()
+                != paddedLength(bucketCount) + (long) Integer.BYTES * (2L * largePilotCount + remapCount)) {
+            throw new IOException("Truncated perfect hash function file: " + file);
+        }
+
+        final ByteBuffer pilots = buffer.slice(HEADER_BYTES, bucketCount);
+        final int largePilotsStart = HEADER_BYTES + paddedLength(bucketCount);
+        final int largePilotsEnd = largePilotsStart + Integer.BYTES * largePilotCount;
+        final IntBuffer largePilotBuckets = buffer.slice(largePilotsStart, Integer.BYTES * largePilotCount).asIntBuffer();
+        final IntBuffer largePilots = buffer.slice(largePilotsEnd, Integer.BYTES * largePilotCount).asIntBuffer();
+        final IntBuffer remap = buffer.slice(largePilotsEnd + Integer.BYTES * largePilotCount,
+                Integer.BYTES * remapCount).asIntBuffer();
+
+        return new PerfectHashFunction(seed, keyCount, tableSize, bucketCount,
+                pilots, largePilotBuckets, largePilots, remap);
+    }
+
+
+    /**
+     * Round the length of the packed pilots up to a whole number of ints.
+     *
+     * @param bucketCount Number of buckets.
+     * @return The padded length in bytes.
+     */
+    private static int paddedLength(final int bucketCount) {
+        return (bucketCount + Integer.BYTES - 1) & -Integer.BYTES;
+    }
+
+
+    /**
+     * Choose the bucket of a key.
+     *
+     * @param keyHash 64-bit hash of the key.
+     * @param seed Seed of the function.
+     * @param bucketCount Number of buckets.
+     * @return Index of the key's bucket.
+     */
+    private static int bucket(final long keyHash, final long seed, final int bucketCount) {
+        final long hash = Hashing.mix64(keyHash ^ seed);
+        final int denseBuckets = (int) Math.ceil(bucketCount * DENSE_BUCKETS);
+
+        // the high bits choose between the dense and sparse buckets, and the low bits are then
+        // scaled to the number of buckets of that kind, which avoids a division
+        if ((hash >>> 32) < (long) (DENSE_KEYS * (1L << 32))) {
+            return (int) (((hash & 0xFFFFFFFFL) * denseBuckets) >>> 32);
+        }
+        return denseBuckets + (int) (((hash & 0xFFFFFFFFL) * (bucketCount - denseBuckets)) >>> 32);
+    }
+
+
+    /**
+     * Choose the slot of a key given the pilot of its bucket.
+     *
+     * @param keyHash 64-bit hash of the key.
+     * @param pilotHash Mixed pilot of the key's bucket.
+     * @param tableSize Number of slots to choose from.
+     * @return Slot from 0 to tableSize - 1.
+     */
+    private static int position(final long keyHash, final long pilotHash, final int tableSize) {
+        return (int) (((Hashing.mix64(keyHash ^ pilotHash) >>> 32) * tableSize) >>> 32);
+    }
+
+
+    /**
+     * Get the number of keys in a bucket.
+     *
+     * @param bucketStarts Index of the first key of each bucket, followed by the total number of keys.
+     * @param bucket Index of the bucket.
+     * @return The number of keys in the bucket.
+     */
+    private static int bucketSize(final int[] bucketStarts, final int bucket) {
+        return bucketStarts[bucket + 1] - bucketStarts[bucket];
+    }
+
+}
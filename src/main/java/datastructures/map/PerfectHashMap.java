@@ -0,0 +1,268 @@
+package datastructures.map;
+
+import datastructures.hash.Hashing;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+
+/**
+ * Read-only map over a fixed set of keys, using a {@link PerfectHashFunction} to give each key
+ * its own index in the arrays of keys and values. A lookup therefore takes exactly one probe and
+ * a single equality check, which confirms the key is in the map.
+ *
+ * The map is created using a {@link Builder}. The perfect hash function can be saved once built,
+ * and later loaded and passed back to a builder, which then doesn't need to build it again.
+ *
+ * @param <Key> Type of the keys stored in the map.
+ * @param <Value> Type of the values stored in the map.
+ */
+public class PerfectHashMap<Key, Value> {
+
+    /**
+     * Function mapping each key's hash to its index in the keys and values arrays.
+     */
+    private final PerfectHashFunction function;
+
+
+    /**
+     * Function giving the 64-bit hash of a key.
+     */
+    private final ToLongFunction<? super Key> hasher;
+
+
+    /**
+     * Array of keys, with each key at the index given by the perfect hash function.
+     */
+    private final Key[] keys;
+
+
+    /**
+     * Array of values parallel to the keys array.
+     */
+    private final Value[] values;
+
+
+    private PerfectHashMap(final PerfectHashFunction function, final ToLongFunction<? super Key> hasher,
+                           final Key[] keys, final Value[] values) {
+        this.function = function;
+        this.hasher = hasher;
+        this.keys = keys;
+        this.values = values;
+    }
+
+
+    /**
+     * Get the value associated with the given key.
+     *
+     * @param key Key to find in the map.
+     * @return Optional containing the value associated with the key if the key is contained in the map.
+     */
+    public Optional<Value> get(final Key key) {
+        final int index = find(key);
+        return index >= 0 ? Optional.ofNullable(values[index]) : Optional.empty();
+    }
+
+
+    /**
+     * Check if the given key is contained in the map.
+     *
+     * @param key Key to find in the map.
+     * @return <CODE>true</CODE> if the key is present; <CODE>false</CODE> otherwise.
+     */
+    public boolean contains(final Key key) {
+        return find(key) >= 0;
+    }
+
+
+    /**
+     * Counts the number of key-value pairs stored in the map.
+     *
+     * @return The number of key-value pairs in the map.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+
+    /**
+     * Get the perfect hash function used by the map, so that it can be saved.
+     *
+     * @return The perfect hash function.
+     */
+    public PerfectHashFunction hashFunction() {
+        return function;
+    }
+
+
+    /**
+     * Find the index of the key in the map's underlying array.
+     *
+     * @param key Key to find in the map.
+     * @return The index of the key, or -1 if the key isn't in the map.
+     */
+    private int find(final Key key) {
+        if (keys.length == 0) {
+            return -1;
+        }
+
+        // every key maps to some index, so check the key found there is the one asked for
+        final int index = function.index(hasher.applyAsLong(key));
+        return keys[index].equals(key) ? index : -1;
+    }
+
+
+    /**
+     * Default 64-bit hash of a key, from {@link Hashing#hash64(Object)}. Strings and boxed primitives
+     * are hashed from their contents over all 64 bits, so distinct keys only collide by chance, and
+     * their hashes are the same from one run to the next so a saved perfect hash function remains
+     * valid. Other keys are hashed from their hash code, and need a {@link Builder#hasher(ToLongFunction)} if
+     * distinct keys can share a hash code.
+     *
+     * @param key Key to hash.
+     * @return The 64-bit hash of the key.
+     */
+    public static long defaultHash(final Object key) {
+        return Hashing.hash64(key);
+    }
+
+
+    /**
+     * Collects the keys and values of a {@link PerfectHashMap}.
+     *
+     * @param <Key> Type of the keys stored in the map.
+     * @param <Value> Type of the values stored in the map.
+     */
+    public static class Builder<Key, Value> {
+
+        /**
+         * Position of each key in the arrays of keys and values, so a key can be replaced.
+         */
+        private final HashMap<Key, Integer> positions = new HashMap<>();
+
+
+        /**
+         * Keys in the order they were first added.
+         */
+        private Object[] keys = new Object[16];
+
+
+        /**
+         * Values parallel to the keys.
+         */
+        private Object[] values = new Object[16];
+
+
+        /**
+         * Number of keys added.
+         */
+        private int size = 0;
+
+
+        /**
+         * Function giving the 64-bit hash of a key.
+         */
+        private ToLongFunction<? super Key> hasher = PerfectHashMap::defaultHash;
+
+
+        /**
+         * Set the function used to hash keys, instead of {@link PerfectHashMap#defaultHash(Object)}.
+         * Distinct keys must have distinct hashes.
+         *
+         * @param hasher Function giving the 64-bit hash of a key.
+         * @return This builder.
+         */
+        public Builder<Key, Value> hasher(final ToLongFunction<? super Key> hasher) {
+            this.hasher = hasher;
+            return this;
+        }
+
+
+        /**
+         * Associate the given key with the given value, replacing any value already added for the key.
+         *
+         * @param key Key to associate with the given value.
+         * @param value Value that the key should map to.
+         * @return This builder.
+         */
+        public Builder<Key, Value> put(final Key key, final Value value) {
+            final Optional<Integer> position = positions.get(key);
+
+            if (position.isPresent()) {
+                values[position.get()] = value;
+                return this;
+            }
+
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+
+            positions.put(key, size);
+            keys[size] = key;
+            values[size] = value;
+            size++;
+            return this;
+        }
+
+
+        /**
+         * Build the map, constructing a perfect hash function for the keys.
+         *
+         * @return The map holding the added keys and values.
+         * @throws IllegalArgumentException If two distinct keys have the same hash.
+         */
+        public PerfectHashMap<Key, Value> build() {
+            return build(PerfectHashFunction.build(hashes()));
+        }
+
+
+        /**
+         * Build the map using an existing perfect hash function, such as one loaded from a file,
+         * which must have been built from the hashes of exactly the added keys.
+         *
+         * @param function Perfect hash function for the keys.
+         * @return The map holding the added keys and values.
+         * @throws IllegalArgumentException If the function isn't perfect for the added keys.
+         */
+        @SuppressWarnings("unchecked")
+        public PerfectHashMap<Key, Value> build(final PerfectHashFunction function) {
+            if (function.size() != size) {
+                throw new IllegalArgumentException("Hash function is for " + function.size() + " keys, not " + size);
+            }
+
+            final long[] hashes = hashes();
+            final Key[] mapKeys = (Key[]) new Object[size];
+            final Value[] mapValues = (Value[]) new Object[size];
+
+            for (int i = 0; i < size; i++) {
+                final int index = function.index(hashes[i]);
+
+                if (mapKeys[index] != null) {
+                    throw new IllegalArgumentException("Hash function maps two keys to index " + index);
+                }
+
+                mapKeys[index] = (Key) keys[i];
+                mapValues[index] = (Value) values[i];
+            }
+
+            return new PerfectHashMap<>(function, hasher, mapKeys, mapValues);
+        }
+
+
+        /**
+         * Hash each of the added keys.
+         *
+         * @return The hashes, in the order the keys were added.
+         */
+        @SuppressWarnings("unchecked")
+        private long[] hashes() {
+            final long[] hashes = new long[size];
+            for (int i = 0; i < size; i++) {
+                hashes[i] = hasher.applyAsLong((Key) keys[i]);
+            }
+            return hashes;
+        }
+    }
+
+}
@@ -52,6 +52,13 @@ public class RBTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
     private int size = 0;
 
 
+    /**
+     * Holds the statistics about the tree while they are enabled.
+     */
+    private final TreeStatisticsRecorder<Node<Key, Value>> recorder =
+            new TreeStatisticsRecorder<>(node -> node.left, node -> node.right);
+
+
     public RBTreeMap() { }
 
 
@@ -105,7 +112,8 @@ public class RBTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
      */
     private void fixRBTreeInsert(Node<Key, Value> x) {
 
-        while (x != root && x.colour == Colour.RED) {
+        // x is always red, so there is only a violation while its parent is also red
+        while (x != root && x.parent.colour == Colour.RED) {
 
             final Node<Key, Value> grandParent = x.parent.parent;
 
@@ -259,8 +267,9 @@ public class RBTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
                 leftChild.parent = node.parent; // make node point to its grandparent
             }
 
-            // fix tree if the left child (which has been moved) is black
-            if (leftChild.colour == Colour.BLACK) {
+            // a black node was removed, so fix the tree from the left child which has taken its place.
+            // a red child is simply recoloured black to restore the black height
+            if (node.colour == Colour.BLACK) {
                 fixRBTreeDelete(leftChild);
             }
 
@@ -279,8 +288,9 @@ public class RBTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
                 rightChild.parent = node.parent; // make node point to its grandparent
             }
 
-            // fix tree if the right child (which has been moved) is black
-            if (rightChild.colour == Colour.BLACK) {
+            // a black node was removed, so fix the tree from the right child which has taken its place.
+            // a red child is simply recoloured black to restore the black height
+            if (node.colour == Colour.BLACK) {
                 fixRBTreeDelete(rightChild);
             }
 
@@ -320,6 +330,7 @@ public class RBTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
                 // case 1: sibling is red
                 if (sibling.colour == Colour.RED) {
                     // recolour and rotate to create one of the other cases
+                    recordRecolour();
                     sibling.colour = Colour.BLACK;
                     x.parent.colour = Colour.RED;
                     rotateLeft(x.parent);
@@ -328,12 +339,14 @@ public class RBTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
 
                 // case 2: black sibling, which has black children
                 if (getColour(sibling.left) == Colour.BLACK && getColour(sibling.right) == Colour.BLACK) {
+                    recordRecolour();
                     sibling.colour = Colour.RED;
                     x = x.parent;
                 } else {
 
                     // case 3: black sibling, with red left child and black right child
                     if (getColour(sibling.right) == Colour.BLACK) {
+                        recordRecolour();
                         setColour(sibling.left, Colour.BLACK);
                         sibling.colour = Colour.RED;
                         rotateRight(sibling);
@@ -341,6 +354,7 @@ public class RBTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
                     }
 
                     // case 4: black sibling, with red right child
+                    recordRecolour();
                     sibling.colour = x.parent.colour;
                     x.parent.colour = Colour.BLACK;
                     setColour(sibling.right, Colour.BLACK);
@@ -356,6 +370,7 @@ public class RBTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
                 // case 1: sibling is red
                 if (sibling.colour == Colour.RED) {
                     // recolour and rotate to create one of the other cases
+                    recordRecolour();
                     sibling.colour = Colour.BLACK;
                     x.parent.colour = Colour.RED;
                     rotateRight(x.parent);
@@ -364,12 +379,14 @@ public class RBTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
 
                 // case 2: black sibling, which has black children
                 if (getColour(sibling.left) == Colour.BLACK && getColour(sibling.right) == Colour.BLACK) {
+                    recordRecolour();
                     sibling.colour = Colour.RED;
                     x = x.parent;
                 } else {
 
                     // case 3: black sibling, with black left child and red right child
                     if (getColour(sibling.left) == Colour.BLACK) {
+                        recordRecolour();
                         setColour(sibling.right, Colour.BLACK);
                         sibling.colour = Colour.RED;
                         rotateLeft(sibling);
@@ -377,6 +394,7 @@ public class RBTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
                     }
 
                     // case 4: black sibling, with red left child
+                    recordRecolour();
                     sibling.colour = x.parent.colour;
                     x.parent.colour = Colour.BLACK;
                     setColour(sibling.left, Colour.BLACK);
@@ -596,6 +614,10 @@ public class RBTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
      * @param pivotNode Node to rotate the subtree around.
      */
     private void rotateLeft(final Node<Key, Value> pivotNode) {
+        if (recorder.statistics != null) {
+            recorder.statistics.rotations++;
+        }
+
         final Node<Key, Value> newParent = pivotNode.right; // record the right node (which will become the parent node)
         pivotNode.right = newParent.left; // as x is lowered it gains y's left child as its right child
 
@@ -628,6 +650,10 @@ public class RBTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
      * @param pivotNode Node to rotate the subtree around.
      */
     private void rotateRight(final Node<Key, Value> pivotNode) {
+        if (recorder.statistics != null) {
+            recorder.statistics.rotations++;
+        }
+
         final Node<Key, Value> newParent = pivotNode.left; // record the left node (which will become the parent node)
         pivotNode.left = newParent.right; // as x is lowered it gains y's right child as its left child
 
@@ -661,6 +687,7 @@ public class RBTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
      * @param node Node to recolour.
      */
     private void setColourRed(final Node<Key, Value> node) {
+        recordRecolour();
 
         node.colour = Colour.RED;
 
@@ -675,6 +702,7 @@ public class RBTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
      * @param node Node to recolour.
      */
     private void setColourBlack(final Node<Key, Value> node) {
+        recordRecolour();
 
         node.colour = Colour.BLACK;
 
@@ -683,6 +711,16 @@ public class RBTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
     }
 
 
+    /**
+     * Count a recolouring step in the statistics, if enabled.
+     */
+    private void recordRecolour() {
+        if (recorder.statistics != null) {
+            recorder.statistics.recolours++;
+        }
+    }
+
+
     /**
      * Gets the colour of the given node. Null nodes are treated as black.
      *
@@ -706,4 +744,88 @@ public class RBTreeMap<Key extends Comparable<Key>, Value> implements OrderedMap
         }
     }
 
+
+    /**
+     * Check that the tree is a valid red-black tree: keys are in order, every child points back
+     * to its parent, the root is black, no red node has a red child, and every path from the root
+     * down to a missing child passes the same number of black nodes.
+     *
+     * @return <CODE>true</CODE> if the tree is valid; <CODE>false</CODE> otherwise.
+     */
+    boolean isValidRedBlackTree() {
+        return getColour(root) == Colour.BLACK && (root == null || root.parent == null)
+                && blackHeight(root, null, null) >= 0;
+    }
+
+
+    /**
+     * Count the black nodes on every path down from a node, checking the subtree on the way.
+     *
+     * @param node Root of the subtree.
+     * @param low Key every key in the subtree must be greater than, or null if there is no bound.
+     * @param high Key every key in the subtree must be less than, or null if there is no bound.
+     * @return The number of black nodes on each path from the node down to a missing child,
+     * counting the missing child, or -1 if the subtree breaks a red-black property.
+     */
+    private int blackHeight(final Node<Key, Value> node, final Key low, final Key high) {
+        if (node == null) {
+            return 1;
+        }
+        if ((low != null && node.key.compareTo(low) <= 0) || (high != null && node.key.compareTo(high) >= 0)) {
+            return -1;
+        }
+
+        if (!isValidChild(node, node.left) || !isValidChild(node, node.right)) {
+            return -1;
+        }
+
+        final int left = blackHeight(node.left, low, node.key);
+        final int right = blackHeight(node.right, node.key, high);
+        if (left < 0 || left != right) {
+            return -1;
+        }
+        return left + (node.colour == Colour.BLACK ? 1 : 0);
+    }
+
+
+    /**
+     * Check that a child points back to its parent, and isn't red under a red parent.
+     *
+     * @param node The parent node.
+     * @param child One of its children, which may be missing.
+     * @return <CODE>true</CODE> if the child is missing or valid; <CODE>false</CODE> otherwise.
+     */
+    private static boolean isValidChild(final Node<?, ?> node, final Node<?, ?> child) {
+        return child == null || (child.parent == node && !(node.colour == Colour.RED && child.colour == Colour.RED));
+    }
+
+
+    /**
+     * Start collecting statistics about the tree. Until this is called, no statistics are collected.
+     *
+     * @return The statistics, which are updated as the map is used.
+     */
+    public TreeMapStatistics enableStatistics() {
+        return recorder.enable();
+    }
+
+
+    /**
+     * Stop collecting statistics about the tree.
+     */
+    public void disableStatistics() {
+        recorder.disable();
+    }
+
+
+    /**
+     * Get the statistics collected about the tree, measuring the current shape of the tree.
+     * Takes O(N) time for N nodes, as every node is visited to measure the shape.
+     *
+     * @return Optional containing the statistics if they have been enabled.
+     */
+    public Optional<TreeMapStatistics> statistics() {
+        return recorder.measure(root);
+    }
+
 }
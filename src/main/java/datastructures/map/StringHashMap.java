@@ -0,0 +1,662 @@
+package datastructures.map;
+
+import datastructures.hash.LinearProbing;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Unordered map from strings to values, implemented as a hash table with linear probing.
+ * Rather than holding a String object per key, the UTF-8 bytes of every key are copied into one
+ * shared byte array (the arena), and each slot of the table records the offset and length of its
+ * key within the arena along with the key's hash. This avoids the object headers of a String and
+ * its byte array per key, and lets lookups be made from any character sequence or byte slice
+ * without first creating a String.
+ *
+ * A string with an unpaired surrogate isn't valid UTF-16, so has no UTF-8 form; converting it with
+ * the standard charset would replace the surrogate with '?' and merge it with other keys. Each
+ * unpaired surrogate is instead encoded as if it were a character of its own, as in WTF-8, so
+ * every distinct string is a distinct key, while valid strings keep their usual UTF-8 bytes.
+ *
+ * Lookups with ASCII character sequences and byte slices never allocate. Deleted keys leave unused
+ * bytes in the arena, which are reclaimed once the arena is full and at least half of it is unused,
+ * by compacting the keys left rather than growing the arena. A map whose keys keep changing while
+ * its size stays the same therefore uses a bounded arena.
+ *
+ * @param <Value> Type of the values stored in the map.
+ */
+public class StringHashMap<Value> implements Map<String, Value> {
+
+    /**
+     * Default capacity of the arrays if no initial size is specified.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+
+    /**
+     * Default size of the arena if no initial size is specified.
+     */
+    private static final int DEFAULT_ARENA_CAPACITY = 256;
+
+
+    /**
+     * Indicates how full the hash table is allowed to get before it gets resized.
+     */
+    private static final float MAX_LOAD_FACTOR = 0.8f;
+
+
+    /**
+     * Growth multiplier to calculate new array size when the array is full and needs to be grown.
+     */
+    private static final int GROWTH_RATE = 2;
+
+
+    /**
+     * Length recorded for slots which don't hold a key.
+     */
+    private static final int EMPTY = -1;
+
+
+    /**
+     * Bytes of all keys, with each key's bytes stored contiguously.
+     */
+    private byte[] arena;
+
+
+    /**
+     * Number of bytes of the arena in use, including bytes of deleted keys.
+     */
+    private int arenaSize = 0;
+
+
+    /**
+     * Number of bytes of the arena belonging to deleted keys.
+     */
+    private int garbageSize = 0;
+
+
+    /**
+     * Offset of each slot's key within the arena.
+     */
+    private int[] offsets;
+
+
+    /**
+     * Length in bytes of each slot's key, or {@link #EMPTY} if the slot is free.
+     */
+    private int[] lengths;
+
+
+    /**
+     * Cached hash of each slot's key, so keys never need rehashing and most mismatches
+     * are found without comparing bytes.
+     */
+    private int[] hashes;
+
+
+    /**
+     * Array of values parallel to the slot arrays.
+     */
+    private Value[] values;
+
+
+    /**
+     * Current size of the slot arrays. Always a power of two, so indices can be found using a mask.
+     */
+    private int capacity;
+
+
+    /**
+     * Current number of key-value pairs in the hash table.
+     */
+    private int size = 0;
+
+
+    /**
+     * The maximum load allowed for the hash table before having to resize.
+     * Based on the current size of the hash table and the max load factor.
+     */
+    private int currentMaxLoad;
+
+
+    /**
+     * Describes the layout of the slot arrays, for closing the gap left by a deletion.
+     */
+    private final LinearProbing.Table slots = new LinearProbing.Table() {
+        @Override
+        public boolean isFree(final int slot) {
+            return lengths[slot] == EMPTY;
+        }
+
+        @Override
+        public int home(final int slot) {
+            return hashes[slot] & (capacity - 1);
+        }
+
+        @Override
+        public void move(final int from, final int to) {
+            offsets[to] = offsets[from];
+            lengths[to] = lengths[from];
+            hashes[to] = hashes[from];
+            values[to] = values[from];
+
+            lengths[from] = EMPTY;
+            values[from] = null;
+        }
+    };
+
+
+    public StringHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public StringHashMap(final int initialCapacity) {
+        this(initialCapacity, DEFAULT_ARENA_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    public StringHashMap(final int initialCapacity, final int initialArenaCapacity) {
+        capacity = Math.max(2, Integer.highestOneBit(Math.max(initialCapacity, 1) - 1) << 1);
+        arena = new byte[Math.max(initialArenaCapacity, 1)];
+        offsets = new int[capacity];
+        lengths = new int[capacity];
+        hashes = new int[capacity];
+        values = (Value[]) new Object[capacity];
+        Arrays.fill(lengths, EMPTY);
+        currentMaxLoad = (int) (capacity * MAX_LOAD_FACTOR);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void put(final String key, final Value value) {
+
+        // grow the map if we will exceed the maximum acceptable load
+        if (size == currentMaxLoad) {
+            grow();
+        }
+
+        if (isAscii(key)) {
+            // ASCII characters are their own UTF-8 bytes, so can be copied straight into the arena
+            final int hash = hash(key);
+            final int slot = find(key, hash);
+
+            if (slot >= 0) {
+                values[slot] = value;
+                return;
+            }
+
+            final int offset = allocate(key.length());
+            for (int i = 0; i < key.length(); i++) {
+                arena[offset + i] = (byte) key.charAt(i);
+            }
+            insert(~slot, offset, key.length(), hash, value);
+        } else {
+            final byte[] bytes = encode(key);
+            put(bytes, 0, bytes.length, value);
+        }
+    }
+
+
+    /**
+     * Associate the key given by a slice of UTF-8 bytes with the given value.
+     *
+     * @param bytes Array holding the UTF-8 bytes of the key.
+     * @param offset Index of the first byte of the key.
+     * @param length Number of bytes in the key.
+     * @param value Value that the key should map to.
+     */
+    public void put(final byte[] bytes, final int offset, final int length, final Value value) {
+
+        if (size == currentMaxLoad) {
+            grow();
+        }
+
+        final int hash = hash(bytes, offset, length);
+        final int slot = find(bytes, offset, length, hash);
+
+        if (slot >= 0) {
+            values[slot] = value;
+            return;
+        }
+
+        final int arenaOffset = allocate(length);
+        System.arraycopy(bytes, offset, arena, arenaOffset, length);
+        insert(~slot, arenaOffset, length, hash, value);
+    }
+
+
+    /**
+     * Fill a free slot with a key already copied into the arena, and its value.
+     *
+     * @param slot Index of the free slot.
+     * @param offset Offset of the key in the arena.
+     * @param length Length of the key in bytes.
+     * @param hash Hash of the key.
+     * @param value Value associated with the key.
+     */
+    private void insert(final int slot, final int offset, final int length, final int hash, final Value value) {
+        offsets[slot] = offset;
+        lengths[slot] = length;
+        hashes[slot] = hash;
+        values[slot] = value;
+        size++;
+    }
+
+
+    /**
+     * Reserve space at the end of the arena. If the arena is full, it is compacted when at least half
+     * of it belongs to deleted keys, and grown otherwise.
+     *
+     * @param length Number of bytes to reserve.
+     * @return Offset of the reserved space in the arena.
+     */
+    private int allocate(final int length) {
+        if (arenaSize + length > arena.length && garbageSize > 0 && garbageSize * 2 >= arenaSize) {
+            compact();
+        }
+        if (arenaSize + length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * GROWTH_RATE, arenaSize + length));
+        }
+
+        final int offset = arenaSize;
+        arenaSize += length;
+        return offset;
+    }
+
+
+    /**
+     * Copy the bytes of every key still in the map to the start of a new arena of the same size,
+     * dropping the bytes of deleted keys. Keys stay in the same slots, so the table is unchanged
+     * apart from the offsets.
+     */
+    private void compact() {
+        final byte[] newArena = new byte[arena.length];
+        int newArenaSize = 0;
+
+        for (int i = 0; i < capacity; i++) {
+            if (lengths[i] != EMPTY) {
+                System.arraycopy(arena, offsets[i], newArena, newArenaSize, lengths[i]);
+                offsets[i] = newArenaSize;
+                newArenaSize += lengths[i];
+            }
+        }
+
+        arena = newArena;
+        arenaSize = newArenaSize;
+        garbageSize = 0;
+    }
+
+
+    /**
+     * Grows the map, allowing more key-value pairs to be stored. Since hashes are cached, keys are
+     * moved into their new slots without reading their bytes.
+     */
+    @SuppressWarnings("unchecked")
+    private void grow() {
+        final int newCapacity = capacity * GROWTH_RATE;
+        final int mask = newCapacity - 1;
+
+        final int[] newOffsets = new int[newCapacity];
+        final int[] newLengths = new int[newCapacity];
+        final int[] newHashes = new int[newCapacity];
+        final Value[] newValues = (Value[]) new Object[newCapacity];
+        Arrays.fill(newLengths, EMPTY);
+
+        // go through old arrays and reinsert items into the new larger arrays
+        for (int i = 0; i < capacity; i++) {
+
+            if (lengths[i] == EMPTY) {
+                continue;
+            }
+
+            int insertionPoint = hashes[i] & mask;
+
+            // follow items from insertion point until there is a free space to insert
+            while (newLengths[insertionPoint] != EMPTY) {
+                insertionPoint = (insertionPoint + 1) & mask;
+            }
+
+            newOffsets[insertionPoint] = offsets[i];
+            newLengths[insertionPoint] = lengths[i];
+            newHashes[insertionPoint] = hashes[i];
+            newValues[insertionPoint] = values[i];
+        }
+
+        offsets = newOffsets;
+        lengths = newLengths;
+        hashes = newHashes;
+        values = newValues;
+
+        capacity = newCapacity;
+        currentMaxLoad = (int) (newCapacity * MAX_LOAD_FACTOR);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Value> get(final String key) {
+        return get((CharSequence) key);
+    }
+
+
+    /**
+     * Get the value associated with the given key, without allocating for ASCII keys.
+     *
+     * @param key Key to find in the map.
+     * @return Optional containing the value associated with the key if the key is contained in the map.
+     */
+    public Optional<Value> get(final CharSequence key) {
+        final int slot = slotOf(key);
+        return slot >= 0 ? Optional.of(values[slot]) : Optional.empty();
+    }
+
+
+    /**
+     * Get the value associated with the key given by a slice of UTF-8 bytes.
+     *
+     * @param bytes Array holding the UTF-8 bytes of the key.
+     * @param offset Index of the first byte of the key.
+     * @param length Number of bytes in the key.
+     * @return Optional containing the value associated with the key if the key is contained in the map.
+     */
+    public Optional<Value> get(final byte[] bytes, final int offset, final int length) {
+        final int slot = find(bytes, offset, length, hash(bytes, offset, length));
+        return slot >= 0 ? Optional.of(values[slot]) : Optional.empty();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void delete(final String key) {
+        delete((CharSequence) key);
+    }
+
+
+    /**
+     * Remove the key and its associated value from the map.
+     *
+     * @param key Key to find in the map.
+     */
+    public void delete(final CharSequence key) {
+        remove(slotOf(key));
+    }
+
+
+    /**
+     * Remove the key given by a slice of UTF-8 bytes and its associated value from the map.
+     *
+     * @param bytes Array holding the UTF-8 bytes of the key.
+     * @param offset Index of the first byte of the key.
+     * @param length Number of bytes in the key.
+     */
+    public void delete(final byte[] bytes, final int offset, final int length) {
+        remove(find(bytes, offset, length, hash(bytes, offset, length)));
+    }
+
+
+    /**
+     * Empty a slot found by a lookup, if the lookup found the key.
+     *
+     * @param slot Index of the key's slot, or a negative number if the key isn't in the map.
+     */
+    private void remove(final int slot) {
+
+        // if key is not in the map there is nothing to delete
+        if (slot < 0) {
+            return;
+        }
+
+        garbageSize += lengths[slot];
+        lengths[slot] = EMPTY;
+        values[slot] = null;
+        size--;
+
+        // shift back any entries that probed past the deleted slot, as in HashMap
+        LinearProbing.closeGap(slots, slot, capacity);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(final String key) {
+        return slotOf(key) >= 0;
+    }
+
+
+    /**
+     * Check if the given key is contained in the map, without allocating for ASCII keys.
+     *
+     * @param key Key to find in the map.
+     * @return <CODE>true</CODE> if the key is present; <CODE>false</CODE> otherwise.
+     */
+    public boolean contains(final CharSequence key) {
+        return slotOf(key) >= 0;
+    }
+
+
+    /**
+     * Check if the key given by a slice of UTF-8 bytes is contained in the map.
+     *
+     * @param bytes Array holding the UTF-8 bytes of the key.
+     * @param offset Index of the first byte of the key.
+     * @param length Number of bytes in the key.
+     * @return <CODE>true</CODE> if the key is present; <CODE>false</CODE> otherwise.
+     */
+    public boolean contains(final byte[] bytes, final int offset, final int length) {
+        return find(bytes, offset, length, hash(bytes, offset, length)) >= 0;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Get the number of bytes the arena has room for, including bytes of deleted keys.
+     *
+     * @return The length of the arena.
+     */
+    int arenaCapacity() {
+        return arena.length;
+    }
+
+
+    /**
+     * Find the slot holding the given key, encoding the key to UTF-8 only if it isn't ASCII.
+     *
+     * @param key Key to find in the map.
+     * @return Index of the key's slot, or a negative number if the key isn't in the map.
+     */
+    private int slotOf(final CharSequence key) {
+        if (isAscii(key)) {
+            return find(key, hash(key));
+        }
+
+        final byte[] bytes = encode(key);
+        return find(bytes, 0, bytes.length, hash(bytes, 0, bytes.length));
+    }
+
+
+    /**
+     * Encode a key to UTF-8, encoding any unpaired surrogate as a three byte sequence of its own
+     * rather than replacing it, so that no two keys share an encoding.
+     *
+     * @param key Key to encode.
+     * @return The bytes of the key.
+     */
+    private static byte[] encode(final CharSequence key) {
+        // no char takes more than three bytes, as the four byte sequences stand for two chars
+        final byte[] bytes = new byte[key.length() * 3];
+        int length = 0;
+
+        for (int i = 0; i < key.length(); i++) {
+            final char c = key.charAt(i);
+            if (c < 0x80) {
+                bytes[length++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[length++] = (byte) (0xC0 | (c >>> 6));
+                bytes[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < key.length()
+                    && Character.isLowSurrogate(key.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, key.charAt(++i));
+                bytes[length++] = (byte) (0xF0 | (codePoint >>> 18));
+                bytes[length++] = (byte) (0x80 | ((codePoint >>> 12) & 0x3F));
+                bytes[length++] = (byte) (0x80 | ((codePoint >>> 6) & 0x3F));
+                bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                // the rest of the basic plane, and unpaired surrogates
+                bytes[length++] = (byte) (0xE0 | (c >>> 12));
+                bytes[length++] = (byte) (0x80 | ((c >>> 6) & 0x3F));
+                bytes[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+
+        return Arrays.copyOf(bytes, length);
+    }
+
+
+    /**
+     * Find the slot holding the given ASCII key.
+     *
+     * @param key ASCII key to find in the map.
+     * @param hash Hash of the key.
+     * @return Index of the key's slot if found; otherwise the bitwise complement of the free slot
+     * where the key would be inserted.
+     */
+    private int find(final CharSequence key, final int hash) {
+        final int mask = capacity - 1;
+        int slot = hash & mask;
+
+        // follow slots until the key or a free slot is found. the table is never full, so this terminates
+        while (lengths[slot] != EMPTY) {
+            if (hashes[slot] == hash && lengths[slot] == key.length() && equalsAt(offsets[slot], key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return ~slot;
+    }
+
+
+    /**
+     * Find the slot holding the key given by a slice of UTF-8 bytes.
+     *
+     * @param bytes Array holding the UTF-8 bytes of the key.
+     * @param offset Index of the first byte of the key.
+     * @param length Number of bytes in the key.
+     * @param hash Hash of the key.
+     * @return Index of the key's slot if found; otherwise the bitwise complement of the free slot
+     * where the key would be inserted.
+     */
+    private int find(final byte[] bytes, final int offset, final int length, final int hash) {
+        final int mask = capacity - 1;
+        int slot = hash & mask;
+
+        while (lengths[slot] != EMPTY) {
+            if (hashes[slot] == hash && lengths[slot] == length
+                    && Arrays.equals(arena, offsets[slot], offsets[slot] + length, bytes, offset, offset + length)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return ~slot;
+    }
+
+
+    /**
+     * Compare an ASCII key against the bytes at the given position in the arena.
+     *
+     * @param offset Offset in the arena to compare from.
+     * @param key ASCII key, with the same length as the bytes being compared.
+     * @return <CODE>true</CODE> if the bytes match the key; <CODE>false</CODE> otherwise.
+     */
+    private boolean equalsAt(final int offset, final CharSequence key) {
+        for (int i = 0; i < key.length(); i++) {
+            if (arena[offset + i] != (byte) key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Check if every character in the sequence is ASCII, so is also a single UTF-8 byte.
+     *
+     * @param key Characters to check.
+     * @return <CODE>true</CODE> if the characters are all ASCII; <CODE>false</CODE> otherwise.
+     */
+    private static boolean isAscii(final CharSequence key) {
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Hash an ASCII key. Gives the same hash as {@link #hash(byte[], int, int)} on the key's bytes.
+     *
+     * @param key ASCII key to hash.
+     * @return Hash of the key.
+     */
+    private static int hash(final CharSequence key) {
+        int hash = 0x811C9DC5;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x01000193;
+        }
+        return mix(hash);
+    }
+
+
+    /**
+     * Hash a key given by a slice of UTF-8 bytes, using FNV-1a followed by a final mixing step.
+     *
+     * @param bytes Array holding the UTF-8 bytes of the key.
+     * @param offset Index of the first byte of the key.
+     * @param length Number of bytes in the key.
+     * @return Hash of the key.
+     */
+    private static int hash(final byte[] bytes, final int offset, final int length) {
+        int hash = 0x811C9DC5;
+        for (int i = offset; i < offset + length; i++) {
+            hash = (hash ^ (bytes[i] & 0xFF)) * 0x01000193;
+        }
+        return mix(hash);
+    }
+
+
+    /**
+     * Spread the bits of a hash, so the low bits used to choose a slot depend on every byte of the key.
+     *
+     * @param hash Hash to mix.
+     * @return The mixed hash.
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+}
@@ -0,0 +1,155 @@
+package datastructures.map;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.Arrays;
+
+/**
+ * Statistics for the tree-based maps ({@link BSTreeMap} and {@link RBTreeMap}): the shape of the
+ * tree, and how much rebalancing work has been done to keep it balanced.
+ *
+ * Rotations and recolours are counted as the map is modified. The shape of the tree is only
+ * measured when the statistics are requested from the map, as it requires visiting every node.
+ */
+public class TreeMapStatistics implements MapStatistics {
+
+    /**
+     * Number of rotations performed while rebalancing.
+     */
+    long rotations;
+
+
+    /**
+     * Number of fix-up steps which changed the colour of nodes while rebalancing.
+     */
+    long recolours;
+
+
+    /**
+     * Number of nodes at each depth of the tree, where the root is at depth zero.
+     * Measured when the statistics were last requested from the map.
+     */
+    private long[] depthCounts = new long[0];
+
+
+    TreeMapStatistics() { }
+
+
+    /**
+     * Record the shape of the tree.
+     *
+     * @param depthCounts Number of nodes at each depth of the tree.
+     */
+    void updateShape(final long[] depthCounts) {
+        this.depthCounts = depthCounts;
+    }
+
+
+    /**
+     * Get the height of the tree, which is the number of nodes on the longest path from the root.
+     *
+     * @return The height of the tree.
+     */
+    public int height() {
+        return depthCounts.length;
+    }
+
+
+    /**
+     * Get a copy of the depth distribution of the tree.
+     *
+     * @return Array where index i is the number of nodes at depth i, with the root at depth zero.
+     */
+    public long[] depthHistogram() {
+        return Arrays.copyOf(depthCounts, depthCounts.length);
+    }
+
+
+    /**
+     * Get the mean depth of the nodes in the tree, which is the average cost of a successful search.
+     *
+     * @return The mean depth, or zero if the tree is empty.
+     */
+    public double meanDepth() {
+        long nodes = 0;
+        long totalDepth = 0;
+        for (int depth = 0; depth < depthCounts.length; depth++) {
+            nodes += depthCounts[depth];
+            totalDepth += depth * depthCounts[depth];
+        }
+        return nodes == 0 ? 0 : (double) totalDepth / nodes;
+    }
+
+
+    /**
+     * Get the number of rotations performed while rebalancing the tree.
+     *
+     * @return The number of rotations.
+     */
+    public long rotations() {
+        return rotations;
+    }
+
+
+    /**
+     * Get the number of fix-up steps which recoloured nodes while rebalancing the tree.
+     *
+     * @return The number of recolourings.
+     */
+    public long recolours() {
+        return recolours;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        rotations = 0;
+        recolours = 0;
+        depthCounts = new long[0];
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void commit() {
+        final SnapshotEvent event = new SnapshotEvent();
+        if (event.shouldCommit()) {
+            event.height = height();
+            event.meanDepth = meanDepth();
+            event.rotations = rotations;
+            event.recolours = recolours;
+            event.commit();
+        }
+    }
+
+
+    /**
+     * Flight recorder event holding a snapshot of the statistics.
+     */
+    @Name("datastructures.map.TreeMapStatistics")
+    @Label("Tree Map Statistics")
+    @Category({"Data Structures", "Map"})
+    static class SnapshotEvent extends Event {
+
+        @Label("Height")
+        int height;
+
+        @Label("Mean Depth")
+        double meanDepth;
+
+        @Label("Rotations")
+        long rotations;
+
+        @Label("Recolours")
+        long recolours;
+    }
+
+}
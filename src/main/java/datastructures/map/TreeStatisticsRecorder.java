@@ -0,0 +1,129 @@
+package datastructures.map;
+
+import datastructures.queue.ArrayQueue;
+import datastructures.queue.Queue;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the statistics of a tree-based map ({@link BSTreeMap} or {@link RBTreeMap}) while they are
+ * enabled, and measures the shape of the map's tree when they are requested. Each map reaches its
+ * nodes' children through the functions it gives, so both maps share this code while keeping their
+ * own node classes.
+ *
+ * @param <N> Type of the nodes of the tree.
+ */
+class TreeStatisticsRecorder<N> {
+
+    /**
+     * Gets the left child of a node, or null if it has none.
+     */
+    private final UnaryOperator<N> left;
+
+
+    /**
+     * Gets the right child of a node, or null if it has none.
+     */
+    private final UnaryOperator<N> right;
+
+
+    /**
+     * Statistics about the tree, or null if statistics haven't been enabled. Read directly by the
+     * maps to count rebalancing work.
+     */
+    TreeMapStatistics statistics;
+
+
+    /**
+     * Create a recorder with statistics disabled.
+     *
+     * @param left Gets the left child of a node, or null if it has none.
+     * @param right Gets the right child of a node, or null if it has none.
+     */
+    TreeStatisticsRecorder(final UnaryOperator<N> left, final UnaryOperator<N> right) {
+        this.left = left;
+        this.right = right;
+    }
+
+
+    /**
+     * Start collecting statistics, if they aren't being collected already.
+     *
+     * @return The statistics, which are updated as the map is used.
+     */
+    TreeMapStatistics enable() {
+        if (statistics == null) {
+            statistics = new TreeMapStatistics();
+        }
+        return statistics;
+    }
+
+
+    /**
+     * Stop collecting statistics.
+     */
+    void disable() {
+        statistics = null;
+    }
+
+
+    /**
+     * Measure the current shape of the tree into the statistics. Takes O(N) time for N nodes, as
+     * every node is visited.
+     *
+     * @param root Root node of the tree, or null if the tree is empty.
+     * @return Optional containing the statistics if they have been enabled.
+     */
+    Optional<TreeMapStatistics> measure(final N root) {
+        if (statistics == null) {
+            return Optional.empty();
+        }
+
+        statistics.updateShape(depthCounts(root));
+        return Optional.of(statistics);
+    }
+
+
+    /**
+     * Count the number of nodes at each depth of the tree, visiting the tree level by level.
+     * Iterative, since an unbalanced tree may be too deep to visit recursively.
+     *
+     * @param root Root node of the tree, or null if the tree is empty.
+     * @return Array where index i is the number of nodes at depth i.
+     */
+    private long[] depthCounts(final N root) {
+        long[] counts = new long[16];
+        int height = 0;
+
+        final Queue<N> level = new ArrayQueue<>();
+        if (root != null) {
+            level.enqueue(root);
+        }
+
+        while (!level.isEmpty()) {
+            // the queue holds exactly the nodes of the current level
+            final int levelSize = level.size();
+            if (height == counts.length) {
+                counts = Arrays.copyOf(counts, height * 2);
+            }
+            counts[height++] = levelSize;
+
+            for (int i = 0; i < levelSize; i++) {
+                final N node = level.dequeue().get();
+                final N leftChild = left.apply(node);
+                if (leftChild != null) {
+                    level.enqueue(leftChild);
+                }
+                final N rightChild = right.apply(node);
+                if (rightChild != null) {
+                    level.enqueue(rightChild);
+                }
+            }
+        }
+
+        return Arrays.copyOf(counts, height);
+    }
+
+}
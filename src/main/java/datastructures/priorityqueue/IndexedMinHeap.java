@@ -0,0 +1,312 @@
+package datastructures.priorityqueue;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+
+/**
+ * Min heap of int keys from zero up to a fixed capacity, each with a double priority. The
+ * position of each key in the heap is recorded, so the priority of a key already in the heap
+ * can be lowered in place, rather than adding a second copy of it. This is the decrease-key
+ * operation needed by Dijkstra's algorithm and its relatives.
+ *
+ * All state is held in arrays of primitives sized to the capacity, so no objects are created
+ * as keys are added and removed.
+ */
+public class IndexedMinHeap {
+
+    /**
+     * Marks a key which isn't in the heap.
+     */
+    private static final int ABSENT = -1;
+
+
+    /**
+     * The heap itself, holding keys ordered by their priorities.
+     */
+    private final int[] heap;
+
+
+    /**
+     * Position of each key in the heap, or {@link #ABSENT} if the key isn't in the heap.
+     */
+    private final int[] positions;
+
+
+    /**
+     * Priority of each key in the heap.
+     */
+    private final double[] priorities;
+
+
+    /**
+     * Number of keys in the heap.
+     */
+    private int size = 0;
+
+
+    /**
+     * Create an empty heap for keys from zero up to, but not including, the capacity.
+     *
+     * @param capacity The number of distinct keys the heap can hold.
+     */
+    public IndexedMinHeap(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+
+        heap = new int[capacity];
+        positions = new int[capacity];
+        priorities = new double[capacity];
+        Arrays.fill(positions, ABSENT);
+    }
+
+
+    /**
+     * Add a key to the heap.
+     *
+     * @param key Key to add, which must not already be in the heap.
+     * @param priority Priority of the key, where lower priorities are removed first.
+     * @throws IllegalArgumentException If the key is out of range or already in the heap, or the priority is NaN.
+     */
+    public void insert(final int key, final double priority) {
+        checkKey(key);
+        checkPriority(priority);
+        if (positions[key] != ABSENT) {
+            throw new IllegalArgumentException("Key " + key + " is already in the heap");
+        }
+
+        priorities[key] = priority;
+        heap[size] = key;
+        positions[key] = size;
+        swim(size++);
+    }
+
+
+    /**
+     * Lower the priority of a key already in the heap.
+     *
+     * @param key Key to update.
+     * @param priority New priority of the key, which must not be above its current priority.
+     * @throws IllegalArgumentException If the key isn't in the heap, or the priority is higher than before or NaN.
+     */
+    public void decreaseKey(final int key, final double priority) {
+        checkKey(key);
+        checkPriority(priority);
+        if (positions[key] == ABSENT) {
+            throw new IllegalArgumentException("Key " + key + " is not in the heap");
+        }
+        if (priority > priorities[key]) {
+            throw new IllegalArgumentException("Priority " + priority + " of key " + key
+                    + " is above its current priority " + priorities[key]);
+        }
+
+        priorities[key] = priority;
+        swim(positions[key]);
+    }
+
+
+    /**
+     * Add a key to the heap, or lower its priority if it is already in the heap with a higher one.
+     *
+     * @param key Key to add or update.
+     * @param priority Priority of the key.
+     * @return <CODE>true</CODE> if the key was added or its priority lowered; <CODE>false</CODE> if it
+     *         was already in the heap with a priority no higher than the given one.
+     * @throws IllegalArgumentException If the key is out of range, or the priority is NaN.
+     */
+    public boolean insertOrDecrease(final int key, final double priority) {
+        checkKey(key);
+        checkPriority(priority);
+
+        if (positions[key] == ABSENT) {
+            insert(key, priority);
+            return true;
+        }
+        if (priority < priorities[key]) {
+            priorities[key] = priority;
+            swim(positions[key]);
+            return true;
+        }
+        return false;
+    }
+
+
+    /**
+     * Removes the key with the lowest priority from the heap and returns it.
+     *
+     * @return Optional containing the key with the lowest priority, if the heap isn't empty.
+     */
+    public OptionalInt removeMin() {
+
+        if (size == 0) {
+            return OptionalInt.empty();
+        }
+
+        final int minKey = heap[0];
+        positions[minKey] = ABSENT;
+
+        size--;
+        if (size > 0) {
+            // move the last key into the head position and let it sink into place
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            sink(0);
+        }
+
+        return OptionalInt.of(minKey);
+    }
+
+
+    /**
+     * Get the key with the lowest priority without removing it.
+     *
+     * @return Optional containing the key with the lowest priority, if the heap isn't empty.
+     */
+    public OptionalInt minKey() {
+        return size == 0 ? OptionalInt.empty() : OptionalInt.of(heap[0]);
+    }
+
+
+    /**
+     * Query if a key is in the heap.
+     *
+     * @param key Key to check.
+     * @return <CODE>true</CODE> if the key is in the heap; <CODE>false</CODE> otherwise.
+     */
+    public boolean contains(final int key) {
+        checkKey(key);
+        return positions[key] != ABSENT;
+    }
+
+
+    /**
+     * Get the priority of a key in the heap.
+     *
+     * @param key Key to get the priority of.
+     * @return The priority of the key.
+     * @throws IllegalArgumentException If the key isn't in the heap.
+     */
+    public double priority(final int key) {
+        if (!contains(key)) {
+            throw new IllegalArgumentException("Key " + key + " is not in the heap");
+        }
+        return priorities[key];
+    }
+
+
+    /**
+     * Potentially moves the key at the given position up through the heap such that its
+     * priority is not lower than its parent's, keeping in line with the heap order property.
+     *
+     * @param index Position of the key to try and move up the heap.
+     */
+    private void swim(int index) {
+        final int key = heap[index];
+        final double priority = priorities[key];
+
+        // shift parents down until the key's place is found, then write it once
+        while (index > 0) {
+            final int parent = (index - 1) / 2;
+            if (priorities[heap[parent]] <= priority) {
+                break;
+            }
+
+            heap[index] = heap[parent];
+            positions[heap[index]] = index;
+            index = parent;
+        }
+
+        heap[index] = key;
+        positions[key] = index;
+    }
+
+
+    /**
+     * Potentially moves the key at the given position down through the heap such that its
+     * priority is not higher than either of its children's, keeping in line with the heap order property.
+     *
+     * @param index Position of the key to try and move down the heap.
+     */
+    private void sink(int index) {
+        final int key = heap[index];
+        final double priority = priorities[key];
+
+        int childIndex = (index * 2) + 1;
+        while (childIndex < size) {
+
+            // pick the child with the lower priority
+            if (childIndex + 1 < size && priorities[heap[childIndex + 1]] < priorities[heap[childIndex]]) {
+                childIndex++;
+            }
+
+            if (priority <= priorities[heap[childIndex]]) {
+                break;
+            }
+
+            heap[index] = heap[childIndex];
+            positions[heap[index]] = index;
+            index = childIndex;
+            childIndex = (index * 2) + 1;
+        }
+
+        heap[index] = key;
+        positions[key] = index;
+    }
+
+
+    /**
+     * Check that a key is within the range of the heap.
+     *
+     * @param key The key to check.
+     * @throws IllegalArgumentException If the key is out of range.
+     */
+    private void checkKey(final int key) {
+        if (key < 0 || key >= positions.length) {
+            throw new IllegalArgumentException("Key " + key + " is not in a heap of capacity " + positions.length);
+        }
+    }
+
+
+    /**
+     * Check that a priority can be ordered.
+     *
+     * @param priority The priority to check.
+     * @throws IllegalArgumentException If the priority is NaN.
+     */
+    private static void checkPriority(final double priority) {
+        if (Double.isNaN(priority)) {
+            throw new IllegalArgumentException("Priority must not be NaN");
+        }
+    }
+
+
+    /**
+     * Counts the number of keys in the heap.
+     *
+     * @return The number of keys in the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Tests if there are no keys in the heap.
+     *
+     * @return <CODE>true</CODE> if there are no keys in the heap; <CODE>false</CODE> otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * Remove every key from the heap, in time proportional to the number of keys it held.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = ABSENT;
+        }
+        size = 0;
+    }
+}
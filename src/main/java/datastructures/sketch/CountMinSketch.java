@@ -0,0 +1,232 @@
+package datastructures.sketch;
+
+import datastructures.hash.Hashing;
+
+/**
+ * Count-min sketch, estimating how often each key occurs in a stream using a fixed amount of memory.
+ * Counters are arranged in a number of rows, each with its own hash function mapping a key to one
+ * counter in that row. The estimate for a key is the smallest of its counters, which can only
+ * overestimate the true count, and is within epsilon * totalCount of it with probability 1 - delta.
+ *
+ * Counts are updated conservatively: only the counters that are at the current minimum for a key are
+ * raised, which leaves the guarantee intact while greatly reducing overestimation for infrequent keys.
+ *
+ * @param <T> Type of the keys counted by the sketch.
+ */
+public class CountMinSketch<T> {
+
+    /**
+     * Number of rows in the sketch, each using a different hash function.
+     */
+    private final int depth;
+
+
+    /**
+     * Number of counters in each row. Always a power of two so indices can be found using a mask.
+     */
+    private final int width;
+
+
+    /**
+     * Counters for every row, stored row after row in a single array.
+     */
+    private final long[] counters;
+
+
+    /**
+     * Sum of all counts added to the sketch.
+     */
+    private long totalCount = 0;
+
+
+    /**
+     * Create a sketch with the given dimensions.
+     *
+     * @param depth Number of rows, where more rows lower the probability of a large error.
+     * @param width Number of counters per row, rounded up to a power of two. Wider rows give smaller errors.
+     */
+    public CountMinSketch(final int depth, final int width) {
+        if (depth < 1 || width < 1 || width > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid sketch dimensions: " + depth + " x " + width);
+        }
+
+        // the counters must fit in one array, which the int product could overflow
+        final long counterCount = (long) depth * nextPowerOfTwo(width);
+        if (counterCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Sketch of " + depth + " x " + nextPowerOfTwo(width)
+                    + " counters is too large");
+        }
+
+        this.depth = depth;
+        this.width = nextPowerOfTwo(width);
+        this.counters = new long[(int) counterCount];
+    }
+
+
+    /**
+     * Create a sketch whose estimates are within epsilon * totalCount of the true count
+     * with probability at least 1 - delta.
+     *
+     * @param epsilon Acceptable error as a fraction of the total count.
+     * @param delta Acceptable probability of exceeding the error.
+     * @param <T> Type of the keys counted by the sketch.
+     * @return A sketch sized for the given error bounds.
+     */
+    public static <T> CountMinSketch<T> withErrorBounds(final double epsilon, final double delta) {
+        final int width = (int) Math.ceil(Math.E / epsilon);
+        final int depth = (int) Math.ceil(Math.log(1 / delta));
+        return new CountMinSketch<>(Math.max(depth, 1), width);
+    }
+
+
+    /**
+     * Record a single occurrence of the given key.
+     *
+     * @param key Key to count.
+     * @return The new estimated count of the key.
+     */
+    public long add(final T key) {
+        return add(key, 1);
+    }
+
+
+    /**
+     * Record the given number of occurrences of the key.
+     *
+     * @param key Key to count.
+     * @param count Number of occurrences to add, which must not be negative.
+     * @return The new estimated count of the key.
+     */
+    public long add(final T key, final long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative: " + count);
+        }
+
+        final long hash = Hashing.hash64(key);
+
+        // find the current estimate first, as only counters below the new estimate need raising
+        final long newEstimate = estimate(hash) + count;
+
+        for (int row = 0; row < depth; row++) {
+            final int index = index(hash, row);
+            if (counters[index] < newEstimate) {
+                counters[index] = newEstimate;
+            }
+        }
+
+        totalCount += count;
+        return newEstimate;
+    }
+
+
+    /**
+     * Estimate the number of occurrences of the given key. Never less than the true count.
+     *
+     * @param key Key to estimate the count of.
+     * @return The estimated count.
+     */
+    public long estimate(final T key) {
+        return estimate(Hashing.hash64(key));
+    }
+
+
+    /**
+     * Estimate the count for a key with the given hash, taking the minimum counter across all rows.
+     *
+     * @param hash 64-bit hash of the key.
+     * @return The estimated count.
+     */
+    private long estimate(final long hash) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[index(hash, row)]);
+        }
+        return min;
+    }
+
+
+    /**
+     * Add the counts of another sketch to this sketch, so that this sketch summarises both streams.
+     * Estimates of the merged sketch still never underestimate the combined count.
+     *
+     * @param other Sketch with the same dimensions to merge into this one.
+     */
+    public void merge(final CountMinSketch<T> other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("Cannot merge sketches with different dimensions");
+        }
+
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        totalCount += other.totalCount;
+    }
+
+
+    /**
+     * Get the sum of all counts added to the sketch.
+     *
+     * @return The total count.
+     */
+    public long totalCount() {
+        return totalCount;
+    }
+
+
+    /**
+     * Get the number of rows in the sketch.
+     *
+     * @return The depth of the sketch.
+     */
+    public int depth() {
+        return depth;
+    }
+
+
+    /**
+     * Get the number of counters in each row of the sketch.
+     *
+     * @return The width of the sketch.
+     */
+    public int width() {
+        return width;
+    }
+
+
+    /**
+     * Get the memory taken by the counters, which is fixed when the sketch is created however many
+     * keys are added.
+     *
+     * @return The size of the counters in bytes.
+     */
+    public long memoryBytes() {
+        return (long) counters.length * Long.BYTES;
+    }
+
+
+    /**
+     * Find the index of the counter for a key in a given row. Row hash functions are derived from
+     * two halves of the key's hash (h1 + row * h2), which behaves like independent hash functions.
+     *
+     * @param hash 64-bit hash of the key.
+     * @param row Row to find the counter in.
+     * @return Index of the counter in the counters array.
+     */
+    private int index(final long hash, final int row) {
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32) | 1; // odd, so the step between rows is never zero
+        return row * width + ((h1 + row * h2) & (width - 1));
+    }
+
+
+    /**
+     * Round the given number up to the next power of two.
+     *
+     * @param n Positive number to round.
+     * @return The smallest power of two not less than n.
+     */
+    private static int nextPowerOfTwo(final int n) {
+        return n == 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+}
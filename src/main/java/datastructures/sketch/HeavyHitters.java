@@ -0,0 +1,209 @@
+package datastructures.sketch;
+
+import datastructures.hash.Hashing;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Tracks the most frequent keys (heavy hitters) in a stream using a fixed amount of memory.
+ * Counts are estimated with a count-min sketch, and a small table of candidates holds the keys
+ * with the highest estimates seen so far. A new key replaces the weakest candidate once its
+ * estimate overtakes it.
+ *
+ * Candidates are found by scanning their cached hashes, so the number of tracked keys is
+ * expected to be small (up to a few hundred).
+ *
+ * @param <T> Type of the keys counted.
+ */
+public class HeavyHitters<T> {
+
+    /**
+     * Sketch providing the count estimates of all keys.
+     */
+    private final CountMinSketch<T> sketch;
+
+
+    /**
+     * The keys currently believed to be the most frequent.
+     */
+    private final Object[] candidates;
+
+
+    /**
+     * Hashes of the candidates, parallel to the candidates array, allowing fast scans for a key.
+     */
+    private final long[] candidateHashes;
+
+
+    /**
+     * Estimated counts of the candidates, parallel to the candidates array.
+     */
+    private final long[] candidateCounts;
+
+
+    /**
+     * Current number of candidates.
+     */
+    private int size = 0;
+
+
+    /**
+     * Index of the candidate with the smallest estimate, which is the next to be replaced.
+     */
+    private int minIndex = 0;
+
+
+    /**
+     * Track the given number of the most frequent keys, estimating counts with the given sketch.
+     *
+     * @param k Number of keys to track.
+     * @param sketch Empty sketch used to estimate counts.
+     */
+    public HeavyHitters(final int k, final CountMinSketch<T> sketch) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Must track at least one key: " + k);
+        }
+
+        this.sketch = sketch;
+        candidates = new Object[k];
+        candidateHashes = new long[k];
+        candidateCounts = new long[k];
+    }
+
+
+    /**
+     * Record a single occurrence of the given key.
+     *
+     * @param key Key to count.
+     */
+    public void add(final T key) {
+        add(key, 1);
+    }
+
+
+    /**
+     * Record the given number of occurrences of the key.
+     *
+     * @param key Key to count.
+     * @param count Number of occurrences to add, which must not be negative.
+     */
+    public void add(final T key, final long count) {
+        offer(key, sketch.add(key, count));
+    }
+
+
+    /**
+     * Consider the key as a candidate given its latest estimated count.
+     *
+     * @param key Key to consider.
+     * @param estimate Estimated count of the key.
+     */
+    private void offer(final T key, final long estimate) {
+        final long hash = Hashing.hash64(key);
+
+        // update the estimate if the key is already a candidate
+        for (int i = 0; i < size; i++) {
+            if (candidateHashes[i] == hash && candidates[i].equals(key)) {
+                candidateCounts[i] = estimate;
+                if (i == minIndex) {
+                    updateMinIndex();
+                }
+                return;
+            }
+        }
+
+        if (size < candidates.length) {
+            // still room to track more keys
+            set(size, key, hash, estimate);
+            size++;
+            updateMinIndex();
+        } else if (estimate > candidateCounts[minIndex]) {
+            // replace the weakest candidate
+            set(minIndex, key, hash, estimate);
+            updateMinIndex();
+        }
+    }
+
+
+    /**
+     * Estimate the number of occurrences of the given key.
+     *
+     * @param key Key to estimate the count of.
+     * @return The estimated count, never less than the true count.
+     */
+    public long estimate(final T key) {
+        return sketch.estimate(key);
+    }
+
+
+    /**
+     * Provide an iterator over the tracked keys, from the most to the least frequent.
+     *
+     * @return Iterator over the heavy hitters.
+     */
+    @SuppressWarnings("unchecked")
+    public Iterator<T> heavyHitters() {
+        // sort candidate indices by descending estimate
+        final Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(candidateCounts[b], candidateCounts[a]));
+
+        return Arrays.stream(order).map(i -> (T) candidates[i]).iterator();
+    }
+
+
+    /**
+     * Combine another tracker into this one, so that it summarises both streams. The other tracker's
+     * sketch must have the same dimensions as this tracker's sketch.
+     *
+     * @param other Tracker to merge into this one.
+     */
+    @SuppressWarnings("unchecked")
+    public void merge(final HeavyHitters<T> other) {
+        sketch.merge(other.sketch);
+
+        // estimates of existing candidates may have grown from the other stream
+        for (int i = 0; i < size; i++) {
+            candidateCounts[i] = sketch.estimate((T) candidates[i]);
+        }
+        updateMinIndex();
+
+        // then give the other tracker's candidates a chance using their combined estimates
+        for (int i = 0; i < other.size; i++) {
+            final T key = (T) other.candidates[i];
+            offer(key, sketch.estimate(key));
+        }
+    }
+
+
+    /**
+     * Store a candidate at the given index.
+     *
+     * @param index Index to store the candidate at.
+     * @param key The candidate key.
+     * @param hash Hash of the candidate key.
+     * @param estimate Estimated count of the candidate key.
+     */
+    private void set(final int index, final T key, final long hash, final long estimate) {
+        candidates[index] = key;
+        candidateHashes[index] = hash;
+        candidateCounts[index] = estimate;
+    }
+
+
+    /**
+     * Find the candidate with the smallest estimate.
+     */
+    private void updateMinIndex() {
+        minIndex = 0;
+        for (int i = 1; i < size; i++) {
+            if (candidateCounts[i] < candidateCounts[minIndex]) {
+                minIndex = i;
+            }
+        }
+    }
+
+}
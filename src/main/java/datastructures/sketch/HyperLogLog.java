@@ -0,0 +1,158 @@
+package datastructures.sketch;
+
+import datastructures.hash.Hashing;
+
+/**
+ * HyperLogLog, estimating the number of distinct keys in a stream using a fixed amount of memory.
+ * Each key's hash selects one of 2^precision registers, and the register records the longest run of
+ * leading zero bits seen in the remainder of any hash selecting it. Long runs are unlikely, so the
+ * registers together indicate how many distinct hashes have been seen.
+ *
+ * The relative standard error is about 1.04 / sqrt(2^precision), e.g. 0.8% using 16KB of registers
+ * at precision 14.
+ *
+ * @param <T> Type of the keys counted by the sketch.
+ */
+public class HyperLogLog<T> {
+
+    /**
+     * Smallest supported precision.
+     */
+    private static final int MIN_PRECISION = 4;
+
+
+    /**
+     * Largest supported precision.
+     */
+    private static final int MAX_PRECISION = 18;
+
+
+    /**
+     * Number of bits of the hash used to select a register.
+     */
+    private final int precision;
+
+
+    /**
+     * Longest run of leading zeros (plus one) seen in the hashes selecting each register.
+     */
+    private final byte[] registers;
+
+
+    /**
+     * Create a sketch with 2^precision registers.
+     *
+     * @param precision Number of bits used to select a register, between 4 and 18.
+     */
+    public HyperLogLog(final int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between " + MIN_PRECISION
+                    + " and " + MAX_PRECISION + ": " + precision);
+        }
+
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+
+    /**
+     * Record an occurrence of the given key.
+     *
+     * @param key Key to count.
+     */
+    public void add(final T key) {
+        final long hash = Hashing.hash64(key);
+
+        // the top bits choose the register, and the rest of the hash gives the run of zeros.
+        // a marker bit is set so that the run is bounded if the remaining bits are all zero
+        final int index = (int) (hash >>> (Long.SIZE - precision));
+        final long remaining = (hash << precision) | (1L << (precision - 1));
+        final byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+
+        if (registers[index] < rank) {
+            registers[index] = rank;
+        }
+    }
+
+
+    /**
+     * Estimate the number of distinct keys added to the sketch.
+     *
+     * @return The estimated number of distinct keys.
+     */
+    public long estimate() {
+        final int registerCount = registers.length;
+
+        // harmonic mean of 2^register across all registers
+        double sum = 0;
+        int zeroRegisters = 0;
+        for (final byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeroRegisters++;
+            }
+        }
+
+        final double estimate = alpha(registerCount) * registerCount * registerCount / sum;
+
+        // for small cardinalities many registers are still empty, and linear counting is more accurate.
+        // strings and boxed primitives get full 64-bit hashes, which makes collisions negligible, so no
+        // large range correction is applied; other keys only have the 32 bits of their hash code, and
+        // counts approaching 2^32 of them will be underestimated
+        if (estimate <= 2.5 * registerCount && zeroRegisters != 0) {
+            return Math.round(registerCount * Math.log((double) registerCount / zeroRegisters));
+        }
+
+        return Math.round(estimate);
+    }
+
+
+    /**
+     * Combine another sketch into this sketch, so that this sketch counts the distinct keys
+     * across both streams. The result is identical to having added both streams to one sketch.
+     *
+     * @param other Sketch with the same precision to merge into this one.
+     */
+    public void merge(final HyperLogLog<T> other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches with different precisions");
+        }
+
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] < other.registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+
+    /**
+     * Get the number of bits used to select a register.
+     *
+     * @return The precision of the sketch.
+     */
+    public int precision() {
+        return precision;
+    }
+
+
+    /**
+     * Constant correcting the bias of the harmonic mean, depending on the number of registers.
+     *
+     * @param registerCount Number of registers.
+     * @return The bias correction constant.
+     */
+    private static double alpha(final int registerCount) {
+        switch (registerCount) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / registerCount);
+        }
+    }
+
+}
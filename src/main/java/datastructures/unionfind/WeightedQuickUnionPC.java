@@ -23,6 +23,12 @@ public class WeightedQuickUnionPC implements UnionFind {
     private final int[] treeSizes;
 
 
+    /**
+     * The number of trees, which is the number of connected components.
+     */
+    private int count;
+
+
     /**
      * Create union-find data structure to store information for the specified number of vertices.
      *
@@ -31,6 +37,7 @@ public class WeightedQuickUnionPC implements UnionFind {
     public WeightedQuickUnionPC(final int vertexCount) {
         id = new int[vertexCount];
         treeSizes = new int[vertexCount];
+        count = vertexCount;
         for (int i = 0; i < vertexCount; i++) {
             id[i] = i;
             treeSizes[i] = 1;
@@ -91,6 +98,7 @@ public class WeightedQuickUnionPC implements UnionFind {
             id[secondRoot] = firstRoot;
             treeSizes[firstRoot] += treeSizes[secondRoot];
         }
+        count--;
     }
 
     /**
@@ -111,4 +119,15 @@ public class WeightedQuickUnionPC implements UnionFind {
     public boolean connected(final int vertexIndex, final int otherVertexIndex) {
         return root(vertexIndex) == root(otherVertexIndex);
     }
+
+
+    /**
+     * Get the number of connected components, which starts at the number of vertices and drops
+     * by one each time a union joins two components.
+     *
+     * @return The number of connected components.
+     */
+    public int count() {
+        return count;
+    }
 }
@@ -0,0 +1,126 @@
+package algorithms.graph;
+
+import datastructures.graph.WeightedCSRGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+public class AStarTest {
+
+    private static final int GRID_SIZE = 40;
+
+    private static List<Integer> toList(final Iterator<Integer> iterator) {
+        final List<Integer> list = new LinkedList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
+    /**
+     * Grid where each cell is joined to the cells beside it, with weights of at least one so the
+     * Manhattan distance never overestimates.
+     */
+    private static WeightedCSRGraph generateGrid(final Random random) {
+        final WeightedCSRGraph.Builder builder = new WeightedCSRGraph.Builder(GRID_SIZE * GRID_SIZE, false);
+        for (int row = 0; row < GRID_SIZE; row++) {
+            for (int column = 0; column < GRID_SIZE; column++) {
+                final int cell = row * GRID_SIZE + column;
+                if (column + 1 < GRID_SIZE) {
+                    builder.addEdge(cell, cell + 1, 1 + random.nextInt(3));
+                }
+                if (row + 1 < GRID_SIZE) {
+                    builder.addEdge(cell, cell + GRID_SIZE, 1 + random.nextInt(3));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static double manhattan(final int cell, final int target) {
+        return Math.abs(cell / GRID_SIZE - target / GRID_SIZE) + Math.abs(cell % GRID_SIZE - target % GRID_SIZE);
+    }
+
+    @Test
+    public void testSmallGraph() {
+        final WeightedCSRGraph g = new WeightedCSRGraph.Builder(5, true)
+                .addEdge(0, 1, 1.0)
+                .addEdge(1, 2, 1.0)
+                .addEdge(0, 2, 5.0)
+                .addEdge(2, 3, 1.0)
+                .build();
+
+        final AStar aStar = new AStar(g, 0, 3, v -> 0.0);
+        Assertions.assertTrue(aStar.hasPath());
+        Assertions.assertEquals(3.0, aStar.distance(), 0.0);
+        Assertions.assertEquals(Arrays.asList(0, 1, 2, 3), toList(aStar.path().get()));
+
+        final AStar unreachable = new AStar(g, 0, 4, v -> 0.0);
+        Assertions.assertFalse(unreachable.hasPath());
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, unreachable.distance(), 0.0);
+        Assertions.assertEquals(Optional.empty(), unreachable.path());
+    }
+
+    @Test
+    public void testPathToRoot() {
+        final WeightedCSRGraph g = new WeightedCSRGraph.Builder(2, true).addEdge(0, 1, 1.0).build();
+        final AStar aStar = new AStar(g, 0, 0, v -> 0.0);
+
+        Assertions.assertEquals(0.0, aStar.distance(), 0.0);
+        Assertions.assertEquals(Arrays.asList(0), toList(aStar.path().get()));
+        Assertions.assertEquals(1, aStar.settledCount());
+    }
+
+    @Test
+    public void testMatchesDijkstraOnGrid() {
+        final Random random = new Random(0);
+        final WeightedCSRGraph g = generateGrid(random);
+        final Dijkstra dijkstra = new Dijkstra(g, 0);
+
+        for (int trial = 0; trial < 20; trial++) {
+            final int target = random.nextInt(GRID_SIZE * GRID_SIZE);
+
+            final AStar guided = new AStar(g, 0, target, v -> manhattan(v, target));
+            final AStar unguided = new AStar(g, 0, target, v -> 0.0);
+
+            Assertions.assertEquals(dijkstra.distanceTo(target), guided.distance(), 0.0);
+            Assertions.assertEquals(dijkstra.distanceTo(target), unguided.distance(), 0.0);
+
+            // the heuristic steers the search, so it never settles more vertices
+            Assertions.assertTrue(guided.settledCount() <= unguided.settledCount());
+
+            final List<Integer> path = toList(guided.path().get());
+            Assertions.assertEquals(0, path.get(0));
+            Assertions.assertEquals(target, path.get(path.size() - 1));
+        }
+    }
+
+    @Test
+    public void testInconsistentHeuristic() {
+        // admissible but not consistent: vertex 1 looks far away, so 2 is first settled by a longer path
+        final WeightedCSRGraph g = new WeightedCSRGraph.Builder(4, true)
+                .addEdge(0, 1, 1.0)
+                .addEdge(0, 2, 3.0)
+                .addEdge(1, 2, 1.0)
+                .addEdge(2, 3, 3.0)
+                .build();
+        final double[] estimates = {0.0, 4.0, 0.0, 0.0};
+
+        final AStar aStar = new AStar(g, 0, 3, v -> estimates[v]);
+        Assertions.assertEquals(5.0, aStar.distance(), 0.0);
+        Assertions.assertEquals(Arrays.asList(0, 1, 2, 3), toList(aStar.path().get()));
+    }
+
+    @Test
+    public void testInvalidHeuristic() {
+        final WeightedCSRGraph g = new WeightedCSRGraph.Builder(2, true).addEdge(0, 1, 1.0).build();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AStar(g, 0, 1, v -> -1.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AStar(g, 0, 1, v -> Double.NaN));
+    }
+
+}
@@ -1,5 +1,6 @@
 package algorithms.graph;
 
+import datastructures.graph.CSRGraph;
 import datastructures.graph.DirectedGraph;
 import datastructures.graph.UndirectedGraph;
 import org.junit.jupiter.api.Assertions;
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Optional;
 
 public class BFSTest {
@@ -140,4 +142,49 @@ public class BFSTest {
         Assertions.assertEquals(expectedOrder, actualOrder);
     }
 
+    @Test
+    public void testCSRGraph() {
+        final CSRGraph g = new CSRGraph.Builder(VERTEX_COUNT, false)
+                .addEdge(0, 1)
+                .addEdge(0, 2)
+                .addEdge(1, 3)
+                .build();
+        final BFS bfs = new BFS(g, 0);
+
+        Assertions.assertTrue(bfs.hasPathTo(3));
+        Assertions.assertFalse(bfs.hasPathTo(4));
+
+        final LinkedList<Integer> actualPath = new LinkedList<>();
+        bfs.pathTo(3).get().forEachRemaining(actualPath::add);
+        Assertions.assertEquals(List.of(0, 1, 3), actualPath);
+
+        final LinkedList<Integer> actualOrder = new LinkedList<>();
+        BFS.search(g, 0).forEachRemaining(actualOrder::add);
+        Assertions.assertEquals(List.of(0, 1, 2, 3), actualOrder);
+    }
+
+    @Test
+    public void testShortestPathWithCycle() {
+        final UndirectedGraph g = new UndirectedGraph(VERTEX_COUNT);
+        g.addEdge(0, 1);
+        g.addEdge(0, 2);
+        g.addEdge(1, 2);
+
+        final LinkedList<Integer> actualPath = new LinkedList<>();
+        new BFS(g, 0).pathTo(2).get().forEachRemaining(actualPath::add);
+        Assertions.assertEquals(List.of(0, 2), actualPath);
+
+        // each vertex should be visited exactly once
+        final LinkedList<Integer> actualOrder = new LinkedList<>();
+        BFS.search(g, 0).forEachRemaining(actualOrder::add);
+        Assertions.assertEquals(List.of(0, 1, 2), actualOrder);
+    }
+
+    @Test
+    public void testPathToRoot() {
+        final LinkedList<Integer> actualPath = new LinkedList<>();
+        new BFS(generateUndirectedGraph(), 0).pathTo(0).get().forEachRemaining(actualPath::add);
+        Assertions.assertEquals(List.of(0), actualPath);
+    }
+
 }
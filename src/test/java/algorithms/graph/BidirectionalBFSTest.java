@@ -0,0 +1,173 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.DirectedGraph;
+import datastructures.graph.Graph;
+import datastructures.graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+public class BidirectionalBFSTest {
+
+    private static final int VERTEX_COUNT = 6;
+
+    private static UndirectedGraph generateUndirectedGraph() {
+        final UndirectedGraph g = new UndirectedGraph(VERTEX_COUNT);
+        g.addEdge(0, 1);
+        g.addEdge(1, 2);
+        g.addEdge(2, 3);
+        g.addEdge(0, 4);
+        g.addEdge(4, 3);
+        return g; // vertex 5 is disconnected
+    }
+
+    private static List<Integer> toList(final Iterator<Integer> iterator) {
+        final List<Integer> list = new LinkedList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
+    private static boolean hasEdge(final Graph g, final int vertex, final int otherVertex) {
+        for (int i = 0; i < g.degree(vertex); i++) {
+            if (g.neighbour(vertex, i) == otherVertex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testUndirectedPath() {
+        final BidirectionalBFS search = new BidirectionalBFS(generateUndirectedGraph());
+
+        Assertions.assertEquals(2, search.distance(0, 3));
+        Assertions.assertEquals(Arrays.asList(0, 4, 3), toList(search.path(0, 3).get()));
+        Assertions.assertEquals(Arrays.asList(3, 4, 0), toList(search.path(3, 0).get()));
+        Assertions.assertEquals(Arrays.asList(1, 2), toList(search.path(1, 2).get()));
+    }
+
+    @Test
+    public void testNoPath() {
+        final BidirectionalBFS search = new BidirectionalBFS(generateUndirectedGraph());
+
+        Assertions.assertFalse(search.hasPath(0, 5));
+        Assertions.assertEquals(-1, search.distance(5, 0));
+        Assertions.assertEquals(Optional.empty(), search.path(0, 5));
+    }
+
+    @Test
+    public void testPathToSelf() {
+        final BidirectionalBFS search = new BidirectionalBFS(generateUndirectedGraph());
+
+        Assertions.assertEquals(0, search.distance(5, 5));
+        Assertions.assertEquals(Arrays.asList(5), toList(search.path(5, 5).get()));
+    }
+
+    @Test
+    public void testDirectedPath() {
+        final DirectedGraph g = new DirectedGraph(4);
+        final DirectedGraph reverse = new DirectedGraph(4);
+        final int[][] arcs = {{0, 1}, {1, 2}, {2, 3}, {3, 0}};
+        for (final int[] arc : arcs) {
+            g.addEdge(arc[0], arc[1]);
+            reverse.addEdge(arc[1], arc[0]);
+        }
+        final BidirectionalBFS search = new BidirectionalBFS(g, reverse);
+
+        // arcs can only be followed forwards, so the way back goes round the cycle
+        Assertions.assertEquals(1, search.distance(0, 1));
+        Assertions.assertEquals(3, search.distance(1, 0));
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 0), toList(search.path(1, 0).get()));
+    }
+
+    @Test
+    public void testMismatchedReverse() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new BidirectionalBFS(new DirectedGraph(3), new DirectedGraph(4)));
+    }
+
+    @Test
+    public void testMatchesBFS() {
+        for (int seed = 0; seed < 6; seed++) {
+            final Random random = new Random(seed);
+            final int vertexCount = 2000;
+            final CSRGraph.Builder builder = new CSRGraph.Builder(vertexCount, seed % 2 == 0);
+            for (int i = 0; i < 1000 * (seed + 1); i++) {
+                builder.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount));
+            }
+            final CSRGraph g = builder.build();
+            final CSRGraph reverse = g.transpose();
+            final BidirectionalBFS search = new BidirectionalBFS(g, reverse);
+
+            // many queries on one workspace, so entries from earlier queries must not leak into later ones
+            for (int query = 0; query < 20; query++) {
+                final int source = random.nextInt(vertexCount);
+                final DirectionOptimizingBFS bfs = new DirectionOptimizingBFS(g, reverse, source);
+
+                for (int target = 0; target < vertexCount; target += 7) {
+                    Assertions.assertEquals(bfs.distanceTo(target), search.distance(source, target));
+
+                    if (bfs.hasPathTo(target)) {
+                        final List<Integer> path = toList(search.path(source, target).get());
+                        Assertions.assertEquals(bfs.distanceTo(target) + 1, path.size());
+                        Assertions.assertEquals(source, path.get(0));
+                        Assertions.assertEquals(target, path.get(path.size() - 1));
+                        for (int i = 1; i < path.size(); i++) {
+                            Assertions.assertTrue(hasEdge(g, path.get(i - 1), path.get(i)));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentQueries() throws InterruptedException {
+        final Random random = new Random(0);
+        final int vertexCount = 5000;
+        final CSRGraph.Builder builder = new CSRGraph.Builder(vertexCount, false);
+        for (int i = 0; i < 10000; i++) {
+            builder.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount));
+        }
+        final CSRGraph g = builder.build();
+        final BidirectionalBFS search = new BidirectionalBFS(g);
+
+        final int[] sources = new int[200];
+        final int[] targets = new int[200];
+        final int[] expected = new int[200];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = random.nextInt(vertexCount);
+            targets[i] = random.nextInt(vertexCount);
+            expected[i] = new DirectionOptimizingBFS(g, sources[i]).distanceTo(targets[i]);
+        }
+
+        final boolean[] failed = new boolean[4];
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int thread = t;
+            threads[t] = new Thread(() -> {
+                for (int round = 0; round < 5; round++) {
+                    for (int i = 0; i < sources.length; i++) {
+                        failed[thread] |= search.distance(sources[i], targets[i]) != expected[i];
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        for (final boolean threadFailed : failed) {
+            Assertions.assertFalse(threadFailed);
+        }
+    }
+
+}
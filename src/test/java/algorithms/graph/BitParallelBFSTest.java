@@ -0,0 +1,83 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class BitParallelBFSTest {
+
+    private static void assertMatchesSingleSearches(final CSRGraph g, final int[] sources) {
+        final CSRGraph reverse = g.transpose();
+        final BitParallelBFS bfs = new BitParallelBFS(g, sources);
+
+        Assertions.assertEquals(sources.length, bfs.sourceCount());
+        for (int s = 0; s < sources.length; s++) {
+            Assertions.assertEquals(sources[s], bfs.source(s));
+
+            final DirectionOptimizingBFS single = new DirectionOptimizingBFS(g, reverse, sources[s]);
+            final int[] distances = bfs.distances(s);
+            for (int v = 0; v < g.vertexCount(); v++) {
+                Assertions.assertEquals(single.distanceTo(v), bfs.distanceTo(s, v));
+                Assertions.assertEquals(single.distanceTo(v), distances[v]);
+                Assertions.assertEquals(single.hasPathTo(v), bfs.hasPathTo(s, v));
+            }
+        }
+    }
+
+    @Test
+    public void testUndirectedMatchesSingleSearches() {
+        final Random random = new Random(2);
+        final int[] sources = new int[40];
+        for (int s = 0; s < sources.length; s++) {
+            sources[s] = random.nextInt(1000);
+        }
+        assertMatchesSingleSearches(TestGraphs.randomGraph(1000, 1500, false, 1), sources);
+    }
+
+    @Test
+    public void testDirectedMatchesSingleSearches() {
+        final Random random = new Random(4);
+        final int[] sources = new int[50];
+        for (int s = 0; s < sources.length; s++) {
+            sources[s] = random.nextInt(800);
+        }
+        assertMatchesSingleSearches(TestGraphs.randomGraph(800, 2000, true, 3), sources);
+    }
+
+    @Test
+    public void testSeveralBatches() {
+        // every vertex as a source, with repeats, needing three batches
+        final int[] sources = new int[150];
+        for (int s = 0; s < sources.length; s++) {
+            sources[s] = s % 120;
+        }
+        assertMatchesSingleSearches(TestGraphs.randomGraph(120, 200, false, 5), sources);
+    }
+
+    @Test
+    public void testCloseness() {
+        // a star: the centre is one edge from each leaf, each leaf two edges from the other leaves
+        final UndirectedGraph g = new UndirectedGraph(6);
+        for (int v = 1; v < 5; v++) {
+            g.addEdge(0, v);
+        }
+        final BitParallelBFS bfs = new BitParallelBFS(g, 0, 1, 5);
+
+        Assertions.assertEquals(1.0, bfs.closeness(0), 1e-12);
+        Assertions.assertEquals(4.0 / 7.0, bfs.closeness(1), 1e-12);
+        Assertions.assertEquals(0.0, bfs.closeness(2), 1e-12);
+        Assertions.assertFalse(bfs.hasPathTo(0, 5));
+    }
+
+    @Test
+    public void testBadSources() {
+        final UndirectedGraph g = new UndirectedGraph(3);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BitParallelBFS(g));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BitParallelBFS(g, 3));
+    }
+
+}
@@ -0,0 +1,145 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+public class BoundedBFSTest {
+
+    private static final int LINE_LENGTH = 1000;
+
+    @Test
+    public void testDistancesMatchFullSearch() {
+        final CSRGraph g = TestGraphs.randomGraph(2000, 5000, true, 1);
+        final DirectionOptimizingBFS expected = new DirectionOptimizingBFS(g, g.transpose(), 7);
+        final BoundedBFS bfs = new BoundedBFS(g, 7);
+
+        final int[] distances = bfs.distances();
+        int reached = 0;
+        for (int v = 0; v < g.vertexCount(); v++) {
+            Assertions.assertEquals(expected.distanceTo(v), bfs.distanceTo(v));
+            Assertions.assertEquals(expected.distanceTo(v), distances[v]);
+            Assertions.assertEquals(expected.hasPathTo(v), bfs.hasPathTo(v));
+            reached += expected.hasPathTo(v) ? 1 : 0;
+        }
+        Assertions.assertEquals(reached, bfs.visitedCount());
+        Assertions.assertTrue(bfs.foundAllTargets());
+    }
+
+    @Test
+    public void testMaxDepth() {
+        final CSRGraph g = TestGraphs.randomGraph(2000, 3000, false, 2);
+        final DirectionOptimizingBFS expected = new DirectionOptimizingBFS(g, 0);
+
+        for (int maxDepth = 0; maxDepth < 6; maxDepth++) {
+            final BoundedBFS bfs = new BoundedBFS(g, 0, maxDepth);
+            for (int v = 0; v < g.vertexCount(); v++) {
+                final int distance = expected.distanceTo(v);
+                Assertions.assertEquals(distance >= 0 && distance <= maxDepth ? distance : -1, bfs.distanceTo(v));
+            }
+        }
+    }
+
+    @Test
+    public void testStopsAtTarget() {
+        final BoundedBFS bfs = new BoundedBFS(TestGraphs.line(LINE_LENGTH), 0, BoundedBFS.UNBOUNDED, 3);
+
+        Assertions.assertTrue(bfs.foundAllTargets());
+        Assertions.assertEquals(3, bfs.distanceTo(3));
+        Assertions.assertEquals(4, bfs.visitedCount());
+        Assertions.assertFalse(bfs.hasPathTo(10));
+    }
+
+    @Test
+    public void testStopsAtLastTarget() {
+        final BoundedBFS bfs = new BoundedBFS(TestGraphs.line(LINE_LENGTH), 500, BoundedBFS.UNBOUNDED, 510, 495, 510);
+
+        Assertions.assertTrue(bfs.foundAllTargets());
+        Assertions.assertEquals(10, bfs.distanceTo(510));
+        Assertions.assertEquals(5, bfs.distanceTo(495));
+        Assertions.assertTrue(bfs.visitedCount() <= 21);
+    }
+
+    @Test
+    public void testTargetBeyondMaxDepth() {
+        final BoundedBFS bfs = new BoundedBFS(TestGraphs.line(LINE_LENGTH), 0, 5, 3, 8);
+
+        Assertions.assertFalse(bfs.foundAllTargets());
+        Assertions.assertEquals(3, bfs.distanceTo(3));
+        Assertions.assertEquals(-1, bfs.distanceTo(8));
+        Assertions.assertEquals(6, bfs.visitedCount());
+    }
+
+    @Test
+    public void testUnreachableTarget() {
+        final BoundedBFS bfs = new BoundedBFS(TestGraphs.line(LINE_LENGTH), 0, BoundedBFS.UNBOUNDED, LINE_LENGTH);
+
+        Assertions.assertFalse(bfs.foundAllTargets());
+        Assertions.assertEquals(LINE_LENGTH, bfs.visitedCount());
+    }
+
+    @Test
+    public void testRootIsTarget() {
+        final BoundedBFS bfs = new BoundedBFS(TestGraphs.line(LINE_LENGTH), 4, BoundedBFS.UNBOUNDED, 4);
+
+        Assertions.assertTrue(bfs.foundAllTargets());
+        Assertions.assertEquals(1, bfs.visitedCount());
+        Assertions.assertEquals(0, bfs.distanceTo(4));
+    }
+
+    @Test
+    public void testPathIntoArray() {
+        final BoundedBFS bfs = new BoundedBFS(TestGraphs.line(LINE_LENGTH), 2);
+
+        final int[] path = new int[10];
+        Assertions.assertEquals(5, bfs.pathTo(6, path));
+        Assertions.assertArrayEquals(new int[] {2, 3, 4, 5, 6}, Arrays.copyOf(path, 5));
+
+        Assertions.assertEquals(1, bfs.pathTo(2, path));
+        Assertions.assertEquals(2, path[0]);
+
+        Assertions.assertEquals(-1, bfs.pathTo(LINE_LENGTH, path));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> bfs.pathTo(20, path));
+    }
+
+    @Test
+    public void testPathIterator() {
+        final BoundedBFS bfs = new BoundedBFS(TestGraphs.line(LINE_LENGTH), 5);
+
+        final List<Integer> path = new LinkedList<>();
+        final Iterator<Integer> iterator = bfs.pathTo(2).get();
+        iterator.forEachRemaining(path::add);
+        Assertions.assertEquals(List.of(5, 4, 3, 2), path);
+        Assertions.assertFalse(bfs.pathTo(LINE_LENGTH).isPresent());
+    }
+
+    @Test
+    public void testWorkspaceReuse() {
+        final UndirectedGraph g = TestGraphs.line(LINE_LENGTH);
+        final TraversalWorkspace workspace = new TraversalWorkspace(g.vertexCount());
+
+        final BoundedBFS first = new BoundedBFS(g, 0, 2, workspace);
+        Assertions.assertEquals(2, first.distanceTo(2));
+
+        final BoundedBFS second = new BoundedBFS(g, 10, 1, workspace);
+        Assertions.assertEquals(-1, second.distanceTo(2));
+        Assertions.assertEquals(1, second.distanceTo(11));
+        Assertions.assertThrows(IllegalStateException.class, () -> first.distanceTo(2));
+    }
+
+    @Test
+    public void testBadArguments() {
+        final UndirectedGraph g = TestGraphs.line(LINE_LENGTH);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoundedBFS(g, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoundedBFS(g, 0, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoundedBFS(g, 0, 3, LINE_LENGTH + 1));
+    }
+
+}
@@ -1,5 +1,6 @@
 package algorithms.graph;
 
+import datastructures.graph.CSRGraph;
 import datastructures.graph.UndirectedGraph;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -54,4 +55,18 @@ public class ConnectedComponentsTest {
         Assertions.assertTrue(cc.id(4) != cc.id(5));
     }
 
+    @Test
+    public void testCSRGraph() {
+        final CSRGraph g = new CSRGraph.Builder(VERTEX_COUNT, false)
+                .addEdge(0, 1)
+                .addEdge(0, 2)
+                .addEdge(3, 4)
+                .build();
+        final ConnectedComponents cc = new ConnectedComponents(g);
+
+        Assertions.assertEquals(3, cc.count());
+        Assertions.assertTrue(cc.connected(1, 2));
+        Assertions.assertFalse(cc.connected(2, 3));
+    }
+
 }
@@ -1,5 +1,6 @@
 package algorithms.graph;
 
+import datastructures.graph.CSRGraph;
 import datastructures.graph.DirectedGraph;
 import datastructures.graph.UndirectedGraph;
 import org.junit.jupiter.api.Assertions;
@@ -7,7 +8,9 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 
 public class DFSTest {
 
@@ -140,4 +143,185 @@ public class DFSTest {
         Assertions.assertEquals(expectedOrder, actualOrder);
     }
 
+    @Test
+    public void testCSRGraph() {
+        final CSRGraph g = new CSRGraph.Builder(VERTEX_COUNT, false)
+                .addEdge(0, 1)
+                .addEdge(0, 2)
+                .addEdge(1, 3)
+                .build();
+        final DFS dfs = new DFS(g, 0);
+
+        Assertions.assertTrue(dfs.hasPathTo(3));
+        Assertions.assertFalse(dfs.hasPathTo(4));
+
+        final LinkedList<Integer> actualPath = new LinkedList<>();
+        dfs.pathTo(3).get().forEachRemaining(actualPath::add);
+        Assertions.assertEquals(List.of(0, 1, 3), actualPath);
+
+        final LinkedList<Integer> actualOrder = new LinkedList<>();
+        DFS.search(g, 0).forEachRemaining(actualOrder::add);
+        Assertions.assertEquals(List.of(0, 2, 1, 3), actualOrder);
+    }
+
+    @Test
+    public void testSearchDenseGraph() {
+        // every vertex is pushed once per edge to it, so the pending stack outgrows the vertex count
+        final int vertexCount = 40;
+        final UndirectedGraph g = new UndirectedGraph(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            for (int w = v + 1; w < vertexCount; w++) {
+                g.addEdge(v, w);
+            }
+        }
+
+        final TraversalWorkspace workspace = new TraversalWorkspace(vertexCount);
+        for (int trial = 0; trial < 2; trial++) {
+            final List<Integer> actualOrder = new LinkedList<>();
+            DFS.search(g, 0, workspace).forEachRemaining(actualOrder::add);
+
+            Assertions.assertEquals(vertexCount, actualOrder.size());
+            Assertions.assertEquals(vertexCount, actualOrder.stream().distinct().count());
+            Assertions.assertEquals(0, actualOrder.get(0).intValue());
+        }
+    }
+
+    @Test
+    public void testDeepChain() {
+        // far deeper than the call stack allows for the recursive search
+        final int length = 1_000_000;
+        final CSRGraph.Builder builder = new CSRGraph.Builder(length, true, length);
+        for (int i = 0; i + 1 < length; i++) {
+            builder.addEdge(i, i + 1);
+        }
+        final DFS dfs = new DFS(builder.build(), 0, DFS.Mode.ITERATIVE);
+
+        Assertions.assertTrue(dfs.hasPathTo(length - 1));
+
+        final Iterator<Integer> path = dfs.pathTo(length - 1).get();
+        for (int i = 0; i < length; i++) {
+            Assertions.assertEquals(i, path.next());
+        }
+        Assertions.assertFalse(path.hasNext());
+    }
+
+    @Test
+    public void testModesMatch() {
+        final Random random = new Random(1);
+        for (int trial = 0; trial < 20; trial++) {
+            final DirectedGraph g = new DirectedGraph(50);
+            for (int i = 0; i < 100; i++) {
+                g.addEdge(random.nextInt(50), random.nextInt(50));
+            }
+
+            final DFS recursive = new DFS(g, 0, DFS.Mode.RECURSIVE);
+            final DFS iterative = new DFS(g, 0, DFS.Mode.ITERATIVE);
+
+            for (int v = 0; v < 50; v++) {
+                Assertions.assertEquals(recursive.hasPathTo(v), iterative.hasPathTo(v));
+                if (recursive.hasPathTo(v)) {
+                    final LinkedList<Integer> recursivePath = new LinkedList<>();
+                    final LinkedList<Integer> iterativePath = new LinkedList<>();
+                    recursive.pathTo(v).get().forEachRemaining(recursivePath::add);
+                    iterative.pathTo(v).get().forEachRemaining(iterativePath::add);
+                    Assertions.assertEquals(recursivePath, iterativePath);
+                }
+            }
+
+            final LinkedList<Integer> recursiveOrder = new LinkedList<>();
+            final LinkedList<Integer> iterativeOrder = new LinkedList<>();
+            recursive.postOrder().forEachRemaining(recursiveOrder::add);
+            iterative.postOrder().forEachRemaining(iterativeOrder::add);
+            Assertions.assertEquals(recursiveOrder, iterativeOrder);
+        }
+    }
+
+    @Test
+    public void testVisitor() {
+        final List<Integer> preOrder = new LinkedList<>();
+        final List<Integer> postOrder = new LinkedList<>();
+
+        for (final DFS.Mode mode : DFS.Mode.values()) {
+            preOrder.clear();
+            postOrder.clear();
+
+            new DFS(generateDirectedGraph(), 0, mode, new DFSVisitor() {
+                @Override
+                public void preOrder(final int vertex) {
+                    preOrder.add(vertex);
+                }
+
+                @Override
+                public void postOrder(final int vertex) {
+                    postOrder.add(vertex);
+                }
+            });
+
+            Assertions.assertEquals(List.of(0, 1, 3, 2), preOrder);
+            Assertions.assertEquals(List.of(3, 1, 2, 0), postOrder);
+        }
+    }
+
+    @Test
+    public void testNonTreeEdges() {
+        final DirectedGraph g = generateDirectedGraph();
+        g.addEdge(3, 0);
+        g.addEdge(2, 1);
+
+        for (final DFS.Mode mode : DFS.Mode.values()) {
+            final List<List<Integer>> edges = new LinkedList<>();
+            new DFS(g, 0, mode, new DFSVisitor() {
+                @Override
+                public void nonTreeEdge(final int vertex, final int neighbour) {
+                    edges.add(List.of(vertex, neighbour));
+                }
+            });
+
+            // the arc back to the root and the arc across to a finished vertex
+            Assertions.assertEquals(List.of(List.of(3, 0), List.of(2, 1)), edges);
+        }
+    }
+
+    @Test
+    public void testSearchAll() {
+        final DirectedGraph g = generateDirectedGraph();
+        g.addEdge(4, 1);
+
+        final List<Integer> preOrder = new LinkedList<>();
+        final List<Integer> postOrder = new LinkedList<>();
+        final List<List<Integer>> edges = new LinkedList<>();
+        DFS.searchAll(g, new DFSVisitor() {
+            @Override
+            public void preOrder(final int vertex) {
+                preOrder.add(vertex);
+            }
+
+            @Override
+            public void postOrder(final int vertex) {
+                postOrder.add(vertex);
+            }
+
+            @Override
+            public void nonTreeEdge(final int vertex, final int neighbour) {
+                edges.add(List.of(vertex, neighbour));
+            }
+        });
+
+        // vertex 4 starts a second tree, whose only arc leads into the first
+        Assertions.assertEquals(List.of(0, 1, 3, 2, 4), preOrder);
+        Assertions.assertEquals(List.of(3, 1, 2, 0, 4), postOrder);
+        Assertions.assertEquals(List.of(List.of(4, 1)), edges);
+    }
+
+    @Test
+    public void testReversePostOrder() {
+        final DFS dfs = new DFS(generateDirectedGraph(), 0);
+
+        final LinkedList<Integer> actualOrder = new LinkedList<>();
+        dfs.reversePostOrder().forEachRemaining(actualOrder::add);
+
+        // every arc goes forwards in the order, as the graph has no cycles
+        Assertions.assertEquals(List.of(0, 2, 1, 3), actualOrder);
+    }
+
 }
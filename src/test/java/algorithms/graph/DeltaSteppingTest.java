@@ -0,0 +1,121 @@
+package algorithms.graph;
+
+import datastructures.graph.WeightedCSRGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class DeltaSteppingTest {
+
+    private static List<Integer> toList(final Iterator<Integer> iterator) {
+        final List<Integer> list = new LinkedList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
+    @Test
+    public void testSmallGraph() {
+        final WeightedCSRGraph g = new WeightedCSRGraph.Builder(6, true)
+                .addEdge(0, 1, 7.0)
+                .addEdge(0, 2, 2.0)
+                .addEdge(2, 1, 3.0)
+                .addEdge(1, 3, 1.0)
+                .addEdge(2, 3, 9.0)
+                .addEdge(3, 4, 0.0)
+                .build();
+        final DeltaStepping search = new DeltaStepping(g, 0);
+
+        Assertions.assertEquals(5.0, search.distanceTo(1), 0.0);
+        Assertions.assertEquals(6.0, search.distanceTo(4), 0.0);
+        Assertions.assertFalse(search.hasPathTo(5));
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, search.distanceTo(5), 0.0);
+        Assertions.assertEquals(Arrays.asList(0, 2, 1, 3, 4), toList(search.pathTo(4).get()));
+        Assertions.assertEquals(Arrays.asList(0), toList(search.pathTo(0).get()));
+        Assertions.assertEquals(Optional.empty(), search.pathTo(5));
+    }
+
+    @Test
+    public void testZeroWeightCycle() {
+        final WeightedCSRGraph g = new WeightedCSRGraph.Builder(4, false)
+                .addEdge(0, 1, 1.0)
+                .addEdge(1, 2, 0.0)
+                .addEdge(2, 3, 0.0)
+                .addEdge(3, 1, 0.0)
+                .build();
+        final DeltaStepping search = new DeltaStepping(g, 0);
+
+        Assertions.assertEquals(1.0, search.distanceTo(3), 0.0);
+        Assertions.assertEquals(0, toList(search.pathTo(3).get()).get(0));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        final WeightedCSRGraph negative = new WeightedCSRGraph.Builder(2, true).addEdge(0, 1, -1.0).build();
+        final WeightedCSRGraph heavy = new WeightedCSRGraph.Builder(2, true).addEdge(0, 1, 1e12).build();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new DeltaStepping(negative, 0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new DeltaStepping(heavy, 0, 0.0, ForkJoinPool.commonPool()));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new DeltaStepping(heavy, 0, 1.0, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    public void testMatchesDijkstra() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int seed = 0; seed < 10; seed++) {
+                final Random random = new Random(seed);
+                final int vertexCount = 20000;
+                final int edgeCount = 10000 * (seed + 1);
+
+                // whole-number weights keep every sum exact, so both searches agree exactly
+                final WeightedCSRGraph.Builder builder = new WeightedCSRGraph.Builder(vertexCount, seed % 2 == 0);
+                for (int e = 0; e < edgeCount; e++) {
+                    builder.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount), random.nextInt(100));
+                }
+                final WeightedCSRGraph g = builder.build();
+
+                final Dijkstra expected = new Dijkstra(g, 0);
+                final double delta = 1 + random.nextInt(150);
+                final DeltaStepping actual = new DeltaStepping(g, 0, delta, pool);
+
+                for (int v = 0; v < vertexCount; v++) {
+                    Assertions.assertEquals(expected.distanceTo(v), actual.distanceTo(v), 0.0);
+                }
+
+                // each step along a path follows an edge of the graph, adding up to the distance
+                for (int v = 0; v < vertexCount; v += 97) {
+                    if (actual.hasPathTo(v)) {
+                        final List<Integer> path = toList(actual.pathTo(v).get());
+                        Assertions.assertEquals(0, path.get(0));
+                        Assertions.assertEquals(v, path.get(path.size() - 1));
+
+                        double length = 0;
+                        for (int i = 1; i < path.size(); i++) {
+                            final int from = path.get(i - 1);
+                            double shortest = Double.POSITIVE_INFINITY;
+                            for (int j = 0; j < g.degree(from); j++) {
+                                if (g.neighbour(from, j) == path.get(i)) {
+                                    shortest = Math.min(shortest, g.weight(from, j));
+                                }
+                            }
+                            length += shortest;
+                        }
+                        Assertions.assertEquals(actual.distanceTo(v), length, 0.0);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+}
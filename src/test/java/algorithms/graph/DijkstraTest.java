@@ -0,0 +1,116 @@
+package algorithms.graph;
+
+import datastructures.graph.WeightedCSRGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+public class DijkstraTest {
+
+    private static final int VERTEX_COUNT = 6;
+
+    private static WeightedCSRGraph generateWeightedGraph() {
+        return new WeightedCSRGraph.Builder(VERTEX_COUNT, true)
+                .addEdge(0, 1, 7.0)
+                .addEdge(0, 2, 2.0)
+                .addEdge(2, 1, 3.0) // 0 -> 2 -> 1 is shorter than the direct edge
+                .addEdge(1, 3, 1.0)
+                .addEdge(2, 3, 9.0)
+                .addEdge(3, 4, 0.0)
+                .build(); // vertex 5 can't be reached
+    }
+
+    private static List<Integer> toList(final Iterator<Integer> iterator) {
+        final List<Integer> list = new LinkedList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
+    @Test
+    public void testDistances() {
+        final Dijkstra dijkstra = new Dijkstra(generateWeightedGraph(), 0);
+
+        Assertions.assertEquals(0.0, dijkstra.distanceTo(0), 0.0);
+        Assertions.assertEquals(5.0, dijkstra.distanceTo(1), 0.0);
+        Assertions.assertEquals(2.0, dijkstra.distanceTo(2), 0.0);
+        Assertions.assertEquals(6.0, dijkstra.distanceTo(3), 0.0);
+        Assertions.assertEquals(6.0, dijkstra.distanceTo(4), 0.0);
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, dijkstra.distanceTo(5), 0.0);
+    }
+
+    @Test
+    public void testPaths() {
+        final Dijkstra dijkstra = new Dijkstra(generateWeightedGraph(), 0);
+
+        Assertions.assertTrue(dijkstra.hasPathTo(4));
+        Assertions.assertFalse(dijkstra.hasPathTo(5));
+        Assertions.assertEquals(Arrays.asList(0, 2, 1, 3, 4), toList(dijkstra.pathTo(4).get()));
+        Assertions.assertEquals(Arrays.asList(0), toList(dijkstra.pathTo(0).get()));
+        Assertions.assertEquals(Optional.empty(), dijkstra.pathTo(5));
+    }
+
+    @Test
+    public void testNegativeWeight() {
+        final WeightedCSRGraph g = new WeightedCSRGraph.Builder(2, true).addEdge(0, 1, -1.0).build();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Dijkstra(g, 0));
+    }
+
+    @Test
+    public void testMatchesBellmanFord() {
+        for (int seed = 0; seed < 20; seed++) {
+            final Random random = new Random(seed);
+            final int vertexCount = 50;
+            final int edgeCount = 40 + 10 * seed;
+
+            final int[] sources = new int[edgeCount];
+            final int[] destinations = new int[edgeCount];
+            final double[] weights = new double[edgeCount];
+            final WeightedCSRGraph.Builder builder = new WeightedCSRGraph.Builder(vertexCount, true);
+            for (int e = 0; e < edgeCount; e++) {
+                sources[e] = random.nextInt(vertexCount);
+                destinations[e] = random.nextInt(vertexCount);
+                weights[e] = random.nextInt(10);
+                builder.addEdge(sources[e], destinations[e], weights[e]);
+            }
+            final Dijkstra dijkstra = new Dijkstra(builder.build(), 0);
+
+            // relax every edge until nothing changes
+            final double[] expected = new double[vertexCount];
+            Arrays.fill(expected, Double.POSITIVE_INFINITY);
+            expected[0] = 0;
+            for (int round = 0; round < vertexCount; round++) {
+                for (int e = 0; e < edgeCount; e++) {
+                    expected[destinations[e]] = Math.min(expected[destinations[e]], expected[sources[e]] + weights[e]);
+                }
+            }
+
+            for (int v = 0; v < vertexCount; v++) {
+                Assertions.assertEquals(expected[v], dijkstra.distanceTo(v), 0.0);
+
+                // the weights along the path add up to the distance
+                if (dijkstra.hasPathTo(v)) {
+                    final List<Integer> path = toList(dijkstra.pathTo(v).get());
+                    double length = 0;
+                    for (int i = 1; i < path.size(); i++) {
+                        double shortest = Double.POSITIVE_INFINITY;
+                        for (int e = 0; e < edgeCount; e++) {
+                            if (sources[e] == path.get(i - 1) && destinations[e] == path.get(i)) {
+                                shortest = Math.min(shortest, weights[e]);
+                            }
+                        }
+                        length += shortest;
+                    }
+                    Assertions.assertEquals(expected[v], length, 0.0);
+                }
+            }
+        }
+    }
+
+}
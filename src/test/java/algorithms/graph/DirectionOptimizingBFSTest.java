@@ -0,0 +1,123 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.DirectedGraph;
+import datastructures.graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class DirectionOptimizingBFSTest {
+
+    private static final int VERTEX_COUNT = 5;
+
+    private static UndirectedGraph generateUndirectedGraph() {
+        final UndirectedGraph g = new UndirectedGraph(VERTEX_COUNT);
+        g.addEdge(0, 1);
+        g.addEdge(0, 2);
+        g.addEdge(1, 3);
+        return g;
+    }
+
+    @Test
+    public void testUndirectedPathExists() {
+        final DirectionOptimizingBFS bfs = new DirectionOptimizingBFS(generateUndirectedGraph(), 0);
+
+        Assertions.assertTrue(bfs.hasPathTo(1));
+        Assertions.assertTrue(bfs.hasPathTo(2));
+        Assertions.assertTrue(bfs.hasPathTo(3));
+
+        // vertex 4 is disconnected in the graph
+        Assertions.assertFalse(bfs.hasPathTo(4));
+        Assertions.assertFalse(bfs.pathTo(4).isPresent());
+        Assertions.assertEquals(-1, bfs.distanceTo(4));
+    }
+
+    @Test
+    public void testUndirectedPath() {
+        final DirectionOptimizingBFS bfs = new DirectionOptimizingBFS(generateUndirectedGraph(), 0);
+
+        Assertions.assertEquals(List.of(0, 1, 3), TestGraphs.path(bfs.pathTo(3)));
+        Assertions.assertEquals(List.of(0), TestGraphs.path(bfs.pathTo(0)));
+        Assertions.assertEquals(2, bfs.distanceTo(3));
+        Assertions.assertEquals(0, bfs.distanceTo(0));
+    }
+
+    @Test
+    public void testDirectedPath() {
+        final DirectedGraph g = new DirectedGraph(VERTEX_COUNT);
+        g.addEdge(0, 1);
+        g.addEdge(1, 2);
+        g.addEdge(3, 0);
+
+        final DirectedGraph reverse = new DirectedGraph(VERTEX_COUNT);
+        reverse.addEdge(1, 0);
+        reverse.addEdge(2, 1);
+        reverse.addEdge(0, 3);
+
+        final DirectionOptimizingBFS bfs = new DirectionOptimizingBFS(g, reverse, 0);
+
+        Assertions.assertEquals(List.of(0, 1, 2), TestGraphs.path(bfs.pathTo(2)));
+        Assertions.assertFalse(bfs.hasPathTo(3));
+    }
+
+    @Test
+    public void testMatchesBFS() {
+        for (int seed = 0; seed < 50; seed++) {
+            final boolean directed = seed % 2 == 0;
+            final CSRGraph g = TestGraphs.randomGraph(200, 100 + 40 * seed, directed, seed);
+
+            final BFS expected = new BFS(g, 0);
+            final DirectionOptimizingBFS actual = directed
+                    ? new DirectionOptimizingBFS(g, g.transpose(), 0)
+                    : new DirectionOptimizingBFS(g, 0);
+
+            for (int v = 0; v < g.vertexCount(); v++) {
+                Assertions.assertEquals(expected.hasPathTo(v), actual.hasPathTo(v));
+
+                if (expected.hasPathTo(v)) {
+                    // both paths are shortest paths, though not necessarily the same one
+                    final List<Integer> path = TestGraphs.path(actual.pathTo(v));
+                    Assertions.assertEquals(TestGraphs.path(expected.pathTo(v)).size(), path.size());
+                    Assertions.assertEquals(path.size() - 1, actual.distanceTo(v));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFewerEdgeInspections() {
+        final CSRGraph g = TestGraphs.randomGraph(10000, 100000, false, 42);
+        final DirectionOptimizingBFS bfs = new DirectionOptimizingBFS(g, 0);
+
+        // a top-down search would inspect every stored edge of the component
+        Assertions.assertTrue(bfs.edgeInspections() < g.edgeCount() / 2,
+                "Inspected " + bfs.edgeInspections() + " of " + g.edgeCount() + " edges");
+    }
+
+    @Test
+    public void testLongPath() {
+        // one vertex per level, so every level must cost in proportion to its frontier, not the graph
+        final int length = 400_000;
+        final CSRGraph.Builder builder = new CSRGraph.Builder(length, false, length);
+        for (int v = 0; v + 1 < length; v++) {
+            builder.addEdge(v, v + 1);
+        }
+        final CSRGraph g = builder.build();
+        final DirectionOptimizingBFS bfs = new DirectionOptimizingBFS(g, 0);
+
+        Assertions.assertEquals(length - 1, bfs.distanceTo(length - 1));
+
+        // top-down throughout, apart from a few bottom-up levels at the very end
+        Assertions.assertTrue(bfs.edgeInspections() <= g.edgeCount() + 1000,
+                "Inspected " + bfs.edgeInspections() + " of " + g.edgeCount() + " edges");
+    }
+
+    @Test
+    public void testMismatchedReverse() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new DirectionOptimizingBFS(new DirectedGraph(3), new DirectedGraph(4), 0));
+    }
+
+}
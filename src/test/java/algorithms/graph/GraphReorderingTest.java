@@ -0,0 +1,155 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.Graph;
+import datastructures.graph.WeightedCSRGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class GraphReorderingTest {
+
+    private static final int SIDE = 30;
+
+    /**
+     * A square grid with its vertices numbered at random.
+     */
+    private static CSRGraph shuffledGrid(final long seed) {
+        final int vertexCount = SIDE * SIDE;
+        final Random random = new Random(seed);
+        final int[] shuffle = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            final int j = random.nextInt(i + 1);
+            shuffle[i] = shuffle[j];
+            shuffle[j] = i;
+        }
+
+        final CSRGraph.Builder builder = new CSRGraph.Builder(vertexCount, false);
+        for (int row = 0; row < SIDE; row++) {
+            for (int column = 0; column < SIDE; column++) {
+                final int v = row * SIDE + column;
+                if (column + 1 < SIDE) {
+                    builder.addEdge(shuffle[v], shuffle[v + 1]);
+                }
+                if (row + 1 < SIDE) {
+                    builder.addEdge(shuffle[v], shuffle[v + SIDE]);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static int bandwidth(final Graph g) {
+        int bandwidth = 0;
+        for (int v = 0; v < g.vertexCount(); v++) {
+            for (int i = 0; i < g.degree(v); i++) {
+                bandwidth = Math.max(bandwidth, Math.abs(v - g.neighbour(v, i)));
+            }
+        }
+        return bandwidth;
+    }
+
+    private static void assertRelabelled(final Graph g, final GraphReordering reordering, final Graph relabelled) {
+        Assertions.assertEquals(g.vertexCount(), relabelled.vertexCount());
+
+        final boolean[] seen = new boolean[g.vertexCount()];
+        for (int v = 0; v < g.vertexCount(); v++) {
+            final int newVertex = reordering.newId(v);
+            Assertions.assertFalse(seen[newVertex]);
+            seen[newVertex] = true;
+            Assertions.assertEquals(v, reordering.originalId(newVertex));
+
+            Assertions.assertEquals(g.degree(v), relabelled.degree(newVertex));
+            for (int i = 0; i < g.degree(v); i++) {
+                Assertions.assertEquals(reordering.newId(g.neighbour(v, i)), relabelled.neighbour(newVertex, i));
+            }
+        }
+    }
+
+    @Test
+    public void testRelabelEveryOrder() {
+        final CSRGraph g = shuffledGrid(3);
+
+        for (final GraphReordering.Order order : GraphReordering.Order.values()) {
+            final GraphReordering reordering = new GraphReordering(g, order);
+            assertRelabelled(g, reordering, reordering.relabel(g));
+        }
+    }
+
+    @Test
+    public void testDegreeOrder() {
+        final CSRGraph g = new CSRGraph.Builder(5, false)
+                .addEdge(0, 1).addEdge(3, 1).addEdge(3, 2).addEdge(3, 4).addEdge(1, 2)
+                .build();
+
+        final GraphReordering reordering = new GraphReordering(g, GraphReordering.Order.DEGREE);
+
+        Assertions.assertArrayEquals(new int[]{1, 3, 2, 0, 4}, reordering.originalIds());
+        Assertions.assertArrayEquals(new int[]{3, 0, 2, 1, 4}, reordering.newIds());
+    }
+
+    @Test
+    public void testBreadthFirstOrder() {
+        final CSRGraph g = shuffledGrid(5);
+        final GraphReordering reordering = new GraphReordering(g, GraphReordering.Order.BFS);
+
+        // distances from the first vertex never fall along the order
+        final DirectionOptimizingBFS bfs = new DirectionOptimizingBFS(g, reordering.originalId(0));
+        int previous = 0;
+        for (int i = 0; i < g.vertexCount(); i++) {
+            final int distance = bfs.distanceTo(reordering.originalId(i));
+            Assertions.assertTrue(distance >= previous);
+            previous = distance;
+        }
+    }
+
+    @Test
+    public void testReverseCuthillMcKeeReducesBandwidth() {
+        final CSRGraph g = shuffledGrid(7);
+        final GraphReordering reordering = new GraphReordering(g, GraphReordering.Order.REVERSE_CUTHILL_MCKEE);
+        final CSRGraph relabelled = reordering.relabel(g);
+
+        // a grid numbered row by row has a bandwidth of one side, and RCM should do as well
+        Assertions.assertTrue(bandwidth(g) > 10 * SIDE);
+        Assertions.assertTrue(bandwidth(relabelled) <= SIDE + 1);
+    }
+
+    @Test
+    public void testDisconnectedGraph() {
+        final CSRGraph g = new CSRGraph.Builder(7, false)
+                .addEdge(0, 4).addEdge(4, 6).addEdge(2, 5)
+                .build();
+
+        for (final GraphReordering.Order order : GraphReordering.Order.values()) {
+            final GraphReordering reordering = new GraphReordering(g, order);
+            assertRelabelled(g, reordering, reordering.relabel(g));
+        }
+    }
+
+    @Test
+    public void testWeightedGraph() {
+        final WeightedCSRGraph g = new WeightedCSRGraph.Builder(4, false)
+                .addEdge(0, 3, 1.5).addEdge(3, 1, 2.5).addEdge(1, 2, 3.5)
+                .build();
+
+        final GraphReordering reordering = new GraphReordering(g, GraphReordering.Order.REVERSE_CUTHILL_MCKEE);
+        final WeightedCSRGraph relabelled = reordering.relabel(g);
+
+        assertRelabelled(g, reordering, relabelled);
+        for (int v = 0; v < 4; v++) {
+            for (int i = 0; i < g.degree(v); i++) {
+                Assertions.assertEquals(g.weight(v, i), relabelled.weight(reordering.newId(v), i), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testWrongGraphSize() {
+        final GraphReordering reordering = new GraphReordering(shuffledGrid(1), GraphReordering.Order.BFS);
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> reordering.relabel(new CSRGraph.Builder(3, false).build()));
+    }
+
+}
@@ -0,0 +1,96 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.DynamicGraph;
+import datastructures.graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class IncrementalConnectedComponentsTest {
+
+    private static final int VERTEX_COUNT = 6;
+
+    @Test
+    public void testExistingEdges() {
+        final UndirectedGraph g = new UndirectedGraph(VERTEX_COUNT);
+        g.addEdge(0, 1);
+        g.addEdge(0, 2);
+        g.addEdge(3, 4);
+
+        final IncrementalConnectedComponents cc = new IncrementalConnectedComponents(g);
+
+        Assertions.assertEquals(3, cc.count());
+        Assertions.assertTrue(cc.connected(1, 2));
+        Assertions.assertFalse(cc.connected(2, 3));
+        Assertions.assertEquals(cc.id(3), cc.id(4));
+        Assertions.assertNotEquals(cc.id(4), cc.id(5));
+    }
+
+    @Test
+    public void testAddEdges() {
+        final UndirectedGraph g = new UndirectedGraph(VERTEX_COUNT);
+        final IncrementalConnectedComponents cc = new IncrementalConnectedComponents(g);
+        Assertions.assertEquals(VERTEX_COUNT, cc.count());
+
+        cc.addEdge(0, 5);
+        Assertions.assertEquals(VERTEX_COUNT - 1, cc.count());
+        Assertions.assertTrue(cc.connected(5, 0));
+        Assertions.assertEquals(1, g.degree(0));
+
+        cc.addEdges(new int[]{1, 2, 1}, new int[]{2, 3, 3});
+        Assertions.assertEquals(VERTEX_COUNT - 3, cc.count());
+        Assertions.assertTrue(cc.connected(1, 3));
+        Assertions.assertFalse(cc.connected(0, 1));
+        Assertions.assertEquals(2, g.degree(3));
+    }
+
+    @Test
+    public void testInvalidEdges() {
+        final UndirectedGraph g = new UndirectedGraph(VERTEX_COUNT);
+        final IncrementalConnectedComponents cc = new IncrementalConnectedComponents(g);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cc.addEdge(0, VERTEX_COUNT));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cc.addEdges(new int[]{0}, new int[0]));
+
+        // a batch with a bad vertex adds nothing
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> cc.addEdges(new int[]{0, 1}, new int[]{1, -1}));
+        Assertions.assertEquals(0, g.degree(0));
+        Assertions.assertEquals(VERTEX_COUNT, cc.count());
+    }
+
+    @Test
+    public void testMatchesConnectedComponents() {
+        final int vertexCount = 2000;
+        final Random random = new Random(23);
+        final DynamicGraph g = new DynamicGraph(vertexCount, false);
+        final IncrementalConnectedComponents cc = new IncrementalConnectedComponents(g);
+
+        // check against a full search every so often as the graph fills in
+        for (int round = 0; round < 10; round++) {
+            for (int e = 0; e < 150; e++) {
+                cc.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount));
+            }
+
+            final ConnectedComponents expected = new ConnectedComponents(g);
+            Assertions.assertEquals(expected.count(), cc.count());
+            for (int v = 1; v < vertexCount; v++) {
+                Assertions.assertEquals(expected.connected(v - 1, v), cc.connected(v - 1, v));
+                Assertions.assertEquals(expected.id(v) == expected.id(0), cc.id(v) == cc.id(0));
+            }
+        }
+    }
+
+    @Test
+    public void testReadOnlyGraph() {
+        final CSRGraph g = new CSRGraph.Builder(VERTEX_COUNT, false).addEdge(0, 1).build();
+        final IncrementalConnectedComponents cc = new IncrementalConnectedComponents(g);
+
+        Assertions.assertEquals(VERTEX_COUNT - 1, cc.count());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> cc.addEdge(2, 3));
+        Assertions.assertFalse(cc.connected(2, 3));
+    }
+
+}
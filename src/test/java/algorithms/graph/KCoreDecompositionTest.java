@@ -0,0 +1,123 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.Graph;
+import datastructures.graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class KCoreDecompositionTest {
+
+    /**
+     * A random graph without self-loops or repeated edges, with a few dense patches.
+     */
+    static CSRGraph randomSimpleGraph(final int vertexCount, final int edgeCount, final long seed) {
+        final Random random = new Random(seed);
+        final Set<Long> edges = new HashSet<>();
+        final CSRGraph.Builder builder = new CSRGraph.Builder(vertexCount, false);
+        for (int i = 0; i < edgeCount; i++) {
+            int v = random.nextInt(vertexCount);
+            int w = random.nextInt(vertexCount);
+            if (i % 3 == 0) {
+                // a third of the edges fall within the first tenth of the vertices
+                v = v / 10;
+                w = w / 10;
+            }
+            if (v != w && edges.add((long) Math.min(v, w) * vertexCount + Math.max(v, w))) {
+                builder.addEdge(v, w);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Core numbers found by repeatedly removing every vertex with fewer than k neighbours left.
+     */
+    static int[] bruteForceCores(final Graph g) {
+        final int n = g.vertexCount();
+        final int[] cores = new int[n];
+        final boolean[] removed = new boolean[n];
+        int left = n;
+        for (int k = 1; left > 0; k++) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int v = 0; v < n; v++) {
+                    if (removed[v]) {
+                        continue;
+                    }
+                    int degree = 0;
+                    for (int i = 0; i < g.degree(v); i++) {
+                        degree += removed[g.neighbour(v, i)] ? 0 : 1;
+                    }
+                    if (degree < k) {
+                        removed[v] = true;
+                        cores[v] = k - 1;
+                        left--;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return cores;
+    }
+
+    /**
+     * A 5-clique, with a path of three vertices hanging off it, a triangle and an isolated vertex.
+     */
+    static UndirectedGraph cliqueWithTail() {
+        final UndirectedGraph g = new UndirectedGraph(12);
+        for (int v = 0; v < 5; v++) {
+            for (int w = v + 1; w < 5; w++) {
+                g.addEdge(v, w);
+            }
+        }
+        g.addEdge(4, 5);
+        g.addEdge(5, 6);
+        g.addEdge(6, 7);
+        g.addEdge(8, 9);
+        g.addEdge(9, 10);
+        g.addEdge(10, 8);
+        return g;
+    }
+
+    static final int[] CLIQUE_WITH_TAIL_CORES = {4, 4, 4, 4, 4, 1, 1, 1, 2, 2, 2, 0};
+
+    @Test
+    public void testCliqueWithTail() {
+        final KCoreDecomposition cores = new KCoreDecomposition(cliqueWithTail());
+
+        Assertions.assertArrayEquals(CLIQUE_WITH_TAIL_CORES, cores.coreNumbers());
+        Assertions.assertEquals(4, cores.degeneracy());
+        Assertions.assertEquals(1, cores.coreNumber(7));
+    }
+
+    @Test
+    public void testMatchesBruteForce() {
+        for (int seed = 0; seed < 5; seed++) {
+            final CSRGraph g = randomSimpleGraph(500, 3000 + 1000 * seed, seed);
+            final KCoreDecomposition cores = new KCoreDecomposition(g);
+            final int[] expected = bruteForceCores(g);
+
+            Assertions.assertArrayEquals(expected, cores.coreNumbers());
+            int degeneracy = 0;
+            for (final int core : expected) {
+                degeneracy = Math.max(degeneracy, core);
+            }
+            Assertions.assertEquals(degeneracy, cores.degeneracy());
+        }
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        final KCoreDecomposition cores = new KCoreDecomposition(new UndirectedGraph(0));
+
+        Assertions.assertEquals(0, cores.degeneracy());
+        Assertions.assertEquals(0, cores.coreNumbers().length);
+    }
+
+}
@@ -0,0 +1,12 @@
+package algorithms.graph;
+
+import datastructures.graph.WeightedGraph;
+
+public class KruskalMSTTest extends MinimumSpanningTreeTest {
+
+    @Override
+    protected MinimumSpanningTree build(final WeightedGraph g) {
+        return new KruskalMST(g);
+    }
+
+}
@@ -0,0 +1,100 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class LabelPropagationTest {
+
+    /**
+     * Cliques of the given size, each joined to the next by a single edge.
+     */
+    private static CSRGraph joinedCliques(final int cliqueCount, final int size) {
+        final CSRGraph.Builder builder = new CSRGraph.Builder(cliqueCount * size, false);
+        for (int c = 0; c < cliqueCount; c++) {
+            final int first = c * size;
+            for (int v = first; v < first + size; v++) {
+                for (int w = v + 1; w < first + size; w++) {
+                    builder.addEdge(v, w);
+                }
+            }
+            if (c + 1 < cliqueCount) {
+                builder.addEdge(first + size - 1, first + size);
+            }
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void testCliquesAreCommunities() {
+        final LabelPropagation communities = new LabelPropagation(joinedCliques(4, 6));
+
+        Assertions.assertTrue(communities.converged());
+        Assertions.assertEquals(4, communities.count());
+        for (int v = 0; v < 24; v++) {
+            Assertions.assertEquals(v / 6, communities.id(v));
+            Assertions.assertTrue(communities.connected(v, (v / 6) * 6));
+        }
+        Assertions.assertFalse(communities.connected(5, 6));
+    }
+
+    @Test
+    public void testComponentsAreSeparate() {
+        final Random random = new Random(1);
+        final int vertexCount = 2000;
+        final CSRGraph.Builder builder = new CSRGraph.Builder(vertexCount, false);
+        for (int e = 0; e < 6000; e++) {
+            // even and odd vertices are never joined
+            final int v = random.nextInt(vertexCount);
+            final int w = (random.nextInt(vertexCount / 2) * 2) + (v % 2);
+            builder.addEdge(v, w);
+        }
+        final CSRGraph g = builder.build();
+
+        final LabelPropagation communities = new LabelPropagation(g);
+        final ConnectedComponents cc = new ConnectedComponents(g);
+        for (int v = 0; v < vertexCount; v++) {
+            Assertions.assertFalse(communities.connected(v, v + 1 - 2 * (v % 2)));
+            for (int w = v % 2; w < 20; w += 2) {
+                if (communities.connected(v, w)) {
+                    Assertions.assertTrue(cc.connected(v, w));
+                }
+            }
+        }
+        Assertions.assertTrue(communities.count() >= cc.count());
+    }
+
+    @Test
+    public void testIdsAreDense() {
+        final LabelPropagation communities = new LabelPropagation(new CSRGraph.Builder(5, false).build());
+
+        Assertions.assertEquals(5, communities.count());
+        Assertions.assertEquals(1, communities.iterations());
+        for (int v = 0; v < 5; v++) {
+            Assertions.assertEquals(v, communities.id(v));
+        }
+    }
+
+    @Test
+    public void testSameResultOnAnyPool() {
+        final CSRGraph g = TestGraphs.randomGraph(20000, 50000, false, 2);
+
+        final LabelPropagation single = new LabelPropagation(g, 50, new ForkJoinPool(1));
+        final LabelPropagation many = new LabelPropagation(g, 50, new ForkJoinPool(4));
+        Assertions.assertEquals(single.count(), many.count());
+        Assertions.assertEquals(single.iterations(), many.iterations());
+        for (int v = 0; v < g.vertexCount(); v++) {
+            Assertions.assertEquals(single.id(v), many.id(v));
+        }
+    }
+
+    @Test
+    public void testBadMaxIterations() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new LabelPropagation(joinedCliques(1, 3), 0, ForkJoinPool.commonPool()));
+    }
+
+}
@@ -0,0 +1,12 @@
+package algorithms.graph;
+
+import datastructures.graph.WeightedGraph;
+
+public class LazyPrimMSTTest extends MinimumSpanningTreeTest {
+
+    @Override
+    protected MinimumSpanningTree build(final WeightedGraph g) {
+        return new LazyPrimMST(g);
+    }
+
+}
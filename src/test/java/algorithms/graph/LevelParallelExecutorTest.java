@@ -0,0 +1,115 @@
+package algorithms.graph;
+
+import datastructures.graph.DirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+public class LevelParallelExecutorTest {
+
+    private static final int VERTEX_COUNT = 200;
+
+    private static DirectedGraph generateLayeredGraph() {
+        // ten layers of twenty, each vertex depending on two vertices of the layer before
+        final DirectedGraph g = new DirectedGraph(VERTEX_COUNT);
+        for (int v = 20; v < VERTEX_COUNT; v++) {
+            g.addEdge(v - 20, v);
+            g.addEdge(v - 20 - v % 20 + (v + 7) % 20, v);
+        }
+        return g;
+    }
+
+    private static void assertDependenciesFirst(final DirectedGraph g, final AtomicIntegerArray finished,
+                                                final AtomicIntegerArray started) {
+        for (int v = 0; v < VERTEX_COUNT; v++) {
+            Assertions.assertTrue(finished.get(v) > 0);
+            for (int n = 0; n < g.degree(v); n++) {
+                Assertions.assertTrue(finished.get(v) <= started.get(g.neighbour(v, n)));
+            }
+        }
+    }
+
+    private static void runAndCheck(final LevelParallelExecutor executor, final DirectedGraph g,
+                                    final Consumer<IntConsumer> run) {
+        final AtomicInteger clock = new AtomicInteger();
+        final AtomicIntegerArray started = new AtomicIntegerArray(VERTEX_COUNT);
+        final AtomicIntegerArray finished = new AtomicIntegerArray(VERTEX_COUNT);
+
+        run.accept(v -> {
+            started.set(v, clock.incrementAndGet());
+            finished.set(v, clock.incrementAndGet());
+        });
+        assertDependenciesFirst(g, finished, started);
+    }
+
+    @Test
+    public void testLevels() {
+        final LevelParallelExecutor executor = new LevelParallelExecutor(generateLayeredGraph());
+
+        Assertions.assertEquals(10, executor.levelCount());
+        for (int level = 0; level < 10; level++) {
+            Assertions.assertEquals(20, executor.levelSize(level));
+        }
+    }
+
+    @Test
+    public void testCommonPool() {
+        final DirectedGraph g = generateLayeredGraph();
+        final LevelParallelExecutor executor = new LevelParallelExecutor(g);
+        runAndCheck(executor, g, executor::execute);
+    }
+
+    @Test
+    public void testGivenExecutor() {
+        final DirectedGraph g = generateLayeredGraph();
+        final LevelParallelExecutor executor = new LevelParallelExecutor(g);
+
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            runAndCheck(executor, g, task -> executor.execute(task, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testVirtualThreads() {
+        final DirectedGraph g = generateLayeredGraph();
+        final LevelParallelExecutor executor = new LevelParallelExecutor(g);
+        runAndCheck(executor, g, executor::executeOnVirtualThreads);
+    }
+
+    @Test
+    public void testFailureStopsLaterLevels() {
+        final LevelParallelExecutor executor = new LevelParallelExecutor(generateLayeredGraph());
+        final AtomicInteger ran = new AtomicInteger();
+
+        final IllegalStateException thrown = Assertions.assertThrows(IllegalStateException.class,
+                () -> executor.execute(v -> {
+                    ran.incrementAndGet();
+                    if (v == 45) {
+                        throw new IllegalStateException("step 45 failed");
+                    }
+                }));
+
+        Assertions.assertEquals("step 45 failed", thrown.getMessage());
+        Assertions.assertEquals(60, ran.get());
+    }
+
+    @Test
+    public void testCyclicGraph() {
+        final DirectedGraph g = new DirectedGraph(3);
+        g.addEdge(0, 1);
+        g.addEdge(1, 2);
+        g.addEdge(2, 1);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new LevelParallelExecutor(g));
+    }
+
+}
@@ -0,0 +1,132 @@
+package algorithms.graph;
+
+import datastructures.graph.Edge;
+import datastructures.graph.WeightedCSRGraph;
+import datastructures.graph.WeightedGraph;
+import datastructures.unionfind.WeightedQuickUnionPC;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Abstract test class for all minimum spanning tree algorithms, which should find forests of the
+ * same weight on every graph. Tests for each algorithm should extend this class.
+ */
+public abstract class MinimumSpanningTreeTest {
+
+    private static final double DELTA = 1e-9;
+
+    protected abstract MinimumSpanningTree build(WeightedGraph g);
+
+    private static List<Edge> toList(final Iterator<Edge> iterator) {
+        final List<Edge> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
+    private static WeightedCSRGraph randomGraph(final int vertexCount, final int edgeCount, final int distinctWeights,
+                                                final long seed) {
+        final Random random = new Random(seed);
+        final WeightedCSRGraph.Builder builder = new WeightedCSRGraph.Builder(vertexCount, false);
+        for (int e = 0; e < edgeCount; e++) {
+            builder.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount),
+                    random.nextInt(distinctWeights) / (double) distinctWeights - 0.25);
+        }
+        return builder.build();
+    }
+
+    private static void assertSpanningForest(final WeightedGraph g, final MinimumSpanningTree mst) {
+        final List<Edge> edges = toList(mst.edges());
+        Assertions.assertEquals(mst.edgeCount(), edges.size());
+
+        // the edges must be from the graph, form no cycles, and join every connected pair
+        final WeightedQuickUnionPC forest = new WeightedQuickUnionPC(g.vertexCount());
+        double weight = 0;
+        for (final Edge edge : edges) {
+            final int v = edge.either();
+            final int w = edge.other(v);
+            boolean inGraph = false;
+            for (int i = 0; i < g.degree(v); i++) {
+                inGraph |= g.neighbour(v, i) == w && g.weight(v, i) == edge.weight();
+            }
+            Assertions.assertTrue(inGraph);
+            Assertions.assertFalse(forest.connected(v, w));
+            forest.union(v, w);
+            weight += edge.weight();
+        }
+        Assertions.assertEquals(weight, mst.weight(), DELTA);
+
+        for (int v = 0; v < g.vertexCount(); v++) {
+            for (int i = 0; i < g.degree(v); i++) {
+                Assertions.assertTrue(forest.connected(v, g.neighbour(v, i)));
+            }
+        }
+    }
+
+    @Test
+    public void testSmallGraph() {
+        // the graph from Sedgewick and Wayne's tinyEWG
+        final WeightedCSRGraph g = new WeightedCSRGraph.Builder(8, false)
+                .addEdge(4, 5, 0.35).addEdge(4, 7, 0.37).addEdge(5, 7, 0.28).addEdge(0, 7, 0.16)
+                .addEdge(1, 5, 0.32).addEdge(0, 4, 0.38).addEdge(2, 3, 0.17).addEdge(1, 7, 0.19)
+                .addEdge(0, 2, 0.26).addEdge(1, 2, 0.36).addEdge(1, 3, 0.29).addEdge(2, 7, 0.34)
+                .addEdge(6, 2, 0.40).addEdge(3, 6, 0.52).addEdge(6, 0, 0.58).addEdge(6, 4, 0.93)
+                .build();
+
+        final MinimumSpanningTree mst = build(g);
+        Assertions.assertEquals(7, mst.edgeCount());
+        Assertions.assertEquals(1.81, mst.weight(), DELTA);
+        assertSpanningForest(g, mst);
+    }
+
+    @Test
+    public void testForest() {
+        final WeightedCSRGraph g = new WeightedCSRGraph.Builder(7, false)
+                .addEdge(0, 1, 2).addEdge(1, 2, 1).addEdge(0, 2, 3)
+                .addEdge(3, 4, -1).addEdge(4, 4, -5).addEdge(3, 4, 4)
+                .build();
+
+        final MinimumSpanningTree mst = build(g);
+        Assertions.assertEquals(3, mst.edgeCount());
+        Assertions.assertEquals(2, mst.weight(), DELTA);
+        assertSpanningForest(g, mst);
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        final MinimumSpanningTree mst = build(new WeightedCSRGraph.Builder(0, false).build());
+
+        Assertions.assertEquals(0, mst.edgeCount());
+        Assertions.assertFalse(mst.edges().hasNext());
+    }
+
+    @Test
+    public void testMatchesKruskal() {
+        for (int trial = 0; trial < 10; trial++) {
+            // few distinct weights, so that many edges tie
+            final WeightedCSRGraph g = randomGraph(500, 1200, trial % 2 == 0 ? 7 : 1000000, trial);
+
+            final MinimumSpanningTree expected = new KruskalMST(g);
+            final MinimumSpanningTree mst = build(g);
+            Assertions.assertEquals(expected.edgeCount(), mst.edgeCount());
+            Assertions.assertEquals(expected.weight(), mst.weight(), DELTA);
+            assertSpanningForest(g, mst);
+        }
+    }
+
+    @Test
+    public void testCloseWeights() {
+        // weights too close together to tell apart as floats
+        final WeightedCSRGraph g = new WeightedCSRGraph.Builder(3, false)
+                .addEdge(0, 1, 1 + 3e-12).addEdge(1, 2, 1 + 2e-12).addEdge(0, 2, 1 + 1e-12)
+                .build();
+
+        final MinimumSpanningTree mst = build(g);
+        Assertions.assertEquals(2 + 3e-12, mst.weight(), 1e-15);
+    }
+
+}
@@ -0,0 +1,73 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+public class MultiSourceBFSTest {
+
+    @Test
+    public void testDistanceToNearestSource() {
+        final MultiSourceBFS bfs = new MultiSourceBFS(TestGraphs.line(10), 0, 9);
+
+        final int[] expected = {0, 1, 2, 3, 4, 4, 3, 2, 1, 0, -1};
+        Assertions.assertArrayEquals(expected, bfs.distances());
+        for (int v = 0; v < 11; v++) {
+            Assertions.assertEquals(expected[v], bfs.distanceTo(v));
+            Assertions.assertEquals(expected[v] >= 0, bfs.hasPathTo(v));
+        }
+
+        Assertions.assertEquals(0, bfs.sourceOf(3));
+        Assertions.assertEquals(9, bfs.sourceOf(6));
+        Assertions.assertEquals(-1, bfs.sourceOf(10));
+    }
+
+    @Test
+    public void testPathFromNearestSource() {
+        final MultiSourceBFS bfs = new MultiSourceBFS(TestGraphs.line(10), 0, 9);
+
+        final List<Integer> path = new LinkedList<>();
+        final Iterator<Integer> iterator = bfs.pathTo(6).get();
+        iterator.forEachRemaining(path::add);
+        Assertions.assertEquals(List.of(9, 8, 7, 6), path);
+
+        Assertions.assertFalse(bfs.pathTo(10).isPresent());
+    }
+
+    @Test
+    public void testMatchesMinimumOfSingleSearches() {
+        final CSRGraph g = TestGraphs.randomGraph(3000, 6000, true, 1);
+        final CSRGraph reverse = g.transpose();
+        final int[] sources = {5, 17, 17, 400, 2999};
+
+        final MultiSourceBFS bfs = new MultiSourceBFS(g, sources);
+        for (int v = 0; v < g.vertexCount(); v++) {
+            int nearest = -1;
+            for (final int source : sources) {
+                final int distance = new DirectionOptimizingBFS(g, reverse, source).distanceTo(v);
+                if (distance >= 0 && (nearest < 0 || distance < nearest)) {
+                    nearest = distance;
+                }
+            }
+            Assertions.assertEquals(nearest, bfs.distanceTo(v));
+            if (nearest >= 0) {
+                Assertions.assertEquals(nearest, new DirectionOptimizingBFS(g, reverse, bfs.sourceOf(v)).distanceTo(v));
+            }
+        }
+    }
+
+    @Test
+    public void testBadSources() {
+        final UndirectedGraph g = TestGraphs.line(10);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new MultiSourceBFS(g));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new MultiSourceBFS(g, 0, 11));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new MultiSourceBFS(g, -1));
+    }
+
+}
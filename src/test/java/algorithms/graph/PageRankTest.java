@@ -0,0 +1,168 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.Graph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class PageRankTest {
+
+    private static final double DELTA = 1e-7;
+
+    /**
+     * Straightforward push-based power iteration, for comparison.
+     */
+    private static double[] reference(final Graph g, final double damping, final int iterations, final int... sources) {
+        final int n = g.vertexCount();
+        final double[] jumps = new double[n];
+        if (sources.length == 0) {
+            java.util.Arrays.fill(jumps, 1.0 / n);
+        } else {
+            for (final int source : sources) {
+                jumps[source] += 1.0 / sources.length;
+            }
+        }
+
+        double[] ranks = jumps.clone();
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            final double[] next = new double[n];
+            double stranded = 0;
+            for (int v = 0; v < n; v++) {
+                if (g.degree(v) == 0) {
+                    stranded += ranks[v];
+                }
+                for (int i = 0; i < g.degree(v); i++) {
+                    next[g.neighbour(v, i)] += damping * ranks[v] / g.degree(v);
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                next[v] += ((1 - damping) + damping * stranded) * jumps[v];
+            }
+            ranks = next;
+        }
+        return ranks;
+    }
+
+    @Test
+    public void testMatchesReference() {
+        final CSRGraph g = TestGraphs.randomGraph(3000, 15000, true, 1);
+        final PageRank pageRank = new PageRank(g, g.transpose());
+        final double[] expected = reference(g, PageRank.DEFAULT_DAMPING, pageRank.iterations());
+
+        Assertions.assertTrue(pageRank.converged());
+        for (int v = 0; v < g.vertexCount(); v++) {
+            Assertions.assertEquals(expected[v], pageRank.rank(v), DELTA);
+        }
+    }
+
+    @Test
+    public void testRanksSumToOne() {
+        final CSRGraph g = TestGraphs.randomGraph(5000, 8000, true, 2);
+        final double[] ranks = new PageRank(g, g.transpose()).ranks();
+
+        double total = 0;
+        for (final double rank : ranks) {
+            total += rank;
+        }
+        Assertions.assertEquals(1.0, total, DELTA);
+    }
+
+    @Test
+    public void testCycleIsUniform() {
+        final CSRGraph.Builder builder = new CSRGraph.Builder(4, true);
+        builder.addEdge(0, 1).addEdge(1, 2).addEdge(2, 3).addEdge(3, 0);
+        final CSRGraph g = builder.build();
+
+        final PageRank pageRank = new PageRank(g, g.transpose());
+        for (int v = 0; v < 4; v++) {
+            Assertions.assertEquals(0.25, pageRank.rank(v), DELTA);
+        }
+    }
+
+    @Test
+    public void testHubRanksHighest() {
+        final CSRGraph.Builder builder = new CSRGraph.Builder(6, true);
+        for (int v = 1; v < 6; v++) {
+            builder.addEdge(v, 0);
+        }
+        builder.addEdge(0, 1);
+        final CSRGraph g = builder.build();
+
+        final PageRank pageRank = new PageRank(g, g.transpose());
+        for (int v = 1; v < 6; v++) {
+            Assertions.assertTrue(pageRank.rank(0) > pageRank.rank(v));
+        }
+    }
+
+    @Test
+    public void testPersonalised() {
+        // two separate cycles, personalised to the first
+        final CSRGraph.Builder builder = new CSRGraph.Builder(6, true);
+        builder.addEdge(0, 1).addEdge(1, 2).addEdge(2, 0);
+        builder.addEdge(3, 4).addEdge(4, 5).addEdge(5, 3);
+        final CSRGraph g = builder.build();
+
+        final PageRank pageRank = new PageRank.Builder(g, g.transpose()).personalise(0).compute();
+        double total = 0;
+        for (int v = 0; v < 3; v++) {
+            Assertions.assertTrue(pageRank.rank(v) > 0);
+            total += pageRank.rank(v);
+        }
+        for (int v = 3; v < 6; v++) {
+            Assertions.assertEquals(0.0, pageRank.rank(v));
+        }
+        Assertions.assertEquals(1.0, total, DELTA);
+        Assertions.assertTrue(pageRank.rank(0) > pageRank.rank(1));
+        Assertions.assertTrue(pageRank.rank(1) > pageRank.rank(2));
+    }
+
+    @Test
+    public void testPersonalisedMatchesReference() {
+        final CSRGraph g = TestGraphs.randomGraph(2000, 6000, true, 3);
+        final PageRank pageRank = new PageRank.Builder(g, g.transpose())
+                .personalise(5, 17, 17)
+                .damping(0.7)
+                .compute();
+        final double[] expected = reference(g, 0.7, pageRank.iterations(), 5, 17, 17);
+
+        for (int v = 0; v < g.vertexCount(); v++) {
+            Assertions.assertEquals(expected[v], pageRank.rank(v), DELTA);
+        }
+    }
+
+    @Test
+    public void testSameResultOnAnyPool() {
+        final CSRGraph g = TestGraphs.randomGraph(20000, 100000, true, 4);
+        final CSRGraph reverse = g.transpose();
+        final double[] single = new PageRank.Builder(g, reverse).pool(new ForkJoinPool(1)).compute().ranks();
+        final double[] many = new PageRank.Builder(g, reverse).pool(new ForkJoinPool(4)).compute().ranks();
+
+        Assertions.assertArrayEquals(single, many);
+    }
+
+    @Test
+    public void testMaxIterations() {
+        final CSRGraph g = TestGraphs.randomGraph(1000, 5000, true, 5);
+        final PageRank pageRank = new PageRank.Builder(g, g.transpose()).maxIterations(2).compute();
+
+        Assertions.assertEquals(2, pageRank.iterations());
+        Assertions.assertFalse(pageRank.converged());
+    }
+
+    @Test
+    public void testBadSettings() {
+        final CSRGraph g = TestGraphs.randomGraph(10, 20, true, 6);
+        final PageRank.Builder builder = new PageRank.Builder(g, g.transpose());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.damping(1.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.tolerance(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.maxIterations(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.personalise());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.personalise(10));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new PageRank(g, new CSRGraph.Builder(9, true).build()));
+    }
+
+}
@@ -0,0 +1,109 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.DirectedGraph;
+import datastructures.graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelBFSTest {
+
+    private static final int VERTEX_COUNT = 5;
+
+    @Test
+    public void testUndirectedPath() {
+        final UndirectedGraph g = new UndirectedGraph(VERTEX_COUNT);
+        g.addEdge(0, 1);
+        g.addEdge(0, 2);
+        g.addEdge(1, 3);
+        g.addEdge(2, 3);
+
+        final ParallelBFS bfs = new ParallelBFS(g, 0);
+
+        Assertions.assertTrue(bfs.hasPathTo(3));
+        Assertions.assertFalse(bfs.hasPathTo(4));
+        Assertions.assertFalse(bfs.pathTo(4).isPresent());
+
+        // both 1 and 2 lead to 3, and the lower is chosen
+        Assertions.assertEquals(List.of(0, 1, 3), TestGraphs.path(bfs.pathTo(3)));
+        Assertions.assertEquals(List.of(0), TestGraphs.path(bfs.pathTo(0)));
+        Assertions.assertEquals(2, bfs.distanceTo(3));
+        Assertions.assertEquals(-1, bfs.distanceTo(4));
+    }
+
+    @Test
+    public void testDirectedPath() {
+        final DirectedGraph g = new DirectedGraph(VERTEX_COUNT);
+        g.addEdge(0, 1);
+        g.addEdge(1, 2);
+        g.addEdge(3, 0);
+
+        final ParallelBFS bfs = new ParallelBFS(g, 0);
+
+        Assertions.assertEquals(List.of(0, 1, 2), TestGraphs.path(bfs.pathTo(2)));
+        Assertions.assertFalse(bfs.hasPathTo(3));
+    }
+
+    @Test
+    public void testMatchesBFS() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int seed = 0; seed < 10; seed++) {
+                final CSRGraph g = TestGraphs.randomGraph(20000, 10000 * (seed + 1), seed % 2 == 0, seed);
+
+                final BFS expected = new BFS(g, 0);
+                final ParallelBFS actual = new ParallelBFS(g, 0, pool);
+
+                for (int v = 0; v < g.vertexCount(); v++) {
+                    Assertions.assertEquals(expected.hasPathTo(v), actual.hasPathTo(v));
+
+                    if (expected.hasPathTo(v)) {
+                        Assertions.assertEquals(TestGraphs.path(expected.pathTo(v)).size() - 1, actual.distanceTo(v));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testDeterministicPaths() {
+        final CSRGraph g = TestGraphs.randomGraph(20000, 100000, false, 7);
+        final ForkJoinPool single = new ForkJoinPool(1);
+        final ForkJoinPool many = new ForkJoinPool(8);
+
+        try {
+            final ParallelBFS first = new ParallelBFS(g, 0, single);
+            final ParallelBFS second = new ParallelBFS(g, 0, many);
+
+            for (int v = 0; v < g.vertexCount(); v += 97) {
+                Assertions.assertEquals(first.hasPathTo(v), second.hasPathTo(v));
+                if (first.hasPathTo(v)) {
+                    Assertions.assertEquals(TestGraphs.path(first.pathTo(v)), TestGraphs.path(second.pathTo(v)));
+                }
+            }
+        } finally {
+            single.shutdown();
+            many.shutdown();
+        }
+    }
+
+    @Test
+    public void testLongPath() {
+        // one vertex per level, so a level mustn't cost time in proportion to the whole graph
+        final int length = 400_000;
+        final CSRGraph.Builder builder = new CSRGraph.Builder(length, false, length);
+        for (int v = 0; v + 1 < length; v++) {
+            builder.addEdge(v, v + 1);
+        }
+        final ParallelBFS bfs = new ParallelBFS(builder.build(), 0);
+
+        Assertions.assertEquals(length - 1, bfs.distanceTo(length - 1));
+        Assertions.assertEquals(length / 2, bfs.distanceTo(length / 2));
+    }
+
+}
@@ -0,0 +1,101 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelConnectedComponentsTest {
+
+    private static final int VERTEX_COUNT = 6;
+
+    private static UndirectedGraph generateUndirectedGraph() {
+        final UndirectedGraph g = new UndirectedGraph(VERTEX_COUNT);
+
+        // create 3 components
+        g.addEdge(0, 1);
+        g.addEdge(0, 2);
+
+        g.addEdge(3, 4); // second component
+
+        // last component is vertex 5 by itself
+        return g;
+    }
+
+    @Test
+    public void testComponentCount() {
+        final ParallelConnectedComponents cc = new ParallelConnectedComponents(generateUndirectedGraph());
+
+        Assertions.assertEquals(3, cc.count());
+    }
+
+    @Test
+    public void testVerticesAreConnected() {
+        final ParallelConnectedComponents cc = new ParallelConnectedComponents(generateUndirectedGraph());
+
+        Assertions.assertTrue(cc.connected(0, 2));
+        Assertions.assertTrue(cc.connected(3, 4));
+
+        Assertions.assertFalse(cc.connected(1, 5));
+        Assertions.assertFalse(cc.connected(4, 5));
+    }
+
+    @Test
+    public void testComponentIds() {
+        final ParallelConnectedComponents cc = new ParallelConnectedComponents(generateUndirectedGraph());
+
+        // numbered in order of each component's lowest vertex
+        Assertions.assertEquals(0, cc.id(1));
+        Assertions.assertEquals(1, cc.id(4));
+        Assertions.assertEquals(2, cc.id(5));
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        final ParallelConnectedComponents cc = new ParallelConnectedComponents(new UndirectedGraph(0));
+
+        Assertions.assertEquals(0, cc.count());
+    }
+
+    @Test
+    public void testMatchesConnectedComponents() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int seed = 0; seed < 10; seed++) {
+                final Random random = new Random(seed);
+                final int vertexCount = 20000;
+                final int edgeCount = 2000 * (seed + 1);
+
+                final CSRGraph.Builder undirected = new CSRGraph.Builder(vertexCount, false);
+                final CSRGraph.Builder directed = new CSRGraph.Builder(vertexCount, true);
+                for (int i = 0; i < edgeCount; i++) {
+                    final int vertex = random.nextInt(vertexCount);
+                    final int otherVertex = random.nextInt(vertexCount);
+                    undirected.addEdge(vertex, otherVertex);
+                    directed.addEdge(vertex, otherVertex);
+                }
+
+                final ConnectedComponents expected = new ConnectedComponents(undirected.build());
+                final ParallelConnectedComponents actual =
+                        new ParallelConnectedComponents(undirected.build(), false, pool);
+
+                // weak components of the directed graph are the components of the undirected one
+                final ParallelConnectedComponents weak =
+                        new ParallelConnectedComponents(directed.build(), true, pool);
+
+                Assertions.assertEquals(expected.count(), actual.count());
+                Assertions.assertEquals(expected.count(), weak.count());
+                for (int v = 0; v < vertexCount; v++) {
+                    Assertions.assertEquals(expected.id(v), actual.id(v));
+                    Assertions.assertEquals(expected.id(v), weak.id(v));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelKCoreDecompositionTest {
+
+    @Test
+    public void testCliqueWithTail() {
+        final ParallelKCoreDecomposition cores =
+                new ParallelKCoreDecomposition(KCoreDecompositionTest.cliqueWithTail());
+
+        Assertions.assertArrayEquals(KCoreDecompositionTest.CLIQUE_WITH_TAIL_CORES, cores.coreNumbers());
+        Assertions.assertEquals(4, cores.degeneracy());
+        Assertions.assertEquals(1, cores.coreNumber(7));
+    }
+
+    @Test
+    public void testMatchesBruteForce() {
+        for (int seed = 0; seed < 5; seed++) {
+            final CSRGraph g = KCoreDecompositionTest.randomSimpleGraph(500, 3000 + 1000 * seed, seed);
+
+            Assertions.assertArrayEquals(KCoreDecompositionTest.bruteForceCores(g),
+                    new ParallelKCoreDecomposition(g).coreNumbers());
+        }
+    }
+
+    @Test
+    public void testMatchesSequentialOnAnyPool() {
+        final CSRGraph g = KCoreDecompositionTest.randomSimpleGraph(50000, 400000, 9);
+        final int[] expected = new KCoreDecomposition(g).coreNumbers();
+
+        Assertions.assertArrayEquals(expected, new ParallelKCoreDecomposition(g, new ForkJoinPool(1)).coreNumbers());
+        Assertions.assertArrayEquals(expected, new ParallelKCoreDecomposition(g, new ForkJoinPool(4)).coreNumbers());
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        final ParallelKCoreDecomposition cores = new ParallelKCoreDecomposition(new UndirectedGraph(0));
+
+        Assertions.assertEquals(0, cores.degeneracy());
+    }
+
+}
@@ -0,0 +1,84 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.DirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelStronglyConnectedComponentsTest {
+
+    private static final int VERTEX_COUNT = 6;
+
+    private static DirectedGraph generateDirectedGraph(final boolean reverse) {
+        final int[][] arcs = {{0, 1}, {1, 2}, {2, 0}, {2, 3}, {3, 4}, {4, 3}};
+
+        final DirectedGraph g = new DirectedGraph(VERTEX_COUNT);
+        for (final int[] arc : arcs) {
+            if (reverse) {
+                g.addEdge(arc[1], arc[0]);
+            } else {
+                g.addEdge(arc[0], arc[1]);
+            }
+        }
+
+        // vertex 5 is by itself
+        return g;
+    }
+
+    @Test
+    public void testComponents() {
+        final ParallelStronglyConnectedComponents scc =
+                new ParallelStronglyConnectedComponents(generateDirectedGraph(false), generateDirectedGraph(true));
+
+        Assertions.assertEquals(3, scc.count());
+        Assertions.assertTrue(scc.stronglyConnected(0, 2));
+        Assertions.assertTrue(scc.stronglyConnected(3, 4));
+        Assertions.assertFalse(scc.stronglyConnected(2, 3));
+        Assertions.assertFalse(scc.stronglyConnected(4, 5));
+
+        // numbered in order of each component's lowest vertex
+        Assertions.assertEquals(0, scc.id(1));
+        Assertions.assertEquals(1, scc.id(4));
+        Assertions.assertEquals(2, scc.id(5));
+    }
+
+    @Test
+    public void testMismatchedReverse() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new ParallelStronglyConnectedComponents(new DirectedGraph(3), new DirectedGraph(4)));
+    }
+
+    @Test
+    public void testMatchesStronglyConnectedComponents() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int seed = 0; seed < 10; seed++) {
+                final int vertexCount = 20000;
+                final CSRGraph g = TestGraphs.randomGraph(vertexCount, 4000 * (seed + 1), true, seed);
+
+                final StronglyConnectedComponents expected = new StronglyConnectedComponents(g);
+                final ParallelStronglyConnectedComponents actual =
+                        new ParallelStronglyConnectedComponents(g, g.transpose(), pool);
+
+                // the same partition of the vertices, whatever the numbering
+                Assertions.assertEquals(expected.count(), actual.count());
+                final int[] mapping = new int[expected.count()];
+                Arrays.fill(mapping, -1);
+                for (int v = 0; v < vertexCount; v++) {
+                    if (mapping[expected.id(v)] < 0) {
+                        mapping[expected.id(v)] = actual.id(v);
+                    }
+                    Assertions.assertEquals(mapping[expected.id(v)], actual.id(v));
+                }
+
+                Assertions.assertEquals(expected.condensation().edgeCount(), actual.condensation().edgeCount());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,12 @@
+package algorithms.graph;
+
+import datastructures.graph.WeightedGraph;
+
+public class PrimMSTTest extends MinimumSpanningTreeTest {
+
+    @Override
+    protected MinimumSpanningTree build(final WeightedGraph g) {
+        return new PrimMST(g);
+    }
+
+}
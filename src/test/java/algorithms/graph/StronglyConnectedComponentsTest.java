@@ -0,0 +1,140 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.DirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class StronglyConnectedComponentsTest {
+
+    private static final int VERTEX_COUNT = 8;
+
+    private static DirectedGraph generateDirectedGraph() {
+        final DirectedGraph g = new DirectedGraph(VERTEX_COUNT);
+
+        // a cycle through 0, 1 and 2
+        g.addEdge(0, 1);
+        g.addEdge(1, 2);
+        g.addEdge(2, 0);
+
+        // leads into a cycle through 3 and 4
+        g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        g.addEdge(4, 3);
+
+        // 5 reaches both cycles, but nothing reaches 5
+        g.addEdge(5, 0);
+        g.addEdge(5, 4);
+
+        // 6 has an arc to itself, and 7 is by itself
+        g.addEdge(6, 6);
+        return g;
+    }
+
+    @Test
+    public void testComponentCount() {
+        final StronglyConnectedComponents scc = new StronglyConnectedComponents(generateDirectedGraph());
+
+        Assertions.assertEquals(5, scc.count());
+    }
+
+    @Test
+    public void testVerticesAreStronglyConnected() {
+        final StronglyConnectedComponents scc = new StronglyConnectedComponents(generateDirectedGraph());
+
+        Assertions.assertTrue(scc.stronglyConnected(0, 2));
+        Assertions.assertTrue(scc.stronglyConnected(1, 0));
+        Assertions.assertTrue(scc.stronglyConnected(3, 4));
+
+        // reachable in only one direction
+        Assertions.assertFalse(scc.stronglyConnected(2, 3));
+        Assertions.assertFalse(scc.stronglyConnected(5, 0));
+        Assertions.assertFalse(scc.stronglyConnected(6, 7));
+    }
+
+    @Test
+    public void testIdsAreTopological() {
+        final StronglyConnectedComponents scc = new StronglyConnectedComponents(generateDirectedGraph());
+
+        Assertions.assertTrue(scc.id(5) < scc.id(0));
+        Assertions.assertTrue(scc.id(0) < scc.id(3));
+    }
+
+    @Test
+    public void testCondensation() {
+        final StronglyConnectedComponents scc = new StronglyConnectedComponents(generateDirectedGraph());
+        final CSRGraph condensation = scc.condensation();
+
+        Assertions.assertEquals(5, condensation.vertexCount());
+
+        // 5 -> {0, 1, 2}, 5 -> {3, 4} and {0, 1, 2} -> {3, 4}, with the self-loop and repeated arcs dropped
+        Assertions.assertEquals(3, condensation.edgeCount());
+        Assertions.assertEquals(2, condensation.degree(scc.id(5)));
+        Assertions.assertEquals(1, condensation.degree(scc.id(0)));
+        Assertions.assertEquals(scc.id(3), condensation.neighbour(scc.id(0), 0));
+        Assertions.assertEquals(0, condensation.degree(scc.id(6)));
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        final StronglyConnectedComponents scc = new StronglyConnectedComponents(new DirectedGraph(0));
+
+        Assertions.assertEquals(0, scc.count());
+        Assertions.assertEquals(0, scc.condensation().vertexCount());
+    }
+
+    @Test
+    public void testDeepCycle() {
+        final int vertexCount = 1000000;
+
+        // a single cycle through every vertex, far deeper than a recursive search could go
+        final CSRGraph.Builder builder = new CSRGraph.Builder(vertexCount, true);
+        for (int v = 0; v < vertexCount; v++) {
+            builder.addEdge(v, (v + 1) % vertexCount);
+        }
+        final StronglyConnectedComponents scc = new StronglyConnectedComponents(builder.build());
+
+        Assertions.assertEquals(1, scc.count());
+        Assertions.assertTrue(scc.stronglyConnected(0, vertexCount - 1));
+    }
+
+    @Test
+    public void testMatchesReachability() {
+        for (int seed = 0; seed < 20; seed++) {
+            final Random random = new Random(seed);
+            final int vertexCount = 60;
+            final DirectedGraph g = new DirectedGraph(vertexCount);
+            for (int i = 0; i < 2 * seed + 20; i++) {
+                g.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount));
+            }
+
+            final StronglyConnectedComponents scc = new StronglyConnectedComponents(g);
+            final CSRGraph condensation = scc.condensation();
+
+            final boolean[][] reachable = new boolean[vertexCount][];
+            for (int v = 0; v < vertexCount; v++) {
+                reachable[v] = new boolean[vertexCount];
+                final DFS dfs = new DFS(g, v);
+                for (int w = 0; w < vertexCount; w++) {
+                    reachable[v][w] = dfs.hasPathTo(w);
+                }
+            }
+
+            for (int v = 0; v < vertexCount; v++) {
+                for (int w = 0; w < vertexCount; w++) {
+                    Assertions.assertEquals(reachable[v][w] && reachable[w][v], scc.stronglyConnected(v, w));
+                }
+            }
+
+            // every arc of the condensation goes forwards in the ordering of IDs
+            for (int c = 0; c < condensation.vertexCount(); c++) {
+                for (int i = 0; i < condensation.degree(c); i++) {
+                    Assertions.assertTrue(c < condensation.neighbour(c, i));
+                }
+            }
+        }
+    }
+
+}
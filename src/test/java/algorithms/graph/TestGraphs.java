@@ -0,0 +1,52 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.UndirectedGraph;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Graphs and helpers shared by the graph tests.
+ */
+public final class TestGraphs {
+
+    private TestGraphs() { }
+
+    /**
+     * A graph with edges between uniformly random vertices, which may repeat or be self-loops.
+     */
+    public static CSRGraph randomGraph(final int vertexCount, final int edgeCount, final boolean directed,
+                                       final long seed) {
+        final Random random = new Random(seed);
+        final CSRGraph.Builder builder = new CSRGraph.Builder(vertexCount, directed);
+        for (int i = 0; i < edgeCount; i++) {
+            builder.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount));
+        }
+        return builder.build();
+    }
+
+    /**
+     * A path 0 - 1 - ... - (length - 1), with vertex length on its own.
+     */
+    public static UndirectedGraph line(final int length) {
+        final UndirectedGraph g = new UndirectedGraph(length + 1);
+        for (int v = 0; v + 1 < length; v++) {
+            g.addEdge(v, v + 1);
+        }
+        return g;
+    }
+
+    /**
+     * The vertices of a path which is known to exist.
+     */
+    public static List<Integer> path(final Optional<Iterator<Integer>> path) {
+        final LinkedList<Integer> vertices = new LinkedList<>();
+        path.get().forEachRemaining(vertices::add);
+        return vertices;
+    }
+
+}
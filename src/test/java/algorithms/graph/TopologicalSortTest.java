@@ -0,0 +1,174 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.DirectedGraph;
+import datastructures.graph.Graph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class TopologicalSortTest {
+
+    private static DirectedGraph generateAcyclicGraph() {
+        final DirectedGraph g = new DirectedGraph(6);
+        g.addEdge(5, 2);
+        g.addEdge(5, 0);
+        g.addEdge(4, 0);
+        g.addEdge(4, 1);
+        g.addEdge(2, 3);
+        g.addEdge(3, 1);
+        return g;
+    }
+
+    private static List<Integer> toList(final Iterator<Integer> iterator) {
+        final List<Integer> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
+    private static void assertTopological(final Graph g, final TopologicalSort sort) {
+        Assertions.assertTrue(sort.hasOrder());
+        final List<Integer> order = toList(sort.order().get());
+        Assertions.assertEquals(g.vertexCount(), order.size());
+
+        for (int i = 0; i < order.size(); i++) {
+            Assertions.assertEquals(i, sort.rank(order.get(i)));
+        }
+        for (int v = 0; v < g.vertexCount(); v++) {
+            for (int n = 0; n < g.degree(v); n++) {
+                final int w = g.neighbour(v, n);
+                Assertions.assertTrue(sort.rank(v) < sort.rank(w));
+                Assertions.assertTrue(sort.level(v) < sort.level(w));
+            }
+        }
+    }
+
+    private static void assertCycle(final Graph g, final TopologicalSort sort) {
+        Assertions.assertFalse(sort.hasOrder());
+        Assertions.assertFalse(sort.order().isPresent());
+        Assertions.assertEquals(-1, sort.rank(0));
+        Assertions.assertEquals(-1, sort.level(0));
+
+        final List<Integer> cycle = toList(sort.cycle().get());
+        Assertions.assertFalse(cycle.isEmpty());
+        for (int i = 0; i < cycle.size(); i++) {
+            final int v = cycle.get(i);
+            final int w = cycle.get((i + 1) % cycle.size());
+            boolean hasArc = false;
+            for (int n = 0; n < g.degree(v); n++) {
+                hasArc |= g.neighbour(v, n) == w;
+            }
+            Assertions.assertTrue(hasArc);
+        }
+    }
+
+    @Test
+    public void testKahn() {
+        final DirectedGraph g = generateAcyclicGraph();
+        final TopologicalSort sort = new TopologicalSort(g);
+
+        assertTopological(g, sort);
+        Assertions.assertFalse(sort.cycle().isPresent());
+    }
+
+    @Test
+    public void testDepthFirst() {
+        final DirectedGraph g = generateAcyclicGraph();
+        assertTopological(g, new TopologicalSort(g, TopologicalSort.Method.DEPTH_FIRST));
+    }
+
+    @Test
+    public void testLevels() {
+        final TopologicalSort sort = new TopologicalSort(generateAcyclicGraph());
+
+        // the longest path is 5 -> 2 -> 3 -> 1
+        Assertions.assertEquals(4, sort.levelCount());
+        Assertions.assertEquals(0, sort.level(4));
+        Assertions.assertEquals(0, sort.level(5));
+        Assertions.assertEquals(1, sort.level(0));
+        Assertions.assertEquals(1, sort.level(2));
+        Assertions.assertEquals(2, sort.level(3));
+        Assertions.assertEquals(3, sort.level(1));
+    }
+
+    @Test
+    public void testCycle() {
+        final DirectedGraph g = generateAcyclicGraph();
+        g.addEdge(1, 5);
+
+        assertCycle(g, new TopologicalSort(g));
+        assertCycle(g, new TopologicalSort(g, TopologicalSort.Method.DEPTH_FIRST));
+    }
+
+    @Test
+    public void testSelfLoop() {
+        final DirectedGraph g = new DirectedGraph(3);
+        g.addEdge(0, 1);
+        g.addEdge(2, 2);
+
+        final TopologicalSort sort = new TopologicalSort(g);
+        assertCycle(g, sort);
+        Assertions.assertEquals(1, toList(sort.cycle().get()).size());
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        final TopologicalSort sort = new TopologicalSort(new DirectedGraph(0));
+
+        Assertions.assertTrue(sort.hasOrder());
+        Assertions.assertEquals(0, sort.levelCount());
+    }
+
+    @Test
+    public void testLongChain() {
+        // deep enough to overflow a recursive search
+        final int vertexCount = 200000;
+        final CSRGraph.Builder builder = new CSRGraph.Builder(vertexCount, true);
+        for (int v = vertexCount - 1; v > 0; v--) {
+            builder.addEdge(v, v - 1);
+        }
+        final CSRGraph g = builder.build();
+
+        for (final TopologicalSort.Method method : TopologicalSort.Method.values()) {
+            final TopologicalSort sort = new TopologicalSort(g, method);
+            Assertions.assertEquals(0, sort.rank(vertexCount - 1));
+            Assertions.assertEquals(vertexCount, sort.levelCount());
+        }
+    }
+
+    @Test
+    public void testRandomAcyclicGraphs() {
+        final Random random = new Random(31);
+        for (int trial = 0; trial < 20; trial++) {
+            final int vertexCount = 1 + random.nextInt(300);
+            final CSRGraph.Builder builder = new CSRGraph.Builder(vertexCount, true);
+
+            // arcs from lower to higher positions in a shuffled order can't form a cycle
+            final int[] shuffle = new int[vertexCount];
+            for (int i = 0; i < vertexCount; i++) {
+                final int j = random.nextInt(i + 1);
+                shuffle[i] = shuffle[j];
+                shuffle[j] = i;
+            }
+            for (int e = 0; e < 3 * vertexCount; e++) {
+                final int a = random.nextInt(vertexCount);
+                final int b = random.nextInt(vertexCount);
+                if (a < b) {
+                    builder.addEdge(shuffle[a], shuffle[b]);
+                }
+            }
+            final CSRGraph g = builder.build();
+
+            final TopologicalSort kahn = new TopologicalSort(g);
+            final TopologicalSort depthFirst = new TopologicalSort(g, TopologicalSort.Method.DEPTH_FIRST);
+            assertTopological(g, kahn);
+            assertTopological(g, depthFirst);
+            Assertions.assertEquals(kahn.levelCount(), depthFirst.levelCount());
+        }
+    }
+
+}
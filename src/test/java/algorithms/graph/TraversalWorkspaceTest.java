@@ -0,0 +1,138 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+public class TraversalWorkspaceTest {
+
+    private static final int VERTEX_COUNT = 5;
+
+    private static UndirectedGraph generateUndirectedGraph() {
+        final UndirectedGraph g = new UndirectedGraph(VERTEX_COUNT);
+        g.addEdge(0, 1);
+        g.addEdge(0, 2);
+        g.addEdge(1, 3);
+        return g; // vertex 4 is disconnected
+    }
+
+    private static List<Integer> toList(final Iterator<Integer> iterator) {
+        final List<Integer> list = new LinkedList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
+    @Test
+    public void testResetUnmarksVertices() {
+        final TraversalWorkspace workspace = new TraversalWorkspace(VERTEX_COUNT);
+
+        workspace.reset(VERTEX_COUNT);
+        Assertions.assertFalse(workspace.isMarked(3));
+        workspace.mark(3);
+        Assertions.assertTrue(workspace.isMarked(3));
+
+        workspace.reset(VERTEX_COUNT);
+        Assertions.assertFalse(workspace.isMarked(3));
+    }
+
+    @Test
+    public void testNewWorkspaceHasNothingMarked() {
+        final TraversalWorkspace workspace = new TraversalWorkspace(VERTEX_COUNT);
+
+        for (int v = 0; v < VERTEX_COUNT; v++) {
+            Assertions.assertFalse(workspace.isMarked(v));
+        }
+    }
+
+    @Test
+    public void testTooSmall() {
+        final TraversalWorkspace workspace = new TraversalWorkspace(VERTEX_COUNT - 1);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> workspace.reset(VERTEX_COUNT));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new BFS(generateUndirectedGraph(), 0, workspace));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TraversalWorkspace(-1));
+    }
+
+    @Test
+    public void testThreadWorkspaceIsReused() {
+        final TraversalWorkspace workspace = TraversalWorkspace.forCurrentThread(VERTEX_COUNT);
+
+        Assertions.assertSame(workspace, TraversalWorkspace.forCurrentThread(VERTEX_COUNT - 1));
+
+        // a larger request replaces the workspace, which is then kept
+        final TraversalWorkspace larger = TraversalWorkspace.forCurrentThread(workspace.capacity() + 1);
+        Assertions.assertTrue(larger.capacity() > workspace.capacity());
+        Assertions.assertSame(larger, TraversalWorkspace.forCurrentThread(VERTEX_COUNT));
+    }
+
+    @Test
+    public void testReleaseThreadWorkspace() {
+        final TraversalWorkspace workspace = TraversalWorkspace.forCurrentThread(VERTEX_COUNT);
+
+        TraversalWorkspace.releaseCurrentThread();
+        final TraversalWorkspace replacement = TraversalWorkspace.forCurrentThread(VERTEX_COUNT);
+        Assertions.assertNotSame(workspace, replacement);
+        Assertions.assertSame(replacement, TraversalWorkspace.forCurrentThread(VERTEX_COUNT));
+
+        // releasing a thread without a workspace does nothing
+        TraversalWorkspace.releaseCurrentThread();
+        TraversalWorkspace.releaseCurrentThread();
+    }
+
+    @Test
+    public void testSearchesShareWorkspace() {
+        final UndirectedGraph g = generateUndirectedGraph();
+        final TraversalWorkspace workspace = new TraversalWorkspace(VERTEX_COUNT);
+
+        final BFS first = new BFS(g, 4, workspace);
+        Assertions.assertTrue(first.hasPathTo(4));
+        Assertions.assertFalse(first.hasPathTo(0));
+
+        // marks from the first search don't carry over
+        final BFS second = new BFS(g, 0, workspace);
+        Assertions.assertFalse(second.hasPathTo(4));
+        Assertions.assertEquals(List.of(0, 1, 3), toList(second.pathTo(3).get()));
+
+        // the first search's results were overwritten by the second
+        Assertions.assertThrows(IllegalStateException.class, () -> first.hasPathTo(4));
+        Assertions.assertThrows(IllegalStateException.class, () -> first.pathTo(4));
+
+        final DFS dfs = new DFS(g, 2, workspace);
+        Assertions.assertEquals(List.of(2, 0, 1, 3), toList(dfs.pathTo(3).get()));
+        Assertions.assertThrows(IllegalStateException.class, () -> second.hasPathTo(0));
+
+        BFS.search(g, 0, workspace);
+        Assertions.assertThrows(IllegalStateException.class, dfs::postOrder);
+    }
+
+    @Test
+    public void testReusedWorkspaceMatchesFreshSearches() {
+        final int vertexCount = 500;
+        final CSRGraph g = TestGraphs.randomGraph(vertexCount, 600, true, 0);
+        final TraversalWorkspace workspace = new TraversalWorkspace(vertexCount);
+
+        for (int root = 0; root < vertexCount; root++) {
+            final BFS fresh = new BFS(g, root);
+            final BFS reused = new BFS(g, root, workspace);
+            for (int v = 0; v < vertexCount; v++) {
+                Assertions.assertEquals(fresh.hasPathTo(v), reused.hasPathTo(v));
+            }
+
+            final DFS freshDfs = new DFS(g, root);
+            final DFS reusedDfs = new DFS(g, root, DFS.Mode.RECURSIVE, new DFSVisitor() { }, workspace);
+            Assertions.assertEquals(toList(freshDfs.postOrder()), toList(reusedDfs.postOrder()));
+
+            Assertions.assertEquals(toList(BFS.search(g, root, new TraversalWorkspace(vertexCount))),
+                    toList(BFS.search(g, root)));
+            Assertions.assertEquals(toList(DFS.search(g, root, new TraversalWorkspace(vertexCount))),
+                    toList(DFS.search(g, root)));
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+package algorithms.graph;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.Graph;
+import datastructures.graph.UndirectedGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class TriangleCountingTest {
+
+    private static final double DELTA = 1e-12;
+
+    /**
+     * Adjacency matrix ignoring self-loops and repeated edges.
+     */
+    private static boolean[][] matrix(final Graph g) {
+        final boolean[][] adjacent = new boolean[g.vertexCount()][g.vertexCount()];
+        for (int v = 0; v < g.vertexCount(); v++) {
+            for (int i = 0; i < g.degree(v); i++) {
+                final int w = g.neighbour(v, i);
+                if (w != v) {
+                    adjacent[v][w] = true;
+                }
+            }
+        }
+        return adjacent;
+    }
+
+    private static void assertMatchesBruteForce(final Graph g, final TriangleCounting counting) {
+        final int n = g.vertexCount();
+        final boolean[][] adjacent = matrix(g);
+        final long[] expected = new long[n];
+        long total = 0;
+        for (int u = 0; u < n; u++) {
+            for (int v = u + 1; v < n; v++) {
+                if (!adjacent[u][v]) {
+                    continue;
+                }
+                for (int w = v + 1; w < n; w++) {
+                    if (adjacent[u][w] && adjacent[v][w]) {
+                        expected[u]++;
+                        expected[v]++;
+                        expected[w]++;
+                        total++;
+                    }
+                }
+            }
+        }
+
+        Assertions.assertEquals(total, counting.count());
+        for (int v = 0; v < n; v++) {
+            Assertions.assertEquals(expected[v], counting.triangles(v));
+
+            int degree = 0;
+            for (int w = 0; w < n; w++) {
+                degree += adjacent[v][w] ? 1 : 0;
+            }
+            final double coefficient = degree < 2 ? 0 : 2.0 * expected[v] / (degree * (degree - 1.0));
+            Assertions.assertEquals(coefficient, counting.clusteringCoefficient(v), DELTA);
+        }
+    }
+
+    @Test
+    public void testCompleteGraph() {
+        final UndirectedGraph g = new UndirectedGraph(6);
+        for (int v = 0; v < 6; v++) {
+            for (int w = v + 1; w < 6; w++) {
+                g.addEdge(v, w);
+            }
+        }
+        final TriangleCounting counting = new TriangleCounting(g);
+
+        Assertions.assertEquals(20, counting.count());
+        for (int v = 0; v < 6; v++) {
+            Assertions.assertEquals(10, counting.triangles(v));
+            Assertions.assertEquals(1.0, counting.clusteringCoefficient(v), DELTA);
+        }
+    }
+
+    @Test
+    public void testNoTriangles() {
+        // a star and a square
+        final UndirectedGraph g = new UndirectedGraph(9);
+        for (int v = 1; v < 5; v++) {
+            g.addEdge(0, v);
+        }
+        g.addEdge(5, 6);
+        g.addEdge(6, 7);
+        g.addEdge(7, 8);
+        g.addEdge(8, 5);
+        final TriangleCounting counting = new TriangleCounting(g);
+
+        Assertions.assertEquals(0, counting.count());
+        Assertions.assertEquals(0.0, counting.clusteringCoefficient(0), DELTA);
+    }
+
+    @Test
+    public void testSelfLoopsAndRepeatsIgnored() {
+        final UndirectedGraph g = new UndirectedGraph(4);
+        g.addEdge(0, 1);
+        g.addEdge(1, 2);
+        g.addEdge(2, 0);
+        g.addEdge(0, 1);
+        g.addEdge(2, 2);
+        g.addEdge(2, 3);
+        final TriangleCounting counting = new TriangleCounting(g);
+
+        Assertions.assertEquals(1, counting.count());
+        Assertions.assertEquals(1, counting.triangles(0));
+        Assertions.assertEquals(0, counting.triangles(3));
+        Assertions.assertEquals(1.0, counting.clusteringCoefficient(0), DELTA);
+        Assertions.assertEquals(1.0 / 3.0, counting.clusteringCoefficient(2), DELTA);
+    }
+
+    @Test
+    public void testRandomGraphs() {
+        for (int seed = 0; seed < 5; seed++) {
+            final CSRGraph g = TestGraphs.randomGraph(150, 1500 + 300 * seed, false, seed);
+            assertMatchesBruteForce(g, new TriangleCounting(g));
+        }
+    }
+
+    @Test
+    public void testSkewedDegrees() {
+        // hubs joined to most vertices, on top of a sparse random graph
+        final Random random = new Random(7);
+        final CSRGraph.Builder builder = new CSRGraph.Builder(200, false);
+        for (int i = 0; i < 400; i++) {
+            builder.addEdge(random.nextInt(200), random.nextInt(200));
+        }
+        for (int hub = 0; hub < 3; hub++) {
+            for (int v = 0; v < 200; v++) {
+                if (random.nextInt(4) != 0) {
+                    builder.addEdge(hub, v);
+                }
+            }
+        }
+        final CSRGraph g = builder.build();
+
+        assertMatchesBruteForce(g, new TriangleCounting(g));
+    }
+
+    @Test
+    public void testSameResultOnAnyPool() {
+        final CSRGraph g = TestGraphs.randomGraph(20000, 200000, false, 11);
+        final TriangleCounting single = new TriangleCounting(g, new ForkJoinPool(1));
+        final TriangleCounting many = new TriangleCounting(g, new ForkJoinPool(4));
+
+        Assertions.assertEquals(single.count(), many.count());
+        for (int v = 0; v < g.vertexCount(); v++) {
+            Assertions.assertEquals(single.triangles(v), many.triangles(v));
+        }
+    }
+
+}
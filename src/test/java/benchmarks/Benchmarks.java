@@ -0,0 +1,243 @@
+package benchmarks;
+
+import datastructures.graph.CSRGraph;
+import datastructures.graph.WeightedCSRGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Timing and graph generation shared by the benchmark entry points. Each benchmark is a main
+ * class run with <CODE>gradle benchmark -Pbenchmark=ClassName</CODE>, taking its sizes as optional
+ * arguments so a quick run can use a smaller graph.
+ */
+final class Benchmarks {
+
+    private Benchmarks() { }
+
+
+    /**
+     * Read an optional integer argument.
+     *
+     * @param args The program arguments.
+     * @param index Position of the argument.
+     * @param defaultValue Value to use if the argument isn't given.
+     * @return The argument's value, or the default.
+     */
+    static int intArgument(final String[] args, final int index, final int defaultValue) {
+        return index < args.length ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+
+    /**
+     * Run a task a number of times and keep the fastest run, so the figure reflects compiled code
+     * rather than warm-up or a collection landing in one run.
+     *
+     * @param runs Number of times to run the task.
+     * @param task The work to time.
+     * @return Time of the fastest run, in milliseconds.
+     */
+    static double bestMillis(final int runs, final Runnable task) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            final long start = System.nanoTime();
+            task.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+
+
+    /**
+     * Run a task with pools of 1, 2, 4, ... threads up to the number of available processors,
+     * closing each pool afterwards.
+     *
+     * @param task Called with each pool's parallelism, inside a pool of that size.
+     */
+    static void forEachPoolSize(final PoolTask task) {
+        for (final int parallelism : poolSizes()) {
+            final ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                task.run(parallelism, pool);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+
+    /**
+     * Get the pool sizes to benchmark: powers of two below the number of available processors,
+     * then the number of processors itself.
+     *
+     * @return Pool sizes in increasing order.
+     */
+    static List<Integer> poolSizes() {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        final List<Integer> sizes = new ArrayList<>();
+        for (int size = 1; size < processors; size *= 2) {
+            sizes.add(size);
+        }
+        sizes.add(processors);
+        return sizes;
+    }
+
+
+    /**
+     * Build a graph with edges between uniformly random vertices.
+     *
+     * @param vertexCount Number of vertices.
+     * @param edgeCount Number of edges.
+     * @param directed <CODE>true</CODE> for arcs; <CODE>false</CODE> for undirected edges.
+     * @param seed Seed for the random edges.
+     * @return The graph.
+     */
+    static CSRGraph randomGraph(final int vertexCount, final int edgeCount, final boolean directed,
+                                final long seed) {
+        final Random random = new Random(seed);
+        final CSRGraph.Builder builder = new CSRGraph.Builder(vertexCount, directed, edgeCount);
+        for (int i = 0; i < edgeCount; i++) {
+            builder.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount));
+        }
+        return builder.build();
+    }
+
+
+    /**
+     * Build an undirected graph with skewed degrees: each edge has one end drawn uniformly and the
+     * other drawn with a strong bias towards low vertex ids, so a few vertices have very high degree,
+     * as in a social or transaction network. Self-loops are left out.
+     *
+     * @param vertexCount Number of vertices.
+     * @param edgeCount Number of edges to draw, before self-loops are dropped.
+     * @param seed Seed for the random edges.
+     * @return The graph.
+     */
+    static CSRGraph skewedGraph(final int vertexCount, final int edgeCount, final long seed) {
+        final Random random = new Random(seed);
+        final CSRGraph.Builder builder = new CSRGraph.Builder(vertexCount, false, edgeCount);
+        for (int i = 0; i < edgeCount; i++) {
+            final int vertex = (int) (vertexCount * Math.pow(random.nextDouble(), 3));
+            final int otherVertex = random.nextInt(vertexCount);
+            if (vertex != otherVertex) {
+                builder.addEdge(vertex, otherVertex);
+            }
+        }
+        return builder.build();
+    }
+
+
+    /**
+     * Build a square grid where each vertex joins the vertices beside and below it, with the
+     * vertex ids shuffled so that neighbours are scattered through memory, as in a graph loaded
+     * in no particular order.
+     *
+     * @param side Number of vertices along each side.
+     * @param seed Seed for the shuffle.
+     * @return The grid.
+     */
+    static CSRGraph shuffledGrid(final int side, final long seed) {
+        final Random random = new Random(seed);
+        final int vertexCount = side * side;
+        final int[] ids = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            final int j = random.nextInt(i + 1);
+            ids[i] = ids[j];
+            ids[j] = i;
+        }
+
+        final CSRGraph.Builder builder = new CSRGraph.Builder(vertexCount, false, 2 * vertexCount);
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                final int vertex = row * side + column;
+                if (column + 1 < side) {
+                    builder.addEdge(ids[vertex], ids[vertex + 1]);
+                }
+                if (row + 1 < side) {
+                    builder.addEdge(ids[vertex], ids[vertex + side]);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+
+    /**
+     * Build an undirected graph with edges between uniformly random vertices and uniformly random
+     * weights in [0, 1).
+     *
+     * @param vertexCount Number of vertices.
+     * @param edgeCount Number of edges.
+     * @param seed Seed for the random edges and weights.
+     * @return The graph.
+     */
+    static WeightedCSRGraph randomWeightedGraph(final int vertexCount, final int edgeCount, final long seed) {
+        final Random random = new Random(seed);
+        final WeightedCSRGraph.Builder builder = new WeightedCSRGraph.Builder(vertexCount, false, edgeCount);
+        for (int i = 0; i < edgeCount; i++) {
+            builder.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount), random.nextDouble());
+        }
+        return builder.build();
+    }
+
+
+    /**
+     * Build a square grid where each vertex joins the vertices beside and below it, numbered row by
+     * row, with random weights in a range. A grid with weights near each other is a stand-in for a
+     * road network: low degree, a long diameter, and edge weights that track the distance covered.
+     *
+     * @param side Number of vertices along each side.
+     * @param minWeight Smallest edge weight.
+     * @param maxWeight Exclusive upper bound on edge weights.
+     * @param seed Seed for the random weights.
+     * @return The grid, with vertex row * side + column.
+     */
+    static WeightedCSRGraph weightedGrid(final int side, final int minWeight, final int maxWeight,
+                                         final long seed) {
+        final Random random = new Random(seed);
+        final WeightedCSRGraph.Builder builder = new WeightedCSRGraph.Builder(side * side, false, 2 * side * side);
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                final int vertex = row * side + column;
+                if (column + 1 < side) {
+                    builder.addEdge(vertex, vertex + 1, minWeight + random.nextInt(maxWeight - minWeight));
+                }
+                if (row + 1 < side) {
+                    builder.addEdge(vertex, vertex + side, minWeight + random.nextInt(maxWeight - minWeight));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+
+    /**
+     * Print a line of a results table, with the label padded to line up the columns.
+     *
+     * @param label What was timed.
+     * @param millis How long it took, in milliseconds.
+     * @param note Anything else to show, such as a speedup or a checksum.
+     */
+    static void report(final String label, final double millis, final String note) {
+        System.out.printf("%-44s %10.1f ms  %s%n", label, millis, note);
+    }
+
+
+    /**
+     * A benchmark run inside a pool of a given size.
+     */
+    @FunctionalInterface
+    interface PoolTask {
+
+        /**
+         * Run the benchmark.
+         *
+         * @param parallelism Number of threads in the pool.
+         * @param pool The pool to run parallel work in.
+         */
+        void run(int parallelism, ForkJoinPool pool);
+    }
+
+}
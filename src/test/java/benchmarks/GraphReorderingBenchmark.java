@@ -0,0 +1,59 @@
+package benchmarks;
+
+import algorithms.graph.BFS;
+import algorithms.graph.ConnectedComponents;
+import algorithms.graph.GraphReordering;
+import algorithms.graph.TraversalWorkspace;
+import datastructures.graph.CSRGraph;
+
+/**
+ * Measures how {@link GraphReordering} speeds up traversals on a grid whose vertex ids have been
+ * shuffled. For the shuffled grid and for each order, one {@link BFS} and one
+ * {@link ConnectedComponents} pass are timed together, along with the cost of computing the order
+ * and relabelling the graph.
+ *
+ * Arguments: grid side (default 1500), runs per measurement (default 5).
+ */
+public final class GraphReorderingBenchmark {
+
+    private GraphReorderingBenchmark() { }
+
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args Optional grid side and number of runs.
+     */
+    public static void main(final String[] args) {
+        final int side = Benchmarks.intArgument(args, 0, 1500);
+        final int runs = Benchmarks.intArgument(args, 1, 5);
+
+        final CSRGraph g = Benchmarks.shuffledGrid(side, 1);
+        System.out.printf("shuffled grid: %,d vertices%n", g.vertexCount());
+        traverse("shuffled", g, runs);
+
+        for (final GraphReordering.Order order : GraphReordering.Order.values()) {
+            final CSRGraph[] relabelled = new CSRGraph[1];
+            Benchmarks.report(order + " reorder and relabel",
+                    Benchmarks.bestMillis(1, () -> relabelled[0] = new GraphReordering(g, order).relabel(g)), "");
+            traverse(order.toString(), relabelled[0], runs);
+        }
+    }
+
+
+    /**
+     * Time a breadth-first search and a connected components pass over a graph.
+     *
+     * @param label Name of the vertex order.
+     * @param g The graph.
+     * @param runs Number of runs to take the fastest of.
+     */
+    private static void traverse(final String label, final CSRGraph g, final int runs) {
+        final TraversalWorkspace workspace = new TraversalWorkspace(g.vertexCount());
+        Benchmarks.report(label + " BFS and components", Benchmarks.bestMillis(runs, () -> {
+            new BFS(g, 0, workspace);
+            new ConnectedComponents(g);
+        }), "");
+    }
+
+}
@@ -0,0 +1,48 @@
+package benchmarks;
+
+import algorithms.graph.KCoreDecomposition;
+import algorithms.graph.ParallelKCoreDecomposition;
+import datastructures.graph.CSRGraph;
+
+import java.util.Arrays;
+
+/**
+ * Compares sequential {@link KCoreDecomposition} with {@link ParallelKCoreDecomposition} at each
+ * pool size, on a graph with skewed degrees. The parallel runs report whether their core numbers
+ * match the sequential ones.
+ *
+ * Arguments: vertex count (default 1,000,000), edge count (default 5,000,000), runs per
+ * measurement (default 3).
+ */
+public final class KCoreDecompositionBenchmark {
+
+    private KCoreDecompositionBenchmark() { }
+
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args Optional vertex count, edge count and number of runs.
+     */
+    public static void main(final String[] args) {
+        final int vertexCount = Benchmarks.intArgument(args, 0, 1_000_000);
+        final int edgeCount = Benchmarks.intArgument(args, 1, 5_000_000);
+        final int runs = Benchmarks.intArgument(args, 2, 3);
+
+        final CSRGraph g = Benchmarks.skewedGraph(vertexCount, edgeCount, 1);
+        System.out.printf("skewed graph: %,d vertices, %,d edges%n", vertexCount, g.edgeCount() / 2);
+
+        final KCoreDecomposition[] sequential = new KCoreDecomposition[1];
+        Benchmarks.report("KCoreDecomposition", Benchmarks.bestMillis(runs,
+                () -> sequential[0] = new KCoreDecomposition(g)), "degeneracy " + sequential[0].degeneracy());
+
+        Benchmarks.forEachPoolSize((parallelism, pool) -> {
+            final ParallelKCoreDecomposition[] parallel = new ParallelKCoreDecomposition[1];
+            Benchmarks.report("ParallelKCoreDecomposition, pool of " + parallelism,
+                    Benchmarks.bestMillis(runs, () -> parallel[0] = new ParallelKCoreDecomposition(g, pool)),
+                    Arrays.equals(sequential[0].coreNumbers(), parallel[0].coreNumbers())
+                            ? "matches" : "DIFFERS");
+        });
+    }
+
+}
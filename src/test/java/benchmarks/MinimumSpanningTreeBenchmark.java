@@ -0,0 +1,63 @@
+package benchmarks;
+
+import algorithms.graph.BoruvkaMST;
+import algorithms.graph.KruskalMST;
+import algorithms.graph.LazyPrimMST;
+import algorithms.graph.PrimMST;
+import datastructures.graph.WeightedCSRGraph;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Compares {@link KruskalMST}, {@link PrimMST}, {@link LazyPrimMST} and {@link BoruvkaMST} on a
+ * random weighted graph, timing Borůvka at each pool size. Every algorithm prints the weight of its
+ * forest, which should agree.
+ *
+ * Arguments: vertex count (default 1,000,000), edge count (default 10,000,000), runs per
+ * measurement (default 3).
+ */
+public final class MinimumSpanningTreeBenchmark {
+
+    private MinimumSpanningTreeBenchmark() { }
+
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args Optional vertex count, edge count and number of runs.
+     */
+    public static void main(final String[] args) {
+        final int vertexCount = Benchmarks.intArgument(args, 0, 1_000_000);
+        final int edgeCount = Benchmarks.intArgument(args, 1, 10_000_000);
+        final int runs = Benchmarks.intArgument(args, 2, 3);
+
+        final WeightedCSRGraph g = Benchmarks.randomWeightedGraph(vertexCount, edgeCount, 1);
+        System.out.printf("random weighted graph: %,d vertices, %,d edges%n", vertexCount, edgeCount);
+
+        time("Kruskal", runs, () -> new KruskalMST(g), KruskalMST::weight);
+        time("Prim", runs, () -> new PrimMST(g), PrimMST::weight);
+        time("Lazy Prim", runs, () -> new LazyPrimMST(g), LazyPrimMST::weight);
+        Benchmarks.forEachPoolSize((parallelism, pool) ->
+                time("Boruvka, pool of " + parallelism, runs, () -> new BoruvkaMST(g, pool), BoruvkaMST::weight));
+    }
+
+
+    /**
+     * Time one algorithm and report it with the weight of the forest it found.
+     *
+     * @param label Name of the algorithm.
+     * @param runs Number of runs to take the fastest of.
+     * @param algorithm Finds the forest.
+     * @param weight Gets the weight of the forest found.
+     * @param <T> Type of the algorithm's result.
+     */
+    private static <T> void time(final String label, final int runs, final Supplier<T> algorithm,
+                                 final ToDoubleFunction<T> weight) {
+        final AtomicReference<T> forest = new AtomicReference<>();
+        final double millis = Benchmarks.bestMillis(runs, () -> forest.set(algorithm.get()));
+        Benchmarks.report(label, millis, String.format("weight %.6f", weight.applyAsDouble(forest.get())));
+    }
+
+}
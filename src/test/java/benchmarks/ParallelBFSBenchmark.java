@@ -0,0 +1,44 @@
+package benchmarks;
+
+import algorithms.graph.BFS;
+import algorithms.graph.ParallelBFS;
+import algorithms.graph.TraversalWorkspace;
+import datastructures.graph.CSRGraph;
+
+/**
+ * Times {@link ParallelBFS} against pool size on a random graph, with sequential {@link BFS} as
+ * the baseline the speedups are measured against.
+ *
+ * Arguments: vertex count (default 4,000,000), edge count (default 32,000,000), runs per
+ * measurement (default 5).
+ */
+public final class ParallelBFSBenchmark {
+
+    private ParallelBFSBenchmark() { }
+
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args Optional vertex count, edge count and number of runs.
+     */
+    public static void main(final String[] args) {
+        final int vertexCount = Benchmarks.intArgument(args, 0, 4_000_000);
+        final int edgeCount = Benchmarks.intArgument(args, 1, 32_000_000);
+        final int runs = Benchmarks.intArgument(args, 2, 5);
+
+        final CSRGraph g = Benchmarks.randomGraph(vertexCount, edgeCount, false, 1);
+        System.out.printf("random graph: %,d vertices, %,d edges%n", vertexCount, edgeCount);
+
+        final TraversalWorkspace workspace = new TraversalWorkspace(vertexCount);
+        final double sequential = Benchmarks.bestMillis(runs, () -> new BFS(g, 0, workspace));
+        Benchmarks.report("BFS", sequential, "");
+
+        Benchmarks.forEachPoolSize((parallelism, pool) -> {
+            final double parallel = Benchmarks.bestMillis(runs, () -> new ParallelBFS(g, 0, pool));
+            Benchmarks.report("ParallelBFS, pool of " + parallelism, parallel,
+                    String.format("%.2fx", sequential / parallel));
+        });
+    }
+
+}
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import algorithms.graph.AStar;
+import algorithms.graph.DeltaStepping;
+import algorithms.graph.Dijkstra;
+import datastructures.graph.WeightedCSRGraph;
+
+/**
+ * Compares {@link Dijkstra}, {@link AStar} and {@link DeltaStepping} on a road-style weighted grid,
+ * with edge weights between 100 and 199. Dijkstra and delta-stepping find distances to every
+ * vertex; A* searches from the corner to the centre, guided by the Manhattan distance scaled by the
+ * smallest weight, which never overestimates.
+ *
+ * Arguments: grid side (default 2000, for 4,000,000 vertices), runs per measurement (default 3).
+ */
+public final class ShortestPathBenchmark {
+
+    /**
+     * Smallest edge weight in the grid.
+     */
+    private static final int MIN_WEIGHT = 100;
+
+
+    /**
+     * Exclusive upper bound on edge weights in the grid.
+     */
+    private static final int MAX_WEIGHT = 200;
+
+
+    /**
+     * Bucket width for delta-stepping: the heaviest weight over the grid's degree, as the default
+     * delta would pick.
+     */
+    private static final double DELTA = MAX_WEIGHT / 4.0;
+
+
+    private ShortestPathBenchmark() { }
+
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args Optional grid side and number of runs.
+     */
+    public static void main(final String[] args) {
+        final int side = Benchmarks.intArgument(args, 0, 2000);
+        final int runs = Benchmarks.intArgument(args, 1, 3);
+
+        final WeightedCSRGraph g = Benchmarks.weightedGrid(side, MIN_WEIGHT, MAX_WEIGHT, 1);
+        final int target = (side / 2) * side + side / 2;
+        System.out.printf("weighted grid: %,d vertices, %,d edges%n", g.vertexCount(), 2L * side * (side - 1));
+
+        final Dijkstra[] dijkstra = new Dijkstra[1];
+        Benchmarks.report("Dijkstra", Benchmarks.bestMillis(runs, () -> dijkstra[0] = new Dijkstra(g, 0)),
+                "distance " + dijkstra[0].distanceTo(target));
+
+        final AStar[] aStar = new AStar[1];
+        Benchmarks.report("A*", Benchmarks.bestMillis(runs, () -> aStar[0] = new AStar(g, 0, target,
+                        vertex -> MIN_WEIGHT * (Math.abs(vertex / side - target / side)
+                                + Math.abs(vertex % side - target % side)))),
+                "distance " + aStar[0].distance() + ", settled " + aStar[0].settledCount());
+
+        Benchmarks.forEachPoolSize((parallelism, pool) -> {
+            final DeltaStepping[] deltaStepping = new DeltaStepping[1];
+            Benchmarks.report("DeltaStepping, pool of " + parallelism,
+                    Benchmarks.bestMillis(runs, () -> deltaStepping[0] = new DeltaStepping(g, 0, DELTA, pool)),
+                    "distance " + deltaStepping[0].distanceTo(target));
+        });
+    }
+
+}
@@ -0,0 +1,39 @@
+package benchmarks;
+
+import algorithms.graph.TriangleCounting;
+import datastructures.graph.CSRGraph;
+
+/**
+ * Times {@link TriangleCounting} against pool size on a graph with skewed degrees, where a few
+ * vertices are in most of the triangles.
+ *
+ * Arguments: vertex count (default 1,000,000), edge count (default 5,000,000), runs per
+ * measurement (default 3).
+ */
+public final class TriangleCountingBenchmark {
+
+    private TriangleCountingBenchmark() { }
+
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args Optional vertex count, edge count and number of runs.
+     */
+    public static void main(final String[] args) {
+        final int vertexCount = Benchmarks.intArgument(args, 0, 1_000_000);
+        final int edgeCount = Benchmarks.intArgument(args, 1, 5_000_000);
+        final int runs = Benchmarks.intArgument(args, 2, 3);
+
+        final CSRGraph g = Benchmarks.skewedGraph(vertexCount, edgeCount, 1);
+        System.out.printf("skewed graph: %,d vertices, %,d edges%n", vertexCount, g.edgeCount() / 2);
+
+        Benchmarks.forEachPoolSize((parallelism, pool) -> {
+            final TriangleCounting[] triangles = new TriangleCounting[1];
+            Benchmarks.report("TriangleCounting, pool of " + parallelism,
+                    Benchmarks.bestMillis(runs, () -> triangles[0] = new TriangleCounting(g, pool)),
+                    String.format("%,d triangles", triangles[0].count()));
+        });
+    }
+
+}
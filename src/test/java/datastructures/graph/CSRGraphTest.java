@@ -0,0 +1,128 @@
+package datastructures.graph;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+public class CSRGraphTest {
+
+    private static final int VERTEX_COUNT = 10;
+
+    private static LinkedList<Integer> neighbours(final Graph graph, final int vertex) {
+        final LinkedList<Integer> neighbours = new LinkedList<>();
+        graph.adj(vertex).forEachRemaining(neighbours::add);
+        return neighbours;
+    }
+
+    @Test
+    public void testGraphSize() {
+        final CSRGraph graph = new CSRGraph.Builder(VERTEX_COUNT, false).build();
+
+        Assertions.assertEquals(VERTEX_COUNT, graph.vertexCount());
+        Assertions.assertEquals(0, graph.edgeCount());
+    }
+
+    @Test
+    public void testUnconnectedGraph() {
+        final CSRGraph graph = new CSRGraph.Builder(VERTEX_COUNT, true).build();
+
+        for (int i = 0; i < VERTEX_COUNT; i++) {
+            Assertions.assertFalse(graph.adj(i).hasNext());
+            Assertions.assertEquals(0, graph.degree(i));
+        }
+    }
+
+    @Test
+    public void testUndirectedEdges() {
+        final CSRGraph graph = new CSRGraph.Builder(VERTEX_COUNT, false)
+                .addEdge(0, 1)
+                .addEdge(2, 0)
+                .build();
+
+        Assertions.assertEquals(4, graph.edgeCount());
+        Assertions.assertEquals(2, graph.degree(0));
+        Assertions.assertEquals(1, graph.neighbour(0, 0));
+        Assertions.assertEquals(2, graph.neighbour(0, 1));
+        Assertions.assertEquals(0, graph.neighbour(1, 0));
+        Assertions.assertEquals(0, graph.neighbour(2, 0));
+    }
+
+    @Test
+    public void testDirectedEdges() {
+        final CSRGraph graph = new CSRGraph.Builder(VERTEX_COUNT, true)
+                .addEdges(new int[]{0, 0, 3}, new int[]{1, 2, 0})
+                .build();
+
+        Assertions.assertEquals(3, graph.edgeCount());
+        Assertions.assertEquals(2, graph.degree(0));
+        Assertions.assertEquals(0, graph.degree(1));
+        Assertions.assertEquals(1, graph.degree(3));
+
+        final Iterator<Integer> adjacent = graph.adj(3);
+        Assertions.assertEquals(0, adjacent.next());
+        Assertions.assertFalse(adjacent.hasNext());
+    }
+
+    @Test
+    public void testMatchesAdjacencyLists() {
+        final Random random = new Random(42);
+        final CSRGraph.Builder directedBuilder = new CSRGraph.Builder(VERTEX_COUNT, true);
+        final CSRGraph.Builder undirectedBuilder = new CSRGraph.Builder(VERTEX_COUNT, false);
+        final DirectedGraph directed = new DirectedGraph(VERTEX_COUNT);
+        final UndirectedGraph undirected = new UndirectedGraph(VERTEX_COUNT);
+
+        for (int i = 0; i < 50; i++) {
+            final int vertex = random.nextInt(VERTEX_COUNT);
+            final int otherVertex = random.nextInt(VERTEX_COUNT);
+            directedBuilder.addEdge(vertex, otherVertex);
+            undirectedBuilder.addEdge(vertex, otherVertex);
+            directed.addEdge(vertex, otherVertex);
+            undirected.addEdge(vertex, otherVertex);
+        }
+
+        final CSRGraph directedCSR = directedBuilder.build();
+        final CSRGraph undirectedCSR = undirectedBuilder.build();
+
+        // neighbours should be in the same order as the adjacency lists
+        for (int v = 0; v < VERTEX_COUNT; v++) {
+            Assertions.assertEquals(neighbours(directed, v), neighbours(directedCSR, v));
+            Assertions.assertEquals(neighbours(undirected, v), neighbours(undirectedCSR, v));
+        }
+    }
+
+    @Test
+    public void testImmutable() {
+        final CSRGraph graph = new CSRGraph.Builder(VERTEX_COUNT, false).build();
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> graph.addEdge(0, 1));
+    }
+
+    @Test
+    public void testInvalidVertex() {
+        final CSRGraph.Builder builder = new CSRGraph.Builder(VERTEX_COUNT, false);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.addEdge(0, VERTEX_COUNT));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.addEdge(-1, 0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> builder.addEdges(new int[]{0, 1}, new int[]{1}));
+    }
+
+    @Test
+    public void testTranspose() {
+        final CSRGraph transpose = new CSRGraph.Builder(VERTEX_COUNT, true)
+                .addEdge(3, 0)
+                .addEdge(1, 0)
+                .addEdge(0, 2)
+                .build()
+                .transpose();
+
+        Assertions.assertEquals(3, transpose.edgeCount());
+        Assertions.assertEquals(List.of(1, 3), neighbours(transpose, 0));
+        Assertions.assertEquals(List.of(0), neighbours(transpose, 2));
+        Assertions.assertEquals(0, transpose.degree(3));
+    }
+
+}
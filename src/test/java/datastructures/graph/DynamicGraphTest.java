@@ -0,0 +1,169 @@
+package datastructures.graph;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+
+public class DynamicGraphTest {
+
+    private static Set<Integer> neighbours(final Graph graph, final int vertex) {
+        final Set<Integer> neighbours = new HashSet<>();
+        final Iterator<Integer> iterator = graph.adj(vertex);
+        while (iterator.hasNext()) {
+            neighbours.add(iterator.next());
+        }
+        return neighbours;
+    }
+
+    @Test
+    public void testDirectedEdges() {
+        final DynamicGraph graph = new DynamicGraph(5, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 2);
+        graph.addEdge(3, 0);
+
+        Assertions.assertTrue(graph.hasEdge(0, 1));
+        Assertions.assertFalse(graph.hasEdge(1, 0));
+        Assertions.assertEquals(2, graph.degree(0));
+        Assertions.assertEquals(3, graph.edgeCount());
+
+        Assertions.assertTrue(graph.removeEdge(0, 1));
+        Assertions.assertFalse(graph.removeEdge(0, 1));
+        Assertions.assertFalse(graph.hasEdge(0, 1));
+        Assertions.assertEquals(1, graph.degree(0));
+        Assertions.assertEquals(2, graph.neighbour(0, 0));
+        Assertions.assertEquals(2, graph.edgeCount());
+    }
+
+    @Test
+    public void testUndirectedEdges() {
+        final DynamicGraph graph = new DynamicGraph(4, false);
+        graph.addEdge(0, 1);
+        graph.addEdge(2, 1);
+        graph.addEdge(3, 3);
+
+        Assertions.assertTrue(graph.hasEdge(1, 0));
+        Assertions.assertTrue(graph.hasEdge(1, 2));
+        Assertions.assertTrue(graph.hasEdge(3, 3));
+        Assertions.assertEquals(1, graph.degree(3));
+        Assertions.assertEquals(5, graph.edgeCount());
+
+        Assertions.assertTrue(graph.removeEdge(1, 0));
+        Assertions.assertFalse(graph.hasEdge(0, 1));
+        Assertions.assertEquals(0, graph.degree(0));
+        Assertions.assertEquals(1, graph.degree(1));
+
+        Assertions.assertTrue(graph.removeEdge(3, 3));
+        Assertions.assertEquals(0, graph.degree(3));
+        Assertions.assertEquals(2, graph.edgeCount());
+    }
+
+    @Test
+    public void testDuplicateEdges() {
+        final DynamicGraph graph = new DynamicGraph(3, false);
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 0);
+
+        Assertions.assertEquals(1, graph.degree(0));
+        Assertions.assertEquals(1, graph.degree(1));
+        Assertions.assertEquals(2, graph.edgeCount());
+    }
+
+    @Test
+    public void testInvalidVertices() {
+        final DynamicGraph graph = new DynamicGraph(3, true);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> graph.addEdge(0, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> graph.hasEdge(-1, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> graph.removeEdge(0, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new DynamicGraph(-1, true));
+    }
+
+    @Test
+    public void testHighDegreeVertex() {
+        final int vertexCount = 10 * DynamicGraph.INDEX_THRESHOLD;
+        final DynamicGraph graph = new DynamicGraph(vertexCount, false);
+
+        for (int v = 1; v < vertexCount; v++) {
+            graph.addEdge(0, v);
+        }
+        Assertions.assertEquals(vertexCount - 1, graph.degree(0));
+
+        // remove the even neighbours, then check the hub's list and index agree
+        for (int v = 2; v < vertexCount; v += 2) {
+            Assertions.assertTrue(graph.removeEdge(v, 0));
+        }
+        for (int v = 1; v < vertexCount; v++) {
+            Assertions.assertEquals(v % 2 == 1, graph.hasEdge(0, v));
+            Assertions.assertEquals(v % 2 == 1, graph.hasEdge(v, 0));
+        }
+        Assertions.assertEquals(vertexCount / 2, graph.degree(0));
+        Assertions.assertEquals(vertexCount / 2, neighbours(graph, 0).size());
+
+        // drop below the threshold and back again
+        for (int v = 1; v < vertexCount - 4; v += 2) {
+            graph.removeEdge(0, v);
+        }
+        Assertions.assertEquals(2, graph.degree(0));
+        Assertions.assertTrue(graph.hasEdge(0, vertexCount - 1));
+        for (int v = 1; v < vertexCount; v++) {
+            graph.addEdge(0, v);
+        }
+        Assertions.assertEquals(vertexCount - 1, graph.degree(0));
+    }
+
+    @Test
+    public void testRandomChanges() {
+        final int vertexCount = 60;
+        final Random random = new Random(17);
+        final DynamicGraph graph = new DynamicGraph(vertexCount, true);
+        final boolean[][] expected = new boolean[vertexCount][vertexCount];
+
+        // vertices of this small graph repeatedly cross the indexing threshold
+        for (int step = 0; step < 200000; step++) {
+            final int v = random.nextInt(vertexCount);
+            final int w = random.nextInt(vertexCount);
+
+            switch (random.nextInt(3)) {
+                case 0:
+                    graph.addEdge(v, w);
+                    expected[v][w] = true;
+                    break;
+                case 1:
+                    Assertions.assertEquals(expected[v][w], graph.removeEdge(v, w));
+                    expected[v][w] = false;
+                    break;
+                default:
+                    Assertions.assertEquals(expected[v][w], graph.hasEdge(v, w));
+            }
+        }
+
+        int edgeCount = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            final Set<Integer> neighbours = neighbours(graph, v);
+            Assertions.assertEquals(graph.degree(v), neighbours.size());
+            for (int w = 0; w < vertexCount; w++) {
+                Assertions.assertEquals(expected[v][w], neighbours.contains(w));
+                Assertions.assertEquals(expected[v][w], graph.hasEdge(v, w));
+                edgeCount += expected[v][w] ? 1 : 0;
+            }
+        }
+        Assertions.assertEquals(edgeCount, graph.edgeCount());
+    }
+
+    @Test
+    public void testNeighbourOutOfRange() {
+        final DynamicGraph graph = new DynamicGraph(3, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 2);
+        graph.removeEdge(0, 2);
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> graph.neighbour(0, 1));
+    }
+
+}
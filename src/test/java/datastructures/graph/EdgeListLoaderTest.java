@@ -0,0 +1,136 @@
+package datastructures.graph;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class EdgeListLoaderTest {
+
+    private static void assertSameGraph(final CSRGraph expected, final CSRGraph actual) {
+        Assertions.assertEquals(expected.vertexCount(), actual.vertexCount());
+        Assertions.assertEquals(expected.edgeCount(), actual.edgeCount());
+        for (int v = 0; v < expected.vertexCount(); v++) {
+            Assertions.assertEquals(expected.degree(v), actual.degree(v));
+            for (int i = 0; i < expected.degree(v); i++) {
+                Assertions.assertEquals(expected.neighbour(v, i), actual.neighbour(v, i));
+            }
+        }
+    }
+
+    private static CSRGraph load(final String text, final EdgeListLoader.Format format, final boolean directed)
+            throws IOException {
+        final Path file = Files.createTempFile("edges", ".txt");
+        try {
+            Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+            return EdgeListLoader.load(file, format, directed);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testSnap() throws IOException {
+        final CSRGraph graph = load("# Directed graph\n# FromNodeId\tToNodeId\n0\t1\n0\t3\n3\t2\n\n2 0\n",
+                EdgeListLoader.Format.SNAP, true);
+
+        final CSRGraph expected = new CSRGraph.Builder(4, true)
+                .addEdges(new int[]{0, 0, 3, 2}, new int[]{1, 3, 2, 0})
+                .build();
+        assertSameGraph(expected, graph);
+    }
+
+    @Test
+    public void testSnapUndirected() throws IOException {
+        final CSRGraph graph = load("0 1\n1 2\n", EdgeListLoader.Format.SNAP, false);
+
+        Assertions.assertEquals(3, graph.vertexCount());
+        Assertions.assertEquals(4, graph.edgeCount());
+        Assertions.assertEquals(2, graph.degree(1));
+        Assertions.assertEquals(0, graph.neighbour(1, 0));
+        Assertions.assertEquals(2, graph.neighbour(1, 1));
+    }
+
+    @Test
+    public void testMatrixMarket() throws IOException {
+        final CSRGraph graph = load("%%MatrixMarket matrix coordinate real general\n% comment\n6 5 3\n1 2 0.5\n2 3 1.5\n5 1 2.0\n",
+                EdgeListLoader.Format.MATRIX_MARKET, true);
+
+        // vertices without edges still count, and indices count from one
+        final CSRGraph expected = new CSRGraph.Builder(6, true)
+                .addEdges(new int[]{0, 1, 4}, new int[]{1, 2, 0})
+                .build();
+        assertSameGraph(expected, graph);
+    }
+
+    @Test
+    public void testWindowsLineEndings() throws IOException {
+        final CSRGraph graph = load("# comment\r\n0 1\r\n1 2\r\n", EdgeListLoader.Format.SNAP, true);
+
+        Assertions.assertEquals(3, graph.vertexCount());
+        Assertions.assertEquals(2, graph.edgeCount());
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        final CSRGraph graph = load("# nothing\n", EdgeListLoader.Format.SNAP, true);
+
+        Assertions.assertEquals(0, graph.vertexCount());
+        Assertions.assertEquals(0, graph.edgeCount());
+    }
+
+    @Test
+    public void testMalformedFiles() {
+        Assertions.assertThrows(IOException.class, () -> load("0 1\n1 x\n", EdgeListLoader.Format.SNAP, true));
+        Assertions.assertThrows(IOException.class, () -> load("0 1\n-1 2\n", EdgeListLoader.Format.SNAP, true));
+        Assertions.assertThrows(IOException.class, () -> load("0\n", EdgeListLoader.Format.SNAP, true));
+        Assertions.assertThrows(IOException.class,
+                () -> load("% only comments\n", EdgeListLoader.Format.MATRIX_MARKET, true));
+        Assertions.assertThrows(IOException.class,
+                () -> load("3 3 1\n0 1\n", EdgeListLoader.Format.MATRIX_MARKET, true));
+        Assertions.assertThrows(IOException.class,
+                () -> load("3 3 1\n1 4\n", EdgeListLoader.Format.MATRIX_MARKET, true));
+    }
+
+    @Test
+    public void testManyChunks() throws IOException {
+        final int vertexCount = 2000;
+        final Random random = new Random(13);
+        final StringBuilder text = new StringBuilder("# random graph\n");
+        final CSRGraph.Builder builder = new CSRGraph.Builder(vertexCount, false);
+
+        for (int e = 0; e < 20000; e++) {
+            final int v = random.nextInt(vertexCount);
+            final int w = random.nextInt(vertexCount);
+            text.append(v).append('\t').append(w).append('\n');
+            if (e % 1000 == 0) {
+                text.append("# comment between edges\n");
+            }
+            builder.addEdge(v, w);
+        }
+        text.append("0 ").append(vertexCount - 1);
+        builder.addEdge(0, vertexCount - 1);
+
+        final Path file = Files.createTempFile("edges", ".txt");
+        try {
+            Files.write(file, text.toString().getBytes(StandardCharsets.US_ASCII));
+
+            // chunks of a few hundred bytes each, cut in the middle of lines
+            final ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                assertSameGraph(builder.build(),
+                        EdgeListLoader.load(file, EdgeListLoader.Format.SNAP, false, pool, 333));
+            } finally {
+                pool.shutdown();
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+package datastructures.graph;
+
+import algorithms.graph.TestGraphs;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+
+public class MappedCSRGraphTest {
+
+    private static void assertSameGraph(final Graph expected, final Graph actual) {
+        Assertions.assertEquals(expected.vertexCount(), actual.vertexCount());
+        for (int v = 0; v < expected.vertexCount(); v++) {
+            Assertions.assertEquals(expected.degree(v), actual.degree(v));
+
+            final Iterator<Integer> neighbours = actual.adj(v);
+            for (int i = 0; i < expected.degree(v); i++) {
+                Assertions.assertEquals(expected.neighbour(v, i), actual.neighbour(v, i));
+                Assertions.assertEquals(expected.neighbour(v, i), (int) neighbours.next());
+            }
+            Assertions.assertFalse(neighbours.hasNext());
+        }
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        final CSRGraph graph = TestGraphs.randomGraph(5000, 40000, true, 3);
+
+        final Path file = Files.createTempFile("graph", ".csr");
+        try {
+            MappedCSRGraph.save(graph, file);
+            final MappedCSRGraph loaded = MappedCSRGraph.load(file);
+
+            Assertions.assertEquals(graph.edgeCount(), loaded.edgeCount());
+            assertSameGraph(graph, loaded);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testSaveOtherGraph() throws IOException {
+        final UndirectedGraph graph = new UndirectedGraph(6);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(4, 1);
+
+        final Path file = Files.createTempFile("graph", ".csr");
+        try {
+            MappedCSRGraph.save(graph, file);
+            final MappedCSRGraph loaded = MappedCSRGraph.load(file);
+
+            Assertions.assertEquals(6, loaded.edgeCount());
+            assertSameGraph(graph, loaded);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testEmptyGraph() throws IOException {
+        final Path file = Files.createTempFile("graph", ".csr");
+        try {
+            MappedCSRGraph.save(new CSRGraph.Builder(0, true).build(), file);
+            final MappedCSRGraph loaded = MappedCSRGraph.load(file);
+
+            Assertions.assertEquals(0, loaded.vertexCount());
+            Assertions.assertEquals(0, loaded.edgeCount());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testReadOnly() throws IOException {
+        final Path file = Files.createTempFile("graph", ".csr");
+        try {
+            MappedCSRGraph.save(TestGraphs.randomGraph(10, 20, false, 5), file);
+            final MappedCSRGraph loaded = MappedCSRGraph.load(file);
+
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> loaded.addEdge(0, 1));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testLoadInvalidFile() throws IOException {
+        final Path file = Files.createTempFile("graph", ".csr");
+        try {
+            Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+            Assertions.assertThrows(IOException.class, () -> MappedCSRGraph.load(file));
+
+            Files.write(file, new byte[40]);
+            Assertions.assertThrows(IOException.class, () -> MappedCSRGraph.load(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testLoadTruncatedFile() throws IOException {
+        final Path file = Files.createTempFile("graph", ".csr");
+        try {
+            MappedCSRGraph.save(TestGraphs.randomGraph(100, 500, true, 7), file);
+            final byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+            Assertions.assertThrows(IOException.class, () -> MappedCSRGraph.load(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testLoadCorruptOffsets() throws IOException {
+        final Path file = Files.createTempFile("graph", ".csr");
+        try {
+            MappedCSRGraph.save(TestGraphs.randomGraph(100, 500, true, 7), file);
+            final byte[] bytes = Files.readAllBytes(file);
+
+            // the first offset, just after the header, must be zero
+            ByteBuffer.wrap(bytes).putLong(32, 1);
+            Files.write(file, bytes);
+
+            Assertions.assertThrows(IOException.class, () -> MappedCSRGraph.load(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
@@ -4,7 +4,9 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 public class UndirectedGraphTest {
 
@@ -69,4 +71,40 @@ public class UndirectedGraphTest {
         }
     }
 
+    @Test
+    public void testNeighbourAccess() {
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 2);
+        graph.addEdge(0, 3);
+
+        Assertions.assertEquals(3, graph.degree(0));
+        Assertions.assertEquals(1, graph.neighbour(0, 0));
+        Assertions.assertEquals(2, graph.neighbour(0, 1));
+        Assertions.assertEquals(3, graph.neighbour(0, 2));
+        Assertions.assertEquals(1, graph.degree(1));
+
+        final List<Integer> visited = new ArrayList<>();
+        graph.forEachNeighbour(0, visited::add);
+        Assertions.assertEquals(List.of(1, 2, 3), visited);
+    }
+
+    @Test
+    public void testManyNeighbours() {
+        // enough neighbours to grow the adjacency list several times
+        for (int i = 0; i < 100; i++) {
+            graph.addEdge(0, i % VERTEX_COUNT);
+        }
+
+        Assertions.assertEquals(110, graph.degree(0));
+        final Iterator<Integer> adjacent = graph.adj(0);
+        for (int i = 0; i < 100; i++) {
+            final int expected = i % VERTEX_COUNT;
+            Assertions.assertEquals(expected, adjacent.next());
+            if (expected == 0) {
+                Assertions.assertEquals(0, adjacent.next()); // self-loops are stored twice
+            }
+        }
+        Assertions.assertFalse(adjacent.hasNext());
+    }
+
 }
@@ -0,0 +1,104 @@
+package datastructures.graph;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class WeightedCSRGraphTest {
+
+    private static final int VERTEX_COUNT = 5;
+
+    @Test
+    public void testDirectedEdges() {
+        final WeightedCSRGraph graph = new WeightedCSRGraph.Builder(VERTEX_COUNT, true)
+                .addEdge(0, 1, 2.5)
+                .addEdge(0, 3, 1.0)
+                .addEdge(3, 0, 4.0)
+                .build();
+
+        Assertions.assertEquals(VERTEX_COUNT, graph.vertexCount());
+        Assertions.assertEquals(3, graph.edgeCount());
+        Assertions.assertEquals(2, graph.degree(0));
+        Assertions.assertEquals(1, graph.neighbour(0, 0));
+        Assertions.assertEquals(2.5, graph.weight(0, 0), 0.0);
+        Assertions.assertEquals(3, graph.neighbour(0, 1));
+        Assertions.assertEquals(1.0, graph.weight(0, 1), 0.0);
+        Assertions.assertEquals(4.0, graph.weight(3, 0), 0.0);
+        Assertions.assertEquals(0, graph.degree(1));
+    }
+
+    @Test
+    public void testUndirectedEdges() {
+        final WeightedCSRGraph graph = new WeightedCSRGraph.Builder(VERTEX_COUNT, false)
+                .addEdge(1, 2, 7.0)
+                .build();
+
+        Assertions.assertEquals(2, graph.edgeCount());
+        Assertions.assertEquals(2, graph.neighbour(1, 0));
+        Assertions.assertEquals(7.0, graph.weight(1, 0), 0.0);
+        Assertions.assertEquals(1, graph.neighbour(2, 0));
+        Assertions.assertEquals(7.0, graph.weight(2, 0), 0.0);
+    }
+
+    @Test
+    public void testTransposeKeepsWeights() {
+        final WeightedCSRGraph graph = new WeightedCSRGraph.Builder(VERTEX_COUNT, true)
+                .addEdge(4, 0, 1.0)
+                .addEdge(2, 0, 3.0)
+                .addEdge(0, 1, 5.0)
+                .build()
+                .transpose();
+
+        // neighbours of each vertex in ascending order
+        Assertions.assertEquals(2, graph.degree(0));
+        Assertions.assertEquals(2, graph.neighbour(0, 0));
+        Assertions.assertEquals(3.0, graph.weight(0, 0), 0.0);
+        Assertions.assertEquals(4, graph.neighbour(0, 1));
+        Assertions.assertEquals(1.0, graph.weight(0, 1), 0.0);
+        Assertions.assertEquals(0, graph.neighbour(1, 0));
+        Assertions.assertEquals(5.0, graph.weight(1, 0), 0.0);
+    }
+
+    @Test
+    public void testWeightRange() {
+        final WeightedCSRGraph graph = new WeightedCSRGraph.Builder(VERTEX_COUNT, true)
+                .addEdge(0, 1, 2.0)
+                .addEdge(1, 2, 0.5)
+                .addEdge(2, 3, 8.0)
+                .build();
+
+        Assertions.assertEquals(8.0, graph.maxWeight(), 0.0);
+        Assertions.assertEquals(0.5, graph.minWeight(), 0.0);
+
+        final WeightedCSRGraph empty = new WeightedCSRGraph.Builder(VERTEX_COUNT, true).build();
+        Assertions.assertEquals(0.0, empty.maxWeight(), 0.0);
+        Assertions.assertEquals(0.0, empty.minWeight(), 0.0);
+    }
+
+    @Test
+    public void testManyEdges() {
+        final WeightedCSRGraph.Builder builder = new WeightedCSRGraph.Builder(VERTEX_COUNT, true);
+        for (int i = 0; i < 1000; i++) {
+            builder.addEdge(i % VERTEX_COUNT, (i + 1) % VERTEX_COUNT, i);
+        }
+        final WeightedCSRGraph graph = builder.build();
+
+        // edges of each vertex keep the order they were added in
+        for (int v = 0; v < VERTEX_COUNT; v++) {
+            Assertions.assertEquals(200, graph.degree(v));
+            for (int i = 0; i < 200; i++) {
+                Assertions.assertEquals(v + i * VERTEX_COUNT, graph.weight(v, i), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidEdges() {
+        final WeightedCSRGraph.Builder builder = new WeightedCSRGraph.Builder(VERTEX_COUNT, true);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.addEdge(0, VERTEX_COUNT, 1.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.addEdge(-1, 0, 1.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.addEdge(0, 1, Double.NaN));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> builder.build().addEdge(0, 1));
+    }
+
+}
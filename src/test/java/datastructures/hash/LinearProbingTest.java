@@ -0,0 +1,88 @@
+package datastructures.hash;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LinearProbingTest {
+
+    /**
+     * Key whose hash code is chosen by the test, to place keys in given home slots.
+     */
+    private static final class Key {
+        private final String name;
+        private final int home;
+
+        Key(final String name, final int home) {
+            this.name = name;
+            this.home = home;
+        }
+
+        @Override
+        public int hashCode() {
+            return home;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Key && ((Key) other).name.equals(name);
+        }
+    }
+
+    @Test
+    public void testIsCyclicallyBetween() {
+        Assertions.assertTrue(LinearProbing.isCyclicallyBetween(3, 2, 5));
+        Assertions.assertTrue(LinearProbing.isCyclicallyBetween(5, 2, 5));
+        Assertions.assertFalse(LinearProbing.isCyclicallyBetween(2, 2, 5));
+        Assertions.assertFalse(LinearProbing.isCyclicallyBetween(6, 2, 5));
+
+        // ranges wrapping around the end of the array
+        Assertions.assertTrue(LinearProbing.isCyclicallyBetween(7, 6, 1));
+        Assertions.assertTrue(LinearProbing.isCyclicallyBetween(0, 6, 1));
+        Assertions.assertFalse(LinearProbing.isCyclicallyBetween(3, 6, 1));
+    }
+
+    @Test
+    public void testFindAndProbeLength() {
+        final Key[] keys = new Key[8];
+        final Key a = new Key("a", 6);
+        final Key b = new Key("b", 6);
+        keys[~LinearProbing.find(keys, a)] = a;
+        keys[~LinearProbing.find(keys, b)] = b;
+
+        // the second key with home slot 6 probes past the first
+        Assertions.assertEquals(6, LinearProbing.find(keys, a));
+        Assertions.assertEquals(7, LinearProbing.find(keys, b));
+
+        final Key c = new Key("c", 7);
+        Assertions.assertEquals(0, ~LinearProbing.find(keys, c));
+        Assertions.assertEquals(0, LinearProbing.freeSlot(keys, c));
+        Assertions.assertEquals(1, LinearProbing.probeLength(7, 0, keys.length));
+    }
+
+    @Test
+    public void testCloseGapWrapsAround() {
+        final Key[] keys = new Key[8];
+        final int[] values = new int[8];
+        final Key[] added = {new Key("a", 6), new Key("b", 6), new Key("c", 7), new Key("d", 1)};
+        for (int i = 0; i < added.length; i++) {
+            final int slot = ~LinearProbing.find(keys, added[i]);
+            keys[slot] = added[i];
+            values[slot] = i;
+        }
+        Assertions.assertEquals(0, LinearProbing.find(keys, added[2]));
+
+        // deleting the first key moves the second back to its home slot, and the third past the wrap
+        final int gap = LinearProbing.find(keys, added[0]);
+        keys[gap] = null;
+        LinearProbing.closeGap(keys, gap, (from, to) -> values[to] = values[from]);
+
+        Assertions.assertEquals(6, LinearProbing.find(keys, added[1]));
+        Assertions.assertEquals(1, values[6]);
+        Assertions.assertEquals(7, LinearProbing.find(keys, added[2]));
+        Assertions.assertEquals(2, values[7]);
+        Assertions.assertEquals(1, LinearProbing.find(keys, added[3]));
+        Assertions.assertNull(keys[0]);
+        Assertions.assertTrue(LinearProbing.find(keys, added[0]) < 0);
+    }
+
+}
@@ -74,4 +74,27 @@ public class BSTreeMapTest extends OrderedMapTest {
         Assertions.assertFalse(treeMap.contains(secondKey));
     }
 
+    @Test
+    public void testStatisticsDepthDistribution() {
+        treeMap.enableStatistics();
+
+        treeMap.put("b", 1);
+        treeMap.put("a", 2);
+        treeMap.put("c", 3);
+        treeMap.put("d", 4);
+
+        final TreeMapStatistics statistics = treeMap.statistics().get();
+
+        Assertions.assertEquals(3, statistics.height());
+        Assertions.assertArrayEquals(new long[] {1, 2, 1}, statistics.depthHistogram());
+        Assertions.assertEquals(0, statistics.rotations());
+    }
+
+    @Test
+    public void testStatisticsDisabled() {
+        treeMap.put("a", 1);
+
+        Assertions.assertFalse(treeMap.statistics().isPresent());
+    }
+
 }
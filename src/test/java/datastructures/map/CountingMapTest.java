@@ -0,0 +1,90 @@
+package datastructures.map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CountingMapTest {
+
+    private static final int STARTING_CAPACITY = 20;
+
+    private CountingMap<String> counts;
+
+    @BeforeEach
+    public void initialise() {
+        counts = new CountingMap<>(STARTING_CAPACITY);
+    }
+
+    @Test
+    public void testMissingKey() {
+        Assertions.assertEquals(0, counts.count("London"));
+        Assertions.assertFalse(counts.contains("London"));
+    }
+
+    @Test
+    public void testIncrement() {
+        Assertions.assertEquals(1, counts.increment("London"));
+        Assertions.assertEquals(2, counts.increment("London"));
+        Assertions.assertEquals(7, counts.increment("London", 5));
+        Assertions.assertEquals(4, counts.increment("London", -3));
+
+        Assertions.assertEquals(4, counts.count("London"));
+        Assertions.assertEquals(1, counts.size());
+    }
+
+    @Test
+    public void testPut() {
+        counts.put("London", 10);
+        counts.increment("London");
+        counts.put("Tokyo", 3);
+
+        Assertions.assertEquals(11, counts.count("London"));
+        Assertions.assertEquals(3, counts.count("Tokyo"));
+        Assertions.assertEquals(2, counts.size());
+    }
+
+    @Test
+    public void testGrowth() {
+        final int limit = STARTING_CAPACITY * 10;
+        for (int repeat = 0; repeat < 3; repeat++) {
+            for (int i = 0; i < limit; i++) {
+                counts.increment(String.valueOf(i), i);
+            }
+        }
+
+        Assertions.assertEquals(limit, counts.size());
+        for (int i = 0; i < limit; i++) {
+            Assertions.assertEquals(3L * i, counts.count(String.valueOf(i)));
+        }
+    }
+
+    @Test
+    public void testDelete() {
+        final int limit = STARTING_CAPACITY * 10;
+        for (int i = 0; i < limit; i++) {
+            counts.increment(String.valueOf(i));
+        }
+
+        for (int i = 0; i < limit; i += 2) {
+            counts.delete(String.valueOf(i));
+        }
+
+        Assertions.assertEquals(limit / 2, counts.size());
+        for (int i = 0; i < limit; i++) {
+            Assertions.assertEquals(i % 2 == 1, counts.contains(String.valueOf(i)));
+        }
+
+        // counting restarts from zero after deletion
+        Assertions.assertEquals(1, counts.increment("0"));
+    }
+
+    @Test
+    public void testClear() {
+        counts.increment("London");
+        counts.clear();
+
+        Assertions.assertEquals(0, counts.size());
+        Assertions.assertEquals(0, counts.count("London"));
+    }
+
+}
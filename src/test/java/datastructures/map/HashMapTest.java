@@ -24,4 +24,59 @@ public class HashMapTest extends MapTest {
             Assertions.assertTrue(map.contains(String.valueOf(i)));
         }
     }
+
+    @Test
+    public void testDeleteManyKeys() {
+        final int limit = STARTING_CAPACITY * 10;
+        for (int i = 0; i < limit; i++) {
+            map.put(String.valueOf(i), i);
+        }
+
+        // delete every other key, then make sure keys which probed past them can still be found
+        for (int i = 0; i < limit; i += 2) {
+            map.delete(String.valueOf(i));
+        }
+
+        for (int i = 0; i < limit; i++) {
+            Assertions.assertEquals(i % 2 == 1, map.contains(String.valueOf(i)));
+        }
+    }
+
+    @Test
+    public void testStatisticsDisabledByDefault() {
+        final HashMap<String, Integer> hashMap = new HashMap<>(STARTING_CAPACITY);
+        hashMap.put("London", 1);
+
+        Assertions.assertFalse(hashMap.statistics().isPresent());
+    }
+
+    @Test
+    public void testStatistics() {
+        final HashMap<String, Integer> hashMap = new HashMap<>(STARTING_CAPACITY);
+        final HashMapStatistics statistics = hashMap.enableStatistics();
+
+        final int limit = STARTING_CAPACITY + 10;
+        for (int i = 0; i < limit; i++) {
+            hashMap.put(String.valueOf(i), i);
+        }
+        for (int i = 0; i < limit; i++) {
+            hashMap.get(String.valueOf(i));
+        }
+
+        // one grow from 20 to 40 slots
+        Assertions.assertEquals(1, statistics.growCount());
+        Assertions.assertEquals((float) limit / (STARTING_CAPACITY * 2), statistics.loadFactor());
+
+        // every put and get records one probe sequence
+        long probes = 0;
+        for (final long count : statistics.probeLengthHistogram()) {
+            probes += count;
+        }
+        Assertions.assertEquals(2 * limit, probes);
+
+        statistics.reset();
+        Assertions.assertEquals(0, statistics.growCount());
+        Assertions.assertEquals(0.0, statistics.meanProbeLength());
+    }
+
 }
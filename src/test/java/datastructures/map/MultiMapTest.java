@@ -0,0 +1,110 @@
+package datastructures.map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+
+public class MultiMapTest {
+
+    private static final int STARTING_CAPACITY = 20;
+
+    private MultiMap<String, Integer> multiMap;
+
+    @BeforeEach
+    public void initialise() {
+        multiMap = new MultiMap<>(STARTING_CAPACITY);
+    }
+
+    private static LinkedList<Integer> toList(final Iterator<Integer> values) {
+        final LinkedList<Integer> list = new LinkedList<>();
+        values.forEachRemaining(list::add);
+        return list;
+    }
+
+    @Test
+    public void testMissingKey() {
+        Assertions.assertFalse(multiMap.get("London").hasNext());
+        Assertions.assertFalse(multiMap.contains("London"));
+        Assertions.assertEquals(0, multiMap.count("London"));
+    }
+
+    @Test
+    public void testValuesInInsertionOrder() {
+        multiMap.put("London", 1);
+        multiMap.put("Tokyo", 2);
+        multiMap.put("London", 3);
+        multiMap.put("London", 4);
+
+        final LinkedList<Integer> expected = new LinkedList<>();
+        expected.add(1);
+        expected.add(3);
+        expected.add(4);
+
+        Assertions.assertEquals(expected, toList(multiMap.get("London")));
+        Assertions.assertEquals(3, multiMap.count("London"));
+        Assertions.assertEquals(1, multiMap.count("Tokyo"));
+        Assertions.assertEquals(2, multiMap.size());
+        Assertions.assertEquals(4, multiMap.valueCount());
+    }
+
+    @Test
+    public void testGrowth() {
+        final int limit = STARTING_CAPACITY * 10;
+        for (int i = 0; i < limit; i++) {
+            multiMap.put(String.valueOf(i % 50), i);
+        }
+
+        Assertions.assertEquals(50, multiMap.size());
+        Assertions.assertEquals(limit, multiMap.valueCount());
+        for (int key = 0; key < 50; key++) {
+            int expected = key;
+            for (final Iterator<Integer> values = multiMap.get(String.valueOf(key)); values.hasNext(); ) {
+                Assertions.assertEquals(expected, values.next().intValue());
+                expected += 50;
+            }
+            Assertions.assertEquals(limit + key, expected);
+        }
+    }
+
+    @Test
+    public void testDelete() {
+        multiMap.put("London", 1);
+        multiMap.put("London", 2);
+        multiMap.put("Tokyo", 3);
+
+        multiMap.delete("London");
+
+        Assertions.assertFalse(multiMap.contains("London"));
+        Assertions.assertEquals(1, multiMap.size());
+        Assertions.assertEquals(1, multiMap.valueCount());
+
+        // freed entries are reused without disturbing other keys
+        multiMap.put("Boston", 4);
+        multiMap.put("Boston", 5);
+        multiMap.put("Boston", 6);
+
+        Assertions.assertEquals(3, multiMap.get("Tokyo").next().intValue());
+        Assertions.assertEquals(3, multiMap.count("Boston"));
+        Assertions.assertEquals(4, multiMap.valueCount());
+    }
+
+    @Test
+    public void testDeleteManyKeys() {
+        final int limit = STARTING_CAPACITY * 10;
+        for (int i = 0; i < limit; i++) {
+            multiMap.put(String.valueOf(i), i);
+        }
+
+        for (int i = 0; i < limit; i += 2) {
+            multiMap.delete(String.valueOf(i));
+        }
+
+        for (int i = 0; i < limit; i++) {
+            Assertions.assertEquals(i % 2 == 1, multiMap.contains(String.valueOf(i)));
+        }
+    }
+
+}
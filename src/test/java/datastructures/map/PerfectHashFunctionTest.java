@@ -0,0 +1,105 @@
+package datastructures.map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+
+public class PerfectHashFunctionTest {
+
+    private static long[] randomHashes(final int count, final long seed) {
+        final Random random = new Random(seed);
+        final HashSet<Long> seen = new HashSet<>();
+        final long[] hashes = new long[count];
+        int i = 0;
+        while (i < count) {
+            final long hash = random.nextLong();
+            if (seen.add(hash)) {
+                hashes[i++] = hash;
+            }
+        }
+        return hashes;
+    }
+
+    private static void assertMinimalPerfect(final PerfectHashFunction function, final long[] hashes) {
+        final boolean[] used = new boolean[hashes.length];
+        for (final long hash : hashes) {
+            final int index = function.index(hash);
+            Assertions.assertTrue(index >= 0 && index < hashes.length);
+            Assertions.assertFalse(used[index], "Index " + index + " used twice");
+            used[index] = true;
+        }
+    }
+
+    @Test
+    public void testMinimalPerfect() {
+        for (final int count : new int[]{1, 2, 3, 10, 100, 1000, 50000}) {
+            final long[] hashes = randomHashes(count, count);
+            final PerfectHashFunction function = PerfectHashFunction.build(hashes);
+
+            Assertions.assertEquals(count, function.size());
+            assertMinimalPerfect(function, hashes);
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        final PerfectHashFunction function = PerfectHashFunction.build(new long[0]);
+        Assertions.assertEquals(0, function.size());
+    }
+
+    @Test
+    public void testSequentialHashes() {
+        final long[] hashes = new long[10000];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = i;
+        }
+        assertMinimalPerfect(PerfectHashFunction.build(hashes), hashes);
+    }
+
+    @Test
+    public void testDuplicateHashes() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PerfectHashFunction.build(new long[]{1, 2, 3, 2}));
+    }
+
+    @Test
+    public void testCompact() {
+        final PerfectHashFunction function = PerfectHashFunction.build(randomHashes(100000, 7));
+        Assertions.assertTrue(function.bitsPerKey() < 3.5, "Bits per key: " + function.bitsPerKey());
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        final long[] hashes = randomHashes(20000, 11);
+        final PerfectHashFunction function = PerfectHashFunction.build(hashes);
+
+        final Path file = Files.createTempFile("perfect-hash", ".bin");
+        try {
+            function.save(file);
+            final PerfectHashFunction loaded = PerfectHashFunction.load(file);
+
+            Assertions.assertEquals(function.size(), loaded.size());
+            for (final long hash : hashes) {
+                Assertions.assertEquals(function.index(hash), loaded.index(hash));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testLoadInvalidFile() throws IOException {
+        final Path file = Files.createTempFile("perfect-hash", ".bin");
+        try {
+            Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+            Assertions.assertThrows(IOException.class, () -> PerfectHashFunction.load(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package datastructures.map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+public class PerfectHashMapTest {
+
+    private static PerfectHashMap.Builder<String, Integer> cities() {
+        return new PerfectHashMap.Builder<String, Integer>()
+                .put("London", 1)
+                .put("Tokyo", 2)
+                .put("Paris", 3)
+                .put("Lima", 4);
+    }
+
+    @Test
+    public void testGet() {
+        final PerfectHashMap<String, Integer> map = cities().build();
+
+        Assertions.assertEquals(4, map.size());
+        Assertions.assertEquals(Optional.of(1), map.get("London"));
+        Assertions.assertEquals(Optional.of(2), map.get("Tokyo"));
+        Assertions.assertEquals(Optional.of(3), map.get("Paris"));
+        Assertions.assertEquals(Optional.of(4), map.get("Lima"));
+    }
+
+    @Test
+    public void testMissingKey() {
+        final PerfectHashMap<String, Integer> map = cities().build();
+
+        Assertions.assertEquals(Optional.empty(), map.get("Madrid"));
+        Assertions.assertFalse(map.contains("Madrid"));
+        Assertions.assertTrue(map.contains("Lima"));
+    }
+
+    @Test
+    public void testEmpty() {
+        final PerfectHashMap<String, Integer> map = new PerfectHashMap.Builder<String, Integer>().build();
+
+        Assertions.assertEquals(0, map.size());
+        Assertions.assertFalse(map.contains("London"));
+    }
+
+    @Test
+    public void testReplaceValue() {
+        final PerfectHashMap<String, Integer> map = cities().put("London", 10).build();
+
+        Assertions.assertEquals(4, map.size());
+        Assertions.assertEquals(Optional.of(10), map.get("London"));
+    }
+
+    @Test
+    public void testManyKeys() {
+        final PerfectHashMap.Builder<Integer, Integer> builder = new PerfectHashMap.Builder<>();
+        for (int i = 0; i < 10000; i++) {
+            builder.put(i, i * i);
+        }
+        final PerfectHashMap<Integer, Integer> map = builder.build();
+
+        Assertions.assertEquals(10000, map.size());
+        for (int i = 0; i < 10000; i++) {
+            Assertions.assertEquals(Optional.of(i * i), map.get(i));
+        }
+        Assertions.assertFalse(map.contains(-1));
+        Assertions.assertFalse(map.contains(10000));
+    }
+
+    @Test
+    public void testCustomHasher() {
+        final PerfectHashMap<Integer, String> map = new PerfectHashMap.Builder<Integer, String>()
+                .hasher(key -> key * 31L)
+                .put(1, "one")
+                .put(2, "two")
+                .build();
+
+        Assertions.assertEquals(Optional.of("one"), map.get(1));
+        Assertions.assertEquals(Optional.of("two"), map.get(2));
+    }
+
+    @Test
+    public void testLongKeysWithEqualHashCodes() {
+        // both keys have a hash code of zero, but the default hash uses all 64 bits
+        final PerfectHashMap<Long, String> map = new PerfectHashMap.Builder<Long, String>()
+                .put(0L, "a")
+                .put(-1L, "b")
+                .put(1L << 32 | 1L, "c")
+                .build();
+
+        Assertions.assertEquals(Optional.of("a"), map.get(0L));
+        Assertions.assertEquals(Optional.of("b"), map.get(-1L));
+        Assertions.assertEquals(Optional.of("c"), map.get(1L << 32 | 1L));
+        Assertions.assertFalse(map.contains(1L));
+    }
+
+    @Test
+    public void testCollidingHashes() {
+        final PerfectHashMap.Builder<String, Integer> builder = cities().hasher(key -> key.length());
+        Assertions.assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    public void testBuildFromLoadedFunction() throws IOException {
+        final PerfectHashMap<String, Integer> map = cities().build();
+
+        final Path file = Files.createTempFile("perfect-hash", ".bin");
+        try {
+            map.hashFunction().save(file);
+            final PerfectHashMap<String, Integer> loaded = cities().build(PerfectHashFunction.load(file));
+
+            Assertions.assertEquals(Optional.of(1), loaded.get("London"));
+            Assertions.assertEquals(Optional.of(4), loaded.get("Lima"));
+            Assertions.assertFalse(loaded.contains("Madrid"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testBuildFromWrongFunction() {
+        final PerfectHashFunction function = PerfectHashFunction.build(new long[]{1, 2, 3});
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cities().build(function));
+    }
+
+}
@@ -4,6 +4,11 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
 public class RBTreeMapTest extends OrderedMapTest {
 
     private RBTreeMap<String, Integer> treeMap;
@@ -74,4 +79,66 @@ public class RBTreeMapTest extends OrderedMapTest {
         Assertions.assertFalse(treeMap.contains(secondKey));
     }
 
+    @Test
+    public void testRandomDeletesKeepTreeBalanced() {
+        final Random random = new Random(7);
+        final List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 4000; i++) {
+            keys.add(String.format("%05d", i));
+        }
+        Collections.shuffle(keys, random);
+        for (int i = 0; i < keys.size(); i++) {
+            treeMap.put(keys.get(i), i);
+        }
+        Assertions.assertTrue(treeMap.isValidRedBlackTree());
+
+        // delete in a different random order, checking the tree after every delete
+        Collections.shuffle(keys, random);
+        treeMap.enableStatistics();
+        for (int i = 0; i < keys.size(); i++) {
+            treeMap.delete(keys.get(i));
+            Assertions.assertTrue(treeMap.isValidRedBlackTree(), "invalid after deleting " + keys.get(i));
+
+            // a red-black tree with n keys is no taller than 2 log2(n + 1)
+            if (i % 100 == 0) {
+                final int remaining = keys.size() - i - 1;
+                final int height = treeMap.statistics().get().height();
+                Assertions.assertTrue(height <= 2 * (Math.log(remaining + 1) / Math.log(2)));
+            }
+        }
+        Assertions.assertEquals(0, treeMap.size());
+    }
+
+    @Test
+    public void testStatistics() {
+        final TreeMapStatistics statistics = treeMap.enableStatistics();
+
+        // inserting in order would make a chain without rebalancing
+        final int keyCount = 1023;
+        for (int i = 0; i < keyCount; i++) {
+            treeMap.put(String.format("%04d", i), i);
+        }
+
+        final TreeMapStatistics snapshot = treeMap.statistics().get();
+        Assertions.assertSame(statistics, snapshot);
+
+        // a red-black tree is at most twice the height of a perfectly balanced tree
+        Assertions.assertTrue(statistics.height() <= 2 * 10);
+        Assertions.assertTrue(statistics.rotations() > 0);
+        Assertions.assertTrue(statistics.recolours() > 0);
+
+        long nodes = 0;
+        for (final long count : statistics.depthHistogram()) {
+            nodes += count;
+        }
+        Assertions.assertEquals(keyCount, nodes);
+    }
+
+    @Test
+    public void testStatisticsDisabled() {
+        treeMap.put("a", 1);
+
+        Assertions.assertFalse(treeMap.statistics().isPresent());
+    }
+
 }
@@ -0,0 +1,172 @@
+package datastructures.map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class StringHashMapTest extends MapTest {
+
+    private static final int STARTING_CAPACITY = 16;
+
+    private StringHashMap<Integer> stringMap;
+
+    @BeforeEach
+    public void initialise() {
+        stringMap = new StringHashMap<>(STARTING_CAPACITY);
+        map = stringMap;
+    }
+
+    @Test
+    public void testMapGrowth() {
+        final int limit = STARTING_CAPACITY * 10;
+        for (int i = 0; i < limit; i++) {
+            stringMap.put(String.valueOf(i), i);
+        }
+
+        for (int i = 0; i < limit; i++) {
+            Assertions.assertEquals(i, stringMap.get(String.valueOf(i)).get().intValue());
+        }
+    }
+
+    @Test
+    public void testCharSequenceLookup() {
+        stringMap.put("London", 1);
+
+        final StringBuilder key = new StringBuilder("Lon").append("don");
+
+        Assertions.assertTrue(stringMap.contains(key));
+        Assertions.assertEquals(1, stringMap.get(key).get().intValue());
+    }
+
+    @Test
+    public void testByteSliceLookup() {
+        stringMap.put("Tokyo", 2);
+
+        final byte[] line = "city=Tokyo;".getBytes(StandardCharsets.US_ASCII);
+
+        Assertions.assertTrue(stringMap.contains(line, 5, 5));
+        Assertions.assertEquals(2, stringMap.get(line, 5, 5).get().intValue());
+        Assertions.assertFalse(stringMap.contains(line, 5, 4));
+    }
+
+    @Test
+    public void testByteSlicePut() {
+        final byte[] line = "city=Tokyo;".getBytes(StandardCharsets.US_ASCII);
+        stringMap.put(line, 5, 5, 2);
+
+        Assertions.assertEquals(2, stringMap.get("Tokyo").get().intValue());
+    }
+
+    @Test
+    public void testNonAsciiKeys() {
+        stringMap.put("Zürich", 1);
+        stringMap.put("東京", 2);
+
+        Assertions.assertEquals(1, stringMap.get("Zürich").get().intValue());
+        Assertions.assertEquals(2, stringMap.get(new StringBuilder("東京")).get().intValue());
+
+        final byte[] bytes = "Zürich".getBytes(StandardCharsets.UTF_8);
+        Assertions.assertTrue(stringMap.contains(bytes, 0, bytes.length));
+    }
+
+    @Test
+    public void testUnpairedSurrogateKeys() {
+        stringMap.put("?", 1);
+        stringMap.put("\uD800", 2);
+        stringMap.put("\uDC00", 3);
+        stringMap.put("\uD800\uDC00", 4);
+        stringMap.put("\uDC00\uD800", 5);
+
+        Assertions.assertEquals(5, stringMap.size());
+        Assertions.assertEquals(1, stringMap.get("?").get().intValue());
+        Assertions.assertEquals(2, stringMap.get("\uD800").get().intValue());
+        Assertions.assertEquals(3, stringMap.get(new StringBuilder("\uDC00")).get().intValue());
+        Assertions.assertEquals(4, stringMap.get("\uD800\uDC00").get().intValue());
+        Assertions.assertEquals(5, stringMap.get("\uDC00\uD800").get().intValue());
+
+        // a valid pair keeps its usual UTF-8 bytes
+        final byte[] bytes = "\uD800\uDC00".getBytes(StandardCharsets.UTF_8);
+        Assertions.assertEquals(4, stringMap.get(bytes, 0, bytes.length).get().intValue());
+
+        stringMap.delete("\uD800");
+        Assertions.assertFalse(stringMap.contains("\uD800"));
+        Assertions.assertEquals(1, stringMap.get("?").get().intValue());
+    }
+
+    @Test
+    public void testByteSliceDelete() {
+        stringMap.put("Tokyo", 2);
+        stringMap.put("Zürich", 1);
+
+        final byte[] line = "city=Tokyo;".getBytes(StandardCharsets.US_ASCII);
+        stringMap.delete(line, 5, 4);
+        Assertions.assertTrue(stringMap.contains("Tokyo"));
+
+        stringMap.delete(line, 5, 5);
+        Assertions.assertFalse(stringMap.contains("Tokyo"));
+
+        final byte[] bytes = "Zürich".getBytes(StandardCharsets.UTF_8);
+        stringMap.delete(bytes, 0, bytes.length);
+        Assertions.assertFalse(stringMap.contains("Zürich"));
+        Assertions.assertEquals(0, stringMap.size());
+    }
+
+    @Test
+    public void testEmptyKey() {
+        stringMap.put("", 1);
+
+        Assertions.assertTrue(stringMap.contains(""));
+        Assertions.assertEquals(1, stringMap.size());
+    }
+
+    @Test
+    public void testDeleteManyKeys() {
+        final int limit = STARTING_CAPACITY * 10;
+        for (int i = 0; i < limit; i++) {
+            stringMap.put(String.valueOf(i), i);
+        }
+
+        // delete every other key, then make sure the remaining keys can still be found
+        for (int i = 0; i < limit; i += 2) {
+            stringMap.delete(String.valueOf(i));
+        }
+
+        Assertions.assertEquals(limit / 2, stringMap.size());
+        for (int i = 0; i < limit; i++) {
+            Assertions.assertEquals(i % 2 == 1, stringMap.contains(String.valueOf(i)));
+        }
+
+        // growing the map again reclaims the space of the deleted keys
+        for (int i = limit; i < limit * 3; i++) {
+            stringMap.put(String.valueOf(i), i);
+        }
+        for (int i = 1; i < limit * 3; i += 2) {
+            Assertions.assertEquals(i, stringMap.get(String.valueOf(i)).get().intValue());
+        }
+    }
+
+    @Test
+    public void testArenaBoundedUnderChurn() {
+        final int live = 10;
+        for (int i = 0; i < live; i++) {
+            stringMap.put("key" + i, i);
+        }
+
+        // replace the oldest key with a new one over and over, so the size never changes
+        final int cycles = 100_000;
+        for (int i = live; i < live + cycles; i++) {
+            stringMap.delete("key" + (i - live));
+            stringMap.put("key" + i, i);
+        }
+
+        Assertions.assertEquals(live, stringMap.size());
+        for (int i = cycles; i < cycles + live; i++) {
+            Assertions.assertEquals(i, stringMap.get("key" + i).get().intValue());
+        }
+        Assertions.assertFalse(stringMap.contains("key" + (cycles - 1)));
+        Assertions.assertTrue(stringMap.arenaCapacity() <= 1024, "Arena grew to " + stringMap.arenaCapacity());
+    }
+
+}
@@ -0,0 +1,141 @@
+package datastructures.priorityqueue;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class IndexedMinHeapTest {
+
+    private static final int CAPACITY = 10;
+
+    private IndexedMinHeap heap;
+
+    @BeforeEach
+    public void initialise() {
+        heap = new IndexedMinHeap(CAPACITY);
+    }
+
+    @Test
+    public void testEmptyHeap() {
+        Assertions.assertTrue(heap.isEmpty());
+        Assertions.assertEquals(0, heap.size());
+        Assertions.assertFalse(heap.removeMin().isPresent());
+        Assertions.assertFalse(heap.minKey().isPresent());
+    }
+
+    @Test
+    public void testRemovesInPriorityOrder() {
+        heap.insert(3, 2.5);
+        heap.insert(7, 0.5);
+        heap.insert(1, 9.0);
+        heap.insert(4, 1.5);
+
+        Assertions.assertEquals(4, heap.size());
+        Assertions.assertEquals(7, heap.minKey().getAsInt());
+        Assertions.assertEquals(7, heap.removeMin().getAsInt());
+        Assertions.assertEquals(4, heap.removeMin().getAsInt());
+        Assertions.assertEquals(3, heap.removeMin().getAsInt());
+        Assertions.assertEquals(1, heap.removeMin().getAsInt());
+        Assertions.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testDecreaseKey() {
+        heap.insert(0, 5.0);
+        heap.insert(1, 6.0);
+        heap.insert(2, 7.0);
+
+        heap.decreaseKey(2, 1.0);
+        Assertions.assertEquals(1.0, heap.priority(2), 0.0);
+        Assertions.assertEquals(2, heap.removeMin().getAsInt());
+        Assertions.assertEquals(0, heap.removeMin().getAsInt());
+    }
+
+    @Test
+    public void testInsertOrDecrease() {
+        Assertions.assertTrue(heap.insertOrDecrease(5, 3.0));
+        Assertions.assertFalse(heap.insertOrDecrease(5, 4.0));
+        Assertions.assertTrue(heap.insertOrDecrease(5, 2.0));
+
+        Assertions.assertEquals(1, heap.size());
+        Assertions.assertEquals(2.0, heap.priority(5), 0.0);
+    }
+
+    @Test
+    public void testContains() {
+        heap.insert(2, 1.0);
+
+        Assertions.assertTrue(heap.contains(2));
+        Assertions.assertFalse(heap.contains(3));
+
+        heap.removeMin();
+        Assertions.assertFalse(heap.contains(2));
+
+        // a removed key can be inserted again
+        heap.insert(2, 4.0);
+        Assertions.assertTrue(heap.contains(2));
+    }
+
+    @Test
+    public void testClear() {
+        heap.insert(1, 1.0);
+        heap.insert(2, 2.0);
+        heap.clear();
+
+        Assertions.assertTrue(heap.isEmpty());
+        Assertions.assertFalse(heap.contains(1));
+        heap.insert(1, 3.0);
+        Assertions.assertEquals(1, heap.size());
+    }
+
+    @Test
+    public void testInvalidOperations() {
+        heap.insert(1, 1.0);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> heap.insert(1, 2.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> heap.insert(CAPACITY, 2.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> heap.insert(-1, 2.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> heap.insert(2, Double.NaN));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(2, 0.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(1, 2.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> heap.priority(3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new IndexedMinHeap(-1));
+    }
+
+    @Test
+    public void testRandomOperations() {
+        final int capacity = 1000;
+        final IndexedMinHeap randomHeap = new IndexedMinHeap(capacity);
+        final double[] expected = new double[capacity];
+        final boolean[] present = new boolean[capacity];
+        final Random random = new Random(0);
+
+        for (int round = 0; round < 20000; round++) {
+            final int key = random.nextInt(capacity);
+            final double priority = random.nextInt(100);
+
+            if (random.nextInt(3) == 0 && !randomHeap.isEmpty()) {
+                // the removed key must have the lowest priority of any present
+                final int removed = randomHeap.removeMin().getAsInt();
+                for (int k = 0; k < capacity; k++) {
+                    Assertions.assertFalse(present[k] && expected[k] < expected[removed]);
+                }
+                present[removed] = false;
+            } else if (!present[key] || priority < expected[key]) {
+                randomHeap.insertOrDecrease(key, priority);
+                present[key] = true;
+                expected[key] = priority;
+            }
+        }
+
+        int size = 0;
+        for (int k = 0; k < capacity; k++) {
+            Assertions.assertEquals(present[k], randomHeap.contains(k));
+            size += present[k] ? 1 : 0;
+        }
+        Assertions.assertEquals(size, randomHeap.size());
+    }
+
+}
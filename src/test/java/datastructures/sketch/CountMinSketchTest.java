@@ -0,0 +1,159 @@
+package datastructures.sketch;
+
+import datastructures.map.HashMap;
+import datastructures.map.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Compares the sketch's estimates against exact counts kept in a {@link HashMap}.
+ */
+public class CountMinSketchTest {
+
+    private static final int KEY_COUNT = 5000;
+
+    private static final int EVENT_COUNT = 200000;
+
+    private static final double EPSILON = 0.001;
+
+    private CountMinSketch<String> sketch;
+
+    private Map<String, Integer> exactCounts;
+
+    @BeforeEach
+    public void initialise() {
+        sketch = CountMinSketch.withErrorBounds(EPSILON, 0.01);
+        exactCounts = new HashMap<>();
+    }
+
+    /**
+     * Generate a skewed stream of keys, where low numbered keys are far more frequent.
+     */
+    private static String[] generateStream(final long seed) {
+        final Random random = new Random(seed);
+        final String[] stream = new String[EVENT_COUNT];
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            final int key = (int) (KEY_COUNT * Math.pow(random.nextDouble(), 3));
+            stream[i] = "key" + key;
+        }
+        return stream;
+    }
+
+    private void addExact(final String key) {
+        exactCounts.put(key, exactCounts.get(key).orElse(0) + 1);
+    }
+
+    @Test
+    public void testEstimatesWithinErrorBound() {
+        for (final String key : generateStream(1)) {
+            sketch.add(key);
+            addExact(key);
+        }
+
+        final long maxError = (long) (EPSILON * sketch.totalCount());
+
+        int outsideBound = 0;
+        for (int i = 0; i < KEY_COUNT; i++) {
+            final String key = "key" + i;
+            final long exact = exactCounts.get(key).orElse(0);
+            final long estimate = sketch.estimate(key);
+
+            // estimates can never be below the true count
+            Assertions.assertTrue(estimate >= exact);
+
+            if (estimate - exact > maxError) {
+                outsideBound++;
+            }
+        }
+
+        // the bound holds for each key with probability 0.99
+        Assertions.assertTrue(outsideBound <= KEY_COUNT / 100);
+    }
+
+    @Test
+    public void testTotalCount() {
+        sketch.add("London", 5);
+        sketch.add("Tokyo");
+
+        Assertions.assertEquals(6, sketch.totalCount());
+    }
+
+    @Test
+    public void testMissingKey() {
+        sketch.add("London", 5);
+
+        Assertions.assertEquals(0, sketch.estimate("Tokyo"));
+    }
+
+    @Test
+    public void testMerge() {
+        final CountMinSketch<String> other = CountMinSketch.withErrorBounds(EPSILON, 0.01);
+
+        for (final String key : generateStream(1)) {
+            sketch.add(key);
+            addExact(key);
+        }
+        for (final String key : generateStream(2)) {
+            other.add(key);
+            addExact(key);
+        }
+
+        sketch.merge(other);
+
+        Assertions.assertEquals(2L * EVENT_COUNT, sketch.totalCount());
+        for (int i = 0; i < KEY_COUNT; i++) {
+            final String key = "key" + i;
+            Assertions.assertTrue(sketch.estimate(key) >= exactCounts.get(key).orElse(0));
+        }
+    }
+
+    @Test
+    public void testMemoryAgainstExactCounts() {
+        // a stream where most keys are distinct, as with billions of events
+        final int distinctKeys = 200000;
+        long exactBytes = 0;
+        for (int i = 0; i < distinctKeys; i++) {
+            final String key = "event" + i;
+            sketch.add(key);
+            addExact(key);
+
+            // the exact map needs at least a reference to each key and count, plus the key's characters
+            exactBytes += 2 * 4 + key.length();
+        }
+
+        Assertions.assertEquals(distinctKeys, exactCounts.size());
+        Assertions.assertTrue(sketch.memoryBytes() * 10 < exactBytes,
+                "sketch takes " + sketch.memoryBytes() + " bytes, exact counts at least " + exactBytes);
+
+        // the sketch's memory is fixed by its dimensions, whatever it has counted
+        Assertions.assertEquals((long) sketch.depth() * sketch.width() * Long.BYTES, sketch.memoryBytes());
+        Assertions.assertEquals(CountMinSketch.withErrorBounds(EPSILON, 0.01).memoryBytes(), sketch.memoryBytes());
+
+        // and the error stays within the bound even so
+        final long maxError = (long) (EPSILON * sketch.totalCount());
+        int outsideBound = 0;
+        for (int i = 0; i < distinctKeys; i += 100) {
+            if (sketch.estimate("event" + i) - 1 > maxError) {
+                outsideBound++;
+            }
+        }
+        Assertions.assertTrue(outsideBound <= distinctKeys / 100 / 100);
+    }
+
+    @Test
+    public void testTooLarge() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CountMinSketch<String>(4, 1 << 30));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CountMinSketch<String>(3, (1 << 29) + 1));
+    }
+
+    @Test
+    public void testMergeDifferentDimensions() {
+        final CountMinSketch<String> other = new CountMinSketch<>(sketch.depth() + 1, sketch.width());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sketch.merge(other));
+    }
+
+}
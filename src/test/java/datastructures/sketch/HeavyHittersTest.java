@@ -0,0 +1,89 @@
+package datastructures.sketch;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+
+public class HeavyHittersTest {
+
+    private static final int TRACKED_KEYS = 10;
+
+    private HeavyHitters<String> heavyHitters;
+
+    @BeforeEach
+    public void initialise() {
+        heavyHitters = new HeavyHitters<>(TRACKED_KEYS, CountMinSketch.withErrorBounds(0.001, 0.01));
+    }
+
+    /**
+     * Add background noise of many infrequent keys, with a few planted heavy keys mixed in.
+     */
+    private static void addStream(final HeavyHitters<String> heavyHitters, final long seed) {
+        final Random random = new Random(seed);
+        for (int i = 0; i < 100000; i++) {
+            if (random.nextInt(10) == 0) {
+                heavyHitters.add("heavy" + random.nextInt(3));
+            } else {
+                heavyHitters.add("noise" + random.nextInt(50000));
+            }
+        }
+    }
+
+    private static Set<String> topKeys(final HeavyHitters<String> heavyHitters, final int count) {
+        final Set<String> top = new HashSet<>();
+        final Iterator<String> keys = heavyHitters.heavyHitters();
+        for (int i = 0; i < count && keys.hasNext(); i++) {
+            top.add(keys.next());
+        }
+        return top;
+    }
+
+    @Test
+    public void testFindsHeavyKeys() {
+        addStream(heavyHitters, 1);
+
+        final Set<String> expected = new HashSet<>();
+        expected.add("heavy0");
+        expected.add("heavy1");
+        expected.add("heavy2");
+
+        Assertions.assertEquals(expected, topKeys(heavyHitters, 3));
+    }
+
+    @Test
+    public void testOrderedByFrequency() {
+        heavyHitters.add("London", 100);
+        heavyHitters.add("Tokyo", 300);
+        heavyHitters.add("Boston", 200);
+
+        final Iterator<String> keys = heavyHitters.heavyHitters();
+        Assertions.assertEquals("Tokyo", keys.next());
+        Assertions.assertEquals("Boston", keys.next());
+        Assertions.assertEquals("London", keys.next());
+        Assertions.assertFalse(keys.hasNext());
+    }
+
+    @Test
+    public void testMerge() {
+        final HeavyHitters<String> other =
+                new HeavyHitters<>(TRACKED_KEYS, CountMinSketch.withErrorBounds(0.001, 0.01));
+
+        heavyHitters.add("London", 100);
+        other.add("Tokyo", 300);
+        addStream(heavyHitters, 1);
+        addStream(other, 2);
+
+        heavyHitters.merge(other);
+
+        final Set<String> top = topKeys(heavyHitters, 5);
+        Assertions.assertTrue(top.contains("Tokyo"));
+        Assertions.assertTrue(top.contains("heavy0"));
+        Assertions.assertTrue(heavyHitters.estimate("Tokyo") >= 300);
+    }
+
+}
@@ -0,0 +1,97 @@
+package datastructures.sketch;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class HyperLogLogTest {
+
+    private static final int PRECISION = 14;
+
+    /**
+     * Allow three times the standard error of 1.04 / sqrt(2^precision).
+     */
+    private static final double TOLERANCE = 3 * 1.04 / Math.sqrt(1 << PRECISION);
+
+    private HyperLogLog<String> hll;
+
+    @BeforeEach
+    public void initialise() {
+        hll = new HyperLogLog<>(PRECISION);
+    }
+
+    private static void assertWithinTolerance(final long expected, final long actual) {
+        Assertions.assertTrue(Math.abs(actual - expected) <= TOLERANCE * expected,
+                "expected about " + expected + " but estimated " + actual);
+    }
+
+    @Test
+    public void testEmpty() {
+        Assertions.assertEquals(0, hll.estimate());
+    }
+
+    @Test
+    public void testSmallCardinality() {
+        for (int i = 0; i < 100; i++) {
+            hll.add("key" + i);
+        }
+
+        assertWithinTolerance(100, hll.estimate());
+    }
+
+    @Test
+    public void testLargeCardinality() {
+        final int distinct = 500000;
+        for (int i = 0; i < distinct; i++) {
+            hll.add("key" + i);
+        }
+
+        assertWithinTolerance(distinct, hll.estimate());
+    }
+
+    @Test
+    public void testLongKeysWithEqualHashCodes() {
+        // every key has a hash code of zero, so only hashing the full 64 bits tells them apart
+        final HyperLogLog<Long> longs = new HyperLogLog<>(PRECISION);
+        final int distinct = 1000000;
+        for (long i = 0; i < distinct; i++) {
+            longs.add((i << 32) | i);
+        }
+
+        assertWithinTolerance(distinct, longs.estimate());
+    }
+
+    @Test
+    public void testDuplicatesIgnored() {
+        for (int repeat = 0; repeat < 10; repeat++) {
+            for (int i = 0; i < 1000; i++) {
+                hll.add("key" + i);
+            }
+        }
+
+        assertWithinTolerance(1000, hll.estimate());
+    }
+
+    @Test
+    public void testMerge() {
+        final HyperLogLog<String> other = new HyperLogLog<>(PRECISION);
+
+        // overlapping ranges, with 150000 distinct keys in total
+        for (int i = 0; i < 100000; i++) {
+            hll.add("key" + i);
+        }
+        for (int i = 50000; i < 150000; i++) {
+            other.add("key" + i);
+        }
+
+        hll.merge(other);
+
+        assertWithinTolerance(150000, hll.estimate());
+    }
+
+    @Test
+    public void testInvalidPrecision() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new HyperLogLog<String>(2));
+    }
+
+}
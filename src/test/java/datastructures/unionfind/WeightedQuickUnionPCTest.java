@@ -1,6 +1,8 @@
 package datastructures.unionfind;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 
 public class WeightedQuickUnionPCTest extends UnionFindTest {
 
@@ -9,4 +11,20 @@ public class WeightedQuickUnionPCTest extends UnionFindTest {
         uf = new WeightedQuickUnionPC(VERTEX_COUNT);
     }
 
+    @Test
+    public void testCount() {
+        final WeightedQuickUnionPC weighted = (WeightedQuickUnionPC) uf;
+        Assertions.assertEquals(VERTEX_COUNT, weighted.count());
+
+        weighted.union(0, 1);
+        weighted.union(2, 3);
+        Assertions.assertEquals(VERTEX_COUNT - 2, weighted.count());
+
+        // joining vertices already in the same component leaves the count alone
+        weighted.union(1, 0);
+        weighted.union(0, 2);
+        weighted.union(3, 1);
+        Assertions.assertEquals(VERTEX_COUNT - 3, weighted.count());
+    }
+
 }
\ No newline at end of file